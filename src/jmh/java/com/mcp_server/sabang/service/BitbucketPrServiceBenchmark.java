@@ -0,0 +1,136 @@
+package com.mcp_server.sabang.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mcp_server.sabang.bitbucket.BitbucketApiClient;
+import com.mcp_server.sabang.bitbucket.BitbucketPrRef;
+import com.mcp_server.sabang.bitbucket.BitbucketPrUrlParser;
+import com.mcp_server.sabang.bitbucket.BitbucketResponseValidator;
+import com.mcp_server.sabang.config.JacksonConfig;
+import com.mcp_server.sabang.config.WorkerThreads;
+import com.mcp_server.sabang.diff.DiffFile;
+import com.mcp_server.sabang.dto.BitbucketPrChange;
+import com.mcp_server.sabang.dto.BitbucketPrGetRequest;
+import com.mcp_server.sabang.dto.BitbucketPrGetResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.mcp_server.sabang.bitbucket.BitbucketApiConstants.PR_CHANGES_PATH;
+import static com.mcp_server.sabang.bitbucket.BitbucketApiConstants.PR_COMMITS_PATH;
+import static com.mcp_server.sabang.bitbucket.BitbucketApiConstants.PR_DIFF_PATH;
+
+/**
+ * Bitbucket PR 조회 경로 벤치마크
+ * <p>
+ * {@link ReviewApiStubServer}가 파일 10개부터 5,000개까지의 PR 응답을 돌려주고, 다음을 나누어 잽니다.
+ * <ul>
+ *     <li>{@code getPullRequest}, {@code getDiffFiles}: 툴 호출 한 번 (HTTP 왕복 + JSON 트리 + {@code JsonNode} 순회). 호출별
+ *     지연 분포를 봅니다.</li>
+ *     <li>{@code fetchDiff}: {@link BitbucketApiClient#get} 한 번 (HTTP 왕복 + 응답 문자열 + {@code readTree})</li>
+ *     <li>{@code readDiff}: 응답 문자열의 {@code readTree}만</li>
+ *     <li>{@code mapChanges}: 이미 읽은 changes 트리를 {@link BitbucketPrChange} 목록으로 순회하는 비용만</li>
+ *     <li>{@code parseDiffFiles}: 이미 읽은 diff 트리의 라인 색인만</li>
+ * </ul>
+ * 스텁은 {@code limit}과 상관없이 전체 목록을 한 페이지로 돌려줍니다. 할당량은 {@code -prof gc}의 {@code gc.alloc.rate.norm}으로
+ * 봅니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BitbucketPrServiceBenchmark {
+
+    private static final String TOKEN = "benchmark-token";
+
+    @Param({"10", "100", "1000", "5000"})
+    public int files;
+
+    private ReviewApiStubServer stub;
+    private ObjectMapper objectMapper;
+    private BitbucketApiClient apiClient;
+    private BitbucketPrService service;
+    private BitbucketPrGetRequest request;
+    private String baseUrl;
+    private String diffPath;
+    private String diffBody;
+    private JsonNode diffNode;
+    private JsonNode changesNode;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = new JacksonConfig().objectMapper();
+        apiClient = new BitbucketApiClient(objectMapper, new WorkerThreads(true));
+        BitbucketPrUrlParser urlParser = new BitbucketPrUrlParser();
+        service = new BitbucketPrService(urlParser, apiClient, new BitbucketResponseValidator(), objectMapper);
+
+        stub = ReviewApiStubServer.start();
+        request = new BitbucketPrGetRequest(stub.baseUrl() + "/projects/PROJ/repos/orders/pull-requests/1", TOKEN);
+        BitbucketPrRef ref = urlParser.parse(request.prUrl());
+        baseUrl = ref.baseUrl();
+        diffPath = String.format(PR_DIFF_PATH, ref.projectKey(), ref.repoSlug(), ref.id());
+        byte[] changes = ReviewApiFixtures.bitbucketChanges(objectMapper, files);
+        byte[] diff = ReviewApiFixtures.bitbucketDiff(objectMapper, files);
+        stub.respond(String.format(PR_CHANGES_PATH, ref.projectKey(), ref.repoSlug(), ref.id()), changes);
+        stub.respond(String.format(PR_COMMITS_PATH, ref.projectKey(), ref.repoSlug(), ref.id()),
+            ReviewApiFixtures.bitbucketCommits(objectMapper));
+        stub.respond(diffPath, diff);
+
+        diffBody = new String(diff, StandardCharsets.UTF_8);
+        diffNode = objectMapper.readTree(diffBody);
+        changesNode = objectMapper.readTree(changes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stub.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public BitbucketPrGetResponse getPullRequest() {
+        return service.getPullRequest(request);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public List<DiffFile> getDiffFiles() {
+        return service.getDiffFiles(request);
+    }
+
+    @Benchmark
+    public JsonNode fetchDiff() {
+        return apiClient.get(baseUrl, diffPath, TOKEN);
+    }
+
+    @Benchmark
+    public JsonNode readDiff() throws IOException {
+        return objectMapper.readTree(diffBody);
+    }
+
+    @Benchmark
+    public List<BitbucketPrChange> mapChanges() {
+        return service.parseChanges(changesNode);
+    }
+
+    @Benchmark
+    public List<DiffFile> parseDiffFiles() {
+        return service.parseDiffFiles(diffNode);
+    }
+}
@@ -0,0 +1,132 @@
+package com.mcp_server.sabang.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mcp_server.sabang.config.JacksonConfig;
+import com.mcp_server.sabang.config.WorkerThreads;
+import com.mcp_server.sabang.diff.DiffFile;
+import com.mcp_server.sabang.diff.UnifiedDiffParser;
+import com.mcp_server.sabang.dto.GitlabMrChange;
+import com.mcp_server.sabang.dto.GitlabMrGetRequest;
+import com.mcp_server.sabang.dto.GitlabMrGetResponse;
+import com.mcp_server.sabang.dto.GitlabMrRef;
+import com.mcp_server.sabang.gitlab.GitlabApiClient;
+import com.mcp_server.sabang.gitlab.GitlabMrUrlParser;
+import com.mcp_server.sabang.gitlab.GitlabResponseValidator;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.mcp_server.sabang.gitlab.GitlabApiConstants.MR_CHANGES_PATH;
+import static com.mcp_server.sabang.gitlab.GitlabApiConstants.MR_VERSIONS_PATH;
+
+/**
+ * GitLab MR 조회 경로 벤치마크
+ * <p>
+ * {@link ReviewApiStubServer}가 파일 10개부터 5,000개까지의 MR 응답을 돌려주고, 다음을 나누어 잽니다.
+ * <ul>
+ *     <li>{@code getMergeRequest}, {@code getDiffFiles}: 툴 호출 한 번 (HTTP 왕복 + JSON 트리 + 매핑 [+ diff 색인]). 호출별 지연
+ *     분포를 봅니다.</li>
+ *     <li>{@code fetchChanges}: {@link GitlabApiClient#get} 한 번 (HTTP 왕복 + 응답 문자열 + {@code readTree})</li>
+ *     <li>{@code readChanges}: 응답 문자열의 {@code readTree}만</li>
+ *     <li>{@code mapChanges}: 이미 읽은 트리를 {@code convertValue}로 {@link GitlabMrChange} 목록으로 바꾸는 비용만</li>
+ *     <li>{@code parseDiffFiles}: 매핑과 unified diff 라인 색인</li>
+ * </ul>
+ * 할당량은 {@code -prof gc}의 {@code gc.alloc.rate.norm}으로 봅니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class GitlabMrServiceBenchmark {
+
+    private static final String TOKEN = "benchmark-token";
+
+    @Param({"10", "100", "1000", "5000"})
+    public int files;
+
+    private ReviewApiStubServer stub;
+    private ObjectMapper objectMapper;
+    private GitlabApiClient apiClient;
+    private GitlabMrService service;
+    private GitlabMrGetRequest request;
+    private String baseUrl;
+    private String changesPath;
+    private String changesBody;
+    private JsonNode changesNode;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = new JacksonConfig().objectMapper();
+        apiClient = new GitlabApiClient(objectMapper, new WorkerThreads(true));
+        GitlabMrUrlParser urlParser = new GitlabMrUrlParser();
+        service = new GitlabMrService(urlParser, apiClient, new GitlabResponseValidator(), objectMapper,
+            new UnifiedDiffParser());
+
+        stub = ReviewApiStubServer.start();
+        request = new GitlabMrGetRequest(stub.baseUrl() + "/orders/backend/-/merge_requests/1", TOKEN);
+        GitlabMrRef ref = urlParser.parse(request.mrUrl());
+        baseUrl = ref.baseUrl();
+        changesPath = String.format(MR_CHANGES_PATH, ref.projectIdEnc(), ref.iid());
+        byte[] changes = ReviewApiFixtures.gitlabChanges(objectMapper, files);
+        stub.respond(changesPath, changes);
+        stub.respond(String.format(MR_VERSIONS_PATH, ref.projectIdEnc(), ref.iid()),
+            ReviewApiFixtures.gitlabVersions(objectMapper, files));
+
+        changesBody = new String(changes, StandardCharsets.UTF_8);
+        changesNode = objectMapper.readTree(changesBody);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stub.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public GitlabMrGetResponse getMergeRequest() {
+        return service.getMergeRequest(request);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public List<DiffFile> getDiffFiles() {
+        return service.getDiffFiles(request);
+    }
+
+    @Benchmark
+    public JsonNode fetchChanges() {
+        return apiClient.get(baseUrl, changesPath, TOKEN);
+    }
+
+    @Benchmark
+    public JsonNode readChanges() throws IOException {
+        return objectMapper.readTree(changesBody);
+    }
+
+    @Benchmark
+    public List<GitlabMrChange> mapChanges() {
+        return service.parseChanges(changesNode);
+    }
+
+    @Benchmark
+    public List<DiffFile> parseDiffFiles() {
+        return service.parseDiffFiles(changesNode);
+    }
+}
@@ -0,0 +1,385 @@
+package com.mcp_server.sabang.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 벤치마크용 GitLab MR / Bitbucket PR API 응답 생성기
+ * <p>
+ * 각 API 응답의 필드 구성을 따라 파일 수만 바꿔 만듭니다. 서비스가 읽지 않는 필드(작성자, 링크, 모드 등)도 실제처럼 담아 JSON 파싱
+ * 비용이 실제 응답과 비슷하도록 합니다. 모든 파일은 같은 모양의 diff를 가집니다.
+ * <ul>
+ *     <li>수정 파일: hunk 2개, hunk마다 context 5줄, 삭제 4줄, 추가 8줄, context 5줄</li>
+ *     <li>파일 25개마다 하나는 추가된 파일(추가 30줄), 50개마다 하나는 삭제된 파일</li>
+ * </ul>
+ * 파일 5,000개일 때 GitLab changes 응답은 약 15MB, Bitbucket diff 응답은 약 30MB입니다.
+ */
+final class ReviewApiFixtures {
+
+    private static final int HUNKS = 2;
+    private static final int LEADING_CONTEXT = 5;
+    private static final int REMOVED = 4;
+    private static final int ADDED = 8;
+    private static final int TRAILING_CONTEXT = 5;
+    private static final int NEW_FILE_LINES = 30;
+    private static final int HUNK_GAP = 120;
+    private static final int VERSIONS = 3;
+    private static final int COMMITS = 12;
+
+    private ReviewApiFixtures() {
+    }
+
+    /**
+     * GitLab {@code GET /projects/:id/merge_requests/:iid/changes}
+     */
+    static byte[] gitlabChanges(ObjectMapper mapper, int files) {
+        return write(mapper, json -> {
+            json.writeStartObject();
+            json.writeNumberField("id", 9_001);
+            json.writeNumberField("iid", 1);
+            json.writeNumberField("project_id", 42);
+            json.writeNumberField("source_project_id", 42);
+            json.writeNumberField("target_project_id", 42);
+            json.writeStringField("title", "Refactor order services");
+            json.writeStringField("state", "opened");
+            json.writeStringField("source_branch", "feature/orders");
+            json.writeStringField("target_branch", "main");
+            writeGitlabUser(json, "author");
+            json.writeStringField("sha", sha("head", 0));
+            json.writeObjectFieldStart("diff_refs");
+            json.writeStringField("base_sha", sha("base", 0));
+            json.writeStringField("head_sha", sha("head", 0));
+            json.writeStringField("start_sha", sha("base", 0));
+            json.writeEndObject();
+            json.writeStringField("changes_count", Integer.toString(files));
+            json.writeBooleanField("overflow", false);
+            json.writeArrayFieldStart("changes");
+            for (int file = 0; file < files; file++) {
+                String path = path(file);
+                json.writeStartObject();
+                json.writeStringField("old_path", path);
+                json.writeStringField("new_path", path);
+                json.writeStringField("a_mode", isNew(file) ? "0" : "100644");
+                json.writeStringField("b_mode", isDeleted(file) ? "0" : "100644");
+                json.writeBooleanField("new_file", isNew(file));
+                json.writeBooleanField("renamed_file", false);
+                json.writeBooleanField("deleted_file", isDeleted(file));
+                json.writeBooleanField("generated_file", false);
+                json.writeStringField("diff", unifiedDiff(file));
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        });
+    }
+
+    /**
+     * GitLab {@code GET /projects/:id/merge_requests/:iid/versions} (최신 버전이 먼저)
+     */
+    static byte[] gitlabVersions(ObjectMapper mapper, int files) {
+        return write(mapper, json -> {
+            json.writeStartArray();
+            for (int version = VERSIONS; version > 0; version--) {
+                json.writeStartObject();
+                json.writeNumberField("id", 300 + version);
+                json.writeStringField("head_commit_sha", sha("head", VERSIONS - version));
+                json.writeStringField("base_commit_sha", sha("base", 0));
+                json.writeStringField("start_commit_sha", sha("base", 0));
+                json.writeStringField("created_at", "2024-05-2" + version + "T09:00:00.000Z");
+                json.writeNumberField("merge_request_id", 9_001);
+                json.writeStringField("state", "collected");
+                json.writeStringField("real_size", Integer.toString(files));
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        });
+    }
+
+    /**
+     * Bitbucket {@code GET .../pull-requests/:id/changes}
+     */
+    static byte[] bitbucketChanges(ObjectMapper mapper, int files) {
+        return write(mapper, json -> {
+            json.writeStartObject();
+            json.writeStringField("fromHash", sha("head", 0));
+            json.writeStringField("toHash", sha("base", 0));
+            json.writeObjectFieldStart("properties");
+            json.writeEndObject();
+            json.writeArrayFieldStart("values");
+            for (int file = 0; file < files; file++) {
+                String type = isNew(file) ? "ADD" : isDeleted(file) ? "DELETE" : "MODIFY";
+                json.writeStartObject();
+                json.writeStringField("contentId", sha("content", file));
+                json.writeStringField("fromContentId", sha("from", file));
+                json.writeFieldName("path");
+                writeBitbucketPath(json, path(file));
+                json.writeBooleanField("executable", false);
+                json.writeNumberField("percentUnchanged", -1);
+                json.writeStringField("type", type);
+                json.writeStringField("nodeType", "FILE");
+                json.writeBooleanField("srcExecutable", false);
+                json.writeObjectFieldStart("links");
+                json.writeArrayFieldStart("self");
+                json.writeStartObject();
+                json.writeStringField("href", "https://bitbucket.example.com/projects/PROJ/repos/orders/pull-requests/1"
+                    + "/diff#" + path(file));
+                json.writeEndObject();
+                json.writeEndArray();
+                json.writeEndObject();
+                json.writeObjectFieldStart("properties");
+                json.writeStringField("gitChangeType", type);
+                json.writeEndObject();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeNumberField("size", files);
+            json.writeBooleanField("isLastPage", true);
+            json.writeNumberField("start", 0);
+            json.writeNumberField("limit", 1000);
+            json.writeNullField("nextPageStart");
+            json.writeEndObject();
+        });
+    }
+
+    /**
+     * Bitbucket {@code GET .../pull-requests/:id/commits}
+     */
+    static byte[] bitbucketCommits(ObjectMapper mapper) {
+        return write(mapper, json -> {
+            json.writeStartObject();
+            json.writeArrayFieldStart("values");
+            for (int commit = 0; commit < COMMITS; commit++) {
+                json.writeStartObject();
+                json.writeStringField("id", sha("head", commit));
+                json.writeStringField("displayId", sha("head", commit).substring(0, 11));
+                json.writeObjectFieldStart("author");
+                json.writeStringField("name", "dev");
+                json.writeStringField("emailAddress", "dev@example.com");
+                json.writeEndObject();
+                json.writeNumberField("authorTimestamp", 1_716_000_000_000L + commit * 60_000L);
+                json.writeStringField("message", "Refactor order service step " + commit);
+                json.writeArrayFieldStart("parents");
+                json.writeStartObject();
+                json.writeStringField("id", sha("head", commit + 1));
+                json.writeEndObject();
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeNumberField("size", COMMITS);
+            json.writeBooleanField("isLastPage", true);
+            json.writeNumberField("start", 0);
+            json.writeNumberField("limit", 1000);
+            json.writeNullField("nextPageStart");
+            json.writeEndObject();
+        });
+    }
+
+    /**
+     * Bitbucket {@code GET .../pull-requests/:id/diff?withComments=false}
+     */
+    static byte[] bitbucketDiff(ObjectMapper mapper, int files) {
+        return write(mapper, json -> {
+            json.writeStartObject();
+            json.writeStringField("fromHash", sha("head", 0));
+            json.writeStringField("toHash", sha("base", 0));
+            json.writeNumberField("contextLines", 10);
+            json.writeStringField("whitespace", "SHOW");
+            json.writeArrayFieldStart("diffs");
+            for (int file = 0; file < files; file++) {
+                json.writeStartObject();
+                json.writeFieldName("source");
+                if (isNew(file)) {
+                    json.writeNull();
+                } else {
+                    writeBitbucketPath(json, path(file));
+                }
+                json.writeFieldName("destination");
+                if (isDeleted(file)) {
+                    json.writeNull();
+                } else {
+                    writeBitbucketPath(json, path(file));
+                }
+                json.writeArrayFieldStart("hunks");
+                if (isNew(file)) {
+                    writeBitbucketHunk(json, file, 0, 0, 1);
+                } else {
+                    for (int hunk = 0; hunk < HUNKS; hunk++) {
+                        writeBitbucketHunk(json, file, hunk, oldStart(hunk), newStart(hunk));
+                    }
+                }
+                json.writeEndArray();
+                json.writeBooleanField("truncated", false);
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeBooleanField("truncated", false);
+            json.writeEndObject();
+        });
+    }
+
+    private static void writeBitbucketHunk(JsonGenerator json, int file, int hunk, int oldStart, int newStart)
+        throws IOException {
+        boolean newFile = isNew(file);
+        json.writeStartObject();
+        json.writeNumberField("sourceLine", oldStart);
+        json.writeNumberField("sourceSpan", newFile ? 0 : LEADING_CONTEXT + REMOVED + TRAILING_CONTEXT);
+        json.writeNumberField("destinationLine", newStart);
+        json.writeNumberField("destinationSpan", newFile ? NEW_FILE_LINES : LEADING_CONTEXT + ADDED + TRAILING_CONTEXT);
+        json.writeArrayFieldStart("segments");
+        if (newFile) {
+            writeBitbucketSegment(json, "ADDED", file, hunk, 0, 1, 0, NEW_FILE_LINES);
+        } else {
+            int oldLine = oldStart;
+            int newLine = newStart;
+            writeBitbucketSegment(json, "CONTEXT", file, hunk, 0, oldLine, newLine, LEADING_CONTEXT);
+            oldLine += LEADING_CONTEXT;
+            newLine += LEADING_CONTEXT;
+            writeBitbucketSegment(json, "REMOVED", file, hunk, 1, oldLine, newLine, REMOVED);
+            oldLine += REMOVED;
+            writeBitbucketSegment(json, "ADDED", file, hunk, 2, oldLine, newLine, ADDED);
+            newLine += ADDED;
+            writeBitbucketSegment(json, "CONTEXT", file, hunk, 3, oldLine, newLine, TRAILING_CONTEXT);
+        }
+        json.writeEndArray();
+        json.writeBooleanField("truncated", false);
+        json.writeEndObject();
+    }
+
+    private static void writeBitbucketSegment(JsonGenerator json, String type, int file, int hunk, int segment,
+        int oldLine, int newLine, int lines) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("type", type);
+        json.writeArrayFieldStart("lines");
+        for (int i = 0; i < lines; i++) {
+            // REMOVED 줄은 변경 후 번호가, ADDED 줄은 변경 전 번호가 늘지 않습니다.
+            int source = "ADDED".equals(type) ? oldLine : oldLine + i;
+            int destination = "REMOVED".equals(type) ? newLine : newLine + i;
+            json.writeStartObject();
+            json.writeNumberField("source", source);
+            json.writeNumberField("destination", destination);
+            json.writeStringField("line", line(file, hunk, segment, i));
+            json.writeBooleanField("truncated", false);
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeBooleanField("truncated", false);
+        json.writeEndObject();
+    }
+
+    private static void writeBitbucketPath(JsonGenerator json, String path) throws IOException {
+        int slash = path.lastIndexOf('/');
+        String name = path.substring(slash + 1);
+        json.writeStartObject();
+        json.writeArrayFieldStart("components");
+        for (String component : path.split("/")) {
+            json.writeString(component);
+        }
+        json.writeEndArray();
+        json.writeStringField("parent", path.substring(0, slash));
+        json.writeStringField("name", name);
+        json.writeStringField("extension", name.substring(name.lastIndexOf('.') + 1));
+        json.writeStringField("toString", path);
+        json.writeEndObject();
+    }
+
+    private static void writeGitlabUser(JsonGenerator json, String field) throws IOException {
+        json.writeObjectFieldStart(field);
+        json.writeNumberField("id", 7);
+        json.writeStringField("username", "dev");
+        json.writeStringField("name", "Developer");
+        json.writeStringField("state", "active");
+        json.writeStringField("web_url", "https://gitlab.example.com/dev");
+        json.writeEndObject();
+    }
+
+    private static String unifiedDiff(int file) {
+        StringBuilder diff = new StringBuilder(4096);
+        if (isNew(file)) {
+            diff.append("@@ -0,0 +1,").append(NEW_FILE_LINES).append(" @@\n");
+            appendLines(diff, '+', file, 0, 0, NEW_FILE_LINES);
+            return diff.toString();
+        }
+        for (int hunk = 0; hunk < HUNKS; hunk++) {
+            if (isDeleted(file)) {
+                // 삭제된 파일도 diff는 있지만 서비스가 건너뜁니다.
+                diff.append("@@ -").append(oldStart(hunk)).append(',').append(REMOVED).append(" +0,0 @@\n");
+                appendLines(diff, '-', file, hunk, 1, REMOVED);
+                continue;
+            }
+            diff.append("@@ -").append(oldStart(hunk)).append(',').append(LEADING_CONTEXT + REMOVED + TRAILING_CONTEXT)
+                .append(" +").append(newStart(hunk)).append(',').append(LEADING_CONTEXT + ADDED + TRAILING_CONTEXT)
+                .append(" @@ public class Service").append(file).append(" {\n");
+            appendLines(diff, ' ', file, hunk, 0, LEADING_CONTEXT);
+            appendLines(diff, '-', file, hunk, 1, REMOVED);
+            appendLines(diff, '+', file, hunk, 2, ADDED);
+            appendLines(diff, ' ', file, hunk, 3, TRAILING_CONTEXT);
+        }
+        return diff.toString();
+    }
+
+    private static void appendLines(StringBuilder diff, char prefix, int file, int hunk, int segment, int lines) {
+        for (int i = 0; i < lines; i++) {
+            diff.append(prefix).append(line(file, hunk, segment, i)).append('\n');
+        }
+    }
+
+    private static int oldStart(int hunk) {
+        return 10 + hunk * HUNK_GAP;
+    }
+
+    private static int newStart(int hunk) {
+        return oldStart(hunk) + hunk * (ADDED - REMOVED);
+    }
+
+    /**
+     * 이스케이프할 문자(따옴표, 탭, 역슬래시)가 섞인 Java 소스 한 줄
+     */
+    private static String line(int file, int hunk, int segment, int index) {
+        return switch ((hunk * 7 + segment * 3 + index) % 4) {
+            case 0 -> "        OrderResult result" + index + " = service" + file + ".handle(request, " + index + ");";
+            case 1 -> "        log.debug(\"order {} step {}\", request.id(), \"" + segment + "\\t" + index + "\");";
+            case 2 -> "\t\tif (result.isEmpty()) { return Optional.empty(); } // hunk " + hunk;
+            default -> "        String pattern = \"^[a-z]+\\\\d{" + index + "}$\";";
+        };
+    }
+
+    private static String path(int file) {
+        return "src/main/java/com/example/orders/module" + (file % 50) + "/OrderService" + file + ".java";
+    }
+
+    private static boolean isNew(int file) {
+        return file % 25 == 24;
+    }
+
+    private static boolean isDeleted(int file) {
+        return file % 50 == 10;
+    }
+
+    private static String sha(String kind, int index) {
+        String seed = Integer.toHexString((kind.hashCode() * 31 + index) & 0x7fffffff);
+        StringBuilder sha = new StringBuilder(40);
+        while (sha.length() < 40) {
+            sha.append(seed);
+        }
+        return sha.substring(0, 40);
+    }
+
+    private static byte[] write(ObjectMapper mapper, JsonWriter writer) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 16);
+        try (JsonGenerator json = mapper.getFactory().createGenerator(out)) {
+            writer.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface JsonWriter {
+        void write(JsonGenerator json) throws IOException;
+    }
+}
@@ -0,0 +1,80 @@
+package com.mcp_server.sabang.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 벤치마크용 GitLab/Bitbucket API 스텁 서버
+ * <p>
+ * 루프백 주소의 빈 포트에서 {@code com.sun.net.httpserver}로 뜨고, 등록한 경로(쿼리 포함, 인코딩된 그대로)에 미리 만든 응답 본문을
+ * 돌려줍니다. 응답은 메모리에 있는 바이트 배열을 그대로 쓰므로 측정에는 HTTP 왕복과 클라이언트 쪽 처리만 들어갑니다.
+ */
+final class ReviewApiStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final Map<String, byte[]> responses = new HashMap<>();
+
+    private ReviewApiStubServer(HttpServer server, ExecutorService handlers) {
+        this.server = server;
+        this.handlers = handlers;
+    }
+
+    static ReviewApiStubServer start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        ExecutorService handlers = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "review-api-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ReviewApiStubServer stub = new ReviewApiStubServer(server, handlers);
+        server.createContext("/", stub::handle);
+        server.setExecutor(handlers);
+        server.start();
+        return stub;
+    }
+
+    /**
+     * @return {@code http://127.0.0.1:<port>}
+     */
+    String baseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort();
+    }
+
+    /**
+     * {@code pathAndQuery}로 오는 GET 요청에 {@code body}를 JSON으로 돌려주도록 등록합니다. 벤치마크를 시작하기 전에만 부릅니다.
+     */
+    void respond(String pathAndQuery, byte[] body) {
+        responses.put(pathAndQuery, body);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] body = responses.get(exchange.getRequestURI().toString());
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+}
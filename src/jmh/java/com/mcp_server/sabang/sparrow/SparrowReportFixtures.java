@@ -0,0 +1,145 @@
+package com.mcp_server.sabang.sparrow;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크용 합성 SPARROW XML 리포트(FINCH_SYN) 생성기
+ * <p>
+ * 실제 리포트처럼 알람마다 결함 위치와 이벤트 흐름을 담고, 같은 seed로는 항상 같은 파일을 만듭니다. 규칙은 60개, 파일은 알람 10개당
+ * 하나(최대 5,000개)에서 고르며 규칙/파일 분포는 일부가 대부분을 차지하도록 치우치게 하여 요약의 상위 K개 계산이 실제와 비슷하게 일하도록
+ * 합니다. 알람 20개 중 하나는 라인이 없어 라인 리뷰 대상에서 빠집니다.
+ */
+final class SparrowReportFixtures {
+
+    static final String REPORT_FILE_NAME = "FINCH_SYN.1.0.xml";
+
+    private static final int RULE_COUNT = 60;
+    private static final int MAX_FILE_COUNT = 5_000;
+    private static final int ALARMS_PER_FILE = 10;
+    private static final int MAX_EVENTS = 6;
+
+    private SparrowReportFixtures() {
+    }
+
+    /**
+     * 대표 리포트 하나와 같은 형식의 체커별 리포트 {@code extraReports}개를 만듭니다. 알람은 파일마다 고르게 나누고, 체커별 리포트의
+     * 알람 중 일부는 대표 리포트의 알람과 같아 합칠 때 중복으로 걸러집니다.
+     *
+     * @return 대표 리포트가 맨 앞에 오는 리포트 경로
+     */
+    static List<Path> writeReports(Path directory, int alarms, int extraReports, long seed) {
+        List<Path> reportPaths = new ArrayList<>(extraReports + 1);
+        int reports = extraReports + 1;
+        int fileCount = Math.max(1, Math.min(MAX_FILE_COUNT, alarms / ALARMS_PER_FILE));
+        for (int i = 0; i < reports; i++) {
+            int from = (int) ((long) alarms * i / reports);
+            int to = (int) ((long) alarms * (i + 1) / reports);
+            String name = i == 0 ? REPORT_FILE_NAME : "FINCH_SYN.checker" + i + ".xml";
+            Path reportPath = directory.resolve(name);
+            // 체커별 리포트는 앞 구간의 알람 일부를 다시 담습니다.
+            int overlap = i == 0 ? 0 : Math.min(from, (to - from) / 10);
+            write(reportPath, from - overlap, to, fileCount, seed);
+            reportPaths.add(reportPath);
+        }
+        return reportPaths;
+    }
+
+    /**
+     * 알람 {@code alarms}개짜리 리포트 하나를 만듭니다.
+     */
+    static Path writeReport(Path directory, int alarms, long seed) {
+        Path reportPath = directory.resolve(REPORT_FILE_NAME);
+        write(reportPath, 0, alarms, Math.max(1, Math.min(MAX_FILE_COUNT, alarms / ALARMS_PER_FILE)), seed);
+        return reportPath;
+    }
+
+    private static void write(Path reportPath, int from, int to, int fileCount, long seed) {
+        try (BufferedWriter writer = Files.newBufferedWriter(reportPath, StandardCharsets.UTF_8)) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            writer.write("<sparrow version=\"5.7\" tool=\"FINCH\">\n  <alarms>\n");
+            for (int localId = from; localId < to; localId++) {
+                // 알람마다 seed를 따로 두어 어느 리포트에 쓰든 같은 번호의 알람은 내용이 같습니다.
+                writeAlarm(writer, localId, fileCount, new SplittableRandom(seed * 31 + localId));
+            }
+            writer.write("  </alarms>\n</sparrow>\n");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void writeAlarm(BufferedWriter writer, int localId, int fileCount, SplittableRandom random)
+        throws IOException {
+        String rule = "RULE_" + skewed(random, RULE_COUNT);
+        int fileIndex = skewed(random, fileCount);
+        String file = "/work/project/src/main/java/com/example/module" + (fileIndex % 40) + "/Service" + fileIndex
+            + ".java";
+        String className = "com.example.module" + (fileIndex % 40) + ".Service" + fileIndex;
+        String function = "handle" + random.nextInt(200) + "(java.lang.String, int)";
+        boolean hasLine = random.nextInt(20) != 0;
+        int line = 1 + random.nextInt(2_000);
+
+        writer.write("    <alarm localId=\"");
+        writer.write(Integer.toString(localId));
+        writer.write("\" status=\"NEW\">\n      <defect>\n        <rule>");
+        writer.write(rule);
+        writer.write("</rule>\n        <severity>");
+        writer.write(Integer.toString(1 + random.nextInt(5)));
+        writer.write("</severity>\n        <loc>\n          <file>");
+        writer.write(file);
+        writer.write("</file>\n");
+        if (hasLine) {
+            writer.write("          <line>");
+            writer.write(Integer.toString(line));
+            writer.write("</line>\n");
+        }
+        writer.write("          <func>");
+        writer.write(escape(function));
+        writer.write("</func>\n          <class>");
+        writer.write(className);
+        writer.write("</class>\n        </loc>\n      </defect>\n      <events>\n");
+
+        int events = 1 + random.nextInt(MAX_EVENTS);
+        int defectEvent = random.nextInt(events);
+        for (int i = 0; i < events; i++) {
+            boolean defect = i == defectEvent;
+            writer.write("        <event defect=\"");
+            writer.write(Boolean.toString(defect));
+            writer.write("\">\n          <tag>");
+            writer.write(defect ? "DEFECT_" + rule : "FLOW");
+            writer.write("</tag>\n          <loc><file>");
+            writer.write(file);
+            writer.write("</file><line>");
+            writer.write(Integer.toString(Math.max(1, line - events + i)));
+            writer.write("</line></loc>\n          <desc id=\"");
+            writer.write(rule);
+            writer.write('.');
+            writer.write(Integer.toString(i));
+            writer.write("\"><![CDATA[Value may be null when ");
+            writer.write(function);
+            writer.write(" returns & is dereferenced at step ");
+            writer.write(Integer.toString(i));
+            writer.write("]]></desc>\n        </event>\n");
+        }
+        writer.write("      </events>\n    </alarm>\n");
+    }
+
+    /**
+     * 작은 값이 더 자주 나오는 0 이상 {@code bound} 미만의 값
+     */
+    private static int skewed(SplittableRandom random, int bound) {
+        double uniform = random.nextDouble();
+        return Math.min(bound - 1, (int) (bound * uniform * uniform * uniform));
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
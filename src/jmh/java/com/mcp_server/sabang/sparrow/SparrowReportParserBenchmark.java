@@ -0,0 +1,188 @@
+package com.mcp_server.sabang.sparrow;
+
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.dto.SparrowAnalyzeIssue;
+import com.mcp_server.sabang.dto.SparrowAnalyzeReport;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * SPARROW 리포트 파싱과 요약 계산 벤치마크
+ * <p>
+ * {@link SparrowReportFixtures}로 알람 1k/10k/100k개짜리 합성 리포트를 만들어 다음을 잽니다.
+ * <ul>
+ *     <li>{@code parse}: 알람 전체가 든 리포트 하나를 파싱 (이슈 목록과 요약 계산 포함)</li>
+ *     <li>{@code parseAll}: 같은 수의 알람을 대표 리포트와 체커별 리포트 3개에 나눈 리포트들을 동시에 파싱하여 합치기. Job이 끝날 때의
+ *     경로와 같습니다.</li>
+ *     <li>{@code merge}: 이미 파싱한 샤드 리포트 4개를 합치며 중복 제거와 요약만 다시 계산</li>
+ *     <li>{@code parseHeap}: 파싱 한 번의 힙 사용량 ({@code heap.retainedBytes}, {@code heap.peakUsedBytes} 보조 지표만 봅니다)</li>
+ * </ul>
+ * 할당량은 {@code -prof gc}의 {@code gc.alloc.rate.norm}(연산당 바이트)으로 봅니다. {@code ./gradlew jmh}는 이 프로파일러를 켜고 실행합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SparrowReportParserBenchmark {
+
+    private static final long SEED = 20_240_521L;
+    private static final int EXTRA_REPORTS = 3;
+    private static final int SHARDS = 4;
+
+    @Param({"1000", "10000", "100000"})
+    public int alarms;
+
+    private Path directory;
+    private Path reportPath;
+    private List<Path> reportPaths;
+    private SparrowReportParser parser;
+    private List<SparrowAnalyzeReport> shardReports;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("sparrow-report-bench");
+        reportPath = SparrowReportFixtures.writeReport(Files.createDirectory(directory.resolve("single")), alarms, SEED);
+        reportPaths = SparrowReportFixtures.writeReports(Files.createDirectory(directory.resolve("checkers")), alarms,
+            EXTRA_REPORTS, SEED);
+        parser = new SparrowReportParser(properties());
+        shardReports = split(parser.parse(reportPath), SHARDS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        parser.shutdown();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public SparrowAnalyzeReport parse() {
+        return parser.parse(reportPath);
+    }
+
+    @Benchmark
+    public SparrowAnalyzeReport parseAll() {
+        return parser.parseAll(reportPaths);
+    }
+
+    @Benchmark
+    public SparrowAnalyzeReport merge() {
+        return parser.merge(shardReports);
+    }
+
+    /**
+     * 연산 시간에는 GC가 포함되므로 점수는 보지 않고 보조 지표만 봅니다.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 1)
+    public SparrowAnalyzeReport parseHeap(HeapCounters heap) {
+        long baseline = heap.settle();
+        SparrowAnalyzeReport report = parser.parse(reportPath);
+        heap.peakUsedBytes = heap.peakUsed() - baseline;
+        heap.retainedBytes = heap.settle() - baseline;
+        return report;
+    }
+
+    /**
+     * 파싱 한 번의 힙 사용량
+     * <ul>
+     *     <li>{@code retainedBytes}: 결과를 참조한 채로 GC한 뒤 늘어난 힙 사용량. 결과가 힙에 남기는 크기입니다.</li>
+     *     <li>{@code peakUsedBytes}: 파싱하는 동안 힙 영역별 최대 사용량의 합에서 시작 시 사용량을 뺀 값. 아직 회수하지 않은
+     *     garbage도 포함하므로 파싱 중 최대 사용량의 상한입니다.</li>
+     * </ul>
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapCounters {
+
+        public long retainedBytes;
+        public long peakUsedBytes;
+
+        private final List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    heapPools.add(pool);
+                }
+            }
+        }
+
+        /**
+         * GC로 garbage를 치우고 최대 사용량을 초기화합니다.
+         *
+         * @return GC 후 힙 사용량
+         */
+        private long settle() {
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+            }
+            long used = 0;
+            for (MemoryPoolMXBean pool : heapPools) {
+                pool.resetPeakUsage();
+                used += pool.getUsage().getUsed();
+            }
+            return used;
+        }
+
+        private long peakUsed() {
+            long peak = 0;
+            for (MemoryPoolMXBean pool : heapPools) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+            return peak;
+        }
+    }
+
+    private static SparrowProperties properties() {
+        return new SparrowProperties(null, null, null, null, null, null, new SparrowProperties.Report(20), null, null,
+            null, null);
+    }
+
+    /**
+     * 리포트를 샤드 리포트 {@code shards}개로 나눕니다. 샤드 경계의 이슈 일부는 다음 샤드에도 넣어 합칠 때 중복 제거도 일하게 합니다.
+     */
+    private static List<SparrowAnalyzeReport> split(SparrowAnalyzeReport report, int shards) {
+        List<SparrowAnalyzeIssue> issues = report.details();
+        List<SparrowAnalyzeReport> reports = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            int from = issues.size() * i / shards;
+            int to = issues.size() * (i + 1) / shards;
+            int overlap = i == 0 ? 0 : Math.min(from, (to - from) / 10);
+            List<SparrowAnalyzeIssue> shardIssues = new ArrayList<>(issues.subList(from - overlap, to));
+            reports.add(new SparrowAnalyzeReport(report.reportPath() + "#" + i, report.summary(), shardIssues));
+        }
+        return reports;
+    }
+}
@@ -3,12 +3,15 @@ package com.mcp_server.sabang.bitbucket;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mcp_server.sabang.config.WorkerThreads;
 import com.mcp_server.sabang.exception.BitbucketApiException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import org.springframework.stereotype.Component;
 
 import static com.mcp_server.sabang.bitbucket.BitbucketApiConstants.*;
@@ -19,11 +22,13 @@ import static com.mcp_server.sabang.bitbucket.BitbucketApiConstants.*;
 @Component
 public class BitbucketApiClient {
 
+    private static final int ERROR_BODY_LIMIT = 4096;
+
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
 
-    public BitbucketApiClient(ObjectMapper objectMapper) {
-        this.httpClient = HttpClient.newHttpClient();
+    public BitbucketApiClient(ObjectMapper objectMapper, WorkerThreads threads) {
+        this.httpClient = threads.httpClient("bitbucket-http");
         this.objectMapper = objectMapper;
     }
 
@@ -36,6 +41,24 @@ public class BitbucketApiClient {
         return sendRequest(request);
     }
 
+    /**
+     * 파일 원본 같은 JSON이 아닌 응답을 스트림으로 받습니다. 호출자가 스트림을 닫아야 합니다.
+     */
+    public InputStream getRaw(String baseUrl, String path, String personalAccessToken) {
+        HttpRequest request = HttpRequest.newBuilder(buildUri(baseUrl, path))
+            .header(HEADER_AUTHORIZATION, buildBearerToken(personalAccessToken))
+            .GET()
+            .build();
+        HttpResponse<InputStream> response = executeHttpRequest(request, HttpResponse.BodyHandlers.ofInputStream());
+        int statusCode = response.statusCode();
+        if (statusCode < 200 || statusCode >= 300) {
+            String errorMessage = String.format("Bitbucket API request failed with status %d: %s", statusCode,
+                readErrorBody(response.body()));
+            throw new BitbucketApiException(statusCode, errorMessage);
+        }
+        return response.body();
+    }
+
     public JsonNode post(String baseUrl, String path, String personalAccessToken, ObjectNode body) {
         String payload = serializeRequestBody(body);
         HttpRequest request = HttpRequest.newBuilder(buildUri(baseUrl, path))
@@ -56,14 +79,14 @@ public class BitbucketApiClient {
     }
 
     private JsonNode sendRequest(HttpRequest request) {
-        HttpResponse<String> response = executeHttpRequest(request);
+        HttpResponse<String> response = executeHttpRequest(request, HttpResponse.BodyHandlers.ofString());
         validateResponse(response);
         return parseResponse(response);
     }
 
-    private HttpResponse<String> executeHttpRequest(HttpRequest request) {
+    private <T> HttpResponse<T> executeHttpRequest(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
         try {
-            return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            return httpClient.send(request, bodyHandler);
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
             throw new BitbucketApiException("Bitbucket API request interrupted", ex);
@@ -80,6 +103,14 @@ public class BitbucketApiClient {
         }
     }
 
+    private static String readErrorBody(InputStream body) {
+        try (InputStream in = body) {
+            return new String(in.readNBytes(ERROR_BODY_LIMIT), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            return "";
+        }
+    }
+
     private JsonNode parseResponse(HttpResponse<String> response) {
         try {
             return objectMapper.readTree(response.body());
@@ -15,6 +15,10 @@ public final class BitbucketApiConstants {
     public static final String PR_CHANGES_PATH = PULL_REQUESTS_PATH + "/changes?limit=1000";
     public static final String PR_COMMITS_PATH = PULL_REQUESTS_PATH + "/commits?limit=1000";
     public static final String PR_COMMENTS_PATH = PULL_REQUESTS_PATH + "/comments";
+    public static final String PR_ACTIVITIES_PATH = PULL_REQUESTS_PATH + "/activities?start=%d&limit=%d";
+    public static final int PAGE_SIZE = 100;
+    public static final String PR_DIFF_PATH = PULL_REQUESTS_PATH + "/diff?withComments=false";
+    public static final String RAW_FILE_PATH = REPOS_PATH + "/raw/%s?at=%s";
 
     public static final String HEADER_AUTHORIZATION = "Authorization";
     public static final String HEADER_ACCEPT = "Accept";
@@ -0,0 +1,26 @@
+package com.mcp_server.sabang.config;
+
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * MCP 툴 호출을 가상 스레드에서 실행하도록 Reactor를 설정합니다.
+ * <p>
+ * MCP 동기 서버는 툴 호출을 Reactor {@code boundedElastic} 스케줄러에서 실행하는데, 이 스케줄러는 Spring 설정이 아니라
+ * {@code reactor.schedulers.defaultBoundedElasticOnVirtualThreads} 시스템 속성을 봅니다. {@code spring.threads.virtual.enabled}가
+ * 켜져 있으면 Reactor가 스케줄러를 만들기 전인 환경 준비 단계에서 이 속성을 켭니다. 시스템 속성을 직접 지정했으면 그 값을 따릅니다.
+ * <p>
+ * {@code META-INF/spring.factories}로 등록합니다.
+ */
+public class ReactorVirtualThreads implements ApplicationListener<ApplicationEnvironmentPreparedEvent> {
+
+    private static final String BOUNDED_ELASTIC_ON_VIRTUAL_THREADS = "reactor.schedulers.defaultBoundedElasticOnVirtualThreads";
+
+    @Override
+    public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+        boolean virtual = event.getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (virtual && System.getProperty(BOUNDED_ELASTIC_ON_VIRTUAL_THREADS) == null) {
+            System.setProperty(BOUNDED_ELASTIC_ON_VIRTUAL_THREADS, "true");
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.mcp_server.sabang.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SparrowProperties.class)
+public class SparrowConfig {
+
+}
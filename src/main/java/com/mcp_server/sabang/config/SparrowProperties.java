@@ -0,0 +1,191 @@
+package com.mcp_server.sabang.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * SPARROW 분석 Job 실행 관련 설정 ({@code sparrow.*})
+ */
+@ConfigurationProperties(prefix = "sparrow")
+public record SparrowProperties(
+    @DefaultValue Scheduler scheduler,
+    @DefaultValue Retention retention,
+    @DefaultValue Journal journal,
+    @DefaultValue Cache cache,
+    @DefaultValue Execution execution,
+    @DefaultValue Workspace workspace,
+    @DefaultValue Report report,
+    @DefaultValue Spill spill,
+    @DefaultValue Logs logs,
+    @DefaultValue Baseline baseline,
+    @DefaultValue Sources sources
+) {
+
+    /**
+     * Job 스케줄러 설정
+     *
+     * @param maxConcurrentJobs 서버 전체에서 동시에 실행할 수 있는 SPARROW 프로세스 수
+     * @param maxJobsPerProject 프로젝트(projectId)별 동시 실행 수
+     * @param queueCapacity     대기열에 쌓을 수 있는 최대 Job 수 (초과 시 제출 거절). 0이면 대기열 없이 빈 슬롯이 있을 때만 실행
+     */
+    public record Scheduler(
+        @DefaultValue("4") int maxConcurrentJobs,
+        @DefaultValue("1") int maxJobsPerProject,
+        @DefaultValue("32") int queueCapacity
+    ) {
+
+    }
+
+    /**
+     * 종료된 Job 결과 보관 정책
+     *
+     * @param maxAge              종료 후 결과를 보관하는 최대 시간
+     * @param maxJobs             보관하는 최대 Job 수 (실행 중/대기 중 Job 포함)
+     * @param maxRetainedSize     종료된 Job의 출력과 리포트가 차지하는 메모리의 대략적인 상한
+     * @param expiredHistorySize  만료된 Job ID를 기억해 두는 개수 (조회 시 EXPIRED 응답용)
+     */
+    public record Retention(
+        @DefaultValue("24h") Duration maxAge,
+        @DefaultValue("500") int maxJobs,
+        @DefaultValue("256MB") DataSize maxRetainedSize,
+        @DefaultValue("10000") int expiredHistorySize
+    ) {
+
+    }
+
+    /**
+     * Job 저널 설정. 서버를 재시작해도 종료된 Job 결과를 조회할 수 있도록 Job 상태 변경을 로컬 파일에 기록합니다.
+     *
+     * @param enabled             저널 사용 여부
+     * @param directory           저널 디렉터리, 비어 있으면 {@code ~/.sabang/sparrow/journal}. 서버 인스턴스마다
+     *                            {@code instance-<n>} 하위 디렉터리를 씁니다.
+     * @param compactAfterEntries 마지막 압축 이후 이만큼 줄을 추가하면 실행 중에도 저널을 압축 (압축 후 남은 줄 수가 더 많으면 그 수)
+     */
+    public record Journal(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("") String directory,
+        @DefaultValue("10000") int compactAfterEntries
+    ) {
+
+    }
+
+    /**
+     * 분석 결과 캐시 설정. 같은 프로젝트/서버에 같은 내용의 파일을 다시 분석하면 SPARROW를 실행하지 않고 이전 결과를 돌려줍니다.
+     *
+     * @param enabled    캐시 사용 여부
+     * @param maxEntries 보관하는 최대 결과 수 (가장 오래 사용되지 않은 결과부터 제거)
+     * @param persistent 결과를 로컬 디스크에 저장하여 재시작 후에도 사용할지 여부
+     * @param directory  디스크 캐시 위치, 비어 있으면 {@code ~/.sabang/sparrow/cache}
+     * @param maxKeyInputSize 캐시 키를 만들 때 읽는 변경 파일 크기 합계의 상한. 키는 제출 응답 전에 파일을 모두 읽어 계산하므로,
+     *                        넘으면 캐시를 쓰지 않고 바로 실행합니다.
+     */
+    public record Cache(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("200") int maxEntries,
+        @DefaultValue("false") boolean persistent,
+        @DefaultValue("") String directory,
+        @DefaultValue("256MB") DataSize maxKeyInputSize
+    ) {
+
+    }
+
+    /**
+     * SPARROW 프로세스 실행 설정
+     *
+     * @param timeout         Job 하나의 최대 실행 시간(벽시계 기준). 넘으면 프로세스 트리를 종료하고 TIMED_OUT으로 기록, 0이면 제한 없음
+     * @param killGracePeriod 종료 요청 후 강제 종료하기 전까지 기다리는 시간
+     * @param maxShards       변경 파일을 나누어 동시에 실행할 수 있는 최대 샤드 수 (요청의 {@code shardCount} 상한)
+     * @param partialReportInterval 실행 중 리포트 파일이 바뀌었을 때 중간 결과를 다시 읽는 최소 간격, 0이면 중간 결과를 읽지 않음
+     */
+    public record Execution(
+        @DefaultValue("2h") Duration timeout,
+        @DefaultValue("10s") Duration killGracePeriod,
+        @DefaultValue("4") int maxShards,
+        @DefaultValue("2s") Duration partialReportInterval
+    ) {
+
+    }
+
+    /**
+     * Job별 작업 디렉터리 설정
+     *
+     * @param isolated Job마다 클라이언트 설치 디렉터리의 심볼릭 링크 묶음으로 별도 작업 디렉터리를 만들지 여부
+     * @param root     작업 디렉터리를 만들 위치, 비어 있으면 {@code <java.io.tmpdir>/sabang-sparrow-work}
+     */
+    public record Workspace(
+        @DefaultValue("true") boolean isolated,
+        @DefaultValue("") String root
+    ) {
+
+    }
+
+    /**
+     * 분석 리포트 요약 설정
+     *
+     * @param summaryTopK 요약의 규칙별/파일별 알람 수에 담는 최대 항목 수. 나머지는 {@code OTHER} 합계로 묶음
+     */
+    public record Report(
+        @DefaultValue("20") int summaryTopK
+    ) {
+
+    }
+
+    /**
+     * 종료된 Job 결과를 로컬 파일로 옮기는(spill) 설정. 큰 결과는 힙에 요약만 남기고 이슈와 출력은 메모리 매핑한 파일에서 읽습니다.
+     *
+     * @param enabled   사용 여부
+     * @param threshold 결과(출력 + 리포트)의 대략적인 힙 사용량이 이 값 이상이면 파일로 옮김
+     * @param directory 파일 위치, 비어 있으면 {@code <java.io.tmpdir>/sabang-sparrow-spill}
+     */
+    public record Spill(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("4MB") DataSize threshold,
+        @DefaultValue("") String directory
+    ) {
+
+    }
+
+    /**
+     * SPARROW 프로세스 로그 설정. stdout/stderr는 Job별 로그 파일로 리다이렉트되며 {@code sparrow-analyze-log}로 잘라 읽습니다.
+     *
+     * @param directory        로그 위치, 비어 있으면 {@code <java.io.tmpdir>/sabang-sparrow-logs}
+     * @param responseTailSize 상태 조회 응답의 {@code output}/{@code error}에 담는 최근 출력 크기(문자 수 기준)
+     */
+    public record Logs(
+        @DefaultValue("") String directory,
+        @DefaultValue("16KB") DataSize responseTailSize
+    ) {
+
+    }
+
+    /**
+     * 프로젝트별 기준선(baseline) 설정. 기준선은 {@code sparrow-analyze-baseline}으로 기록하며 서버를 재시작해도 유지됩니다.
+     *
+     * @param directory 기준선 파일 위치, 비어 있으면 {@code <java.io.tmpdir>/sabang-sparrow-baseline}
+     */
+    public record Baseline(
+        @DefaultValue("") String directory
+    ) {
+
+    }
+
+    /**
+     * MR/PR 변경 파일 캐시 설정. GitLab/Bitbucket에서 받은 head 커밋의 변경 파일을 커밋별 디렉터리에 저장소 경로 그대로 보관하며,
+     * 이 파일을 그대로 SPARROW 입력으로 씁니다. 같은 커밋의 파일은 다시 받지 않습니다.
+     *
+     * @param directory           캐시 위치, 비어 있으면 {@code <java.io.tmpdir>/sabang-sparrow-sources}
+     * @param downloadConcurrency 서버 전체에서 동시에 받는 파일 수
+     * @param maxCommits          보관하는 최대 커밋 디렉터리 수 (가장 오래 사용되지 않은 커밋부터 삭제)
+     * @param maxAge              마지막으로 사용한 뒤 이 시간이 지난 커밋 디렉터리는 삭제, 0이면 제한 없음
+     */
+    public record Sources(
+        @DefaultValue("") String directory,
+        @DefaultValue("8") int downloadConcurrency,
+        @DefaultValue("100") int maxCommits,
+        @DefaultValue("7d") Duration maxAge
+    ) {
+
+    }
+}
@@ -0,0 +1,65 @@
+package com.mcp_server.sabang.config;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 작업 스레드 생성기
+ * <p>
+ * {@code spring.threads.virtual.enabled}가 켜져 있으면 가상 스레드를, 꺼져 있으면 플랫폼 스레드를 만듭니다. SPARROW 프로세스 대기,
+ * GitLab/Bitbucket HTTP 요청, 파일 다운로드는 대부분의 시간을 블로킹으로 기다리므로 가상 스레드에서는 기다리는 동안 캐리어 스레드를
+ * 쓰지 않습니다.
+ */
+@Component
+public class WorkerThreads {
+
+    private final boolean virtual;
+
+    public WorkerThreads(@Value("${spring.threads.virtual.enabled:false}") boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    public boolean virtual() {
+        return virtual;
+    }
+
+    /**
+     * @param name 스레드 이름 접두사. 스레드 이름은 {@code name-0}, {@code name-1}, ...입니다.
+     */
+    public ThreadFactory factory(String name) {
+        return virtual
+            ? Thread.ofVirtual().name(name + "-", 0).factory()
+            : Thread.ofPlatform().name(name + "-", 0).daemon(false).factory();
+    }
+
+    /**
+     * 동시에 {@code threads}개까지 실행하는 풀
+     */
+    public ExecutorService fixed(String name, int threads) {
+        return Executors.newFixedThreadPool(threads, factory(name));
+    }
+
+    /**
+     * 동시 실행 수에 제한이 없는 풀. 가상 스레드는 재사용할 필요가 없으므로 작업마다 새 스레드를 만듭니다.
+     */
+    public ExecutorService unbounded(String name) {
+        return virtual
+            ? Executors.newThreadPerTaskExecutor(factory(name))
+            : Executors.newCachedThreadPool(factory(name));
+    }
+
+    /**
+     * HTTP 클라이언트를 만듭니다. 기본 실행기는 플랫폼 데몬 스레드 풀이므로 가상 스레드를 쓸 때만 응답 처리 실행기를 바꿉니다.
+     */
+    public HttpClient httpClient(String name) {
+        HttpClient.Builder builder = HttpClient.newBuilder();
+        if (virtual) {
+            builder.executor(unbounded(name));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.mcp_server.sabang.diff;
+
+import java.util.Arrays;
+
+/**
+ * 파일 하나의 diff 라인 색인
+ * <p>
+ * 변경 후 파일 기준으로 연속된 같은 종류의 라인을 구간 하나로 묶어 시작 라인 순으로 원시 배열에 둡니다. diff의 구간은 서로 겹치지 않으므로
+ * 구간 트리 대신 시작 라인에 대한 이진 탐색으로 라인이 속한 구간을 찾습니다.
+ */
+public final class DiffFile {
+    private static final DiffLineType[] LINE_TYPES = DiffLineType.values();
+
+    private final String path;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] oldStarts;
+    private final byte[] types;
+
+    private DiffFile(String path, int[] starts, int[] ends, int[] oldStarts, byte[] types) {
+        this.path = path;
+        this.starts = starts;
+        this.ends = ends;
+        this.oldStarts = oldStarts;
+        this.types = types;
+    }
+
+    public static Builder builder(String path) {
+        return new Builder(path);
+    }
+
+    public String path() {
+        return path;
+    }
+
+    /**
+     * @return 구간 수
+     */
+    public int intervalCount() {
+        return starts.length;
+    }
+
+    /**
+     * @param line 변경 후 파일의 라인 번호
+     * @return 라인이 diff에 있으면 댓글 위치, 없으면 null
+     */
+    public DiffLocation locate(int line) {
+        int index = Arrays.binarySearch(starts, line);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        if (index < 0 || line > ends[index]) {
+            return null;
+        }
+        DiffLineType type = LINE_TYPES[types[index]];
+        Integer oldLine = type == DiffLineType.ADDED ? null : oldStarts[index] + (line - starts[index]);
+        return new DiffLocation(path, line, type, oldLine);
+    }
+
+    /**
+     * diff 라인을 변경 후 파일의 라인 순서대로 받아 {@link DiffFile}을 만듭니다.
+     */
+    public static final class Builder {
+        private final String path;
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private int[] oldStarts = new int[16];
+        private byte[] types = new byte[16];
+        private int size;
+
+        private Builder(String path) {
+            this.path = path;
+        }
+
+        /**
+         * @param line    변경 후 파일의 라인 번호
+         * @param oldLine 변경 전 파일의 라인 번호 (추가된 라인이면 무시)
+         */
+        public Builder add(DiffLineType type, int line, int oldLine) {
+            if (size > 0) {
+                int last = size - 1;
+                if (line <= ends[last]) {
+                    // 순서가 어긋난 라인은 무시합니다.
+                    return this;
+                }
+                if (line == ends[last] + 1 && types[last] == type.ordinal()
+                    && (type == DiffLineType.ADDED || oldLine == oldStarts[last] + (line - starts[last]))) {
+                    ends[last] = line;
+                    return this;
+                }
+            }
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+                oldStarts = Arrays.copyOf(oldStarts, size * 2);
+                types = Arrays.copyOf(types, size * 2);
+            }
+            starts[size] = line;
+            ends[size] = line;
+            oldStarts[size] = oldLine;
+            types[size] = (byte) type.ordinal();
+            size++;
+            return this;
+        }
+
+        public DiffFile build() {
+            return new DiffFile(path, Arrays.copyOf(starts, size), Arrays.copyOf(ends, size),
+                Arrays.copyOf(oldStarts, size), Arrays.copyOf(types, size));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.mcp_server.sabang.diff;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MR/PR 전체 diff의 라인 색인. SPARROW 이슈의 파일과 라인을 라인 댓글 위치로 바꿉니다.
+ */
+public final class DiffIndex {
+
+    private final Map<String, DiffFile> files = new HashMap<>();
+    private final DiffPathTrie paths = new DiffPathTrie();
+    private final DiffRevision revision;
+
+    private DiffIndex(List<DiffFile> diffFiles, DiffRevision revision) {
+        this.revision = revision;
+        for (DiffFile file : diffFiles) {
+            files.put(file.path(), file);
+            paths.add(file.path());
+        }
+    }
+
+    public static DiffIndex of(List<DiffFile> diffFiles) {
+        return new DiffIndex(diffFiles, null);
+    }
+
+    public static DiffIndex of(DiffRevision revision) {
+        return new DiffIndex(revision.files(), revision);
+    }
+
+    /**
+     * @return diff를 읽은 저장소와 head 커밋, 파일 목록만으로 만든 색인이면 null
+     */
+    public DiffRevision revision() {
+        return revision;
+    }
+
+    public int fileCount() {
+        return files.size();
+    }
+
+    /**
+     * @return diff에 있는 파일의 저장소 기준 경로 (변경 후 경로)
+     */
+    public List<String> paths() {
+        return new ArrayList<>(files.keySet());
+    }
+
+    /**
+     * @param file SPARROW 이슈의 파일 경로 (절대 경로 가능)
+     * @param line 라인 번호
+     * @return 라인이 diff에 있으면 댓글 위치, 파일이 변경되지 않았거나 라인이 diff 밖이면 null
+     */
+    public DiffLocation locate(String file, Integer line) {
+        if (line == null || line < 1) {
+            return null;
+        }
+        String path = paths.resolve(file);
+        return path == null ? null : files.get(path).locate(line);
+    }
+}
@@ -0,0 +1,11 @@
+package com.mcp_server.sabang.diff;
+
+/**
+ * 변경 후 파일 기준으로 댓글을 달 수 있는 diff 라인 종류
+ */
+public enum DiffLineType {
+    /** 추가된 라인 */
+    ADDED,
+    /** 변경되지 않았지만 diff에 보이는 주변 라인 */
+    CONTEXT
+}
@@ -0,0 +1,18 @@
+package com.mcp_server.sabang.diff;
+
+/**
+ * 라인 댓글을 달 diff 위치
+ *
+ * @param path     저장소 기준 파일 경로 (변경 후)
+ * @param line     변경 후 파일의 라인 번호
+ * @param lineType 라인 종류
+ * @param oldLine  변경 전 파일의 라인 번호, 추가된 라인이면 null
+ */
+public record DiffLocation(
+    String path,
+    int line,
+    DiffLineType lineType,
+    Integer oldLine
+) {
+
+}
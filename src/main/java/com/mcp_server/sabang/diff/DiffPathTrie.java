@@ -0,0 +1,65 @@
+package com.mcp_server.sabang.diff;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 저장소 기준 경로를 경로 구성 요소의 역순으로 담은 트라이
+ * <p>
+ * SPARROW 리포트의 파일 경로는 분석한 로컬 체크아웃의 절대 경로이므로, 경로 끝에서부터 구성 요소를 따라 내려가며 저장소 경로 중
+ * 가장 길게 일치하는 것을 찾습니다. 예를 들어 {@code /work/repo/src/main/java/Foo.java}는
+ * {@code src/main/java/Foo.java}로 찾고, 같은 이름의 {@code test/Foo.java}와는 구분합니다.
+ */
+public final class DiffPathTrie {
+
+    private final Node root = new Node();
+
+    public void add(String repositoryPath) {
+        String[] segments = segments(repositoryPath);
+        if (segments.length == 0) {
+            return;
+        }
+        Node node = root;
+        for (int i = segments.length - 1; i >= 0; i--) {
+            node = node.children.computeIfAbsent(segments[i], key -> new Node());
+        }
+        node.path = repositoryPath;
+    }
+
+    /**
+     * @param file 절대 경로 또는 저장소 기준 경로 ({@code \}도 구분자로 봅니다)
+     * @return 경로 끝이 가장 길게 일치하는 저장소 경로, 없으면 null
+     */
+    public String resolve(String file) {
+        String[] segments = segments(file);
+        Node node = root;
+        String match = null;
+        for (int i = segments.length - 1; i >= 0; i--) {
+            node = node.children.get(segments[i]);
+            if (node == null) {
+                break;
+            }
+            if (node.path != null) {
+                match = node.path;
+            }
+        }
+        return match;
+    }
+
+    private static String[] segments(String path) {
+        if (path == null) {
+            return new String[0];
+        }
+        String normalized = path.replace('\\', '/');
+        int start = 0;
+        while (start < normalized.length() && normalized.charAt(start) == '/') {
+            start++;
+        }
+        return start == normalized.length() ? new String[0] : normalized.substring(start).split("/+");
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>(4);
+        private String path;
+    }
+}
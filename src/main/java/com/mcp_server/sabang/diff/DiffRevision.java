@@ -0,0 +1,19 @@
+package com.mcp_server.sabang.diff;
+
+import java.util.List;
+
+/**
+ * MR/PR diff와 변경 후(head) 리비전
+ *
+ * @param repository 변경 후 파일을 읽을 저장소 (GitLab은 소스 프로젝트 ID, Bitbucket은 {@code PROJECT_KEY/repo-slug}). 포크에서 온
+ *                   MR/PR이면 대상 저장소가 아닌 소스 저장소입니다.
+ * @param headSha    변경 후 커밋 SHA
+ * @param files      변경 후 경로 기준 파일별 diff 라인 색인 (삭제된 파일 제외)
+ */
+public record DiffRevision(
+    String repository,
+    String headSha,
+    List<DiffFile> files
+) {
+
+}
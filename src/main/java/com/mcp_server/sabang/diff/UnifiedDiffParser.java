@@ -0,0 +1,69 @@
+package com.mcp_server.sabang.diff;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.stereotype.Component;
+
+/**
+ * 파일 하나의 unified diff 텍스트(GitLab MR 변경사항의 {@code diff})를 {@link DiffFile}로 만드는 파서
+ * <p>
+ * hunk 헤더({@code @@ -a,b +c,d @@})의 라인 수만큼만 hunk 본문으로 읽으므로, {@code --}로 시작하는 삭제 라인도 파일 헤더와
+ * 헷갈리지 않습니다. 삭제된 라인은 변경 후 파일에 없으므로 색인하지 않습니다.
+ */
+@Component
+public class UnifiedDiffParser {
+
+    private static final Pattern HUNK_HEADER = Pattern.compile("^@@ -(\\d+)(?:,(\\d+))? \\+(\\d+)(?:,(\\d+))? @@");
+
+    public DiffFile parse(String path, String diff) {
+        DiffFile.Builder builder = DiffFile.builder(path);
+        if (diff == null || diff.isEmpty()) {
+            return builder.build();
+        }
+        int oldLine = 0;
+        int newLine = 0;
+        int oldRemaining = 0;
+        int newRemaining = 0;
+        int start = 0;
+        int length = diff.length();
+        while (start < length) {
+            int end = diff.indexOf('\n', start);
+            if (end < 0) {
+                end = length;
+            }
+            String line = diff.substring(start, end > start && diff.charAt(end - 1) == '\r' ? end - 1 : end);
+            start = end + 1;
+
+            if (oldRemaining > 0 || newRemaining > 0) {
+                char marker = line.isEmpty() ? ' ' : line.charAt(0);
+                switch (marker) {
+                    case '+' -> {
+                        builder.add(DiffLineType.ADDED, newLine++, 0);
+                        newRemaining--;
+                    }
+                    case '-' -> {
+                        oldLine++;
+                        oldRemaining--;
+                    }
+                    case ' ' -> {
+                        builder.add(DiffLineType.CONTEXT, newLine++, oldLine++);
+                        oldRemaining--;
+                        newRemaining--;
+                    }
+                    default -> {
+                        // "\ No newline at end of file"
+                    }
+                }
+                continue;
+            }
+            Matcher header = HUNK_HEADER.matcher(line);
+            if (header.find()) {
+                oldLine = Integer.parseInt(header.group(1));
+                oldRemaining = header.group(2) == null ? 1 : Integer.parseInt(header.group(2));
+                newLine = Integer.parseInt(header.group(3));
+                newRemaining = header.group(4) == null ? 1 : Integer.parseInt(header.group(4));
+            }
+        }
+        return builder.build();
+    }
+}
@@ -8,7 +8,8 @@ public record GitlabMrLineCommentRequest(
     @McpToolParam(description = "Comment body (Markdown supported)") String body,
     @McpToolParam(description = "Changed file path in the MR (e.g., src/main/java/Foo.java)") String path,
     @McpToolParam(description = "Target line number in the diff") int line,
-    @McpToolParam(description = "Line type in diff: ADDED or REMOVED") String lineType
+    @McpToolParam(description = "Line type in diff: ADDED, REMOVED, or CONTEXT") String lineType,
+    @McpToolParam(description = "Line number before the change; required for CONTEXT lines", required = false) Integer oldLine
 ) {
 
 }
@@ -0,0 +1,16 @@
+package com.mcp_server.sabang.dto;
+
+/**
+ * MR/PR에 이미 달린 라인 댓글
+ *
+ * @param path 저장소 기준 파일 경로 (변경 후)
+ * @param line 변경 후 파일의 라인 번호
+ * @param body 댓글 내용
+ */
+public record ReviewLineComment(
+    String path,
+    int line,
+    String body
+) {
+
+}
@@ -0,0 +1,20 @@
+package com.mcp_server.sabang.dto;
+
+import org.springaicommunity.mcp.annotation.McpToolParam;
+
+public record ReviewPipelineRequest(
+    @McpToolParam(description = "GitLab MR URL (give either mrUrl or prUrl)", required = false) String mrUrl,
+    @McpToolParam(description = "Bitbucket PR URL (give either mrUrl or prUrl)", required = false) String prUrl,
+    @McpToolParam(description = "GitLab or Bitbucket Personal Access Token") String pat,
+    @McpToolParam(description = "Absolute path of a local checkout of the MR/PR source branch to resolve changed files against; when omitted the changed files are fetched at the head commit into the server's source cache", required = false) String repositoryRoot,
+    @McpToolParam(description = "SPARROW Server URL (e.g., https://123.2.134.11:18080)") String serverUrl,
+    @McpToolParam(description = "Path to SPARROW client shell script") String clientPath,
+    @McpToolParam(description = "Path to password file") String passwordPath,
+    @McpToolParam(description = "SPARROW Project ID") String projectId,
+    @McpToolParam(description = "SPARROW username") String username,
+    @McpToolParam(description = "Post a line comment for each issue inside the diff, skipping issues that already have the same SPARROW comment (default false; only maps issues)", required = false) Boolean postComments,
+    @McpToolParam(description = "Maximum number of line comments to post (default 50, max 500)", required = false) Integer maxComments,
+    @McpToolParam(description = "Maximum number of line comments posted concurrently (default 4, max 16)", required = false) Integer commentConcurrency
+) {
+
+}
@@ -0,0 +1,25 @@
+package com.mcp_server.sabang.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ReviewPipelineResponse(
+        String pipelineId,
+        String reviewUrl,
+        String status,
+        String sparrowJobId,
+        Instant createdAt,
+        Instant finishedAt,
+        long elapsedMillis,
+        List<ReviewPipelineStage> stages,
+        int changedFileCount,
+        int analyzedFileCount,
+        int issueCount,
+        int inDiffIssueCount,
+        int postedCommentCount,
+        int failedCommentCount,
+        int skippedCommentCount,
+        String message
+) {
+
+}
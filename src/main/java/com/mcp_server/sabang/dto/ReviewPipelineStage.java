@@ -0,0 +1,14 @@
+package com.mcp_server.sabang.dto;
+
+import java.time.Instant;
+
+public record ReviewPipelineStage(
+        String name,
+        String status,
+        Instant startedAt,
+        Instant finishedAt,
+        long durationMillis,
+        String message
+) {
+
+}
@@ -0,0 +1,10 @@
+package com.mcp_server.sabang.dto;
+
+import org.springaicommunity.mcp.annotation.McpToolParam;
+
+public record ReviewPipelineStatusRequest(
+    @McpToolParam(description = "Review pipeline ID") String pipelineId,
+    @McpToolParam(description = "Long-poll wait time in seconds (0-30; 0 returns immediately)") int waitSeconds
+) {
+
+}
@@ -0,0 +1,12 @@
+package com.mcp_server.sabang.dto;
+
+import org.springaicommunity.mcp.annotation.McpToolParam;
+
+public record ReviewSourcesRequest(
+    @McpToolParam(description = "GitLab MR URL (give either mrUrl or prUrl)", required = false) String mrUrl,
+    @McpToolParam(description = "Bitbucket PR URL (give either mrUrl or prUrl)", required = false) String prUrl,
+    @McpToolParam(description = "GitLab or Bitbucket Personal Access Token") String pat,
+    @McpToolParam(description = "Fetch only changed .java files (default true); false fetches every changed file", required = false) Boolean javaOnly
+) {
+
+}
@@ -0,0 +1,15 @@
+package com.mcp_server.sabang.dto;
+
+import java.util.List;
+
+public record ReviewSourcesResponse(
+        String reviewUrl,
+        String repository,
+        String headSha,
+        String root,
+        List<String> files,
+        int cachedFileCount,
+        int downloadedFileCount
+) {
+
+}
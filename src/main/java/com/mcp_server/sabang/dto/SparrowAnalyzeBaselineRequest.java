@@ -0,0 +1,11 @@
+package com.mcp_server.sabang.dto;
+
+import org.springaicommunity.mcp.annotation.McpToolParam;
+
+public record SparrowAnalyzeBaselineRequest(
+        @McpToolParam(description = "Finished (SUCCEEDED) job whose issues become the baseline of its project; omit to look up or clear the baseline of projectId", required = false) String jobId,
+        @McpToolParam(description = "SPARROW Project ID, used when jobId is omitted", required = false) String projectId,
+        @McpToolParam(description = "Remove the baseline of projectId", required = false) Boolean clear
+) {
+
+}
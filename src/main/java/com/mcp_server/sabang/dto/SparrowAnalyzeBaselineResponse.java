@@ -0,0 +1,13 @@
+package com.mcp_server.sabang.dto;
+
+import java.time.Instant;
+
+public record SparrowAnalyzeBaselineResponse(
+        String projectId,
+        String baselineJobId,
+        Instant createdAt,
+        int issueCount,
+        String message
+) {
+
+}
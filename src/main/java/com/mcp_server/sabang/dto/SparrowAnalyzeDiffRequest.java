@@ -0,0 +1,15 @@
+package com.mcp_server.sabang.dto;
+
+import org.springaicommunity.mcp.annotation.McpToolParam;
+
+public record SparrowAnalyzeDiffRequest(
+        @McpToolParam(description = "SPARROW analysis job ID") String jobId,
+        @McpToolParam(description = "GitLab MR URL (use either mrUrl or prUrl)", required = false) String mrUrl,
+        @McpToolParam(description = "Bitbucket PR URL (use either mrUrl or prUrl)", required = false) String prUrl,
+        @McpToolParam(description = "GitLab or Bitbucket Personal Access Token") String pat,
+        @McpToolParam(description = "Return only issues on lines that are part of the diff", required = false) Boolean inDiffOnly,
+        @McpToolParam(description = "Cursor from the previous response's nextCursor to fetch the next page of issues", required = false) String cursor,
+        @McpToolParam(description = "Maximum number of issues per page (default 100, max 1000)", required = false) Integer pageSize
+) {
+
+}
@@ -0,0 +1,16 @@
+package com.mcp_server.sabang.dto;
+
+import java.util.List;
+
+public record SparrowAnalyzeDiffResponse(
+        String jobId,
+        String reviewUrl,
+        int diffFileCount,
+        int inDiffCount,
+        int outsideDiffCount,
+        List<SparrowDiffIssue> issues,
+        int matchedIssueCount,
+        String nextCursor
+) {
+
+}
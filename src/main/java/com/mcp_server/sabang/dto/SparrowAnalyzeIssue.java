@@ -1,5 +1,11 @@
 package com.mcp_server.sabang.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * SPARROW 이슈. {@code source}는 이슈를 읽은 리포트 파일 이름입니다. 상태 조회에서 {@code fields}로 필드를 골라 요청하면 선택하지 않은 필드는 null이며 응답에서 생략됩니다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record SparrowAnalyzeIssue(
         String localId,
         String rule,
@@ -9,8 +15,9 @@ public record SparrowAnalyzeIssue(
         String className,
         String tag,
         String descriptionId,
-        boolean lineReviewRecommended,
-        String lineReviewReason
+        Boolean lineReviewRecommended,
+        String lineReviewReason,
+        String source
 ) {
 
 }
@@ -0,0 +1,9 @@
+package com.mcp_server.sabang.dto;
+
+import org.springaicommunity.mcp.annotation.McpToolParam;
+
+public record SparrowAnalyzeJobCancelRequest(
+        @McpToolParam(description = "SPARROW analysis job ID to cancel") String jobId
+) {
+
+}
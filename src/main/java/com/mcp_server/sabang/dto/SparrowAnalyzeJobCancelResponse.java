@@ -0,0 +1,11 @@
+package com.mcp_server.sabang.dto;
+
+public record SparrowAnalyzeJobCancelResponse(
+        String jobId,
+        String projectId,
+        String status,
+        boolean cancelled,
+        String message
+) {
+
+}
@@ -1,10 +1,20 @@
 package com.mcp_server.sabang.dto;
 
+import java.util.List;
 import org.springaicommunity.mcp.annotation.McpToolParam;
 
 public record SparrowAnalyzeJobStatusRequest(
         @McpToolParam(description = "SPARROW analysis job ID") String jobId,
-        @McpToolParam(description = "Long-poll wait time in seconds (1-30 recommended)") int waitSeconds
+        @McpToolParam(description = "Long-poll wait time in seconds (0-30; 0 returns immediately)") int waitSeconds,
+        @McpToolParam(description = "Return only status and report summary, without output, error and issue details", required = false) Boolean summaryOnly,
+        @McpToolParam(description = "Cursor from the previous response's nextCursor to fetch the next page of issues", required = false) String cursor,
+        @McpToolParam(description = "Maximum number of issues per page (default 100, max 1000)", required = false) Integer pageSize,
+        @McpToolParam(description = "Only issues of this rule", required = false) String rule,
+        @McpToolParam(description = "Only issues whose file path starts with this prefix", required = false) String filePrefix,
+        @McpToolParam(description = "Only issues whose lineReviewRecommended matches this value", required = false) Boolean lineReviewRecommended,
+        @McpToolParam(description = "Issue fields to include (localId, rule, file, line, function, className, tag, descriptionId, lineReviewRecommended, lineReviewReason, source); all fields when empty", required = false) List<String> fields,
+        @McpToolParam(description = "Return alarm counts for every rule and file instead of the top entries with an OTHER bucket", required = false) Boolean fullBreakdown,
+        @McpToolParam(description = "Compare with the project baseline: ALL (default, every issue), NEW (issues not in the baseline) or RESOLVED (baseline issues no longer reported)", required = false) String baseline
 ) {
 
 }
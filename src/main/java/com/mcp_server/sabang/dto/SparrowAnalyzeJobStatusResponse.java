@@ -6,6 +6,10 @@ public record SparrowAnalyzeJobStatusResponse(
         String jobId,
         String projectId,
         String status,
+        String priority,
+        int queuePosition,
+        long queueWaitMillis,
+        boolean cacheHit,
         Instant createdAt,
         Instant startedAt,
         Instant finishedAt,
@@ -13,7 +17,14 @@ public record SparrowAnalyzeJobStatusResponse(
         String output,
         String error,
         String message,
-        SparrowAnalyzeReport report
+        String summaryUrl,
+        Integer progressPercent,
+        String progressMessage,
+        SparrowAnalyzeReport report,
+        int matchedIssueCount,
+        String nextCursor,
+        String baselineMode,
+        String baselineJobId
 ) {
 
 }
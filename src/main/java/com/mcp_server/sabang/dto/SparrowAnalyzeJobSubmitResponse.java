@@ -3,7 +3,11 @@ package com.mcp_server.sabang.dto;
 public record SparrowAnalyzeJobSubmitResponse(
         String jobId,
         String projectId,
-        String status
+        String status,
+        String priority,
+        int queuePosition,
+        boolean cacheHit,
+        boolean coalesced
 ) {
 
 }
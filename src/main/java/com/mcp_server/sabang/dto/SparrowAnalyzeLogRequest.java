@@ -0,0 +1,15 @@
+package com.mcp_server.sabang.dto;
+
+import org.springaicommunity.mcp.annotation.McpToolParam;
+
+public record SparrowAnalyzeLogRequest(
+        @McpToolParam(description = "SPARROW analysis job ID") String jobId,
+        @McpToolParam(description = "Log stream: stdout (default) or stderr", required = false) String stream,
+        @McpToolParam(description = "Shard number starting at 1 (default 1)", required = false) Integer shard,
+        @McpToolParam(description = "Byte offset to read from, usually the previous response's nextOffset (default 0; negative reads from the end of the log). In line mode pass it together with nextLine so the log is not rescanned", required = false) Long offset,
+        @McpToolParam(description = "Maximum number of bytes to return (default 65536, max 1048576)", required = false) Integer maxBytes,
+        @McpToolParam(description = "Line number to read from (0-based), usually the previous response's nextLine together with its nextOffset; switches to line mode", required = false) Long fromLine,
+        @McpToolParam(description = "Maximum number of lines to return in line mode (default 200, max 5000)", required = false) Integer maxLines
+) {
+
+}
@@ -0,0 +1,19 @@
+package com.mcp_server.sabang.dto;
+
+public record SparrowAnalyzeLogResponse(
+        String jobId,
+        String status,
+        String stream,
+        int shard,
+        int shardCount,
+        long offset,
+        long nextOffset,
+        Long fromLine,
+        Long nextLine,
+        long fileSize,
+        String content,
+        boolean complete,
+        String message
+) {
+
+}
@@ -10,7 +10,15 @@ public record SparrowAnalyzeRequest(
     @McpToolParam(description = "SPARROW Project ID") String projectId,
     @McpToolParam(description = "SPARROW username") String username,
     @McpToolParam(description = "List of changed Java files, each specified as an absolute filesystem path")
-    List<String> changedFiles
+    List<String> changedFiles,
+    @McpToolParam(description = "Job priority: INTERACTIVE (default, review in progress) or BULK (re-scans)", required = false)
+    String priority,
+    @McpToolParam(description = "Optional idempotency key; a retry with the same key and projectId attaches to the job that is still queued or running", required = false)
+    String idempotencyKey,
+    @McpToolParam(description = "Optional number of shards; splits changedFiles into this many SPARROW runs executed concurrently and merges their reports (default 1)", required = false)
+    Integer shardCount,
+    @McpToolParam(description = "How to balance shards: SIZE (default, by total file size) or COUNT (by number of files)", required = false)
+    String shardBalance
 ) {
 
 }
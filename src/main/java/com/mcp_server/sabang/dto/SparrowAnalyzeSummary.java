@@ -6,7 +6,9 @@ public record SparrowAnalyzeSummary(
         int totalAlarms,
         int lineReviewCandidateCount,
         Map<String, Integer> alarmsByRule,
-        Map<String, Integer> alarmsByFile
+        Map<String, Integer> alarmsByFile,
+        int distinctRuleCount,
+        int distinctFileCount
 ) {
 
 }
@@ -0,0 +1,12 @@
+package com.mcp_server.sabang.dto;
+
+public record SparrowDiffIssue(
+        SparrowAnalyzeIssue issue,
+        boolean inDiff,
+        String path,
+        Integer line,
+        String lineType,
+        Integer oldLine
+) {
+
+}
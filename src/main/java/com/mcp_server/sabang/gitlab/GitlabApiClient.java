@@ -3,12 +3,15 @@ package com.mcp_server.sabang.gitlab;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mcp_server.sabang.config.WorkerThreads;
 import com.mcp_server.sabang.exception.GitlabApiException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import org.springframework.stereotype.Component;
 
 import static com.mcp_server.sabang.gitlab.GitlabApiConstants.*;
@@ -19,11 +22,13 @@ import static com.mcp_server.sabang.gitlab.GitlabApiConstants.*;
 @Component
 public class GitlabApiClient {
 
+    private static final int ERROR_BODY_LIMIT = 4096;
+
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
 
-    public GitlabApiClient(ObjectMapper objectMapper) {
-        this.httpClient = HttpClient.newHttpClient();
+    public GitlabApiClient(ObjectMapper objectMapper, WorkerThreads threads) {
+        this.httpClient = threads.httpClient("gitlab-http");
         this.objectMapper = objectMapper;
     }
 
@@ -40,6 +45,29 @@ public class GitlabApiClient {
         return sendRequest(request);
     }
 
+    /**
+     * GitLab API에서 파일 원본 같은 JSON이 아닌 응답을 스트림으로 받습니다. 호출자가 스트림을 닫아야 합니다.
+     *
+     * @param baseUrl             GitLab 인스턴스의 기본 URL
+     * @param path                API 경로
+     * @param personalAccessToken 개인 액세스 토큰
+     * @return 응답 본문 스트림
+     */
+    public InputStream getRaw(String baseUrl, String path, String personalAccessToken) {
+        HttpRequest request = HttpRequest.newBuilder(buildUri(baseUrl, path))
+            .header(HEADER_PRIVATE_TOKEN, personalAccessToken)
+            .GET()
+            .build();
+        HttpResponse<InputStream> response = executeHttpRequest(request, HttpResponse.BodyHandlers.ofInputStream());
+        int statusCode = response.statusCode();
+        if (statusCode < 200 || statusCode >= 300) {
+            String errorMessage = String.format("GitLab API request failed with status %d: %s", statusCode,
+                readErrorBody(response.body()));
+            throw new GitlabApiException(statusCode, errorMessage);
+        }
+        return response.body();
+    }
+
     /**
      * GitLab API에 POST 요청을 보냅니다.
      *
@@ -81,14 +109,14 @@ public class GitlabApiClient {
     }
 
     private JsonNode sendRequest(HttpRequest request) {
-        HttpResponse<String> response = executeHttpRequest(request);
+        HttpResponse<String> response = executeHttpRequest(request, HttpResponse.BodyHandlers.ofString());
         validateResponse(response);
         return parseResponse(response);
     }
 
-    private HttpResponse<String> executeHttpRequest(HttpRequest request) {
+    private <T> HttpResponse<T> executeHttpRequest(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) {
         try {
-            return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            return httpClient.send(request, bodyHandler);
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
             throw new GitlabApiException("GitLab API request interrupted", ex);
@@ -105,6 +133,14 @@ public class GitlabApiClient {
         }
     }
 
+    private static String readErrorBody(InputStream body) {
+        try (InputStream in = body) {
+            return new String(in.readNBytes(ERROR_BODY_LIMIT), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            return "";
+        }
+    }
+
     private JsonNode parseResponse(HttpResponse<String> response) {
         try {
             return objectMapper.readTree(response.body());
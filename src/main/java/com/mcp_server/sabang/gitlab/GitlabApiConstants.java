@@ -19,6 +19,9 @@ public final class GitlabApiConstants {
     public static final String MR_VERSIONS_PATH = MERGE_REQUESTS_PATH + "/versions";
     public static final String MR_NOTES_PATH = MERGE_REQUESTS_PATH + "/notes";
     public static final String MR_DISCUSSIONS_PATH = MERGE_REQUESTS_PATH + "/discussions";
+    public static final String MR_DISCUSSIONS_PAGE_PATH = MR_DISCUSSIONS_PATH + "?per_page=%d&page=%d";
+    public static final int PAGE_SIZE = 100;
+    public static final String REPOSITORY_FILE_RAW_PATH = PROJECTS_PATH + "/repository/files/%s/raw?ref=%s";
 
     // HTTP 헤더
     public static final String HEADER_PRIVATE_TOKEN = "PRIVATE-TOKEN";
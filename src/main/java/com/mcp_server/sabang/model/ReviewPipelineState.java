@@ -0,0 +1,235 @@
+package com.mcp_server.sabang.model;
+
+import com.mcp_server.sabang.dto.ReviewPipelineResponse;
+import com.mcp_server.sabang.dto.ReviewPipelineStage;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 리뷰 파이프라인 상태
+ * <p>
+ * 단계별 상태와 시작/종료 시각, 단계가 남긴 건수를 보관합니다. 단계는 서로 다른 스레드에서 갱신되므로 단계 정보는 {@code monitor}로 보호하고,
+ * 댓글 건수는 여러 댓글 작업이 동시에 올리므로 원자 변수로 셉니다.
+ */
+public final class ReviewPipelineState {
+
+    /**
+     * 파이프라인 단계 (진행 순서)
+     */
+    public enum Stage {
+        FETCH, RESOLVE, ANALYZE, MAP, COMMENT
+    }
+
+    private final Object monitor = new Object();
+    private final String pipelineId;
+    private final String reviewUrl;
+    private final Instant createdAt;
+    private final Map<Stage, StageTiming> stages = new EnumMap<>(Stage.class);
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final AtomicInteger postedCommentCount = new AtomicInteger();
+    private final AtomicInteger failedCommentCount = new AtomicInteger();
+    private final AtomicInteger skippedCommentCount = new AtomicInteger();
+    private volatile String status;
+    private volatile Instant finishedAt;
+    private volatile String message;
+    private volatile String sparrowJobId;
+    private volatile int changedFileCount;
+    private volatile int analyzedFileCount;
+    private volatile int issueCount;
+    private volatile int inDiffIssueCount;
+
+    public ReviewPipelineState(String pipelineId, String reviewUrl) {
+        this.pipelineId = pipelineId;
+        this.reviewUrl = reviewUrl;
+        this.createdAt = Instant.now();
+        this.status = "RUNNING";
+        this.message = "";
+        for (Stage stage : Stage.values()) {
+            stages.put(stage, new StageTiming());
+        }
+    }
+
+    public String pipelineId() {
+        return pipelineId;
+    }
+
+    public String status() {
+        return status;
+    }
+
+    public boolean isTerminal() {
+        return completion.isDone();
+    }
+
+    public void startStage(Stage stage) {
+        synchronized (monitor) {
+            StageTiming timing = stages.get(stage);
+            if (timing.startedAt == null) {
+                timing.startedAt = Instant.now();
+                timing.status = "RUNNING";
+            }
+        }
+    }
+
+    public void finishStage(Stage stage, String stageMessage) {
+        endStage(stage, "SUCCEEDED", stageMessage);
+    }
+
+    public void skipStage(Stage stage, String stageMessage) {
+        endStage(stage, "SKIPPED", stageMessage);
+    }
+
+    private void endStage(Stage stage, String stageStatus, String stageMessage) {
+        synchronized (monitor) {
+            StageTiming timing = stages.get(stage);
+            timing.status = stageStatus;
+            timing.message = stageMessage == null ? "" : stageMessage;
+            if (timing.startedAt == null && "SKIPPED".equals(stageStatus)) {
+                // 시작하지 않고 건너뛴 단계는 시각을 남기지 않습니다.
+                return;
+            }
+            Instant now = Instant.now();
+            if (timing.startedAt == null) {
+                timing.startedAt = now;
+            }
+            timing.finishedAt = now;
+        }
+    }
+
+    public void sparrowJobId(String jobId) {
+        this.sparrowJobId = jobId;
+    }
+
+    public void changedFileCount(int count) {
+        this.changedFileCount = count;
+    }
+
+    public void analyzedFileCount(int count) {
+        this.analyzedFileCount = count;
+    }
+
+    public void issueCount(int count) {
+        this.issueCount = count;
+    }
+
+    public void inDiffIssueCount(int count) {
+        this.inDiffIssueCount = count;
+    }
+
+    public void commentPosted() {
+        postedCommentCount.incrementAndGet();
+    }
+
+    public void commentFailed() {
+        failedCommentCount.incrementAndGet();
+    }
+
+    /**
+     * 같은 위치에 같은 SPARROW 댓글이 이미 있어 게시하지 않았습니다.
+     */
+    public void commentSkipped() {
+        skippedCommentCount.incrementAndGet();
+    }
+
+    public int failedCommentCount() {
+        return failedCommentCount.get();
+    }
+
+    public int skippedCommentCount() {
+        return skippedCommentCount.get();
+    }
+
+    public void markSucceeded(String resultMessage) {
+        complete("SUCCEEDED", resultMessage);
+    }
+
+    /**
+     * 파이프라인을 실패로 끝냅니다. 아직 끝나지 않은 단계는 실패 또는 건너뜀으로 표시합니다.
+     */
+    public void markFailed(String resultMessage) {
+        synchronized (monitor) {
+            for (Map.Entry<Stage, StageTiming> entry : stages.entrySet()) {
+                StageTiming timing = entry.getValue();
+                if ("RUNNING".equals(timing.status)) {
+                    endStage(entry.getKey(), "FAILED", resultMessage);
+                } else if ("PENDING".equals(timing.status)) {
+                    endStage(entry.getKey(), "SKIPPED", "");
+                }
+            }
+        }
+        complete("FAILED", resultMessage);
+    }
+
+    private void complete(String resultStatus, String resultMessage) {
+        synchronized (monitor) {
+            if (completion.isDone()) {
+                return;
+            }
+            this.finishedAt = Instant.now();
+            this.message = resultMessage == null ? "" : resultMessage;
+            this.status = resultStatus;
+        }
+        completion.complete(null);
+    }
+
+    /**
+     * 파이프라인이 끝나거나 {@code waitMillis}가 지날 때까지 기다립니다.
+     */
+    public void awaitTerminal(long waitMillis) throws InterruptedException {
+        try {
+            completion.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException ex) {
+            // 기다린 시간 동안 끝나지 않았으면 현재 상태를 그대로 반환합니다.
+        }
+    }
+
+    public ReviewPipelineResponse toResponse() {
+        List<ReviewPipelineStage> stageResponses = new ArrayList<>(stages.size());
+        synchronized (monitor) {
+            Instant now = Instant.now();
+            for (Map.Entry<Stage, StageTiming> entry : stages.entrySet()) {
+                StageTiming timing = entry.getValue();
+                long durationMillis = timing.startedAt == null
+                    ? 0L
+                    : Duration.between(timing.startedAt, timing.finishedAt == null ? now : timing.finishedAt).toMillis();
+                stageResponses.add(new ReviewPipelineStage(entry.getKey().name(), timing.status, timing.startedAt,
+                    timing.finishedAt, durationMillis, timing.message));
+            }
+        }
+        Instant end = finishedAt == null ? Instant.now() : finishedAt;
+        return new ReviewPipelineResponse(
+            pipelineId,
+            reviewUrl,
+            status,
+            sparrowJobId,
+            createdAt,
+            finishedAt,
+            Duration.between(createdAt, end).toMillis(),
+            stageResponses,
+            changedFileCount,
+            analyzedFileCount,
+            issueCount,
+            inDiffIssueCount,
+            postedCommentCount.get(),
+            failedCommentCount.get(),
+            skippedCommentCount.get(),
+            message
+        );
+    }
+
+    private static final class StageTiming {
+        private String status = "PENDING";
+        private Instant startedAt;
+        private Instant finishedAt;
+        private String message = "";
+    }
+}
@@ -0,0 +1,115 @@
+package com.mcp_server.sabang.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 규칙별/파일별 알람 수를 세는 카운터
+ * <p>
+ * 키마다 {@code Integer}를 새로 만들지 않도록 키는 처음 나온 순서대로 배열에, 개수는 {@code int[]}에 두고
+ * 개방 주소법(open addressing) 해시 테이블로 키 위치를 찾습니다. 비어 있는 키는 {@code UNKNOWN}으로 셉니다.
+ * 스레드 안전하지 않습니다.
+ */
+public final class SparrowAlarmCounter {
+    /** 상위 K개에 들지 않은 나머지 키의 합계를 담는 키 */
+    public static final String OTHER_KEY = "OTHER";
+    private static final String UNKNOWN_KEY = "UNKNOWN";
+    private static final int EMPTY_SLOT = -1;
+
+    private String[] keys = new String[16];
+    private int[] counts = new int[16];
+    private int[] slots = newSlots(32);
+    private int size;
+
+    public void add(String key) {
+        String normalized = key == null || key.isBlank() ? UNKNOWN_KEY : key;
+        int mask = slots.length - 1;
+        int slot = spread(normalized.hashCode()) & mask;
+        while (slots[slot] != EMPTY_SLOT) {
+            int index = slots[slot];
+            if (keys[index].equals(normalized)) {
+                counts[index]++;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+        }
+        keys[size] = normalized;
+        counts[size] = 1;
+        slots[slot] = size;
+        size++;
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+    }
+
+    /**
+     * @return 서로 다른 키 수
+     */
+    public int distinctCount() {
+        return size;
+    }
+
+    /**
+     * 알람 수가 많은 순서로 상위 {@code limit}개 키를 돌려줍니다. 나머지가 있으면 합계를 {@link #OTHER_KEY}로 덧붙입니다.
+     * 알람 수가 같으면 먼저 나온 키가 앞에 옵니다.
+     */
+    public Map<String, Integer> top(int limit) {
+        if (size == 0) {
+            return Collections.emptyMap();
+        }
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (left, right) -> Integer.compare(counts[right], counts[left]));
+
+        int shown = Math.min(Math.max(limit, 0), size);
+        Map<String, Integer> top = new LinkedHashMap<>();
+        for (int i = 0; i < shown; i++) {
+            top.put(keys[order[i]], counts[order[i]]);
+        }
+        int other = 0;
+        for (int i = shown; i < size; i++) {
+            other += counts[order[i]];
+        }
+        if (shown < size) {
+            top.merge(OTHER_KEY, other, Integer::sum);
+        }
+        return top;
+    }
+
+    /**
+     * @return 모든 키의 알람 수 (알람 수가 많은 순서)
+     */
+    public Map<String, Integer> all() {
+        return top(size);
+    }
+
+    private void rehash() {
+        slots = newSlots(slots.length * 2);
+        int mask = slots.length - 1;
+        for (int index = 0; index < size; index++) {
+            int slot = spread(keys[index].hashCode()) & mask;
+            while (slots[slot] != EMPTY_SLOT) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = index;
+        }
+    }
+
+    private static int[] newSlots(int capacity) {
+        int[] slots = new int[capacity];
+        Arrays.fill(slots, EMPTY_SLOT);
+        return slots;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,23 @@
+package com.mcp_server.sabang.model;
+
+import java.time.Instant;
+
+/**
+ * 프로젝트의 기준선(baseline). 기준으로 삼은 Job의 리포트와 이슈 지문을 보관합니다.
+ *
+ * @param projectId    SPARROW 프로젝트 ID
+ * @param jobId        기준으로 삼은 Job ID
+ * @param createdAt    기준선을 기록한 시각
+ * @param report       기준 리포트 (메모리 매핑한 파일)
+ * @param fingerprints 기준 리포트 이슈의 지문
+ * @param index        기준 리포트 이슈 색인 (해결된 이슈 조회용)
+ */
+public record SparrowBaseline(
+    String projectId,
+    String jobId,
+    Instant createdAt,
+    SparrowSpilledReport report,
+    SparrowIssueFingerprints fingerprints,
+    SparrowIssueIndex index
+) {
+}
@@ -0,0 +1,27 @@
+package com.mcp_server.sabang.model;
+
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import java.util.Locale;
+
+/**
+ * 상태 조회에서 프로젝트 기준선(baseline)과 비교하는 방식
+ */
+public enum SparrowBaselineMode {
+    /** 비교하지 않고 모든 이슈 */
+    ALL,
+    /** 기준선에 없는, 새로 생긴 이슈 */
+    NEW,
+    /** 기준선에는 있지만 이번 결과에는 없는, 해결된 이슈 */
+    RESOLVED;
+
+    public static SparrowBaselineMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return ALL;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new SparrowExecutionException("Unknown baseline mode: " + value + " (expected ALL, NEW or RESOLVED)");
+        }
+    }
+}
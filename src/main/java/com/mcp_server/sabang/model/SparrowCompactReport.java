@@ -0,0 +1,223 @@
+package com.mcp_server.sabang.model;
+
+import com.mcp_server.sabang.dto.SparrowAnalyzeIssue;
+import com.mcp_server.sabang.dto.SparrowAnalyzeReport;
+import com.mcp_server.sabang.dto.SparrowAnalyzeSummary;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 종료된 Job이 보관하는 SPARROW 리포트의 압축 표현
+ * <p>
+ * 이슈를 레코드 객체 대신 열(column) 단위 원시 배열로 저장합니다. 규칙, 파일, 함수, 클래스, 태그, 설명 ID, 라인 리뷰 사유, 출처 리포트처럼
+ * 반복되는 문자열은 리포트당 사전(dictionary)에 한 번만 두고 이슈에는 사전 번호만 저장하며, 라인 번호는 int로 저장합니다.
+ * 응답을 만들 때만 {@link #issue(int)}로 {@link SparrowAnalyzeIssue}를 다시 만듭니다.
+ */
+public final class SparrowCompactReport implements SparrowStoredReport {
+    private static final long OBJECT_OVERHEAD_BYTES = 48L;
+    private static final int NO_LINE = Integer.MIN_VALUE;
+    private static final int NO_STRING = -1;
+
+    private final String reportPath;
+    private final SparrowAnalyzeSummary summary;
+    private final int size;
+    private final String[] dictionary;
+    /** 숫자로 된 localId는 int로, 그 밖의 localId만 문자열로 보관합니다. */
+    private final int[] numericLocalIds;
+    private final String[] otherLocalIds;
+    private final BitSet textLocalIds;
+    private final int[] rules;
+    private final int[] files;
+    private final int[] lines;
+    private final int[] functions;
+    private final int[] classNames;
+    private final int[] tags;
+    private final int[] descriptionIds;
+    private final int[] lineReviewReasons;
+    private final int[] sources;
+    private final BitSet lineReviewRecommended;
+    /** lineReviewRecommended 값이 없는(필드 선택으로 비운) 이슈 */
+    private final BitSet lineReviewMissing;
+
+    private SparrowCompactReport(String reportPath, SparrowAnalyzeSummary summary, List<SparrowAnalyzeIssue> issues) {
+        this.reportPath = reportPath;
+        this.summary = summary;
+        this.size = issues.size();
+        this.numericLocalIds = new int[size];
+        this.rules = new int[size];
+        this.files = new int[size];
+        this.lines = new int[size];
+        this.functions = new int[size];
+        this.classNames = new int[size];
+        this.tags = new int[size];
+        this.descriptionIds = new int[size];
+        this.lineReviewReasons = new int[size];
+        this.sources = new int[size];
+        this.lineReviewRecommended = new BitSet(size);
+        this.lineReviewMissing = new BitSet(size);
+        this.textLocalIds = new BitSet(size);
+
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        String[] nonNumericLocalIds = null;
+        for (int i = 0; i < size; i++) {
+            SparrowAnalyzeIssue issue = issues.get(i);
+            Integer numericLocalId = numericLocalId(issue.localId());
+            if (numericLocalId != null) {
+                numericLocalIds[i] = numericLocalId;
+            } else {
+                if (nonNumericLocalIds == null) {
+                    nonNumericLocalIds = new String[size];
+                }
+                nonNumericLocalIds[i] = issue.localId();
+                textLocalIds.set(i);
+            }
+            rules[i] = encode(issue.rule(), codes, strings);
+            files[i] = encode(issue.file(), codes, strings);
+            lines[i] = issue.line() == null ? NO_LINE : issue.line();
+            functions[i] = encode(issue.function(), codes, strings);
+            classNames[i] = encode(issue.className(), codes, strings);
+            tags[i] = encode(issue.tag(), codes, strings);
+            descriptionIds[i] = encode(issue.descriptionId(), codes, strings);
+            lineReviewReasons[i] = encode(issue.lineReviewReason(), codes, strings);
+            sources[i] = encode(issue.source(), codes, strings);
+            if (issue.lineReviewRecommended() == null) {
+                lineReviewMissing.set(i);
+            } else if (issue.lineReviewRecommended()) {
+                lineReviewRecommended.set(i);
+            }
+        }
+        this.otherLocalIds = nonNumericLocalIds;
+        this.dictionary = strings.toArray(String[]::new);
+    }
+
+    public static SparrowCompactReport of(SparrowAnalyzeReport report) {
+        return new SparrowCompactReport(report.reportPath(), report.summary(), report.details());
+    }
+
+    public static SparrowCompactReport empty() {
+        return new SparrowCompactReport(
+            "", new SparrowAnalyzeSummary(0, 0, Collections.emptyMap(), Collections.emptyMap(), 0, 0), Collections.emptyList()
+        );
+    }
+
+    @Override
+    public String reportPath() {
+        return reportPath;
+    }
+
+    @Override
+    public SparrowAnalyzeSummary summary() {
+        return summary;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String rule(int position) {
+        return decode(rules[position]);
+    }
+
+    @Override
+    public String file(int position) {
+        return decode(files[position]);
+    }
+
+    @Override
+    public boolean lineReviewRecommended(int position) {
+        return lineReviewRecommended.get(position);
+    }
+
+    @Override
+    public SparrowAnalyzeIssue issue(int position) {
+        return new SparrowAnalyzeIssue(
+            textLocalIds.get(position)
+                ? otherLocalIds[position]
+                : Integer.toString(numericLocalIds[position]),
+            decode(rules[position]),
+            decode(files[position]),
+            lines[position] == NO_LINE ? null : lines[position],
+            decode(functions[position]),
+            decode(classNames[position]),
+            decode(tags[position]),
+            decode(descriptionIds[position]),
+            lineReviewMissing.get(position) ? null : lineReviewRecommended.get(position),
+            decode(lineReviewReasons[position]),
+            decode(sources[position])
+        );
+    }
+
+    @Override
+    public long retainedBytes() {
+        long bytes = OBJECT_OVERHEAD_BYTES + sizeOf(reportPath);
+        bytes += sizeOf(summary.alarmsByRule()) + sizeOf(summary.alarmsByFile());
+        // 열 배열 10개(int)와 비트셋 3개
+        bytes += 10L * (OBJECT_OVERHEAD_BYTES + 4L * size) + 3L * (OBJECT_OVERHEAD_BYTES + size / 8);
+        bytes += OBJECT_OVERHEAD_BYTES + 8L * dictionary.length;
+        for (String value : dictionary) {
+            bytes += sizeOf(value);
+        }
+        if (otherLocalIds != null) {
+            bytes += OBJECT_OVERHEAD_BYTES + 8L * size;
+            for (String value : otherLocalIds) {
+                bytes += sizeOf(value);
+            }
+        }
+        return bytes;
+    }
+
+    private String decode(int code) {
+        return code == NO_STRING ? null : dictionary[code];
+    }
+
+    private static int encode(String value, Map<String, Integer> codes, List<String> strings) {
+        if (value == null) {
+            return NO_STRING;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = strings.size();
+            codes.put(value, code);
+            strings.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * 문자열로 되돌렸을 때 원래 값과 같은 경우에만 숫자로 저장합니다 (앞자리 0, 부호 등 제외).
+     */
+    private static Integer numericLocalId(String localId) {
+        if (localId == null || localId.isEmpty() || localId.length() > 9) {
+            return null;
+        }
+        for (int i = 0; i < localId.length(); i++) {
+            char c = localId.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+        }
+        if (localId.length() > 1 && localId.charAt(0) == '0') {
+            return null;
+        }
+        return Integer.parseInt(localId);
+    }
+
+    private static long sizeOf(String value) {
+        return value == null ? 0L : OBJECT_OVERHEAD_BYTES + value.length();
+    }
+
+    private static long sizeOf(Map<String, Integer> counts) {
+        long bytes = 0L;
+        for (String key : counts.keySet()) {
+            bytes += OBJECT_OVERHEAD_BYTES + sizeOf(key);
+        }
+        return bytes;
+    }
+}
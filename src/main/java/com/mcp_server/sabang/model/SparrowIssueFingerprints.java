@@ -0,0 +1,228 @@
+package com.mcp_server.sabang.model;
+
+import com.mcp_server.sabang.dto.SparrowAnalyzeIssue;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 리포트 이슈별 지문(fingerprint)과 지문 해시 색인
+ * <p>
+ * 지문은 규칙, 저장소 기준 파일 경로, 함수, 클래스, 설명 ID와 알람이 가리키는 소스 줄의 내용(공백을 하나로 줄인 값)을 64비트로 해시한
+ * 값입니다. 라인 번호 대신 줄 내용을 쓰므로 위쪽 코드가 바뀌어 줄이 밀려도 같은 이슈는 같은 지문을 가집니다. 같은 값을 가진 이슈가
+ * 여럿이면 나온 순서도 함께 해시하여 서로 구분합니다. 소스 파일을 읽을 수 없으면 줄 내용 없이 계산합니다.
+ * <p>
+ * 파일 경로는 가장 가까운 상위의 {@code .git} 또는 {@value #REPOSITORY_ROOT_MARKER} 디렉터리를 기준으로 한 상대 경로를 씁니다.
+ * 그래서 다른 위치에 체크아웃한 저장소나 커밋별 소스 캐시 디렉터리에서 분석해도 같은 파일의 이슈는 같은 지문을 가집니다. 저장소 루트를
+ * 찾지 못하면 리포트의 경로를 그대로 씁니다.
+ * <p>
+ * 지문은 원시 {@code long} 배열과 개방 주소법(open addressing) 해시 테이블에 두므로, 수만 개 이슈의 차집합도 객체를 만들지 않고 구합니다.
+ */
+public final class SparrowIssueFingerprints {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long EMPTY = 0L;
+
+    /**
+     * 저장소 루트임을 표시하는 파일 이름. git 체크아웃이 아닌 소스 디렉터리(소스 캐시의 커밋 디렉터리 등)에 둡니다.
+     */
+    public static final String REPOSITORY_ROOT_MARKER = ".sparrow-repository-root";
+    private static final String GIT_DIRECTORY = ".git";
+
+    private final long[] values;
+    private final long[] table;
+    private final int mask;
+    private final boolean containsEmpty;
+
+    private SparrowIssueFingerprints(long[] values) {
+        this.values = values;
+        int capacity = Integer.highestOneBit(Math.max(4, values.length * 2 - 1)) << 1;
+        this.table = new long[capacity];
+        this.mask = capacity - 1;
+        boolean empty = false;
+        for (long value : values) {
+            if (value == EMPTY) {
+                empty = true;
+                continue;
+            }
+            int slot = slot(value);
+            while (table[slot] != EMPTY && table[slot] != value) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = value;
+        }
+        this.containsEmpty = empty;
+    }
+
+    /**
+     * 저장해 둔 지문으로 색인을 만듭니다.
+     *
+     * @param values 이슈 위치 순서의 지문
+     */
+    public static SparrowIssueFingerprints of(long[] values) {
+        return new SparrowIssueFingerprints(values);
+    }
+
+    /**
+     * 리포트 이슈의 지문을 계산합니다. 줄 내용은 이슈의 파일 경로로 소스 파일을 읽어 가져오며, 파일마다 한 번만 읽습니다.
+     * 소스 파일이 남아 있을 때 계산해야 하므로 Job이 끝날 때 호출합니다.
+     */
+    public static SparrowIssueFingerprints of(SparrowStoredReport report) {
+        long[] values = new long[report.size()];
+        Map<String, List<String>> sources = new HashMap<>();
+        Map<String, String> repositoryPaths = new HashMap<>();
+        Map<Path, Optional<Path>> repositoryRoots = new HashMap<>();
+        Map<Long, Integer> occurrences = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            SparrowAnalyzeIssue issue = report.issue(i);
+            String file = nullToEmpty(issue.file());
+            String lineContext = lineContext(sources.computeIfAbsent(file, SparrowIssueFingerprints::readLines),
+                issue.line());
+            String repositoryPath = repositoryPaths.computeIfAbsent(file,
+                key -> repositoryPath(key, repositoryRoots));
+            long hash = FNV_OFFSET_BASIS;
+            hash = hash(hash, issue.rule());
+            hash = hash(hash, repositoryPath);
+            hash = hash(hash, issue.function());
+            hash = hash(hash, issue.className());
+            hash = hash(hash, issue.descriptionId());
+            hash = hash(hash, lineContext);
+            int occurrence = occurrences.merge(hash, 1, Integer::sum);
+            values[i] = hash(hash, Integer.toString(occurrence));
+        }
+        return new SparrowIssueFingerprints(values);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @return 이슈 위치 순서의 지문 (복사본이 아니므로 바꾸지 않아야 합니다)
+     */
+    public long[] values() {
+        return values;
+    }
+
+    public boolean contains(long fingerprint) {
+        if (fingerprint == EMPTY) {
+            return containsEmpty;
+        }
+        int slot = slot(fingerprint);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == fingerprint) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @return 지문이 {@code other}에 없는 이슈 위치
+     */
+    public BitSet missingFrom(SparrowIssueFingerprints other) {
+        BitSet missing = new BitSet(values.length);
+        for (int i = 0; i < values.length; i++) {
+            if (!other.contains(values[i])) {
+                missing.set(i);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * 대략적인 힙 사용량
+     */
+    public long retainedBytes() {
+        return (long) (values.length + table.length) * Long.BYTES;
+    }
+
+    private int slot(long value) {
+        long mixed = value * 0x9e3779b97f4a7c15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+
+    private static long hash(long hash, String value) {
+        String text = nullToEmpty(value);
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        // 필드 구분자
+        hash ^= 0xff;
+        hash *= FNV_PRIME;
+        return hash;
+    }
+
+    private static String lineContext(List<String> lines, Integer line) {
+        if (line == null || line < 1 || line > lines.size()) {
+            return "";
+        }
+        return lines.get(line - 1).trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * @return 저장소 루트 기준 경로 ({@code /} 구분), 루트를 찾지 못하면 {@code file} 그대로
+     */
+    private static String repositoryPath(String file, Map<Path, Optional<Path>> repositoryRoots) {
+        if (file.isBlank()) {
+            return file;
+        }
+        try {
+            Path path = Path.of(file);
+            if (!path.isAbsolute() || path.getParent() == null) {
+                return file;
+            }
+            Path normalized = path.normalize();
+            return repositoryRoot(normalized.getParent(), repositoryRoots)
+                .map(root -> root.relativize(normalized).toString().replace('\\', '/'))
+                .orElse(file);
+        } catch (InvalidPathException | SecurityException ex) {
+            return file;
+        }
+    }
+
+    private static Optional<Path> repositoryRoot(Path directory, Map<Path, Optional<Path>> repositoryRoots) {
+        Optional<Path> known = repositoryRoots.get(directory);
+        if (known != null) {
+            return known;
+        }
+        Optional<Path> root;
+        if (Files.exists(directory.resolve(GIT_DIRECTORY)) || Files.exists(directory.resolve(REPOSITORY_ROOT_MARKER))) {
+            root = Optional.of(directory);
+        } else {
+            Path parent = directory.getParent();
+            root = parent == null ? Optional.empty() : repositoryRoot(parent, repositoryRoots);
+        }
+        repositoryRoots.put(directory, root);
+        return root;
+    }
+
+    private static List<String> readLines(String file) {
+        if (file.isBlank()) {
+            return List.of();
+        }
+        try {
+            Path path = Path.of(file);
+            if (!Files.isRegularFile(path)) {
+                return List.of();
+            }
+            return Arrays.asList(new String(Files.readAllBytes(path), StandardCharsets.UTF_8).split("\\R", -1));
+        } catch (IOException | InvalidPathException | SecurityException ex) {
+            return List.of();
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
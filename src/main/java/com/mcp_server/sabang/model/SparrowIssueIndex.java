@@ -0,0 +1,234 @@
+package com.mcp_server.sabang.model;
+
+import com.mcp_server.sabang.dto.SparrowAnalyzeIssue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+
+/**
+ * 종료된 Job 리포트({@link SparrowStoredReport}) 이슈에 대한 조회용 색인
+ * <p>
+ * 규칙별/파일별 이슈 위치(오름차순 int 배열)와 라인 리뷰 권장 여부 비트셋을 리포트당 한 번만 만들어 두고,
+ * 페이지 조회 시 전체 이슈를 다시 훑지 않고 후보 위치만 확인합니다. 각 색인은 그 조건으로 처음 조회할 때 만듭니다.
+ */
+public final class SparrowIssueIndex {
+    private static final int[] NO_POSITIONS = new int[0];
+
+    private final SparrowStoredReport report;
+    private Map<String, int[]> positionsByRule;
+    private NavigableMap<String, int[]> positionsByFile;
+    private BitSet lineReviewRecommended;
+    private int lineReviewRecommendedCount;
+
+    private SparrowIssueIndex(SparrowStoredReport report) {
+        this.report = report;
+    }
+
+    public static SparrowIssueIndex build(SparrowStoredReport report) {
+        return new SparrowIssueIndex(report);
+    }
+
+    private synchronized Map<String, int[]> positionsByRule() {
+        if (positionsByRule == null) {
+            positionsByRule = group(report.size(), report::rule, new HashMap<>());
+        }
+        return positionsByRule;
+    }
+
+    private synchronized NavigableMap<String, int[]> positionsByFile() {
+        if (positionsByFile == null) {
+            positionsByFile = group(report.size(), report::file, new TreeMap<>());
+        }
+        return positionsByFile;
+    }
+
+    private synchronized BitSet lineReviewRecommended() {
+        if (lineReviewRecommended == null) {
+            BitSet recommended = new BitSet(report.size());
+            for (int i = 0; i < report.size(); i++) {
+                if (report.lineReviewRecommended(i)) {
+                    recommended.set(i);
+                }
+            }
+            lineReviewRecommendedCount = recommended.cardinality();
+            lineReviewRecommended = recommended;
+        }
+        return lineReviewRecommended;
+    }
+
+    /**
+     * 조건에 맞는 이슈를 {@code fromPosition}부터 최대 {@code pageSize}개 반환합니다.
+     *
+     * @param query        조회 조건
+     * @param fromPosition 이슈 목록에서 조회를 시작할 위치 (이전 페이지의 {@code nextPosition})
+     * @param pageSize     최대 이슈 수
+     */
+    public SparrowIssuePage page(SparrowIssueQuery query, int fromPosition, int pageSize) {
+        return page(query, null, fromPosition, pageSize);
+    }
+
+    /**
+     * {@code included}에 속한 이슈 중 조건에 맞는 것을 {@code fromPosition}부터 최대 {@code pageSize}개 반환합니다.
+     *
+     * @param included 조회 대상 이슈 위치 (기준선 비교 결과 등), null이면 전체
+     */
+    public SparrowIssuePage page(SparrowIssueQuery query, BitSet included, int fromPosition, int pageSize) {
+        int[] candidates = null;
+        if (query.rule() != null) {
+            candidates = positionsByRule().getOrDefault(query.rule(), NO_POSITIONS);
+        }
+        if (query.filePrefix() != null) {
+            int[] byFile = positionsByFilePrefix(query.filePrefix());
+            candidates = candidates == null ? byFile : intersect(candidates, byFile);
+        }
+        if (included != null) {
+            candidates = candidates == null ? positions(included) : filter(candidates, included);
+        }
+
+        Boolean lineReview = query.lineReviewRecommended();
+        if (candidates == null && lineReview != null) {
+            return pageByLineReview(query, lineReview, fromPosition, pageSize);
+        }
+        if (candidates != null && lineReview != null) {
+            candidates = filterByLineReview(candidates, lineReview);
+        }
+        if (candidates == null) {
+            return pageAll(query, fromPosition, pageSize);
+        }
+
+        int start = lowerBound(candidates, fromPosition);
+        int end = Math.min(candidates.length, start + pageSize);
+        List<SparrowAnalyzeIssue> page = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            page.add(query.project(report.issue(candidates[i])));
+        }
+        int nextPosition = end < candidates.length ? candidates[end] : -1;
+        return new SparrowIssuePage(page, candidates.length, nextPosition);
+    }
+
+    private SparrowIssuePage pageAll(SparrowIssueQuery query, int fromPosition, int pageSize) {
+        int start = Math.min(Math.max(0, fromPosition), report.size());
+        int end = Math.min(report.size(), start + pageSize);
+        List<SparrowAnalyzeIssue> page = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            page.add(query.project(report.issue(i)));
+        }
+        return new SparrowIssuePage(page, report.size(), end < report.size() ? end : -1);
+    }
+
+    private SparrowIssuePage pageByLineReview(SparrowIssueQuery query, boolean recommended, int fromPosition,
+        int pageSize) {
+        BitSet lineReview = lineReviewRecommended();
+        int matched = recommended ? lineReviewRecommendedCount : report.size() - lineReviewRecommendedCount;
+        List<SparrowAnalyzeIssue> page = new ArrayList<>(Math.min(pageSize, matched));
+        int position = nextMatch(lineReview, recommended, Math.max(0, fromPosition));
+        while (position >= 0 && page.size() < pageSize) {
+            page.add(query.project(report.issue(position)));
+            position = nextMatch(lineReview, recommended, position + 1);
+        }
+        return new SparrowIssuePage(page, matched, position);
+    }
+
+    private int nextMatch(BitSet lineReview, boolean recommended, int from) {
+        int position = recommended ? lineReview.nextSetBit(from) : lineReview.nextClearBit(from);
+        return position >= 0 && position < report.size() ? position : -1;
+    }
+
+    private int[] filterByLineReview(int[] candidates, boolean recommended) {
+        BitSet lineReview = lineReviewRecommended();
+        int[] filtered = new int[candidates.length];
+        int count = 0;
+        for (int position : candidates) {
+            if (lineReview.get(position) == recommended) {
+                filtered[count++] = position;
+            }
+        }
+        return count == filtered.length ? filtered : Arrays.copyOf(filtered, count);
+    }
+
+    private static int[] filter(int[] candidates, BitSet included) {
+        int[] filtered = new int[candidates.length];
+        int count = 0;
+        for (int position : candidates) {
+            if (included.get(position)) {
+                filtered[count++] = position;
+            }
+        }
+        return count == filtered.length ? filtered : Arrays.copyOf(filtered, count);
+    }
+
+    private int[] positions(BitSet included) {
+        return included.stream().filter(position -> position < report.size()).toArray();
+    }
+
+    private int[] positionsByFilePrefix(String prefix) {
+        Map<String, int[]> matches = positionsByFile().subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (matches.size() == 1) {
+            return matches.values().iterator().next();
+        }
+        int total = 0;
+        for (int[] positions : matches.values()) {
+            total += positions.length;
+        }
+        int[] merged = new int[total];
+        int offset = 0;
+        for (int[] positions : matches.values()) {
+            System.arraycopy(positions, 0, merged, offset, positions.length);
+            offset += positions.length;
+        }
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static int lowerBound(int[] positions, int fromPosition) {
+        int index = Arrays.binarySearch(positions, fromPosition);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static <M extends Map<String, int[]>> M group(int size, IntFunction<String> key, M target) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            counts.merge(nullToEmpty(key.apply(i)), 1, Integer::sum);
+        }
+        Map<String, Integer> filled = new HashMap<>(counts.size() * 2);
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            target.put(entry.getKey(), new int[entry.getValue()]);
+            filled.put(entry.getKey(), 0);
+        }
+        for (int i = 0; i < size; i++) {
+            String value = nullToEmpty(key.apply(i));
+            int offset = filled.merge(value, 1, Integer::sum) - 1;
+            target.get(value)[offset] = i;
+        }
+        return target;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,79 @@
+package com.mcp_server.sabang.model;
+
+import com.mcp_server.sabang.dto.SparrowAnalyzeIssue;
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 조건에 맞는 이슈 중 한 페이지
+ *
+ * @param issues       이번 페이지의 이슈
+ * @param matchedCount 조건에 맞는 전체 이슈 수
+ * @param nextPosition 다음 페이지가 시작하는 이슈 위치, 마지막 페이지면 -1
+ */
+public record SparrowIssuePage(
+    List<SparrowAnalyzeIssue> issues,
+    int matchedCount,
+    int nextPosition
+) {
+
+    /**
+     * 다음 페이지 위치를 클라이언트에 돌려줄 커서 문자열로 만듭니다.
+     *
+     * @return 커서, 마지막 페이지면 null
+     */
+    public String nextCursor(String jobId) {
+        if (nextPosition < 0) {
+            return null;
+        }
+        String value = jobId + ":" + nextPosition;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * {@link #nextCursor(String)}로 만든 커서를 이슈 위치로 되돌립니다.
+     *
+     * @param jobId 커서를 만들 때 넘긴 값 (Job ID 또는 Job ID를 포함한 범위 문자열)
+     * @return 이슈 위치, 커서가 없으면 0
+     */
+    public static int decodeCursor(String jobId, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(':');
+            if (separator < 0 || !value.substring(0, separator).equals(jobId)) {
+                throw new SparrowExecutionException("cursor does not belong to job " + jobId);
+            }
+            int position = Integer.parseInt(value.substring(separator + 1));
+            if (position < 0) {
+                throw new SparrowExecutionException("Invalid cursor: " + cursor);
+            }
+            return position;
+        } catch (IllegalArgumentException ex) {
+            throw new SparrowExecutionException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * @return 커서를 만들 때 넘긴 범위 문자열({@link #nextCursor(String)}의 인자), 커서가 없으면 null
+     */
+    public static String decodeScope(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(':');
+            if (separator < 0) {
+                throw new SparrowExecutionException("Invalid cursor: " + cursor);
+            }
+            return value.substring(0, separator);
+        } catch (IllegalArgumentException ex) {
+            throw new SparrowExecutionException("Invalid cursor: " + cursor);
+        }
+    }
+}
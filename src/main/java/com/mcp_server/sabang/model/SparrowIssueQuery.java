@@ -0,0 +1,105 @@
+package com.mcp_server.sabang.model;
+
+import com.mcp_server.sabang.dto.SparrowAnalyzeIssue;
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * SPARROW 이슈 조회 조건과 필드 선택(projection)
+ *
+ * @param rule                  규칙 이름이 정확히 일치하는 이슈만 (null이면 조건 없음)
+ * @param filePrefix            파일 경로가 이 값으로 시작하는 이슈만 (null이면 조건 없음)
+ * @param lineReviewRecommended 라인 리뷰 권장 여부가 일치하는 이슈만 (null이면 조건 없음)
+ * @param fields                응답에 포함할 이슈 필드, 비어 있으면 전체
+ */
+public record SparrowIssueQuery(
+    String rule,
+    String filePrefix,
+    Boolean lineReviewRecommended,
+    Set<String> fields
+) {
+
+    public static final List<String> ISSUE_FIELDS = List.of(
+        "localId", "rule", "file", "line", "function", "className", "tag", "descriptionId",
+        "lineReviewRecommended", "lineReviewReason", "source"
+    );
+
+    public static SparrowIssueQuery of(String rule, String filePrefix, Boolean lineReviewRecommended,
+        List<String> fields) {
+        Set<String> selected = new LinkedHashSet<>();
+        if (fields != null) {
+            for (String field : fields) {
+                if (field == null || field.isBlank()) {
+                    continue;
+                }
+                String trimmed = field.trim();
+                if (!ISSUE_FIELDS.contains(trimmed)) {
+                    throw new SparrowExecutionException("Unknown issue field: " + trimmed + " (expected one of " + ISSUE_FIELDS + ")");
+                }
+                selected.add(trimmed);
+            }
+        }
+        return new SparrowIssueQuery(blankToNull(rule), blankToNull(filePrefix), lineReviewRecommended, Set.copyOf(selected));
+    }
+
+    /**
+     * 페이지 위치를 바꾸는 조회 조건(필터, 기준선 비교 방식과 기준선 Job)의 해시를 반환합니다. 커서 범위에 넣어 다른 조건으로 만든
+     * 커서를 알아보는 데 씁니다. 이슈 위치와 무관한 필드 선택은 포함하지 않습니다.
+     *
+     * @param baselineJobId 비교하는 기준선을 기록한 Job ID, 기준선과 비교하지 않으면 null
+     */
+    public String cursorKey(SparrowBaselineMode baselineMode, String baselineJobId) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, rule);
+            update(digest, filePrefix);
+            update(digest, lineReviewRecommended == null ? null : lineReviewRecommended.toString());
+            update(digest, baselineMode.name());
+            update(digest, baselineJobId);
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * 선택하지 않은 필드를 null로 비운 이슈를 반환합니다.
+     */
+    public SparrowAnalyzeIssue project(SparrowAnalyzeIssue issue) {
+        if (fields.isEmpty()) {
+            return issue;
+        }
+        return new SparrowAnalyzeIssue(
+            fields.contains("localId") ? issue.localId() : null,
+            fields.contains("rule") ? issue.rule() : null,
+            fields.contains("file") ? issue.file() : null,
+            fields.contains("line") ? issue.line() : null,
+            fields.contains("function") ? issue.function() : null,
+            fields.contains("className") ? issue.className() : null,
+            fields.contains("tag") ? issue.tag() : null,
+            fields.contains("descriptionId") ? issue.descriptionId() : null,
+            fields.contains("lineReviewRecommended") ? issue.lineReviewRecommended() : null,
+            fields.contains("lineReviewReason") ? issue.lineReviewReason() : null,
+            fields.contains("source") ? issue.source() : null
+        );
+    }
+
+    // 조건이 없는 값(null)과 빈 문자열을 구분합니다.
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update((byte) 1);
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
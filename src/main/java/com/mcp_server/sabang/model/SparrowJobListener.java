@@ -0,0 +1,22 @@
+package com.mcp_server.sabang.model;
+
+/**
+ * SPARROW Job 상태 변경을 통지받는 리스너
+ */
+public interface SparrowJobListener {
+
+    /**
+     * Job 상태(status)가 바뀐 직후 호출됩니다. 상태 잠금을 해제한 뒤 호출하므로 리스너에서 Job 상태를 조회해도 됩니다.
+     *
+     * @param state 상태가 바뀐 Job
+     */
+    void onStatusChanged(SparrowJobState state);
+
+    /**
+     * 실행 중인 Job의 진행률이 바뀌었거나 리포트 파싱 단계에 들어갔을 때 호출됩니다.
+     *
+     * @param state 진행 상황이 바뀐 Job
+     */
+    default void onProgress(SparrowJobState state) {
+    }
+}
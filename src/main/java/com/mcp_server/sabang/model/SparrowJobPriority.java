@@ -0,0 +1,25 @@
+package com.mcp_server.sabang.model;
+
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import java.util.Locale;
+
+/**
+ * SPARROW Job 우선순위. 선언 순서가 곧 스케줄링 우선순위입니다.
+ */
+public enum SparrowJobPriority {
+    /** 리뷰 중인 MR/PR 분석처럼 사용자가 결과를 기다리는 Job */
+    INTERACTIVE,
+    /** 전체 재분석 등 대량 Job */
+    BULK;
+
+    public static SparrowJobPriority from(String value) {
+        if (value == null || value.isBlank()) {
+            return INTERACTIVE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new SparrowExecutionException("Unknown job priority: " + value + " (expected INTERACTIVE or BULK)");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.mcp_server.sabang.model;
+
+import com.mcp_server.sabang.dto.SparrowAnalyzeReport;
+
+/**
+ * 종료된 Job의 출력과 리포트 스냅샷. Job 저널에 보관했다가 서버 재시작 후 결과를 복원할 때 사용합니다.
+ *
+ * @param fingerprints Job이 끝날 때 계산한 이슈 지문 (리포트 이슈 순서), 이전 버전의 스냅샷이면 null
+ */
+public record SparrowJobSnapshot(
+    String output,
+    String error,
+    SparrowAnalyzeReport report,
+    long[] fingerprints
+) {
+
+}
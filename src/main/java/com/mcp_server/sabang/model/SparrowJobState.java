@@ -4,13 +4,28 @@ import com.mcp_server.sabang.dto.SparrowAnalyzeJobStatusResponse;
 import com.mcp_server.sabang.dto.SparrowAnalyzeReport;
 import com.mcp_server.sabang.dto.SparrowAnalyzeResponse;
 import com.mcp_server.sabang.dto.SparrowAnalyzeSummary;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 public final class SparrowJobState {
-    private final Object monitor = new Object();
+    private static final long OBJECT_OVERHEAD_BYTES = 48L;
+
+    // 가상 스레드가 잠금 안에서 기다리거나 스냅샷 파일을 읽어도 캐리어 스레드를 붙잡지(pinning) 않도록 synchronized 대신 씁니다.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
     private final String jobId;
     private final String projectId;
+    private final SparrowJobPriority priority;
     private volatile String status;
     private final Instant createdAt;
     private volatile Instant startedAt;
@@ -19,112 +34,716 @@ public final class SparrowJobState {
     private volatile String output;
     private volatile String error;
     private volatile String message;
-    private volatile SparrowAnalyzeReport report;
+    private volatile SparrowStoredReport report;
+    private volatile SparrowProcessOutput processOutput;
+    private volatile String summaryUrl;
+    private volatile Integer progressPercent;
+    private volatile String progressMessage;
+    private volatile long retainedBytes;
+    private volatile boolean cacheHit;
+    private volatile boolean parsingReport;
+    private volatile String stopStatus;
+    private volatile String stopMessage;
+    private Supplier<SparrowJobSnapshot> snapshotLoader;
+    private SparrowStoredReport indexedReport;
+    private SparrowIssueIndex issueIndex;
+    private SparrowStoredReport fingerprintedReport;
+    private SparrowIssueFingerprints fingerprints;
+    private final List<SparrowJobListener> listeners = new CopyOnWriteArrayList<>();
 
-    private SparrowJobState(String jobId, String projectId) {
+    private SparrowJobState(String jobId, String projectId, SparrowJobPriority priority, Instant createdAt) {
         this.jobId = jobId;
         this.projectId = projectId;
+        this.priority = priority;
         this.status = "PENDING";
-        this.createdAt = Instant.now();
+        this.createdAt = createdAt;
         this.startedAt = Instant.EPOCH;
         this.finishedAt = Instant.EPOCH;
         this.exitCode = -1;
         this.output = "";
         this.error = "";
         this.message = "";
-        this.report = emptyReport();
+        this.report = SparrowCompactReport.empty();
+        this.summaryUrl = "";
+        this.progressMessage = "";
+    }
+
+    public static SparrowJobState pending(String jobId, String projectId, SparrowJobPriority priority) {
+        return new SparrowJobState(jobId, projectId, priority, Instant.now());
+    }
+
+    /**
+     * Job 저널에서 읽은 상태로 Job을 복원합니다. 출력과 리포트는 처음 조회할 때 {@code snapshotLoader}로 읽어옵니다.
+     */
+    public static SparrowJobState restored(String jobId, String projectId, SparrowJobPriority priority, String status,
+        Instant createdAt, Instant startedAt, Instant finishedAt, int exitCode, String message, String summaryUrl,
+        boolean cacheHit, Supplier<SparrowJobSnapshot> snapshotLoader) {
+        SparrowJobState state = new SparrowJobState(jobId, projectId, priority, createdAt);
+        state.status = status;
+        state.startedAt = startedAt;
+        state.finishedAt = finishedAt;
+        state.exitCode = exitCode;
+        state.message = message == null ? "" : message;
+        state.summaryUrl = summaryUrl == null ? "" : summaryUrl;
+        state.cacheHit = cacheHit;
+        state.snapshotLoader = snapshotLoader;
+        return state;
+    }
+
+    public void addListener(SparrowJobListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(SparrowJobListener listener) {
+        listeners.remove(listener);
     }
 
-    public static SparrowJobState pending(String jobId, String projectId) {
-        return new SparrowJobState(jobId, projectId);
+    public String jobId() {
+        return jobId;
+    }
+
+    public String projectId() {
+        return projectId;
+    }
+
+    public SparrowJobPriority priority() {
+        return priority;
     }
 
     public String status() {
         return status;
     }
 
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    public Instant startedAt() {
+        return startedAt;
+    }
+
+    public Instant finishedAt() {
+        return finishedAt;
+    }
+
+    public int exitCode() {
+        return exitCode;
+    }
+
+    public String message() {
+        return message;
+    }
+
+    /**
+     * SPARROW를 실행하지 않고 결과 캐시에서 가져온 Job인지 여부
+     */
+    public boolean cacheHit() {
+        return cacheHit;
+    }
+
+    public String summaryUrl() {
+        SparrowProcessOutput live = processOutput;
+        return live == null ? summaryUrl : live.summaryUrl();
+    }
+
+    public Integer progressPercent() {
+        SparrowProcessOutput live = processOutput;
+        return live == null ? progressPercent : live.progressPercent();
+    }
+
+    public String progressMessage() {
+        SparrowProcessOutput live = processOutput;
+        return live == null ? progressMessage : live.progressMessage();
+    }
+
+    /**
+     * 진행 통지용 단계: QUEUED, RUNNING, PARSING_REPORT, DONE
+     */
+    public String phase() {
+        if (isTerminal()) {
+            return "DONE";
+        }
+        if ("PENDING".equals(status)) {
+            return "QUEUED";
+        }
+        return parsingReport ? "PARSING_REPORT" : "RUNNING";
+    }
+
+    /**
+     * 종료된 Job이 보관 중인 출력과 리포트의 대략적인 힙 사용량. 종료 전에는 0입니다.
+     */
+    public long retainedBytes() {
+        return retainedBytes;
+    }
+
     public void markRunning() {
-        synchronized (monitor) {
+        lock.lock();
+        try {
             this.status = "RUNNING";
             this.startedAt = Instant.now();
-            monitor.notifyAll();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        notifyListeners();
+    }
+
+    /**
+     * 실행 중인 프로세스의 출력 버퍼를 연결합니다. 종료 상태가 되기 전까지 상태 조회 시 이 버퍼의 현재 내용을 보여줍니다.
+     */
+    public void attachProcessOutput(SparrowProcessOutput processOutput) {
+        processOutput.onProgressChanged(this::notifyProgress);
+        this.processOutput = processOutput;
+    }
+
+    /**
+     * 프로세스가 끝나고 리포트를 파싱하기 시작할 때 호출합니다.
+     */
+    public void markParsingReport() {
+        this.parsingReport = true;
+        notifyProgress();
+    }
+
+    /**
+     * 실행 중에 지금까지 쓰인 리포트로 중간 결과를 바꿉니다. 종료된 Job에는 적용하지 않습니다.
+     */
+    public void updatePartialReport(SparrowAnalyzeReport partial) {
+        lock.lock();
+        try {
+            if (isTerminal() || partial == null) {
+                return;
+            }
+            this.report = compact(partial);
+        } finally {
+            lock.unlock();
         }
+        notifyProgress();
     }
 
+    /**
+     * 리포트 이슈 수. 실행 중에는 지금까지 읽은 중간 결과의 이슈 수입니다.
+     */
+    public int issueCount() {
+        return report.size();
+    }
+
+    /**
+     * 성공으로 종료합니다. 이슈 지문은 처음 조회할 때 계산합니다.
+     */
     public void markSucceeded(SparrowAnalyzeResponse response) {
-        synchronized (monitor) {
+        markSucceeded(response, false);
+    }
+
+    /**
+     * 성공으로 종료합니다.
+     *
+     * @param captureFingerprints 이슈 지문을 소스 파일이 남아 있는 지금 계산할지 여부. 지문은 리포트의 모든 소스 파일을 읽으므로
+     *                            기준선과 비교할 프로젝트에만 켭니다. 끄면 처음 조회할 때 계산합니다.
+     */
+    public void markSucceeded(SparrowAnalyzeResponse response, boolean captureFingerprints) {
+        SparrowCompactReport finished = compact(response.report());
+        SparrowIssueFingerprints finishedFingerprints = captureFingerprints
+            ? SparrowIssueFingerprints.of(finished)
+            : null;
+        lock.lock();
+        try {
             this.status = "SUCCEEDED";
             this.exitCode = response.exitCode();
             this.output = response.output();
             this.error = response.error();
-            this.report = response.report() == null ? emptyReport() : response.report();
-            this.finishedAt = Instant.now();
-            monitor.notifyAll();
+            setReport(finished, finishedFingerprints);
+            finish();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        notifyListeners();
+    }
+
+    /**
+     * 같은 입력으로 이전에 성공한 결과를 그대로 사용하여 바로 종료합니다.
+     */
+    public void markSucceededFromCache(SparrowJobSnapshot snapshot) {
+        SparrowCompactReport cached = compact(snapshot.report());
+        SparrowIssueFingerprints cachedFingerprints = storedFingerprints(snapshot, cached);
+        lock.lock();
+        try {
+            this.status = "SUCCEEDED";
+            this.cacheHit = true;
+            this.exitCode = 0;
+            this.output = snapshot.output();
+            this.error = snapshot.error();
+            setReport(cached, cachedFingerprints);
+            this.message = "Served from SPARROW result cache; inputs are unchanged";
+            this.startedAt = Instant.now();
+            finish();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
         }
+        notifyListeners();
     }
 
+    /**
+     * 실패로 종료합니다. 실패한 Job은 기준선이 될 수 없으므로 이슈 지문은 비교할 때 계산합니다.
+     */
     public void markFailed(SparrowAnalyzeResponse response, String message) {
-        synchronized (monitor) {
+        SparrowCompactReport finished = compact(response.report());
+        lock.lock();
+        try {
             this.status = "FAILED";
             this.exitCode = response.exitCode();
             this.output = response.output();
             this.error = response.error();
             this.message = message;
-            this.report = response.report() == null ? emptyReport() : response.report();
-            this.finishedAt = Instant.now();
-            monitor.notifyAll();
+            setReport(finished, null);
+            finish();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
         }
+        notifyListeners();
     }
 
     public void markFailed(RuntimeException ex) {
-        synchronized (monitor) {
+        lock.lock();
+        try {
             this.status = "FAILED";
             this.message = ex.getMessage();
+            SparrowProcessOutput live = processOutput;
+            this.output = live == null ? "" : live.stdout();
+            this.error = live == null ? "" : live.stderr();
+            // 중간 리포트가 있으면 그대로 보관합니다.
+            finish();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        notifyListeners();
+    }
+
+    /**
+     * 서버가 재시작되어 대기 중이거나 실행 중이던 Job을 더 이상 이어서 실행할 수 없을 때 호출합니다.
+     */
+    public void markInterrupted(String message) {
+        lock.lock();
+        try {
+            this.status = "INTERRUPTED";
+            this.message = message;
+            this.snapshotLoader = null;
+            finish();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        notifyListeners();
+    }
+
+    /**
+     * 실행 중인 Job을 취소(CANCELLED) 또는 시간 초과(TIMED_OUT)로 멈추겠다고 표시합니다.
+     * 프로세스를 종료한 뒤 {@link #markStopped()}로 종료 상태를 기록합니다.
+     *
+     * @return 처음 요청했으면 true, 이미 멈추는 중이거나 종료되었으면 false
+     */
+    public boolean requestStop(String status, String message) {
+        lock.lock();
+        try {
+            if (isTerminal() || stopStatus != null) {
+                return false;
+            }
+            this.stopStatus = status;
+            this.stopMessage = message;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean stopRequested() {
+        return stopStatus != null;
+    }
+
+    /**
+     * {@link #requestStop(String, String)}로 요청한 종료 상태를 기록합니다. 지금까지의 출력과 중간 리포트는 그대로 보관합니다.
+     */
+    public void markStopped() {
+        lock.lock();
+        try {
+            this.status = stopStatus;
+            this.message = stopMessage;
+            SparrowProcessOutput live = processOutput;
+            this.output = live == null ? "" : live.stdout();
+            this.error = live == null ? "" : live.stderr();
+            finish();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        notifyListeners();
+    }
+
+    /**
+     * 실행되기 전에 대기열에서 취소된 Job을 종료합니다.
+     */
+    public void markCancelled(String message) {
+        lock.lock();
+        try {
+            this.status = "CANCELLED";
+            this.message = message;
+            finish();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        notifyListeners();
+    }
+
+    /**
+     * 종료된 Job의 출력과 리포트 스냅샷을 반환합니다.
+     */
+    public SparrowJobSnapshot snapshot() {
+        ensureSnapshotLoaded();
+        SparrowStoredReport current;
+        String storedOutput;
+        String storedError;
+        SparrowIssueFingerprints currentFingerprints;
+        lock.lock();
+        try {
+            current = report;
+            storedOutput = output;
+            storedError = error;
+            currentFingerprints = fingerprintedReport == current ? fingerprints : null;
+        } finally {
+            lock.unlock();
+        }
+        return new SparrowJobSnapshot(
+            outputOf(current, storedOutput), errorOf(current, storedError), current.toReport(),
+            currentFingerprints == null ? null : currentFingerprints.values()
+        );
+    }
+
+    /**
+     * 현재 리포트. 실행 중에는 지금까지 읽은 중간 결과입니다.
+     */
+    public SparrowStoredReport storedReport() {
+        ensureSnapshotLoaded();
+        return report;
+    }
+
+    /**
+     * {@link #storedReport()}로 받은 리포트의 이슈 지문을 반환합니다. 끝날 때 계산했거나 스냅샷에 저장된 지문이 있으면 그것을 쓰고,
+     * 없으면 여기서 소스 파일을 읽어 계산한 뒤 보관합니다.
+     */
+    public SparrowIssueFingerprints fingerprints(SparrowStoredReport current) {
+        lock.lock();
+        try {
+            if (fingerprintedReport == current && fingerprints != null) {
+                return fingerprints;
+            }
+        } finally {
+            lock.unlock();
+        }
+        SparrowIssueFingerprints computed = SparrowIssueFingerprints.of(current);
+        lock.lock();
+        try {
+            if (report == current) {
+                fingerprintedReport = current;
+                fingerprints = computed;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return computed;
+    }
+
+    /**
+     * 종료된 Job의 리포트와 출력을 {@code file}로 옮기고 힙에는 요약만 남깁니다.
+     * 이후 이슈 페이지와 출력은 메모리 매핑한 파일에서 읽습니다.
+     *
+     * @return 옮겼으면 true, 종료되지 않았거나 이미 옮긴 Job이면 false
+     */
+    public boolean spillTo(Path file) throws IOException {
+        SparrowStoredReport current;
+        String currentOutput;
+        String currentError;
+        lock.lock();
+        try {
+            if (!isTerminal() || snapshotLoader != null || report instanceof SparrowSpilledReport) {
+                return false;
+            }
+            current = report;
+            currentOutput = output;
+            currentError = error;
+        } finally {
+            lock.unlock();
+        }
+        // 종료된 Job의 리포트는 바뀌지 않으므로 파일은 잠금 밖에서 씁니다.
+        SparrowSpilledReport spilled = SparrowSpilledReport.write(file, current, currentOutput, currentError);
+        lock.lock();
+        try {
+            if (report != current) {
+                Files.deleteIfExists(file);
+                return false;
+            }
+            this.report = spilled;
             this.output = "";
             this.error = "";
-            this.report = emptyReport();
-            this.finishedAt = Instant.now();
-            monitor.notifyAll();
+            this.issueIndex = null;
+            this.indexedReport = null;
+            if (fingerprintedReport == current) {
+                // 파일로 옮겨도 이슈는 같으므로 지문은 그대로 씁니다.
+                fingerprintedReport = spilled;
+            }
+            this.retainedBytes = estimateRetainedBytes();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 리포트를 옮긴 파일, 옮기지 않았으면 null
+     */
+    public Path spilledFile() {
+        return report instanceof SparrowSpilledReport spilled ? spilled.file() : null;
+    }
+
+    private static String outputOf(SparrowStoredReport current, String storedOutput) {
+        return current instanceof SparrowSpilledReport spilled ? spilled.output() : storedOutput;
+    }
+
+    private static String errorOf(SparrowStoredReport current, String storedError) {
+        return current instanceof SparrowSpilledReport spilled ? spilled.error() : storedError;
+    }
+
+    private void ensureSnapshotLoaded() {
+        lock.lock();
+        try {
+            if (snapshotLoader == null) {
+                return;
+            }
+            SparrowJobSnapshot snapshot = snapshotLoader.get();
+            snapshotLoader = null;
+            if (snapshot == null) {
+                this.message = message.isBlank() ? "Report snapshot is unavailable" : message;
+                return;
+            }
+            this.output = snapshot.output() == null ? "" : snapshot.output();
+            this.error = snapshot.error() == null ? "" : snapshot.error();
+            SparrowCompactReport restored = compact(snapshot.report());
+            setReport(restored, storedFingerprints(snapshot, restored));
+            this.retainedBytes = estimateRetainedBytes();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 잠금을 쥔 상태에서 호출합니다. {@code reportFingerprints}가 null이면 지문은 처음 조회할 때 계산합니다.
+     */
+    private void setReport(SparrowCompactReport newReport, SparrowIssueFingerprints reportFingerprints) {
+        this.report = newReport;
+        this.fingerprintedReport = reportFingerprints == null ? null : newReport;
+        this.fingerprints = reportFingerprints;
+    }
+
+    /**
+     * 스냅샷에 저장된 지문을 반환합니다. 없거나 이슈 수가 맞지 않으면 null이며, 지문은 처음 조회할 때 계산합니다.
+     */
+    private static SparrowIssueFingerprints storedFingerprints(SparrowJobSnapshot snapshot,
+        SparrowCompactReport report) {
+        long[] values = snapshot.fingerprints();
+        return values != null && values.length == report.size() ? SparrowIssueFingerprints.of(values) : null;
+    }
+
+    private void notifyListeners() {
+        for (SparrowJobListener listener : listeners) {
+            listener.onStatusChanged(this);
         }
     }
 
+    private void notifyProgress() {
+        for (SparrowJobListener listener : listeners) {
+            listener.onProgress(this);
+        }
+    }
+
+    private void finish() {
+        detachProcessOutput();
+        this.retainedBytes = estimateRetainedBytes();
+        this.finishedAt = Instant.now();
+    }
+
+    private long estimateRetainedBytes() {
+        return OBJECT_OVERHEAD_BYTES * 4 + sizeOf(output) + sizeOf(error) + sizeOf(message) + report.retainedBytes();
+    }
+
+    private static long sizeOf(String value) {
+        return value == null ? 0L : OBJECT_OVERHEAD_BYTES + value.length();
+    }
+
+    private void detachProcessOutput() {
+        SparrowProcessOutput live = processOutput;
+        if (live == null) {
+            return;
+        }
+        this.summaryUrl = live.summaryUrl();
+        this.progressPercent = live.progressPercent();
+        this.progressMessage = live.progressMessage();
+        this.processOutput = null;
+    }
+
+    private static SparrowCompactReport compact(SparrowAnalyzeReport report) {
+        return report == null ? SparrowCompactReport.empty() : SparrowCompactReport.of(report);
+    }
+
     private static SparrowAnalyzeReport emptyReport() {
         return new SparrowAnalyzeReport(
             "",
-            new SparrowAnalyzeSummary(0, 0, Collections.emptyMap(), Collections.emptyMap()), Collections.emptyList()
+            new SparrowAnalyzeSummary(0, 0, Collections.emptyMap(), Collections.emptyMap(), 0, 0), Collections.emptyList()
         );
     }
 
     public boolean isTerminal() {
-        return "SUCCEEDED".equals(status) || "FAILED".equals(status);
+        String current = status;
+        return "SUCCEEDED".equals(current) || "FAILED".equals(current) || "INTERRUPTED".equals(current)
+            || "CANCELLED".equals(current) || "TIMED_OUT".equals(current);
     }
 
     public void awaitTerminal(long waitMillis) throws InterruptedException {
-        long deadline = System.currentTimeMillis() + waitMillis;
-        synchronized (monitor) {
-            while (!isTerminal()) {
-                long remaining = deadline - System.currentTimeMillis();
-                if (remaining <= 0) {
-                    break;
-                }
-                monitor.wait(remaining);
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        lock.lock();
+        try {
+            while (!isTerminal() && remainingNanos > 0) {
+                remainingNanos = changed.awaitNanos(remainingNanos);
             }
+        } finally {
+            lock.unlock();
         }
     }
 
-    public SparrowAnalyzeJobStatusResponse toResponse() {
+    /**
+     * 제출 후 실행이 시작되기까지(또는 아직 대기 중이라면 지금까지) 대기열에서 보낸 시간
+     */
+    public long queueWaitMillis() {
+        Instant started = startedAt;
+        if (!Instant.EPOCH.equals(started)) {
+            return Duration.between(createdAt, started).toMillis();
+        }
+        Instant end = isTerminal() ? finishedAt : Instant.now();
+        return Math.max(0L, Duration.between(createdAt, end).toMillis());
+    }
+
+    /**
+     * 보관 정책으로 제거된 Job에 대한 조회 응답
+     */
+    public static SparrowAnalyzeJobStatusResponse expiredResponse(String jobId, String projectId, String message) {
+        return new SparrowAnalyzeJobStatusResponse(
+            jobId,
+            projectId,
+            "EXPIRED",
+            "",
+            0,
+            0L,
+            false,
+            Instant.EPOCH,
+            Instant.EPOCH,
+            Instant.EPOCH,
+            -1,
+            "",
+            "",
+            message,
+            "",
+            null,
+            "",
+            emptyReport(),
+            0,
+            null,
+            SparrowBaselineMode.ALL.name(),
+            null
+        );
+    }
+
+    /**
+     * 리포트의 이슈 색인을 반환합니다. 리포트가 바뀐 뒤 처음 조회할 때 한 번 만듭니다.
+     * 파일로 옮긴 리포트와 그사이 바뀐 리포트는 색인을 남기지 않고 조회마다 새로 만듭니다.
+     */
+    private SparrowIssueIndex issueIndex(SparrowStoredReport current) {
+        lock.lock();
+        try {
+            if (current instanceof SparrowSpilledReport || report != current) {
+                return SparrowIssueIndex.build(current);
+            }
+            if (issueIndex == null || indexedReport != current) {
+                issueIndex = SparrowIssueIndex.build(current);
+                indexedReport = current;
+            }
+            return issueIndex;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 상태 조회 응답을 만듭니다. 리포트 상세에는 조건에 맞는 이슈 중 {@code fromPosition}부터 한 페이지만 담습니다.
+     *
+     * @param summaryOnly true면 출력, 에러, 이슈 상세를 비우고 요약과 일치 이슈 수만 반환
+     * @param fullBreakdown true면 요약에 모든 규칙과 파일의 알람 수를 담음
+     * @param baselineMode  NEW면 기준선에 없는 이슈만, RESOLVED면 기준선에만 있는 이슈만 조회
+     * @param baseline      프로젝트 기준선, {@code baselineMode}가 ALL이면 null
+     * @param cursorScope   다음 페이지 커서에 담을 범위 문자열 ({@link SparrowIssuePage#nextCursor(String)} 참고)
+     */
+    public SparrowAnalyzeJobStatusResponse toResponse(int queuePosition, SparrowIssueQuery query, int fromPosition,
+        int pageSize, boolean summaryOnly, boolean fullBreakdown, SparrowBaselineMode baselineMode,
+        SparrowBaseline baseline, String cursorScope) {
+        ensureSnapshotLoaded();
+        SparrowProcessOutput live = processOutput;
+        SparrowStoredReport current;
+        String storedOutput;
+        String storedError;
+        lock.lock();
+        try {
+            current = report;
+            storedOutput = output;
+            storedError = error;
+        } finally {
+            lock.unlock();
+        }
+        int limit = summaryOnly ? 0 : pageSize;
+        SparrowIssuePage page = switch (baselineMode) {
+            case ALL -> issueIndex(current).page(query, fromPosition, limit);
+            case NEW -> issueIndex(current).page(query,
+                fingerprints(current).missingFrom(baseline.fingerprints()), fromPosition, limit);
+            case RESOLVED -> baseline.index().page(query,
+                baseline.fingerprints().missingFrom(fingerprints(current)), fromPosition, limit);
+        };
+        String currentOutput = summaryOnly ? "" : live == null ? outputOf(current, storedOutput) : live.stdout();
+        String currentError = summaryOnly ? "" : live == null ? errorOf(current, storedError) : live.stderr();
         return new SparrowAnalyzeJobStatusResponse(
             jobId,
             projectId,
             status,
+            priority.name(),
+            queuePosition,
+            queueWaitMillis(),
+            cacheHit,
             createdAt,
             startedAt,
             finishedAt,
             exitCode,
-            output,
-            error,
+            currentOutput,
+            currentError,
             message,
-            report
+            live == null ? summaryUrl : live.summaryUrl(),
+            live == null ? progressPercent : live.progressPercent(),
+            live == null ? progressMessage : live.progressMessage(),
+            new SparrowAnalyzeReport(
+                current.reportPath(), fullBreakdown ? current.fullSummary() : current.summary(), page.issues()
+            ),
+            page.matchedCount(),
+            summaryOnly ? null : page.nextCursor(cursorScope),
+            baselineMode.name(),
+            baseline == null ? null : baseline.jobId()
         );
     }
 }
@@ -0,0 +1,158 @@
+package com.mcp_server.sabang.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 실행 중인 SPARROW 프로세스의 stdout/stderr 상태
+ * <p>
+ * 출력 전체는 로그 파일에 있으므로 여기에는 스트림별로 최근 {@code tailChars}자만 남깁니다. 줄이 들어올 때마다 분석 요약 URL({@code /scans/N/info})과 진행률(%) 표시를 찾아 두므로,
+ * 프로세스가 끝나기 전에도 현재까지의 출력과 진행 상황을 조회할 수 있습니다. 진행률이 바뀌면 등록된 콜백을 버퍼 잠금 밖에서 호출합니다.
+ */
+public final class SparrowProcessOutput {
+    private static final Pattern ANALYSIS_SUMMARY_URL_PATTERN =
+            Pattern.compile("https?://\\S+/scans/\\d+/info");
+    private static final Pattern PROGRESS_PATTERN =
+            Pattern.compile("(?<![\\d.])(\\d{1,3})(?:\\.\\d+)?\\s?%");
+
+    private final int tailChars;
+    private final StringBuilder stdout = new StringBuilder();
+    private final StringBuilder stderr = new StringBuilder();
+    private String stdoutSummaryUrl = "";
+    private String stderrSummaryUrl = "";
+    private final Set<String> summaryUrls = new LinkedHashSet<>();
+    private Integer progressPercent;
+    private String progressMessage = "";
+    private volatile Runnable progressCallback;
+
+    /**
+     * @param tailChars 스트림별로 남길 최근 출력 길이(문자 수)
+     */
+    public SparrowProcessOutput(int tailChars) {
+        this.tailChars = Math.max(0, tailChars);
+    }
+
+    /**
+     * 진행률이 바뀔 때 호출할 콜백을 등록합니다.
+     */
+    public void onProgressChanged(Runnable callback) {
+        this.progressCallback = callback;
+    }
+
+    public void appendStdout(String line) {
+        boolean progressed;
+        synchronized (this) {
+            appendTail(stdout, line);
+            String url = findSummaryUrl(line);
+            if (stdoutSummaryUrl.isEmpty()) {
+                stdoutSummaryUrl = url;
+            }
+            if (!url.isEmpty()) {
+                summaryUrls.add(url);
+            }
+            progressed = inspectProgress(line);
+        }
+        fireProgress(progressed);
+    }
+
+    public void appendStderr(String line) {
+        boolean progressed;
+        synchronized (this) {
+            appendTail(stderr, line);
+            String url = findSummaryUrl(line);
+            if (stderrSummaryUrl.isEmpty()) {
+                stderrSummaryUrl = url;
+            }
+            if (!url.isEmpty()) {
+                summaryUrls.add(url);
+            }
+            progressed = inspectProgress(line);
+        }
+        fireProgress(progressed);
+    }
+
+    private void appendTail(StringBuilder tail, String line) {
+        tail.append(line).append(System.lineSeparator());
+        // 매번 앞을 지우지 않도록 두 배가 될 때까지 모았다가 한 번에 줄입니다.
+        if (tail.length() > tailChars * 2) {
+            tail.delete(0, tail.length() - tailChars);
+        }
+    }
+
+    private void fireProgress(boolean progressed) {
+        Runnable callback = progressCallback;
+        if (progressed && callback != null) {
+            callback.run();
+        }
+    }
+
+    /**
+     * 최근 stdout (최대 {@code tailChars}자)
+     */
+    public synchronized String stdout() {
+        return tail(stdout);
+    }
+
+    /**
+     * 최근 stderr (최대 {@code tailChars}자)
+     */
+    public synchronized String stderr() {
+        return tail(stderr);
+    }
+
+    private String tail(StringBuilder buffer) {
+        return buffer.length() <= tailChars ? buffer.toString() : buffer.substring(buffer.length() - tailChars);
+    }
+
+    /**
+     * stdout에서 찾은 요약 URL을 우선하고, 없으면 stderr에서 찾은 URL을 반환합니다.
+     */
+    public synchronized String summaryUrl() {
+        return stdoutSummaryUrl.isEmpty() ? stderrSummaryUrl : stdoutSummaryUrl;
+    }
+
+    /**
+     * 출력에서 찾은 요약 URL 전체. 샤드로 나누어 실행하면 샤드마다 요약 URL이 하나씩 나옵니다.
+     */
+    public synchronized List<String> summaryUrls() {
+        return new ArrayList<>(summaryUrls);
+    }
+
+    public synchronized Integer progressPercent() {
+        return progressPercent;
+    }
+
+    public synchronized String progressMessage() {
+        return progressMessage;
+    }
+
+    /**
+     * @return 진행률 값이 바뀌었으면 true
+     */
+    private boolean inspectProgress(String line) {
+        Matcher matcher = PROGRESS_PATTERN.matcher(line);
+        Integer lastPercent = null;
+        while (matcher.find()) {
+            int percent = Integer.parseInt(matcher.group(1));
+            if (percent <= 100) {
+                lastPercent = percent;
+            }
+        }
+        if (lastPercent == null) {
+            return false;
+        }
+        boolean changed = !lastPercent.equals(progressPercent);
+        progressPercent = lastPercent;
+        progressMessage = line.trim();
+        return changed;
+    }
+
+    private static String findSummaryUrl(String line) {
+        Matcher matcher = ANALYSIS_SUMMARY_URL_PATTERN.matcher(line);
+        return matcher.find() ? matcher.group() : "";
+    }
+}
@@ -0,0 +1,25 @@
+package com.mcp_server.sabang.model;
+
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import java.util.Locale;
+
+/**
+ * 변경 파일을 샤드로 나눌 때 균형을 맞추는 기준
+ */
+public enum SparrowShardBalance {
+    /** 샤드별 파일 크기 합이 비슷하도록 */
+    SIZE,
+    /** 샤드별 파일 수가 비슷하도록 */
+    COUNT;
+
+    public static SparrowShardBalance from(String value) {
+        if (value == null || value.isBlank()) {
+            return SIZE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new SparrowExecutionException("Unknown shard balance: " + value + " (expected SIZE or COUNT)");
+        }
+    }
+}
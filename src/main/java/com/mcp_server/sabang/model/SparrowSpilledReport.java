@@ -0,0 +1,284 @@
+package com.mcp_server.sabang.model;
+
+import com.mcp_server.sabang.dto.SparrowAnalyzeIssue;
+import com.mcp_server.sabang.dto.SparrowAnalyzeSummary;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 로컬 파일로 옮긴(spill) 종료 Job의 리포트와 출력
+ * <p>
+ * 힙에는 리포트 경로와 요약만 두고, 이슈와 출력은 메모리 매핑한 파일에서 필요할 때 읽습니다. 파일 형식은 다음과 같습니다 (big-endian).
+ * <ol>
+ *     <li>헤더: 매직 넘버, 이슈 수, 사전 문자열 수, 출력/에러 바이트 수 (int 5개)</li>
+ *     <li>열 10개: localId, 규칙, 파일, 라인, 함수, 클래스, 태그, 설명 ID, 라인 리뷰 사유, 출처 리포트 (각각 이슈 수만큼의 int, 라인 외에는 사전 번호)</li>
+ *     <li>이슈별 플래그 바이트: 라인 리뷰 권장 여부, 값 없음 여부</li>
+ *     <li>사전: 문자열 시작 위치 (사전 문자열 수 + 1개의 int)와 UTF-8 바이트</li>
+ *     <li>출력과 에러 (UTF-8)</li>
+ * </ol>
+ */
+public final class SparrowSpilledReport implements SparrowStoredReport {
+    private static final long OBJECT_OVERHEAD_BYTES = 48L;
+    private static final int MAGIC = 0x53505232;
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+    private static final int COLUMN_COUNT = 10;
+    private static final int NO_LINE = Integer.MIN_VALUE;
+    private static final int NO_STRING = -1;
+    private static final byte LINE_REVIEW_RECOMMENDED = 1;
+    private static final byte LINE_REVIEW_MISSING = 2;
+
+    private static final int LOCAL_ID = 0;
+    private static final int RULE = 1;
+    private static final int FILE = 2;
+    private static final int LINE = 3;
+    private static final int FUNCTION = 4;
+    private static final int CLASS_NAME = 5;
+    private static final int TAG = 6;
+    private static final int DESCRIPTION_ID = 7;
+    private static final int LINE_REVIEW_REASON = 8;
+    private static final int SOURCE = 9;
+
+    private final Path file;
+    private final String reportPath;
+    private final SparrowAnalyzeSummary summary;
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int dictionarySize;
+    private final int flagsOffset;
+    private final int dictionaryOffsetsOffset;
+    private final int dictionaryBytesOffset;
+    private final int outputOffset;
+    private final int outputLength;
+    private final int errorLength;
+
+    private SparrowSpilledReport(Path file, String reportPath, SparrowAnalyzeSummary summary, ByteBuffer buffer) {
+        this.file = file;
+        this.reportPath = reportPath;
+        this.summary = summary;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not a SPARROW spill file: " + file);
+        }
+        this.size = buffer.getInt(4);
+        this.dictionarySize = buffer.getInt(8);
+        this.outputLength = buffer.getInt(12);
+        this.errorLength = buffer.getInt(16);
+        this.flagsOffset = HEADER_BYTES + COLUMN_COUNT * size * Integer.BYTES;
+        this.dictionaryOffsetsOffset = flagsOffset + size;
+        this.dictionaryBytesOffset = dictionaryOffsetsOffset + (dictionarySize + 1) * Integer.BYTES;
+        this.outputOffset = dictionaryBytesOffset + buffer.getInt(dictionaryOffsetsOffset + dictionarySize * Integer.BYTES);
+    }
+
+    /**
+     * 리포트와 출력을 {@code file}에 쓰고 메모리 매핑하여 엽니다.
+     *
+     * @throws IOException 파일을 쓰거나 매핑할 수 없는 경우, 또는 파일이 2GB를 넘는 경우
+     */
+    public static SparrowSpilledReport write(Path file, SparrowStoredReport report, String output, String error)
+        throws IOException {
+        int size = report.size();
+        int[][] columns = new int[COLUMN_COUNT][size];
+        byte[] flags = new byte[size];
+        Map<String, Integer> codes = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            SparrowAnalyzeIssue issue = report.issue(i);
+            columns[LOCAL_ID][i] = encode(issue.localId(), codes, strings);
+            columns[RULE][i] = encode(issue.rule(), codes, strings);
+            columns[FILE][i] = encode(issue.file(), codes, strings);
+            columns[LINE][i] = issue.line() == null ? NO_LINE : issue.line();
+            columns[FUNCTION][i] = encode(issue.function(), codes, strings);
+            columns[CLASS_NAME][i] = encode(issue.className(), codes, strings);
+            columns[TAG][i] = encode(issue.tag(), codes, strings);
+            columns[DESCRIPTION_ID][i] = encode(issue.descriptionId(), codes, strings);
+            columns[LINE_REVIEW_REASON][i] = encode(issue.lineReviewReason(), codes, strings);
+            columns[SOURCE][i] = encode(issue.source(), codes, strings);
+            if (issue.lineReviewRecommended() == null) {
+                flags[i] = LINE_REVIEW_MISSING;
+            } else if (issue.lineReviewRecommended()) {
+                flags[i] = LINE_REVIEW_RECOMMENDED;
+            }
+        }
+        byte[] outputBytes = (output == null ? "" : output).getBytes(StandardCharsets.UTF_8);
+        byte[] errorBytes = (error == null ? "" : error).getBytes(StandardCharsets.UTF_8);
+
+        long dictionaryBytes = 0L;
+        for (byte[] value : strings) {
+            dictionaryBytes += value.length;
+        }
+        long fileSize = HEADER_BYTES + (long) COLUMN_COUNT * size * Integer.BYTES + size
+            + (strings.size() + 1L) * Integer.BYTES + dictionaryBytes + outputBytes.length + errorBytes.length;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("SPARROW spill file would exceed 2GB: " + fileSize + " bytes");
+        }
+
+        Files.createDirectories(file.getParent());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(size);
+            out.writeInt(strings.size());
+            out.writeInt(outputBytes.length);
+            out.writeInt(errorBytes.length);
+            for (int[] column : columns) {
+                for (int value : column) {
+                    out.writeInt(value);
+                }
+            }
+            out.write(flags);
+            int offset = 0;
+            for (byte[] value : strings) {
+                out.writeInt(offset);
+                offset += value.length;
+            }
+            out.writeInt(offset);
+            for (byte[] value : strings) {
+                out.write(value);
+            }
+            out.write(outputBytes);
+            out.write(errorBytes);
+        }
+        return open(file, report.reportPath(), report.summary());
+    }
+
+    /**
+     * {@link #write}로 만든 파일을 메모리 매핑하여 엽니다.
+     */
+    public static SparrowSpilledReport open(Path file, String reportPath, SparrowAnalyzeSummary summary)
+        throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // 채널을 닫아도 매핑은 버퍼가 GC될 때까지 유효합니다.
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new SparrowSpilledReport(file, reportPath, summary, buffer);
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    @Override
+    public String reportPath() {
+        return reportPath;
+    }
+
+    @Override
+    public SparrowAnalyzeSummary summary() {
+        return summary;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String rule(int position) {
+        return string(column(RULE, position));
+    }
+
+    @Override
+    public String file(int position) {
+        return string(column(FILE, position));
+    }
+
+    @Override
+    public boolean lineReviewRecommended(int position) {
+        return (flags(position) & LINE_REVIEW_RECOMMENDED) != 0;
+    }
+
+    @Override
+    public SparrowAnalyzeIssue issue(int position) {
+        int line = column(LINE, position);
+        byte flags = flags(position);
+        return new SparrowAnalyzeIssue(
+            string(column(LOCAL_ID, position)),
+            string(column(RULE, position)),
+            string(column(FILE, position)),
+            line == NO_LINE ? null : line,
+            string(column(FUNCTION, position)),
+            string(column(CLASS_NAME, position)),
+            string(column(TAG, position)),
+            string(column(DESCRIPTION_ID, position)),
+            (flags & LINE_REVIEW_MISSING) != 0 ? null : (flags & LINE_REVIEW_RECOMMENDED) != 0,
+            string(column(LINE_REVIEW_REASON, position)),
+            string(column(SOURCE, position))
+        );
+    }
+
+    /**
+     * 파일에 저장된 표준 출력
+     */
+    public String output() {
+        return text(outputOffset, outputLength);
+    }
+
+    /**
+     * 파일에 저장된 표준 에러
+     */
+    public String error() {
+        return text(outputOffset + outputLength, errorLength);
+    }
+
+    /**
+     * 매핑된 파일은 힙 밖에 있으므로 요약과 리포트 경로만 셉니다.
+     */
+    @Override
+    public long retainedBytes() {
+        long bytes = OBJECT_OVERHEAD_BYTES * 2 + (reportPath == null ? 0L : reportPath.length());
+        for (String key : summary.alarmsByRule().keySet()) {
+            bytes += OBJECT_OVERHEAD_BYTES * 2 + key.length();
+        }
+        for (String key : summary.alarmsByFile().keySet()) {
+            bytes += OBJECT_OVERHEAD_BYTES * 2 + key.length();
+        }
+        return bytes;
+    }
+
+    private int column(int column, int position) {
+        return buffer.getInt(HEADER_BYTES + (column * size + position) * Integer.BYTES);
+    }
+
+    private byte flags(int position) {
+        return buffer.get(flagsOffset + position);
+    }
+
+    private String string(int code) {
+        if (code == NO_STRING) {
+            return null;
+        }
+        int start = buffer.getInt(dictionaryOffsetsOffset + code * Integer.BYTES);
+        int end = buffer.getInt(dictionaryOffsetsOffset + (code + 1) * Integer.BYTES);
+        return text(dictionaryBytesOffset + start, end - start);
+    }
+
+    private String text(int offset, int length) {
+        byte[] bytes = new byte[length];
+        // 절대 위치로 읽으므로 여러 스레드가 같은 버퍼를 동시에 읽어도 됩니다.
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int encode(String value, Map<String, Integer> codes, List<byte[]> strings) {
+        if (value == null) {
+            return NO_STRING;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = strings.size();
+            codes.put(value, code);
+            strings.add(value.getBytes(StandardCharsets.UTF_8));
+        }
+        return code;
+    }
+}
@@ -0,0 +1,67 @@
+package com.mcp_server.sabang.model;
+
+import com.mcp_server.sabang.dto.SparrowAnalyzeIssue;
+import com.mcp_server.sabang.dto.SparrowAnalyzeReport;
+import com.mcp_server.sabang.dto.SparrowAnalyzeSummary;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 종료된 Job이 보관하는 SPARROW 리포트
+ * <p>
+ * 힙의 열 배열({@link SparrowCompactReport}) 또는 메모리 매핑된 로컬 파일({@link SparrowSpilledReport})에 저장되며,
+ * 이슈는 위치(0부터 시작하는 순번)로 하나씩 읽습니다.
+ */
+public interface SparrowStoredReport {
+
+    String reportPath();
+
+    SparrowAnalyzeSummary summary();
+
+    int size();
+
+    String rule(int position);
+
+    String file(int position);
+
+    boolean lineReviewRecommended(int position);
+
+    SparrowAnalyzeIssue issue(int position);
+
+    /**
+     * 리포트가 차지하는 대략적인 힙 사용량
+     */
+    long retainedBytes();
+
+    /**
+     * 요약의 상위 K개 대신 모든 규칙과 파일의 알람 수를 담은 요약을 이슈에서 다시 계산합니다.
+     */
+    default SparrowAnalyzeSummary fullSummary() {
+        SparrowAlarmCounter alarmsByRule = new SparrowAlarmCounter();
+        SparrowAlarmCounter alarmsByFile = new SparrowAlarmCounter();
+        for (int i = 0; i < size(); i++) {
+            alarmsByRule.add(rule(i));
+            alarmsByFile.add(file(i));
+        }
+        SparrowAnalyzeSummary summary = summary();
+        return new SparrowAnalyzeSummary(
+            summary.totalAlarms(),
+            summary.lineReviewCandidateCount(),
+            alarmsByRule.all(),
+            alarmsByFile.all(),
+            alarmsByRule.distinctCount(),
+            alarmsByFile.distinctCount()
+        );
+    }
+
+    /**
+     * 저널/캐시 저장용으로 전체 리포트를 DTO로 되돌립니다.
+     */
+    default SparrowAnalyzeReport toReport() {
+        List<SparrowAnalyzeIssue> issues = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            issues.add(issue(i));
+        }
+        return new SparrowAnalyzeReport(reportPath(), summary(), issues);
+    }
+}
@@ -7,6 +7,9 @@ import com.mcp_server.sabang.bitbucket.BitbucketApiClient;
 import com.mcp_server.sabang.bitbucket.BitbucketPrRef;
 import com.mcp_server.sabang.bitbucket.BitbucketPrUrlParser;
 import com.mcp_server.sabang.bitbucket.BitbucketResponseValidator;
+import com.mcp_server.sabang.diff.DiffFile;
+import com.mcp_server.sabang.diff.DiffLineType;
+import com.mcp_server.sabang.diff.DiffRevision;
 import com.mcp_server.sabang.dto.BitbucketPrChange;
 import com.mcp_server.sabang.dto.BitbucketPrCommentRequest;
 import com.mcp_server.sabang.dto.BitbucketPrCommentResponse;
@@ -14,6 +17,11 @@ import com.mcp_server.sabang.dto.BitbucketPrGetRequest;
 import com.mcp_server.sabang.dto.BitbucketPrGetResponse;
 import com.mcp_server.sabang.dto.BitbucketPrLineCommentRequest;
 import com.mcp_server.sabang.dto.BitbucketPrVersion;
+import com.mcp_server.sabang.dto.ReviewLineComment;
+import com.mcp_server.sabang.exception.BitbucketApiException;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import org.springframework.stereotype.Service;
@@ -66,6 +74,65 @@ public class BitbucketPrService {
         );
     }
 
+    /**
+     * Pull Request diff를 파일별 라인 색인으로 만듭니다. 삭제된 파일은 제외합니다.
+     *
+     * @return 변경 후 경로 기준 파일별 diff 라인 색인
+     */
+    public List<DiffFile> getDiffFiles(BitbucketPrGetRequest request) {
+        BitbucketPrRef pullRequestRef = urlParser.parse(request.prUrl());
+
+        String diffPath = buildPullRequestDiffPath(pullRequestRef.projectKey(), pullRequestRef.repoSlug(), pullRequestRef.id());
+
+        JsonNode diffResponse = apiClient.get(pullRequestRef.baseUrl(), diffPath, request.pat());
+
+        return parseDiffFiles(diffResponse);
+    }
+
+    /**
+     * Pull Request diff와 함께 변경 후 파일을 읽을 소스 저장소와 head 커밋을 조회합니다. 삭제된 파일은 제외합니다.
+     *
+     * @return 소스 저장소({@code PROJECT_KEY/repo-slug}), head 커밋 SHA, 파일별 diff 라인 색인
+     */
+    public DiffRevision getDiffRevision(BitbucketPrGetRequest request) {
+        BitbucketPrRef pullRequestRef = urlParser.parse(request.prUrl());
+
+        String pullRequestPath = buildPullRequestPath(pullRequestRef.projectKey(), pullRequestRef.repoSlug(), pullRequestRef.id());
+        String diffPath = buildPullRequestDiffPath(pullRequestRef.projectKey(), pullRequestRef.repoSlug(), pullRequestRef.id());
+
+        JsonNode pullRequestResponse = apiClient.get(pullRequestRef.baseUrl(), pullRequestPath, request.pat());
+        JsonNode diffResponse = apiClient.get(pullRequestRef.baseUrl(), diffPath, request.pat());
+
+        // 포크에서 온 PR의 head 커밋은 소스 저장소에만 있습니다.
+        JsonNode fromRef = responseValidator.requireField(pullRequestResponse, "fromRef");
+        String headSha = fromRef.path("latestCommit").asText("");
+        if (headSha.isBlank()) {
+            throw new BitbucketApiException("Bitbucket PR response missing head commit SHA");
+        }
+        String projectKey = fromRef.path("repository").path("project").path("key").asText(pullRequestRef.projectKey());
+        String repoSlug = fromRef.path("repository").path("slug").asText(pullRequestRef.repoSlug());
+
+        return new DiffRevision(projectKey + "/" + repoSlug, headSha, parseDiffFiles(diffResponse));
+    }
+
+    /**
+     * 저장소 파일의 원본을 엽니다. 호출자가 스트림을 닫아야 합니다.
+     *
+     * @param repository {@code PROJECT_KEY/repo-slug} ({@link #getDiffRevision}의 {@code repository})
+     * @param sha        커밋 SHA
+     * @param path       저장소 기준 파일 경로
+     */
+    public InputStream openRawFile(BitbucketPrGetRequest request, String repository, String sha, String path) {
+        BitbucketPrRef pullRequestRef = urlParser.parse(request.prUrl());
+        int separator = repository.indexOf('/');
+        if (separator < 0) {
+            throw new BitbucketApiException("Invalid Bitbucket repository: " + repository);
+        }
+        String rawPath = String.format(RAW_FILE_PATH, repository.substring(0, separator),
+            repository.substring(separator + 1), encodePath(path), encodeSegment(sha));
+        return apiClient.getRaw(pullRequestRef.baseUrl(), rawPath, request.pat());
+    }
+
     public BitbucketPrCommentResponse postComment(BitbucketPrCommentRequest request) {
         BitbucketPrRef pullRequestRef = urlParser.parse(request.prUrl());
 
@@ -103,7 +170,39 @@ public class BitbucketPrService {
         return new BitbucketPrCommentResponse(request.prUrl(), commentId, webUrl);
     }
 
-    private List<BitbucketPrChange> parseChanges(JsonNode changesResponse) {
+    /**
+     * Pull Request에 달린 라인 댓글을 모두 조회합니다. 파일에 달리지 않은 댓글과 변경 전 파일에 달린 댓글은 제외합니다.
+     *
+     * @return 변경 후 경로와 라인 기준 댓글
+     */
+    public List<ReviewLineComment> getLineComments(BitbucketPrGetRequest request) {
+        BitbucketPrRef pullRequestRef = urlParser.parse(request.prUrl());
+        List<ReviewLineComment> comments = new ArrayList<>();
+        int start = 0;
+        while (true) {
+            String activitiesPath = String.format(PR_ACTIVITIES_PATH, pullRequestRef.projectKey(),
+                pullRequestRef.repoSlug(), pullRequestRef.id(), start, PAGE_SIZE);
+            JsonNode activities = apiClient.get(pullRequestRef.baseUrl(), activitiesPath, request.pat());
+            for (JsonNode activity : responseValidator.requireField(activities, "values")) {
+                if (!"COMMENTED".equals(activity.path("action").asText(""))) {
+                    continue;
+                }
+                JsonNode anchor = activity.path("commentAnchor");
+                String path = anchor.path("path").asText("");
+                int line = anchor.path("line").asInt(0);
+                if (!path.isEmpty() && line > 0 && !"FROM".equals(anchor.path("fileType").asText(""))) {
+                    comments.add(new ReviewLineComment(path, line, activity.path("comment").path("text").asText("")));
+                }
+            }
+            int nextPageStart = activities.path("nextPageStart").asInt(-1);
+            if (activities.path("isLastPage").asBoolean(true) || nextPageStart <= start) {
+                return comments;
+            }
+            start = nextPageStart;
+        }
+    }
+
+    List<BitbucketPrChange> parseChanges(JsonNode changesResponse) {
         JsonNode values = responseValidator.requireField(changesResponse, "values");
         List<BitbucketPrChange> changes = new ArrayList<>();
 
@@ -118,6 +217,34 @@ public class BitbucketPrService {
         return changes;
     }
 
+    List<DiffFile> parseDiffFiles(JsonNode diffResponse) {
+        JsonNode diffs = responseValidator.requireField(diffResponse, "diffs");
+        List<DiffFile> diffFiles = new ArrayList<>();
+
+        for (JsonNode diff : diffs) {
+            String path = diff.path("destination").path("toString").asText("");
+            if (path.isEmpty()) {
+                continue;
+            }
+            DiffFile.Builder builder = DiffFile.builder(path);
+            for (JsonNode hunk : diff.path("hunks")) {
+                for (JsonNode segment : hunk.path("segments")) {
+                    String type = segment.path("type").asText("");
+                    if (!"ADDED".equals(type) && !"CONTEXT".equals(type)) {
+                        continue;
+                    }
+                    DiffLineType lineType = DiffLineType.valueOf(type);
+                    for (JsonNode line : segment.path("lines")) {
+                        builder.add(lineType, line.path("destination").asInt(), line.path("source").asInt());
+                    }
+                }
+            }
+            diffFiles.add(builder.build());
+        }
+
+        return diffFiles;
+    }
+
     private List<BitbucketPrVersion> parseVersions(JsonNode commitsResponse) {
         JsonNode values = responseValidator.requireField(commitsResponse, "values");
         List<BitbucketPrVersion> versions = new ArrayList<>();
@@ -146,6 +273,28 @@ public class BitbucketPrService {
         return "ADDED";
     }
 
+    private static String encodePath(String path) {
+        StringBuilder encoded = new StringBuilder();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (!encoded.isEmpty()) {
+                encoded.append('/');
+            }
+            encoded.append(encodeSegment(segment));
+        }
+        return encoded.toString();
+    }
+
+    private static String encodeSegment(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private String buildPullRequestPath(String projectKey, String repoSlug, int pullRequestId) {
+        return String.format(PULL_REQUESTS_PATH, projectKey, repoSlug, pullRequestId);
+    }
+
     private String buildPullRequestChangesPath(String projectKey, String repoSlug, int pullRequestId) {
         return String.format(PR_CHANGES_PATH, projectKey, repoSlug, pullRequestId);
     }
@@ -154,6 +303,10 @@ public class BitbucketPrService {
         return String.format(PR_COMMITS_PATH, projectKey, repoSlug, pullRequestId);
     }
 
+    private String buildPullRequestDiffPath(String projectKey, String repoSlug, int pullRequestId) {
+        return String.format(PR_DIFF_PATH, projectKey, repoSlug, pullRequestId);
+    }
+
     private String buildPullRequestCommentsPath(String projectKey, String repoSlug, int pullRequestId) {
         return String.format(PR_COMMENTS_PATH, projectKey, repoSlug, pullRequestId);
     }
@@ -4,6 +4,9 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mcp_server.sabang.diff.DiffFile;
+import com.mcp_server.sabang.diff.DiffRevision;
+import com.mcp_server.sabang.diff.UnifiedDiffParser;
 import com.mcp_server.sabang.dto.GitlabMrChange;
 import com.mcp_server.sabang.dto.GitlabMrCommentRequest;
 import com.mcp_server.sabang.dto.GitlabMrCommentResponse;
@@ -11,10 +14,15 @@ import com.mcp_server.sabang.dto.GitlabMrGetRequest;
 import com.mcp_server.sabang.dto.GitlabMrGetResponse;
 import com.mcp_server.sabang.dto.GitlabMrLineCommentRequest;
 import com.mcp_server.sabang.dto.GitlabMrVersion;
+import com.mcp_server.sabang.dto.ReviewLineComment;
 import com.mcp_server.sabang.gitlab.GitlabApiClient;
 import com.mcp_server.sabang.dto.GitlabMrRef;
 import com.mcp_server.sabang.gitlab.GitlabMrUrlParser;
 import com.mcp_server.sabang.gitlab.GitlabResponseValidator;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import org.springframework.stereotype.Service;
 
@@ -30,13 +38,15 @@ public class GitlabMrService {
     private final GitlabApiClient apiClient;
     private final GitlabResponseValidator responseValidator;
     private final ObjectMapper objectMapper;
+    private final UnifiedDiffParser diffParser;
 
     public GitlabMrService(GitlabMrUrlParser urlParser, GitlabApiClient apiClient,
-        GitlabResponseValidator responseValidator, ObjectMapper objectMapper) {
+        GitlabResponseValidator responseValidator, ObjectMapper objectMapper, UnifiedDiffParser diffParser) {
         this.urlParser = urlParser;
         this.apiClient = apiClient;
         this.responseValidator = responseValidator;
         this.objectMapper = objectMapper;
+        this.diffParser = diffParser;
     }
 
     /**
@@ -68,6 +78,59 @@ public class GitlabMrService {
         );
     }
 
+    /**
+     * Merge Request 변경사항의 diff를 파일별 라인 색인으로 만듭니다. 삭제된 파일은 제외합니다.
+     *
+     * @param request MR 조회 요청 (URL과 액세스 토큰 포함)
+     * @return 변경 후 경로 기준 파일별 diff 라인 색인
+     */
+    public List<DiffFile> getDiffFiles(GitlabMrGetRequest request) {
+        GitlabMrRef mergeRequestRef = urlParser.parse(request.mrUrl());
+        String changesPath = buildMergeRequestChangesPath(mergeRequestRef.projectIdEnc(), mergeRequestRef.iid());
+        JsonNode changesResponse = apiClient.get(mergeRequestRef.baseUrl(), changesPath, request.pat());
+        return parseDiffFiles(changesResponse);
+    }
+
+    /**
+     * Merge Request diff와 함께 변경 후 파일을 읽을 소스 프로젝트와 head 커밋을 조회합니다. 삭제된 파일은 제외합니다.
+     *
+     * @param request MR 조회 요청 (URL과 액세스 토큰 포함)
+     * @return 소스 프로젝트 ID, head 커밋 SHA, 파일별 diff 라인 색인
+     */
+    public DiffRevision getDiffRevision(GitlabMrGetRequest request) {
+        GitlabMrRef mergeRequestRef = urlParser.parse(request.mrUrl());
+        String changesPath = buildMergeRequestChangesPath(mergeRequestRef.projectIdEnc(), mergeRequestRef.iid());
+        JsonNode changesResponse = apiClient.get(mergeRequestRef.baseUrl(), changesPath, request.pat());
+
+        String headSha = changesResponse.path("diff_refs").path("head_sha").asText("");
+        if (headSha.isBlank()) {
+            headSha = changesResponse.path("sha").asText("");
+        }
+        if (headSha.isBlank()) {
+            throw new com.mcp_server.sabang.exception.GitlabApiException("GitLab MR response missing head commit SHA");
+        }
+        // 포크에서 온 MR의 head 커밋은 소스 프로젝트에만 있습니다.
+        String sourceProjectId = changesResponse.path("source_project_id").asText("");
+        String repository = sourceProjectId.isBlank() ? mergeRequestRef.projectIdEnc() : sourceProjectId;
+        return new DiffRevision(repository, headSha, parseDiffFiles(changesResponse));
+    }
+
+    /**
+     * 저장소 파일의 원본을 엽니다. 호출자가 스트림을 닫아야 합니다.
+     *
+     * @param request    MR 조회 요청 (GitLab 인스턴스와 액세스 토큰에 사용)
+     * @param repository 프로젝트 ID ({@link #getDiffRevision}의 {@code repository})
+     * @param sha        커밋 SHA
+     * @param path       저장소 기준 파일 경로
+     * @return 파일 내용 스트림
+     */
+    public InputStream openRawFile(GitlabMrGetRequest request, String repository, String sha, String path) {
+        GitlabMrRef mergeRequestRef = urlParser.parse(request.mrUrl());
+        String rawPath = String.format(REPOSITORY_FILE_RAW_PATH, repository, encodePathParameter(path),
+            encodePathParameter(sha));
+        return apiClient.getRaw(mergeRequestRef.baseUrl(), rawPath, request.pat());
+    }
+
     /**
      * Merge Request에 댓글을 작성합니다.
      *
@@ -115,8 +178,16 @@ public class GitlabMrService {
         position.put("old_path", request.path());
         position.put("new_path", request.path());
 
-        if ("REMOVED".equals(normalizeLineType(request.lineType()))) {
+        String lineType = normalizeLineType(request.lineType());
+        if ("REMOVED".equals(lineType)) {
             position.put("old_line", request.line());
+        } else if ("CONTEXT".equals(lineType)) {
+            // 변경되지 않은 라인은 변경 전후 라인 번호가 모두 필요합니다.
+            if (request.oldLine() == null) {
+                throw new com.mcp_server.sabang.exception.GitlabApiException("oldLine is required for a CONTEXT line comment");
+            }
+            position.put("old_line", request.oldLine());
+            position.put("new_line", request.line());
         } else {
             position.put("new_line", request.line());
         }
@@ -132,8 +203,47 @@ public class GitlabMrService {
         return new GitlabMrCommentResponse(request.mrUrl(), noteId, webUrl);
     }
 
+    /**
+     * Merge Request에 달린 라인 댓글을 모두 조회합니다. 위치가 없는 일반 댓글과 변경 전 파일에만 달린 댓글은 제외합니다.
+     *
+     * @param request MR 조회 요청 (URL과 액세스 토큰 포함)
+     * @return 변경 후 경로와 라인 기준 댓글
+     */
+    public List<ReviewLineComment> getLineComments(GitlabMrGetRequest request) {
+        GitlabMrRef mergeRequestRef = urlParser.parse(request.mrUrl());
+        List<ReviewLineComment> comments = new ArrayList<>();
+        for (int page = 1; ; page++) {
+            String discussionsPath = String.format(MR_DISCUSSIONS_PAGE_PATH, mergeRequestRef.projectIdEnc(),
+                mergeRequestRef.iid(), PAGE_SIZE, page);
+            JsonNode discussions = apiClient.get(mergeRequestRef.baseUrl(), discussionsPath, request.pat());
+            for (JsonNode discussion : discussions) {
+                for (JsonNode note : discussion.path("notes")) {
+                    JsonNode position = note.path("position");
+                    String path = position.path("new_path").asText("");
+                    int line = position.path("new_line").asInt(0);
+                    if (!path.isEmpty() && line > 0) {
+                        comments.add(new ReviewLineComment(path, line, note.path("body").asText("")));
+                    }
+                }
+            }
+            if (discussions.size() < PAGE_SIZE) {
+                return comments;
+            }
+        }
+    }
+
     // ===== Private Helper Methods =====
-    private List<GitlabMrChange> parseChanges(JsonNode changesResponse) {
+    List<DiffFile> parseDiffFiles(JsonNode changesResponse) {
+        List<DiffFile> diffFiles = new ArrayList<>();
+        for (GitlabMrChange change : parseChanges(changesResponse)) {
+            if (!change.deletedFile()) {
+                diffFiles.add(diffParser.parse(change.newPath(), change.diff()));
+            }
+        }
+        return diffFiles;
+    }
+
+    List<GitlabMrChange> parseChanges(JsonNode changesResponse) {
         JsonNode changesNode = responseValidator.requireField(changesResponse, "changes");
         return objectMapper.convertValue(changesNode, new TypeReference<>() {});
     }
@@ -161,7 +271,10 @@ public class GitlabMrService {
         if (lineType == null || lineType.isBlank()) {
             return "ADDED";
         }
-        return "REMOVED".equalsIgnoreCase(lineType) ? "REMOVED" : "ADDED";
+        if ("REMOVED".equalsIgnoreCase(lineType)) {
+            return "REMOVED";
+        }
+        return "CONTEXT".equalsIgnoreCase(lineType) ? "CONTEXT" : "ADDED";
     }
 
     private String buildMergeRequestChangesPath(String encodedProjectId, int mergeRequestIid) {
@@ -180,6 +293,11 @@ public class GitlabMrService {
         return String.format(MR_DISCUSSIONS_PATH, encodedProjectId, mergeRequestIid);
     }
 
+    private static String encodePathParameter(String value) {
+        // GitLab은 파일 경로의 '/'도 인코딩해야 합니다.
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
     private String buildNoteWebUrl(String mrUrl, long noteId) {
         // GitLab의 댓글 URL 형식: {MR_URL}#note_{NOTE_ID}
         return mrUrl + "#note_" + noteId;
@@ -0,0 +1,378 @@
+package com.mcp_server.sabang.service;
+
+import com.mcp_server.sabang.config.WorkerThreads;
+import com.mcp_server.sabang.diff.DiffIndex;
+import com.mcp_server.sabang.dto.BitbucketPrGetRequest;
+import com.mcp_server.sabang.dto.BitbucketPrLineCommentRequest;
+import com.mcp_server.sabang.dto.GitlabMrGetRequest;
+import com.mcp_server.sabang.dto.GitlabMrLineCommentRequest;
+import com.mcp_server.sabang.dto.ReviewPipelineRequest;
+import com.mcp_server.sabang.dto.ReviewPipelineResponse;
+import com.mcp_server.sabang.dto.ReviewLineComment;
+import com.mcp_server.sabang.dto.ReviewPipelineStatusRequest;
+import com.mcp_server.sabang.dto.SparrowAnalyzeIssue;
+import com.mcp_server.sabang.dto.SparrowAnalyzeJobSubmitResponse;
+import com.mcp_server.sabang.dto.SparrowAnalyzeRequest;
+import com.mcp_server.sabang.dto.SparrowDiffIssue;
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import com.mcp_server.sabang.model.ReviewPipelineState;
+import com.mcp_server.sabang.model.ReviewPipelineState.Stage;
+import com.mcp_server.sabang.model.SparrowJobState;
+import com.mcp_server.sabang.model.SparrowStoredReport;
+import com.mcp_server.sabang.sparrow.SparrowJobRegistry;
+import com.mcp_server.sabang.sparrow.SparrowSourceCache;
+import jakarta.annotation.PreDestroy;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * MR/PR 하나를 가져오기부터 댓글까지 한 번에 처리하는 리뷰 파이프라인 서비스
+ * <p>
+ * 에이전트가 툴을 차례로 부르면 단계마다 LLM 왕복 비용이 드므로, 이 서비스는 다음 단계를 서버 안에서 이어서 실행하고 파이프라인 ID를 바로 반환합니다.
+ * <ol>
+ *     <li>FETCH: MR/PR diff를 읽어 라인 색인을 만듭니다.</li>
+ *     <li>RESOLVE: 변경된 Java 파일을 {@code repositoryRoot} 아래의 로컬 파일로 바꿉니다. {@code repositoryRoot}가 없으면 head 커밋의
+ *     파일을 {@link ReviewSourceService}로 받아 캐시에 둡니다.</li>
+ *     <li>ANALYZE: SPARROW Job을 제출하고 끝날 때까지 기다립니다. 결과 캐시와 같은 요청 합류는 {@code sparrow-analyze}와 같습니다.</li>
+ *     <li>MAP: 이슈를 diff 라인에 대응시킵니다.</li>
+ *     <li>COMMENT: diff 안의 이슈마다 라인 댓글을 답니다.</li>
+ * </ol>
+ * 각 단계는 앞 단계의 결과가 준비되는 즉시 작업 스레드에서 이어 실행되며, MAP과 COMMENT는 겹쳐서 실행됩니다. 대응된 이슈는 전체 대응이 끝나기를
+ * 기다리지 않고 바로 댓글 작업으로 넘어가고, 동시에 게시하는 댓글 수는 {@code commentConcurrency}로 제한합니다. 댓글 하나가 실패해도
+ * 나머지는 계속 게시하며 실패 수를 응답에 담습니다.
+ * <p>
+ * 같은 MR/PR에 파이프라인을 다시 실행해도 댓글이 중복되지 않도록, 댓글을 달기 전에 기존 라인 댓글을 읽어 같은 경로와 라인에 같은 SPARROW
+ * 댓글(첫 줄이 같은 댓글)이 이미 있는 이슈는 건너뜁니다.
+ * <p>
+ * 최근 파이프라인은 {@value #MAX_PIPELINES}개까지 보관하며, 넘으면 끝난 파이프라인부터 오래된 순으로 지웁니다. 실행 중인 파이프라인은 지우지
+ * 않습니다.
+ */
+@Service
+public class ReviewPipelineService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewPipelineService.class);
+    private static final int MAX_PIPELINES = 200;
+    private static final int DEFAULT_MAX_COMMENTS = 50;
+    private static final int MAX_COMMENTS = 500;
+    private static final int DEFAULT_COMMENT_CONCURRENCY = 4;
+    private static final int MAX_COMMENT_CONCURRENCY = 16;
+    private static final int MAX_WAIT_SECONDS = 30;
+    private static final long JOB_WAIT_MILLIS = 30_000L;
+    private static final String COMMENT_PREFIX = "**SPARROW: ";
+
+    private final SparrowDiffService diffService;
+    private final ReviewSourceService sourceService;
+    private final SparrowAnalyzeService analyzeService;
+    private final SparrowJobRegistry jobs;
+    private final GitlabMrService gitlabMrService;
+    private final BitbucketPrService bitbucketPrService;
+    private final ExecutorService workers;
+    private final Map<String, ReviewPipelineState> pipelines = new LinkedHashMap<>();
+
+    public ReviewPipelineService(SparrowDiffService diffService, ReviewSourceService sourceService,
+        SparrowAnalyzeService analyzeService, SparrowJobRegistry jobs, GitlabMrService gitlabMrService,
+        BitbucketPrService bitbucketPrService, WorkerThreads threads) {
+        this.diffService = diffService;
+        this.sourceService = sourceService;
+        this.analyzeService = analyzeService;
+        this.jobs = jobs;
+        this.gitlabMrService = gitlabMrService;
+        this.bitbucketPrService = bitbucketPrService;
+        this.workers = threads.unbounded("review-pipeline");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * 파이프라인을 시작하고 바로 반환합니다. 진행 상황은 {@link #getStatus}로 조회합니다.
+     *
+     * @throws SparrowExecutionException 요청이 올바르지 않은 경우
+     */
+    public ReviewPipelineResponse start(ReviewPipelineRequest request) {
+        String reviewUrl = SparrowDiffService.reviewUrl(request.mrUrl(), request.prUrl());
+        Path repositoryRoot = repositoryRoot(request.repositoryRoot());
+        ReviewPipelineState state = new ReviewPipelineState(UUID.randomUUID().toString(), reviewUrl);
+        synchronized (pipelines) {
+            pipelines.put(state.pipelineId(), state);
+            evictFinishedLocked();
+        }
+
+        CompletableFuture<DiffIndex> fetched = CompletableFuture.supplyAsync(
+            () -> fetch(state, request, repositoryRoot == null), workers);
+        CompletableFuture<List<String>> resolved = fetched.thenApplyAsync(diffIndex -> repositoryRoot == null
+            ? materialize(state, request, diffIndex)
+            : resolve(state, diffIndex, repositoryRoot), workers);
+        CompletableFuture<SparrowJobState> analyzed = resolved.thenApplyAsync(
+            changedFiles -> analyze(state, request, changedFiles), workers);
+        analyzed.thenAcceptBothAsync(fetched, (job, diffIndex) -> mapAndComment(state, request, job, diffIndex), workers)
+            .whenComplete((ignored, ex) -> {
+                if (ex != null) {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    log.warn("Review pipeline {} failed", state.pipelineId(), cause);
+                    state.markFailed(cause.getMessage());
+                }
+            });
+        return state.toResponse();
+    }
+
+    /**
+     * 파이프라인 상태와 단계별 소요 시간을 조회합니다. {@code waitSeconds}가 0이면 기다리지 않습니다.
+     */
+    public ReviewPipelineResponse getStatus(ReviewPipelineStatusRequest request) {
+        ReviewPipelineState state;
+        synchronized (pipelines) {
+            state = pipelines.get(request.pipelineId());
+        }
+        if (state == null) {
+            throw new SparrowExecutionException("Review pipeline not found: " + request.pipelineId());
+        }
+        int waitSeconds = Math.max(0, Math.min(request.waitSeconds(), MAX_WAIT_SECONDS));
+        if (waitSeconds > 0 && !state.isTerminal()) {
+            try {
+                state.awaitTerminal(waitSeconds * 1000L);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return state.toResponse();
+    }
+
+    private void evictFinishedLocked() {
+        Iterator<ReviewPipelineState> iterator = pipelines.values().iterator();
+        while (pipelines.size() > MAX_PIPELINES && iterator.hasNext()) {
+            if (iterator.next().isTerminal()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private DiffIndex fetch(ReviewPipelineState state, ReviewPipelineRequest request, boolean withRevision) {
+        state.startStage(Stage.FETCH);
+        DiffIndex diffIndex = withRevision
+            ? diffService.loadRevisionIndex(request.mrUrl(), request.prUrl(), request.pat())
+            : diffService.loadDiffIndex(request.mrUrl(), request.prUrl(), request.pat());
+        state.changedFileCount(diffIndex.fileCount());
+        state.finishStage(Stage.FETCH, diffIndex.fileCount() + " changed files");
+        return diffIndex;
+    }
+
+    private List<String> resolve(ReviewPipelineState state, DiffIndex diffIndex, Path repositoryRoot) {
+        state.startStage(Stage.RESOLVE);
+        List<String> changedFiles = new ArrayList<>();
+        int missing = 0;
+        for (String path : diffIndex.paths()) {
+            if (!path.endsWith(".java")) {
+                continue;
+            }
+            Path file = repositoryRoot.resolve(path).normalize();
+            if (file.startsWith(repositoryRoot) && Files.isRegularFile(file)) {
+                changedFiles.add(file.toString());
+            } else {
+                missing++;
+            }
+        }
+        changedFiles.sort(null);
+        state.analyzedFileCount(changedFiles.size());
+        state.finishStage(Stage.RESOLVE, changedFiles.size() + " Java files resolved"
+            + (missing > 0 ? ", " + missing + " not found under repositoryRoot" : ""));
+        return changedFiles;
+    }
+
+    private List<String> materialize(ReviewPipelineState state, ReviewPipelineRequest request, DiffIndex diffIndex) {
+        state.startStage(Stage.RESOLVE);
+        SparrowSourceCache.Materialized materialized = sourceService.materialize(
+            request.mrUrl(), request.prUrl(), request.pat(), diffIndex, true);
+        state.analyzedFileCount(materialized.files().size());
+        state.finishStage(Stage.RESOLVE, materialized.files().size() + " Java files at "
+            + diffIndex.revision().headSha() + " (" + materialized.cachedCount() + " cached, "
+            + materialized.downloadedCount() + " downloaded)");
+        return materialized.files();
+    }
+
+    /**
+     * @return 종료된 SPARROW Job, 분석할 파일이 없으면 null
+     */
+    private SparrowJobState analyze(ReviewPipelineState state, ReviewPipelineRequest request,
+        List<String> changedFiles) {
+        if (changedFiles.isEmpty()) {
+            state.skipStage(Stage.ANALYZE, "No changed Java files to analyze");
+            return null;
+        }
+        state.startStage(Stage.ANALYZE);
+        SparrowAnalyzeJobSubmitResponse submitted = analyzeService.submitAnalyze(new SparrowAnalyzeRequest(
+            request.serverUrl(), request.clientPath(), request.passwordPath(), request.projectId(),
+            request.username(), changedFiles, null, null, null, null
+        ), null);
+        state.sparrowJobId(submitted.jobId());
+        SparrowJobState job = jobs.find(submitted.jobId());
+        try {
+            while (job != null && !job.isTerminal()) {
+                job.awaitTerminal(JOB_WAIT_MILLIS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SparrowExecutionException("Interrupted while waiting for SPARROW job " + submitted.jobId(), ex);
+        }
+        if (job == null) {
+            throw new SparrowExecutionException("SPARROW job result expired: " + submitted.jobId());
+        }
+        if (!"SUCCEEDED".equals(job.status())) {
+            throw new SparrowExecutionException(
+                "SPARROW job " + job.jobId() + " ended with " + job.status() + ": " + job.message());
+        }
+        state.finishStage(Stage.ANALYZE, "Job " + job.jobId()
+            + (submitted.cacheHit() ? " (cached result)" : submitted.coalesced() ? " (joined running job)" : ""));
+        return job;
+    }
+
+    private void mapAndComment(ReviewPipelineState state, ReviewPipelineRequest request, SparrowJobState job,
+        DiffIndex diffIndex) {
+        if (job == null) {
+            state.skipStage(Stage.MAP, "");
+            state.skipStage(Stage.COMMENT, "");
+            state.markSucceeded("No changed Java files to analyze");
+            return;
+        }
+        boolean postComments = Boolean.TRUE.equals(request.postComments());
+        int maxComments = request.maxComments() == null
+            ? DEFAULT_MAX_COMMENTS
+            : Math.max(0, Math.min(request.maxComments(), MAX_COMMENTS));
+        int concurrency = request.commentConcurrency() == null
+            ? DEFAULT_COMMENT_CONCURRENCY
+            : Math.max(1, Math.min(request.commentConcurrency(), MAX_COMMENT_CONCURRENCY));
+        Semaphore permits = new Semaphore(concurrency);
+        List<CompletableFuture<Void>> posts = new ArrayList<>();
+
+        state.startStage(Stage.MAP);
+        Set<String> commented = postComments ? existingCommentKeys(request) : Set.of();
+        SparrowStoredReport report = job.storedReport();
+        state.issueCount(report.size());
+        int inDiffCount = diffService.forEachInDiff(report, diffIndex, issue -> {
+            if (!postComments || posts.size() >= maxComments) {
+                return;
+            }
+            // 이전 실행에서 달았거나 이번 실행에서 같은 위치에 이미 단 댓글
+            if (!commented.add(commentKey(issue.path(), issue.line(), commentBody(issue.issue())))) {
+                state.commentSkipped();
+                return;
+            }
+            state.startStage(Stage.COMMENT);
+            // 게시 중인 댓글이 제한에 닿으면 대응을 잠시 멈춥니다.
+            permits.acquireUninterruptibly();
+            posts.add(CompletableFuture.runAsync(() -> {
+                try {
+                    postComment(request, issue);
+                    state.commentPosted();
+                } catch (RuntimeException ex) {
+                    log.warn("Review pipeline {} failed to post a comment on {}:{}", state.pipelineId(),
+                        issue.path(), issue.line(), ex);
+                    state.commentFailed();
+                } finally {
+                    permits.release();
+                }
+            }, workers));
+        });
+        state.inDiffIssueCount(inDiffCount);
+        state.finishStage(Stage.MAP, inDiffCount + " of " + report.size() + " issues inside the diff");
+
+        if (!postComments) {
+            state.skipStage(Stage.COMMENT, "postComments is false");
+        } else {
+            CompletableFuture.allOf(posts.toArray(CompletableFuture[]::new)).join();
+            int skipped = state.skippedCommentCount();
+            int overLimit = inDiffCount - posts.size() - skipped;
+            state.finishStage(Stage.COMMENT, posts.size() + " comments attempted"
+                + (skipped > 0 ? ", " + skipped + " already posted" : "")
+                + (overLimit > 0 ? ", " + overLimit + " over maxComments" : ""));
+        }
+        state.markSucceeded(state.failedCommentCount() > 0
+            ? state.failedCommentCount() + " comments could not be posted"
+            : "");
+    }
+
+    /**
+     * @return MR/PR에 이미 달린 SPARROW 라인 댓글의 {@link #commentKey}
+     */
+    private Set<String> existingCommentKeys(ReviewPipelineRequest request) {
+        List<ReviewLineComment> comments = request.mrUrl() != null && !request.mrUrl().isBlank()
+            ? gitlabMrService.getLineComments(new GitlabMrGetRequest(request.mrUrl(), request.pat()))
+            : bitbucketPrService.getLineComments(new BitbucketPrGetRequest(request.prUrl(), request.pat()));
+        Set<String> keys = new HashSet<>();
+        for (ReviewLineComment comment : comments) {
+            if (comment.body().startsWith(COMMENT_PREFIX)) {
+                keys.add(commentKey(comment.path(), comment.line(), comment.body()));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 경로, 라인과 댓글 첫 줄(규칙 이름)로 같은 댓글인지 판단합니다. 댓글을 단 뒤 사람이 고친 본문은 비교하지 않습니다.
+     */
+    private static String commentKey(String path, int line, String body) {
+        int newline = body.indexOf('\n');
+        return path + '\n' + line + '\n' + (newline < 0 ? body : body.substring(0, newline)).strip();
+    }
+
+    private void postComment(ReviewPipelineRequest request, SparrowDiffIssue issue) {
+        String body = commentBody(issue.issue());
+        if (request.mrUrl() != null && !request.mrUrl().isBlank()) {
+            gitlabMrService.postLineComment(new GitlabMrLineCommentRequest(
+                request.mrUrl(), request.pat(), body, issue.path(), issue.line(), issue.lineType(), issue.oldLine()));
+        } else {
+            bitbucketPrService.postLineComment(new BitbucketPrLineCommentRequest(
+                request.prUrl(), request.pat(), body, issue.path(), issue.line(), issue.lineType()));
+        }
+    }
+
+    private static String commentBody(SparrowAnalyzeIssue issue) {
+        StringBuilder body = new StringBuilder(COMMENT_PREFIX).append(issue.rule()).append("**\n");
+        if (issue.className() != null && !issue.className().isBlank()) {
+            body.append("\n- Class: `").append(issue.className()).append('`');
+        }
+        if (issue.function() != null && !issue.function().isBlank()) {
+            body.append("\n- Function: `").append(issue.function()).append('`');
+        }
+        if (issue.tag() != null && !issue.tag().isBlank()) {
+            body.append("\n- Tag: ").append(issue.tag());
+        }
+        return body.toString();
+    }
+
+    /**
+     * @return 정규화한 {@code repositoryRoot}, 주지 않았으면 null
+     */
+    private static Path repositoryRoot(String repositoryRoot) {
+        if (repositoryRoot == null || repositoryRoot.isBlank()) {
+            return null;
+        }
+        try {
+            Path root = Path.of(repositoryRoot).toAbsolutePath().normalize();
+            if (!Files.isDirectory(root)) {
+                throw new SparrowExecutionException("Repository root is not a directory: " + repositoryRoot);
+            }
+            return root;
+        } catch (InvalidPathException ex) {
+            throw new SparrowExecutionException("Invalid repository root: " + repositoryRoot, ex);
+        }
+    }
+}
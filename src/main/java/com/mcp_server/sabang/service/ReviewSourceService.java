@@ -0,0 +1,110 @@
+package com.mcp_server.sabang.service;
+
+import com.mcp_server.sabang.diff.DiffIndex;
+import com.mcp_server.sabang.diff.DiffRevision;
+import com.mcp_server.sabang.dto.BitbucketPrGetRequest;
+import com.mcp_server.sabang.dto.GitlabMrGetRequest;
+import com.mcp_server.sabang.dto.ReviewSourcesRequest;
+import com.mcp_server.sabang.dto.ReviewSourcesResponse;
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import com.mcp_server.sabang.sparrow.SparrowSourceCache;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Service;
+
+/**
+ * MR/PR head 커밋의 변경 파일을 로컬에 준비하는 서비스
+ * <p>
+ * {@code sparrow-analyze}의 {@code changedFiles}는 디스크에 있는 절대 경로여야 하므로, 로컬 체크아웃 없이도 분석할 수 있도록 변경된 파일만
+ * GitLab/Bitbucket의 파일 원본 API로 받아 {@link SparrowSourceCache}에 둡니다. 반환하는 경로는 그대로 SPARROW 입력으로 쓸 수 있습니다.
+ */
+@Service
+public class ReviewSourceService {
+
+    private final SparrowDiffService diffService;
+    private final GitlabMrService gitlabMrService;
+    private final BitbucketPrService bitbucketPrService;
+    private final SparrowSourceCache sourceCache;
+
+    public ReviewSourceService(SparrowDiffService diffService, GitlabMrService gitlabMrService,
+        BitbucketPrService bitbucketPrService, SparrowSourceCache sourceCache) {
+        this.diffService = diffService;
+        this.gitlabMrService = gitlabMrService;
+        this.bitbucketPrService = bitbucketPrService;
+        this.sourceCache = sourceCache;
+    }
+
+    /**
+     * MR/PR의 변경 파일을 head 커밋 기준으로 캐시에 준비합니다.
+     *
+     * @param request MR 또는 PR URL, 액세스 토큰
+     * @return 캐시에 준비된 파일의 절대 경로
+     */
+    public ReviewSourcesResponse fetch(ReviewSourcesRequest request) {
+        String reviewUrl = SparrowDiffService.reviewUrl(request.mrUrl(), request.prUrl());
+        DiffIndex diffIndex = diffService.loadRevisionIndex(request.mrUrl(), request.prUrl(), request.pat());
+        boolean javaOnly = !Boolean.FALSE.equals(request.javaOnly());
+        SparrowSourceCache.Materialized materialized = materialize(
+            request.mrUrl(), request.prUrl(), request.pat(), diffIndex, javaOnly);
+        DiffRevision revision = diffIndex.revision();
+        return new ReviewSourcesResponse(
+            reviewUrl,
+            revision.repository(),
+            revision.headSha(),
+            materialized.root().toString(),
+            materialized.files(),
+            materialized.cachedCount(),
+            materialized.downloadedCount()
+        );
+    }
+
+    /**
+     * 이미 읽은 diff의 변경 파일을 캐시에 준비합니다.
+     *
+     * @param diffIndex {@link SparrowDiffService#loadRevisionIndex}로 읽은 diff
+     * @param javaOnly  {@code .java} 파일만 준비할지 여부
+     * @throws SparrowExecutionException diff에 head 커밋이 없거나 파일을 받을 수 없는 경우
+     */
+    public SparrowSourceCache.Materialized materialize(String mrUrl, String prUrl, String pat, DiffIndex diffIndex,
+        boolean javaOnly) {
+        String reviewUrl = SparrowDiffService.reviewUrl(mrUrl, prUrl);
+        DiffRevision revision = diffIndex.revision();
+        if (revision == null) {
+            throw new SparrowExecutionException("Diff was loaded without its head revision");
+        }
+        List<String> paths = new ArrayList<>();
+        for (String path : diffIndex.paths()) {
+            if (!javaOnly || path.endsWith(".java")) {
+                paths.add(path);
+            }
+        }
+        paths.sort(null);
+
+        SparrowSourceCache.Fetcher fetcher;
+        if (prUrl == null || prUrl.isBlank()) {
+            GitlabMrGetRequest source = new GitlabMrGetRequest(mrUrl, pat);
+            fetcher = path -> gitlabMrService.openRawFile(source, revision.repository(), revision.headSha(), path);
+        } else {
+            BitbucketPrGetRequest source = new BitbucketPrGetRequest(prUrl, pat);
+            fetcher = path -> bitbucketPrService.openRawFile(source, revision.repository(), revision.headSha(), path);
+        }
+        return sourceCache.materialize(origin(reviewUrl) + "/" + revision.repository(), revision.headSha(), paths,
+            fetcher);
+    }
+
+    /**
+     * 같은 저장소 이름이라도 인스턴스가 다르면 다른 저장소이므로 캐시 키에 scheme과 호스트를 붙입니다.
+     */
+    private static String origin(String reviewUrl) {
+        try {
+            URI uri = URI.create(reviewUrl.trim());
+            if (uri.getScheme() != null && uri.getRawAuthority() != null) {
+                return uri.getScheme() + "://" + uri.getRawAuthority();
+            }
+        } catch (IllegalArgumentException ex) {
+            // URL 파서가 이미 검증했으므로 여기까지 오지 않지만, 키로는 URL 전체를 써도 됩니다.
+        }
+        return reviewUrl;
+    }
+}
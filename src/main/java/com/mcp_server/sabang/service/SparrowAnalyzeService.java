@@ -1,77 +1,388 @@
 package com.mcp_server.sabang.service;
 
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.config.WorkerThreads;
+import com.mcp_server.sabang.dto.SparrowAnalyzeBaselineRequest;
+import com.mcp_server.sabang.dto.SparrowAnalyzeBaselineResponse;
+import com.mcp_server.sabang.dto.SparrowAnalyzeJobCancelResponse;
+import com.mcp_server.sabang.dto.SparrowAnalyzeLogRequest;
+import com.mcp_server.sabang.dto.SparrowAnalyzeLogResponse;
 import com.mcp_server.sabang.dto.SparrowAnalyzeRequest;
 import com.mcp_server.sabang.dto.SparrowAnalyzeReport;
-import com.mcp_server.sabang.dto.SparrowAnalyzeIssue;
 import com.mcp_server.sabang.dto.SparrowAnalyzeResponse;
 import com.mcp_server.sabang.dto.SparrowAnalyzeSummary;
+import com.mcp_server.sabang.dto.SparrowAnalyzeJobStatusRequest;
 import com.mcp_server.sabang.dto.SparrowAnalyzeJobStatusResponse;
 import com.mcp_server.sabang.dto.SparrowAnalyzeJobSubmitResponse;
 import com.mcp_server.sabang.exception.SparrowExecutionException;
+import com.mcp_server.sabang.model.SparrowBaseline;
+import com.mcp_server.sabang.model.SparrowBaselineMode;
+import com.mcp_server.sabang.model.SparrowIssuePage;
+import com.mcp_server.sabang.model.SparrowIssueQuery;
+import com.mcp_server.sabang.model.SparrowJobListener;
+import com.mcp_server.sabang.model.SparrowJobPriority;
+import com.mcp_server.sabang.model.SparrowJobSnapshot;
 import com.mcp_server.sabang.model.SparrowJobState;
-import java.io.BufferedReader;
+import com.mcp_server.sabang.model.SparrowProcessOutput;
+import com.mcp_server.sabang.model.SparrowShardBalance;
+import com.mcp_server.sabang.sparrow.SparrowBaselineStore;
+import com.mcp_server.sabang.sparrow.SparrowInFlightJobs;
+import com.mcp_server.sabang.sparrow.SparrowJobLogs;
+import com.mcp_server.sabang.sparrow.SparrowJobRegistry;
+import com.mcp_server.sabang.sparrow.SparrowJobScheduler;
+import com.mcp_server.sabang.sparrow.SparrowLogTailer;
+import com.mcp_server.sabang.sparrow.SparrowProcessRegistry;
+import com.mcp_server.sabang.sparrow.SparrowReportParser;
+import com.mcp_server.sabang.sparrow.SparrowReportWatcher;
+import com.mcp_server.sabang.sparrow.SparrowShardPlanner;
+import com.mcp_server.sabang.sparrow.SparrowResultCache;
+import com.mcp_server.sabang.sparrow.SparrowWorkspaceManager;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
-import jakarta.annotation.PreDestroy;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.springframework.stereotype.Service;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
 
 /**
  * SPARROW 정적 분석 도구를 실행하는 서비스
  */
 @Service
 public class SparrowAnalyzeService {
-    private static final Pattern ANALYSIS_SUMMARY_URL_PATTERN =
-            Pattern.compile("https?://\\S+/scans/\\d+/info");
-
-    private final ExecutorService executor = Executors.newCachedThreadPool();
-    private final Map<String, SparrowJobState> jobs = new ConcurrentHashMap<>();
+    private static final int DEFAULT_ISSUE_PAGE_SIZE = 100;
+    private static final int MAX_ISSUE_PAGE_SIZE = 1000;
+    private static final char QUERY_SEPARATOR = '#';
+    private static final long CANCEL_WAIT_MILLIS = 5_000L;
+    private static final int DEFAULT_LOG_BYTES = 64 * 1024;
+    private static final int MAX_LOG_BYTES = 1024 * 1024;
+    private static final int DEFAULT_LOG_LINES = 200;
+    private static final int MAX_LOG_LINES = 5000;
+
+    private final SparrowJobScheduler scheduler;
+    private final SparrowReportParser reportParser;
+    private final SparrowJobRegistry jobs;
+    private final SparrowResultCache resultCache;
+    private final SparrowInFlightJobs inFlightJobs;
+    private final SparrowProcessRegistry processes;
+    private final SparrowWorkspaceManager workspaces;
+    private final SparrowShardPlanner shardPlanner;
+    private final SparrowJobLogs logs;
+    private final SparrowBaselineStore baselines;
+    private final WorkerThreads threads;
+    private final Duration executionTimeout;
+    private final Duration partialReportInterval;
+    private final int maxShards;
+    private final int responseTailChars;
+
+    public SparrowAnalyzeService(SparrowJobScheduler scheduler, SparrowReportParser reportParser,
+        SparrowJobRegistry jobs, SparrowResultCache resultCache, SparrowInFlightJobs inFlightJobs,
+        SparrowProcessRegistry processes, SparrowWorkspaceManager workspaces, SparrowShardPlanner shardPlanner,
+        SparrowJobLogs logs, SparrowBaselineStore baselines, SparrowProperties properties, WorkerThreads threads) {
+        this.scheduler = scheduler;
+        this.reportParser = reportParser;
+        this.jobs = jobs;
+        this.resultCache = resultCache;
+        this.inFlightJobs = inFlightJobs;
+        this.processes = processes;
+        this.workspaces = workspaces;
+        this.shardPlanner = shardPlanner;
+        this.logs = logs;
+        this.baselines = baselines;
+        this.threads = threads;
+        this.executionTimeout = properties.execution().timeout();
+        this.partialReportInterval = properties.execution().partialReportInterval();
+        this.maxShards = Math.max(1, properties.execution().maxShards());
+        this.responseTailChars = (int) Math.min(Integer.MAX_VALUE, properties.logs().responseTailSize().toBytes());
+    }
 
-    public SparrowAnalyzeJobSubmitResponse submitAnalyze(SparrowAnalyzeRequest request) {
+    /**
+     * 분석 Job을 제출합니다.
+     *
+     * @param listener 제출한 클라이언트에 상태 변경을 알릴 리스너 (없으면 null). 같은 요청에 합류하면 기존 Job에 등록합니다.
+     */
+    public SparrowAnalyzeJobSubmitResponse submitAnalyze(SparrowAnalyzeRequest request, SparrowJobListener listener) {
         validateRequest(request);
+        SparrowJobPriority priority = SparrowJobPriority.from(request.priority());
 
         String jobId = UUID.randomUUID().toString();
-        SparrowJobState state = SparrowJobState.pending(jobId, request.projectId());
-        jobs.put(jobId, state);
+        SparrowJobState state = SparrowJobState.pending(jobId, request.projectId(), priority);
+        // 제출 시점의 키는 조회에만 씁니다. 대기하는 동안 파일이 바뀔 수 있으므로 결과는 실행 시점의 키로 저장합니다.
+        SparrowJobSnapshot cached = resultCache.get(resultCache.key(request));
+
+        if (cached != null) {
+            jobs.register(state);
+            state.markSucceededFromCache(cached);
+            return new SparrowAnalyzeJobSubmitResponse(
+                jobId, request.projectId(), state.status(), priority.name(), 0, true, false
+            );
+        }
 
-        executor.submit(() -> runAnalyzeJob(state, request));
+        // 지문을 먼저 차지하고 이긴 제출만 등록하므로, 합류하는 재시도는 Job 목록과 저널에 남지 않습니다.
+        String fingerprint = inFlightJobs.fingerprint(request);
+        SparrowJobState inFlight = inFlightJobs.claim(fingerprint, state);
+        if (inFlight != null) {
+            subscribe(inFlight, listener);
+            return new SparrowAnalyzeJobSubmitResponse(
+                inFlight.jobId(), inFlight.projectId(), inFlight.status(), inFlight.priority().name(),
+                scheduler.queuePosition(inFlight.jobId()), false, true
+            );
+        }
+
+        jobs.register(state);
+        subscribe(state, listener);
+        try {
+            scheduler.submit(jobId, request.projectId(), priority, shardCount(request),
+                () -> runAnalyzeJob(state, request));
+        } catch (SparrowExecutionException ex) {
+            inFlightJobs.release(fingerprint, jobId);
+            jobs.remove(jobId);
+            throw ex;
+        }
 
-        return new SparrowAnalyzeJobSubmitResponse(jobId, request.projectId(), state.status());
+        return new SparrowAnalyzeJobSubmitResponse(
+            jobId, request.projectId(), state.status(), priority.name(), scheduler.queuePosition(jobId), false, false
+        );
     }
 
-    public SparrowAnalyzeJobStatusResponse getJobStatus(String jobId, int waitSeconds) {
-        SparrowJobState state = jobs.get(jobId);
+    private static void subscribe(SparrowJobState state, SparrowJobListener listener) {
+        if (listener == null) {
+            return;
+        }
+        state.addListener(listener);
+        if (state.isTerminal()) {
+            // 등록 직전에 종료되어 종료 통지를 놓친 경우
+            listener.onStatusChanged(state);
+        }
+    }
+
+    /**
+     * Job 상태를 조회합니다. 리포트 이슈는 조건(rule, filePrefix, lineReviewRecommended)에 맞는 것만 커서 단위로 나누어 반환합니다.
+     * {@code waitSeconds}가 0이면 기다리지 않고 현재 상태를 바로 반환합니다.
+     *
+     * @param waitListener 기다리는 동안 진행 상황을 받을 리스너 (없으면 null)
+     */
+    public SparrowAnalyzeJobStatusResponse getJobStatus(SparrowAnalyzeJobStatusRequest request,
+        SparrowJobListener waitListener) {
+        String jobId = request.jobId();
+        SparrowJobState state = jobs.find(jobId);
         if (state == null) {
+            SparrowJobRegistry.ExpiredJob expired = jobs.findExpired(jobId);
+            if (expired != null) {
+                return SparrowJobState.expiredResponse(jobId, expired.projectId(),
+                    "Job result expired at " + expired.expiredAt() + " by retention policy (" + expired.reason() + ")");
+            }
             throw new SparrowExecutionException("Job not found: " + jobId);
         }
-        int boundedWaitSeconds = Math.max(1, Math.min(waitSeconds, 30));
+        SparrowIssueQuery query = SparrowIssueQuery.of(
+            request.rule(), request.filePrefix(), request.lineReviewRecommended(), request.fields()
+        );
+        int pageSize = request.pageSize() == null
+            ? DEFAULT_ISSUE_PAGE_SIZE
+            : Math.max(1, Math.min(request.pageSize(), MAX_ISSUE_PAGE_SIZE));
+        boolean summaryOnly = Boolean.TRUE.equals(request.summaryOnly());
+        boolean fullBreakdown = Boolean.TRUE.equals(request.fullBreakdown());
+        SparrowBaselineMode baselineMode = SparrowBaselineMode.from(request.baseline());
+        SparrowBaseline baseline = null;
+        if (baselineMode != SparrowBaselineMode.ALL) {
+            baseline = baselines.find(state.projectId());
+            if (baseline == null) {
+                throw new SparrowExecutionException("No baseline recorded for project " + state.projectId()
+                    + "; record one with sparrow-analyze-baseline");
+            }
+        }
+        String cursorScope = jobId + QUERY_SEPARATOR
+            + query.cursorKey(baselineMode, baseline == null ? null : baseline.jobId());
+        int fromPosition = decodeCursor(jobId, cursorScope, request.cursor());
+
+        int boundedWaitSeconds = Math.max(0, Math.min(request.waitSeconds(), 30));
+        if (boundedWaitSeconds > 0 && !state.isTerminal()) {
+            if (waitListener != null) {
+                state.addListener(waitListener);
+            }
+            try {
+                state.awaitTerminal(boundedWaitSeconds * 1000L);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (waitListener != null) {
+                    state.removeListener(waitListener);
+                }
+            }
+        }
+        return state.toResponse(scheduler.queuePosition(jobId), query, fromPosition, pageSize, summaryOnly,
+            fullBreakdown, baselineMode, baseline, cursorScope);
+    }
+
+    /**
+     * 커서가 다른 Job이나 다른 조회 조건으로 만들어졌으면 거절합니다. 조건이 바뀌면 같은 위치라도 다른 이슈를 가리키기 때문입니다.
+     */
+    private static int decodeCursor(String jobId, String cursorScope, String cursor) {
+        String scope = SparrowIssuePage.decodeScope(cursor);
+        if (scope != null && !scope.equals(cursorScope)) {
+            int separator = scope.lastIndexOf(QUERY_SEPARATOR);
+            if (separator < 0 || !scope.substring(0, separator).equals(jobId)) {
+                throw new SparrowExecutionException("cursor does not belong to job " + jobId);
+            }
+            throw new SparrowExecutionException("Issue filters or baseline changed since the first page; "
+                + "request again without cursor");
+        }
+        return SparrowIssuePage.decodeCursor(cursorScope, cursor);
+    }
+
+    /**
+     * 프로젝트 기준선을 기록, 조회 또는 삭제합니다. {@code jobId}가 있으면 그 Job의 리포트를 Job 프로젝트의 기준선으로 기록하고,
+     * 없으면 {@code projectId}의 기준선을 조회하거나 {@code clear}가 true면 지웁니다.
+     */
+    public SparrowAnalyzeBaselineResponse baseline(SparrowAnalyzeBaselineRequest request) {
+        if (request.jobId() != null && !request.jobId().isBlank()) {
+            String jobId = request.jobId().trim();
+            SparrowJobState state = jobs.find(jobId);
+            if (state == null) {
+                if (jobs.findExpired(jobId) != null) {
+                    throw new SparrowExecutionException("Job result expired: " + jobId);
+                }
+                throw new SparrowExecutionException("Job not found: " + jobId);
+            }
+            SparrowBaseline baseline = baselines.record(state);
+            return baselineResponse(baseline.projectId(), baseline, "Baseline recorded from job " + jobId);
+        }
+        if (request.projectId() == null || request.projectId().isBlank()) {
+            throw new SparrowExecutionException("jobId or projectId is required");
+        }
+        String projectId = request.projectId().trim();
+        if (Boolean.TRUE.equals(request.clear())) {
+            SparrowBaseline removed = baselines.clear(projectId);
+            return baselineResponse(projectId, null,
+                removed == null ? "No baseline recorded" : "Baseline from job " + removed.jobId() + " cleared");
+        }
+        SparrowBaseline baseline = baselines.find(projectId);
+        return baselineResponse(projectId, baseline, baseline == null ? "No baseline recorded" : "");
+    }
+
+    private static SparrowAnalyzeBaselineResponse baselineResponse(String projectId, SparrowBaseline baseline,
+        String message) {
+        if (baseline == null) {
+            return new SparrowAnalyzeBaselineResponse(projectId, null, null, 0, message);
+        }
+        return new SparrowAnalyzeBaselineResponse(projectId, baseline.jobId(), baseline.createdAt(),
+            baseline.report().size(), message);
+    }
+
+    /**
+     * 대기 중인 Job은 대기열에서 빼고, 실행 중인 Job은 SPARROW 프로세스 트리를 종료하여 CANCELLED로 기록합니다.
+     */
+    public SparrowAnalyzeJobCancelResponse cancelJob(String jobId) {
+        SparrowJobState state = jobs.find(jobId);
+        if (state == null) {
+            SparrowJobRegistry.ExpiredJob expired = jobs.findExpired(jobId);
+            if (expired != null) {
+                return new SparrowAnalyzeJobCancelResponse(jobId, expired.projectId(), "EXPIRED", false,
+                    "Job already finished and expired at " + expired.expiredAt());
+            }
+            throw new SparrowExecutionException("Job not found: " + jobId);
+        }
+
+        if (scheduler.cancelQueued(jobId)) {
+            state.markCancelled("Cancelled by client before the job started");
+            jobs.evictExpired();
+            return new SparrowAnalyzeJobCancelResponse(jobId, state.projectId(), state.status(), true, state.message());
+        }
+        if (!state.requestStop("CANCELLED", "Cancelled by client")) {
+            return new SparrowAnalyzeJobCancelResponse(jobId, state.projectId(), state.status(), false,
+                state.isTerminal() ? "Job already finished" : "Job is already stopping");
+        }
+        // 프로세스가 아직 시작 전이면 execute()가 시작 직후 요청을 확인하고 종료합니다.
+        processes.destroy(jobId);
         try {
-            state.awaitTerminal(boundedWaitSeconds * 1000L);
+            state.awaitTerminal(CANCEL_WAIT_MILLIS);
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
         }
-        return state.toResponse();
+        return new SparrowAnalyzeJobCancelResponse(jobId, state.projectId(), state.status(), true, state.message());
+    }
+
+    /**
+     * Job 프로세스 로그 일부를 읽습니다. {@code fromLine}이 있으면 줄 단위로, 없으면 {@code offset}부터 바이트 단위로 읽습니다.
+     * 응답의 {@code nextOffset}/{@code nextLine}으로 다시 조회하면 그 뒤에 추가된 로그만 받습니다. 줄 단위에서는 {@code offset}에
+     * {@code nextOffset}을 함께 넘기면 줄을 처음부터 다시 세지 않습니다.
+     */
+    public SparrowAnalyzeLogResponse readLog(SparrowAnalyzeLogRequest request) {
+        String jobId = request.jobId();
+        SparrowJobState state = jobs.find(jobId);
+        if (state == null) {
+            SparrowJobRegistry.ExpiredJob expired = jobs.findExpired(jobId);
+            if (expired != null) {
+                throw new SparrowExecutionException("Job result expired at " + expired.expiredAt() + ": " + jobId);
+            }
+            throw new SparrowExecutionException("Job not found: " + jobId);
+        }
+        boolean stderr = logStream(request.stream());
+        String stream = stderr ? "stderr" : "stdout";
+        int shard = request.shard() == null ? 1 : request.shard();
+        // 상태를 로그보다 먼저 읽어야, 종료로 판단했을 때 로그도 이미 다 쓰인 상태입니다.
+        boolean terminal = state.isTerminal();
+        int shardCount = logs.shardCount(jobId);
+        if (shardCount == 0) {
+            return new SparrowAnalyzeLogResponse(jobId, state.status(), stream, shard, 0, 0L, 0L, null, null, 0L, "",
+                terminal, terminal ? "No process logs for this job (served from cache or never started)"
+                    : "Job has not started yet");
+        }
+        if (shard < 1 || shard > shardCount) {
+            throw new SparrowExecutionException("Shard must be between 1 and " + shardCount);
+        }
+
+        Path file = logs.logFile(jobId, shard, stderr);
+        int maxBytes = request.maxBytes() == null
+            ? DEFAULT_LOG_BYTES
+            : Math.max(1, Math.min(request.maxBytes(), MAX_LOG_BYTES));
+        SparrowJobLogs.Slice slice;
+        if (request.fromLine() != null) {
+            int maxLines = request.maxLines() == null
+                ? DEFAULT_LOG_LINES
+                : Math.max(1, Math.min(request.maxLines(), MAX_LOG_LINES));
+            long lineOffset = request.offset() == null ? -1L : request.offset();
+            slice = logs.readLines(file, Math.max(0L, request.fromLine()), lineOffset, maxLines, maxBytes, terminal);
+        } else {
+            slice = logs.readBytes(file, request.offset() == null ? 0L : request.offset(), maxBytes, terminal);
+        }
+        boolean complete = terminal && slice.nextOffset() >= slice.fileSize();
+        boolean partialLine = request.fromLine() != null && slice.nextLine() == slice.fromLine()
+            && slice.nextOffset() > slice.offset();
+        return new SparrowAnalyzeLogResponse(
+            jobId,
+            state.status(),
+            stream,
+            shard,
+            shardCount,
+            slice.offset(),
+            slice.nextOffset(),
+            slice.fromLine() < 0 ? null : slice.fromLine(),
+            slice.nextLine() < 0 ? null : slice.nextLine(),
+            slice.fileSize(),
+            slice.content(),
+            complete,
+            partialLine ? "Line " + slice.fromLine() + " is longer than maxBytes; pass nextLine and nextOffset to"
+                + " continue reading it" : ""
+        );
+    }
+
+    private static boolean logStream(String stream) {
+        if (stream == null || stream.isBlank() || "stdout".equalsIgnoreCase(stream)) {
+            return false;
+        }
+        if ("stderr".equalsIgnoreCase(stream)) {
+            return true;
+        }
+        throw new SparrowExecutionException("Unsupported log stream: " + stream + " (stdout or stderr)");
     }
 
     /**
@@ -82,41 +393,255 @@ public class SparrowAnalyzeService {
      */
     public SparrowAnalyzeResponse analyze(SparrowAnalyzeRequest request) {
         validateRequest(request);
+        String runId = UUID.randomUUID().toString();
+        try {
+            return execute(request, null, runId);
+        } finally {
+            logs.release(runId);
+        }
+    }
 
-        List<String> command = buildCommand(request);
-        ProcessBuilder processBuilder = createProcessBuilder(command, request);
+    private SparrowAnalyzeResponse execute(SparrowAnalyzeRequest request, SparrowJobState state, String runId) {
+        List<List<String>> shards = shardPlanner.plan(
+            request.changedFiles(), shardCount(request), SparrowShardBalance.from(request.shardBalance())
+        );
+        SparrowProcessOutput processOutput = new SparrowProcessOutput(responseTailChars);
+        PartialReports partialReports = null;
+        if (state != null) {
+            state.attachProcessOutput(processOutput);
+            partialReports = new PartialReports(state, shards.size());
+        }
+
+        if (shards.size() == 1) {
+            ShardResult result = runShard(request, shards.get(0), 1, state, runId, runId, processOutput, partialReports,
+                "");
+            String summaryUrl = processOutput.summaryUrl();
+            String normalizedOutput = summaryUrl.isBlank() ? processOutput.stdout() : summaryUrl;
+            return new SparrowAnalyzeResponse(
+                request.projectId(), result.exitCode(), normalizedOutput, processOutput.stderr(), result.report()
+            );
+        }
+
+        List<ShardResult> results = new ArrayList<>(shards.size());
+        try (ExecutorService shardWorkers = threads.fixed("sparrow-shard", shards.size())) {
+            List<Future<ShardResult>> futures = new ArrayList<>(shards.size());
+            PartialReports shardPartialReports = partialReports;
+            for (int i = 0; i < shards.size(); i++) {
+                List<String> files = shards.get(i);
+                int shard = i + 1;
+                String workspaceId = runId + "-shard-" + (i + 1);
+                String linePrefix = "[shard " + (i + 1) + "/" + shards.size() + "] ";
+                futures.add(shardWorkers.submit(
+                    () -> runShard(request, files, shard, state, runId, workspaceId, processOutput,
+                        shardPartialReports, linePrefix)
+                ));
+            }
+            for (Future<ShardResult> future : futures) {
+                results.add(awaitShard(future, runId));
+            }
+        }
+
+        int exitCode = 0;
+        List<SparrowAnalyzeReport> reports = new ArrayList<>(results.size());
+        for (ShardResult result : results) {
+            if (exitCode == 0) {
+                exitCode = result.exitCode();
+            }
+            if (result.report() != null) {
+                reports.add(result.report());
+            }
+        }
+        List<String> summaryUrls = processOutput.summaryUrls();
+        String normalizedOutput = summaryUrls.isEmpty()
+            ? processOutput.stdout()
+            : String.join(System.lineSeparator(), summaryUrls);
+        SparrowAnalyzeReport report = reports.size() == results.size() ? reportParser.merge(reports) : null;
+        return new SparrowAnalyzeResponse(request.projectId(), exitCode, normalizedOutput, processOutput.stderr(), report);
+    }
 
+    private ShardResult awaitShard(Future<ShardResult> future, String runId) {
         try {
-            Process process = processBuilder.start();
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            processes.destroy(runId);
+            throw new SparrowExecutionException("SPARROW execution interrupted", ex);
+        } catch (ExecutionException ex) {
+            // 한 샤드가 실패하면 나머지 샤드도 더 기다릴 이유가 없으므로 함께 종료합니다.
+            processes.destroy(runId);
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new SparrowExecutionException("SPARROW shard failed", ex.getCause());
+        }
+    }
 
-            String output = readStream(process.getInputStream());
-            String error = readStream(process.getErrorStream());
+    /**
+     * 변경 파일 일부(샤드)에 대해 SPARROW 클라이언트를 한 번 실행하고 리포트를 읽습니다.
+     * stdout/stderr는 샤드 로그 파일로 리다이렉트하고, 요약 URL과 진행률은 로그 파일을 따라 읽어 찾습니다.
+     * 실행 중에 리포트 파일이 쓰이면 지금까지 쓰인 이슈를 {@code partialReports}로 Job에 보여줍니다.
+     *
+     * @param shard       1부터 시작하는 샤드 번호 (로그 파일 이름)
+     * @param runId       프로세스 목록에 등록할 ID (Job ID). 취소/시간 초과 시 같은 ID의 프로세스를 모두 종료합니다.
+     * @param workspaceId 작업 디렉터리 이름
+     * @param partialReports 중간 결과를 모으는 곳, Job 없이 실행하면 null
+     * @param linePrefix  출력 줄 앞에 붙일 샤드 표시
+     * @return 종료 코드와 리포트. 취소/시간 초과로 멈췄으면 리포트는 null
+     */
+    private ShardResult runShard(SparrowAnalyzeRequest request, List<String> files, int shard, SparrowJobState state,
+        String runId, String workspaceId, SparrowProcessOutput processOutput, PartialReports partialReports,
+        String linePrefix) {
+        SparrowJobLogs.LogFiles logFiles = logs.create(runId, shard);
+        SparrowWorkspaceManager.Workspace workspace = workspaces.create(workspaceId, request.clientPath());
+        List<String> command = buildCommand(request, files, workspace.clientPath());
+        ProcessBuilder processBuilder = createProcessBuilder(command, workspace.directory(), logFiles);
+
+        Process process = null;
+        SparrowLogTailer stdoutTailer = null;
+        SparrowLogTailer stderrTailer = null;
+        SparrowReportWatcher reportWatcher = null;
+        try {
+            process = processBuilder.start();
+            processes.register(runId, process);
+            if (state != null && state.stopRequested()) {
+                processes.destroyTree(process.toHandle());
+            }
+
+            String tailerName = "sparrow-" + workspaceId;
+            stdoutTailer = SparrowLogTailer.start(threads.factory(tailerName + "-stdout"), logFiles.stdout(),
+                line -> processOutput.appendStdout(linePrefix + line));
+            stderrTailer = SparrowLogTailer.start(threads.factory(tailerName + "-stderr"), logFiles.stderr(),
+                line -> processOutput.appendStderr(linePrefix + line));
 
-            int exitCode = process.waitFor();
-            SparrowAnalyzeReport report = parseReport(processBuilder.directory().toPath());
-            String summaryUrl = extractAnalysisSummaryUrl(output, error);
-            String normalizedOutput = summaryUrl.isBlank() ? output : summaryUrl;
+            reportWatcher = watchReport(tailerName, workspace, shard, partialReports);
 
-            return new SparrowAnalyzeResponse(request.projectId(), exitCode, normalizedOutput, error, report);
+            int exitCode = waitForExit(process, state, runId);
+            if (reportWatcher != null) {
+                reportWatcher.close();
+            }
+            stdoutTailer.await();
+            stderrTailer.await();
+            if (state != null) {
+                if (state.stopRequested()) {
+                    return new ShardResult(exitCode, null);
+                }
+                state.markParsingReport();
+            }
+            return new ShardResult(exitCode, parseReport(workspace, exitCode));
         } catch (IOException ex) {
             throw new SparrowExecutionException("Failed to execute SPARROW client", ex);
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
+            if (process != null) {
+                processes.destroyTree(process.toHandle());
+            }
             throw new SparrowExecutionException("SPARROW execution interrupted", ex);
+        } finally {
+            if (reportWatcher != null) {
+                reportWatcher.close();
+            }
+            if (stdoutTailer != null) {
+                stdoutTailer.finish();
+            }
+            if (stderrTailer != null) {
+                stderrTailer.finish();
+            }
+            if (process != null) {
+                processes.unregister(runId, process);
+            }
+            workspaces.release(workspace);
         }
     }
 
+    private SparrowReportWatcher watchReport(String name, SparrowWorkspaceManager.Workspace workspace, int shard,
+        PartialReports partialReports) {
+        if (partialReports == null || partialReportInterval.isZero() || partialReportInterval.isNegative()) {
+            return null;
+        }
+        return SparrowReportWatcher.start(threads.factory(name + "-report"), workspaces.reportDirectory(workspace),
+            partialReportInterval, () -> {
+                List<Path> reportPaths = workspaces.reportPaths(workspace);
+                if (!reportPaths.isEmpty()) {
+                    partialReports.update(shard, reportParser.parseAllAvailable(reportPaths));
+                }
+            });
+    }
+
+    /**
+     * 프로세스가 끝날 때까지 기다립니다. 실행 시간 제한을 넘으면 같은 실행의 프로세스 트리를 모두 종료합니다.
+     */
+    private int waitForExit(Process process, SparrowJobState state, String runId) throws InterruptedException {
+        if (executionTimeout.isZero() || executionTimeout.isNegative()) {
+            return awaitExit(process);
+        }
+        try {
+            return process.onExit().get(executionTimeout.toMillis(), TimeUnit.MILLISECONDS).exitValue();
+        } catch (TimeoutException ex) {
+            // 아래에서 프로세스 트리를 종료합니다.
+        } catch (ExecutionException ex) {
+            throw new SparrowExecutionException("Failed to wait for SPARROW client", ex.getCause());
+        }
+        String message = "SPARROW client did not finish within " + executionTimeout;
+        if (state == null) {
+            processes.destroy(runId);
+            throw new SparrowExecutionException(message);
+        }
+        state.requestStop("TIMED_OUT", message);
+        processes.destroy(runId);
+        return awaitExit(process);
+    }
+
+    /**
+     * {@link Process#waitFor()}는 JDK 21에서 모니터로 기다려 가상 스레드가 캐리어 스레드를 붙잡으므로, 프로세스 종료 future로 기다립니다.
+     */
+    private static int awaitExit(Process process) throws InterruptedException {
+        try {
+            return process.onExit().get().exitValue();
+        } catch (ExecutionException ex) {
+            throw new SparrowExecutionException("Failed to wait for SPARROW client", ex.getCause());
+        }
+    }
+
+    /**
+     * 요청한 샤드 수를 설정된 최대 샤드 수, 전체 동시 실행 수, 변경 파일 수로 제한합니다.
+     */
+    private int shardCount(SparrowAnalyzeRequest request) {
+        if (request.shardCount() == null || request.shardCount() <= 1) {
+            return 1;
+        }
+        int limit = Math.min(maxShards, scheduler.maxConcurrentJobs());
+        return Math.max(1, Math.min(Math.min(request.shardCount(), limit), request.changedFiles().size()));
+    }
+
     private void runAnalyzeJob(SparrowJobState state, SparrowAnalyzeRequest request) {
         state.markRunning();
         try {
-            SparrowAnalyzeResponse response = analyze(request);
-            if (response.exitCode() == 0) {
-                state.markSucceeded(response);
+            if (state.stopRequested()) {
+                state.markStopped();
+                return;
+            }
+            String cacheKey = resultCache.key(request);
+            SparrowAnalyzeResponse response = execute(request, state, state.jobId());
+            if (state.stopRequested()) {
+                state.markStopped();
+            } else if (response.exitCode() == 0) {
+                // 기준선이 있는 프로젝트만 소스 파일이 남아 있는 지금 지문을 계산하고, 나머지는 비교하거나 기준선으로 기록할 때 계산합니다.
+                state.markSucceeded(response, baselines.exists(request.projectId()));
+                // 실행 중에 파일이 바뀌었으면 결과가 어느 내용의 것인지 알 수 없으므로 저장하지 않습니다.
+                if (cacheKey != null && cacheKey.equals(resultCache.key(request))) {
+                    resultCache.put(cacheKey, state.snapshot());
+                }
             } else {
                 state.markFailed(response, "SPARROW exited with code " + response.exitCode());
             }
         } catch (RuntimeException ex) {
-            state.markFailed(ex);
+            if (state.stopRequested()) {
+                state.markStopped();
+            } else {
+                state.markFailed(ex);
+            }
+        } finally {
+            jobs.evictExpired();
         }
     }
 
@@ -144,11 +669,12 @@ public class SparrowAnalyzeService {
                 throw new SparrowExecutionException("Changed files list contains a blank path");
             }
         }
+        SparrowShardBalance.from(request.shardBalance());
     }
 
-    private List<String> buildCommand(SparrowAnalyzeRequest request) {
+    private List<String> buildCommand(SparrowAnalyzeRequest request, List<String> changedFiles, Path clientPath) {
         List<String> command = new ArrayList<>();
-        command.add(request.clientPath());
+        command.add(clientPath.toString());
         command.add("-P");
         command.add(request.projectId());
         command.add("-U");
@@ -158,219 +684,77 @@ public class SparrowAnalyzeService {
         command.add("-PW");
         command.add(request.passwordPath());
         command.add("-SD");
-        command.add(String.join(File.pathSeparator, request.changedFiles()));
+        command.add(String.join(File.pathSeparator, changedFiles));
 
         return command;
     }
 
-    private ProcessBuilder createProcessBuilder(List<String> command, SparrowAnalyzeRequest request) {
+    private ProcessBuilder createProcessBuilder(List<String> command, Path workingDirectory,
+        SparrowJobLogs.LogFiles logFiles) {
         ProcessBuilder processBuilder = new ProcessBuilder(command);
-        File workingDirectory = resolveWorkingDirectory(request.clientPath());
-        processBuilder.directory(workingDirectory);
+        processBuilder.directory(workingDirectory.toFile());
         processBuilder.redirectErrorStream(false);
+        processBuilder.redirectOutput(logFiles.stdout().toFile());
+        processBuilder.redirectError(logFiles.stderr().toFile());
         return processBuilder;
     }
 
-    private File resolveWorkingDirectory(String clientPath) {
-        Path parent = Path.of(clientPath).getParent();
-        if (parent == null) {
-            throw new SparrowExecutionException("Client path must include a parent directory");
+    /**
+     * 작업 디렉터리의 리포트를 읽습니다. 정상 종료했는데 리포트가 없으면 이슈가 없는 것이 아니라 리포트를 다른 곳에 쓴 것이므로
+     * 빈 리포트로 성공 처리하지 않고 실패로 돌려줍니다.
+     */
+    private SparrowAnalyzeReport parseReport(SparrowWorkspaceManager.Workspace workspace, int exitCode) {
+        List<Path> reportPaths = workspaces.reportPaths(workspace);
+        if (!reportPaths.isEmpty()) {
+            return reportParser.parseAll(reportPaths);
         }
-        return parent.toFile();
-    }
-
-    private String readStream(java.io.InputStream inputStream) throws IOException {
-        StringBuilder result = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(
-            new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                result.append(line).append(System.lineSeparator());
+        if (exitCode == 0) {
+            String message = "SPARROW client exited with code 0 but wrote no report to "
+                + workspaces.reportDirectory(workspace);
+            if (workspace.isolated()) {
+                message += "; a client that resolves its own real path writes reports into its installation directory,"
+                    + " set sparrow.workspace.isolated=false for such clients";
             }
+            throw new SparrowExecutionException(message);
         }
-        return result.toString();
+        return new SparrowAnalyzeReport("", emptySummary(), Collections.emptyList());
     }
 
-    private String extractAnalysisSummaryUrl(String output, String error) {
-        String fromOutput = extractAnalysisSummaryUrl(output);
-        if (!fromOutput.isBlank()) {
-            return fromOutput;
-        }
-        return extractAnalysisSummaryUrl(error);
+    private SparrowAnalyzeSummary emptySummary() {
+        return new SparrowAnalyzeSummary(0, 0, Collections.emptyMap(), Collections.emptyMap(), 0, 0);
     }
 
-    private String extractAnalysisSummaryUrl(String text) {
-        if (text == null || text.isBlank()) {
-            return "";
-        }
-        Matcher matcher = ANALYSIS_SUMMARY_URL_PATTERN.matcher(text);
-        if (!matcher.find()) {
-            return "";
-        }
-        return matcher.group();
-    }
+    /**
+     * 샤드별 중간 리포트를 합쳐 실행 중인 Job에 보여줍니다.
+     */
+    private final class PartialReports {
+        private final SparrowJobState state;
+        private final SparrowAnalyzeReport[] reports;
 
-    private SparrowAnalyzeReport parseReport(Path workingDirectory) {
-        Path reportPath = resolveReportPath(workingDirectory);
-        if (!Files.exists(reportPath)) {
-            return new SparrowAnalyzeReport(reportPath.toString(), emptySummary(), Collections.emptyList());
+        private PartialReports(SparrowJobState state, int shards) {
+            this.state = state;
+            this.reports = new SparrowAnalyzeReport[shards];
         }
 
-        try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setExpandEntityReferences(false);
-            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document document = builder.parse(reportPath.toFile());
-            NodeList alarms = document.getElementsByTagName("alarm");
-
-            List<SparrowAnalyzeIssue> issues = new ArrayList<>();
-            Map<String, Integer> alarmsByRule = new LinkedHashMap<>();
-            Map<String, Integer> alarmsByFile = new LinkedHashMap<>();
-            int lineReviewCandidates = 0;
-
-            for (int i = 0; i < alarms.getLength(); i++) {
-                Element alarm = (Element) alarms.item(i);
-                Element defect = getFirstChildElement(alarm, "defect");
-                Element loc = defect == null ? null : getFirstChildElement(defect, "loc");
-                Element event = getDefectEvent(alarm);
-                Element desc = event == null ? null : getFirstChildElement(event, "desc");
-
-                String localId = alarm.getAttribute("localId");
-                String rule = getChildText(defect, "rule");
-                String file = getChildText(loc, "file");
-                Integer line = parseInteger(getChildText(loc, "line"));
-                String function = getChildText(loc, "func");
-                String className = getChildText(loc, "class");
-                String tag = getChildText(event, "tag");
-                String descriptionId = desc == null ? "" : trim(desc.getAttribute("id"));
-                boolean lineReviewRecommended = file != null && !file.isBlank() && line != null && line > 0;
-                String lineReviewReason = lineReviewRecommended
-                    ? "Potential defect location from SPARROW alarm"
-                    : "Line information is missing in SPARROW alarm";
-
-                if (lineReviewRecommended) {
-                    lineReviewCandidates++;
+        private synchronized void update(int shard, SparrowAnalyzeReport report) {
+            reports[shard - 1] = report;
+            List<SparrowAnalyzeReport> available = new ArrayList<>(reports.length);
+            for (SparrowAnalyzeReport partial : reports) {
+                if (partial != null) {
+                    available.add(partial);
                 }
-                incrementCount(alarmsByRule, emptyToUnknown(rule));
-                incrementCount(alarmsByFile, emptyToUnknown(file));
-
-                issues.add(new SparrowAnalyzeIssue(
-                    localId,
-                    rule,
-                    file,
-                    line,
-                    function,
-                    className,
-                    tag,
-                    descriptionId,
-                    lineReviewRecommended,
-                    lineReviewReason
-                ));
             }
-
-            SparrowAnalyzeSummary summary = new SparrowAnalyzeSummary(
-                alarms.getLength(),
-                lineReviewCandidates,
-                alarmsByRule,
-                alarmsByFile
-            );
-            return new SparrowAnalyzeReport(reportPath.toString(), summary, issues);
-        } catch (Exception ex) {
-            throw new SparrowExecutionException("Failed to parse SPARROW XML report: " + reportPath, ex);
+            state.updatePartialReport(reportParser.merge(available));
         }
     }
 
-    private Path resolveReportPath(Path workingDirectory) {
-        Path xmlDirectory = workingDirectory.resolve("sparrow").resolve("xml_files");
-        Path defaultReportPath = xmlDirectory.resolve("FINCH_SYN.1.0.xml");
-        if (Files.exists(defaultReportPath)) {
-            return defaultReportPath;
-        }
-        if (!Files.isDirectory(xmlDirectory)) {
-            return defaultReportPath;
-        }
-
-        try (Stream<Path> candidates = Files.list(xmlDirectory)) {
-            return candidates
-                .filter(path -> Files.isRegularFile(path) && path.getFileName().toString().endsWith(".xml"))
-                .max(Comparator.comparing(this::lastModifiedOrZero)
-                    .thenComparing(path -> path.getFileName().toString()))
-                .orElse(defaultReportPath);
-        } catch (IOException ex) {
-            return defaultReportPath;
-        }
-    }
-
-    private long lastModifiedOrZero(Path path) {
-        try {
-            return Files.getLastModifiedTime(path).toMillis();
-        } catch (IOException ex) {
-            return 0L;
-        }
-    }
-
-    private SparrowAnalyzeSummary emptySummary() {
-        return new SparrowAnalyzeSummary(0, 0, Collections.emptyMap(), Collections.emptyMap());
-    }
-
-    private void incrementCount(Map<String, Integer> counts, String key) {
-        counts.merge(key, 1, Integer::sum);
-    }
-
-    private String emptyToUnknown(String value) {
-        return value == null || value.isBlank() ? "UNKNOWN" : value;
-    }
-
-    private Element getDefectEvent(Element alarm) {
-        NodeList events = alarm.getElementsByTagName("event");
-        for (int i = 0; i < events.getLength(); i++) {
-            Element event = (Element) events.item(i);
-            String defectAttr = event.getAttribute("defect");
-            if ("true".equalsIgnoreCase(defectAttr)) {
-                return event;
-            }
-        }
-        return null;
-    }
-
-    private Element getFirstChildElement(Element parent, String tagName) {
-        if (parent == null) {
-            return null;
-        }
-        NodeList children = parent.getElementsByTagName(tagName);
-        if (children.getLength() == 0) {
-            return null;
-        }
-        return (Element) children.item(0);
-    }
-
-    private String getChildText(Element parent, String tagName) {
-        Element child = getFirstChildElement(parent, tagName);
-        if (child == null) {
-            return "";
-        }
-        return trim(child.getTextContent());
-    }
-
-    private Integer parseInteger(String value) {
-        if (value == null || value.isBlank()) {
-            return null;
-        }
-        try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException ex) {
-            return null;
-        }
-    }
-
-    private String trim(String value) {
-        return value == null ? "" : value.trim();
-    }
+    /**
+     * 샤드 하나의 실행 결과
+     *
+     * @param exitCode SPARROW 클라이언트 종료 코드
+     * @param report   샤드 리포트, 취소/시간 초과로 멈췄으면 null
+     */
+    private record ShardResult(int exitCode, SparrowAnalyzeReport report) {
 
-    @PreDestroy
-    public void shutdown() {
-        executor.shutdownNow();
     }
-
 }
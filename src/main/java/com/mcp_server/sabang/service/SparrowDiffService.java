@@ -0,0 +1,226 @@
+package com.mcp_server.sabang.service;
+
+import com.mcp_server.sabang.diff.DiffFile;
+import com.mcp_server.sabang.diff.DiffIndex;
+import com.mcp_server.sabang.diff.DiffLocation;
+import com.mcp_server.sabang.diff.DiffRevision;
+import com.mcp_server.sabang.dto.BitbucketPrGetRequest;
+import com.mcp_server.sabang.dto.GitlabMrGetRequest;
+import com.mcp_server.sabang.dto.SparrowAnalyzeDiffRequest;
+import com.mcp_server.sabang.dto.SparrowAnalyzeDiffResponse;
+import com.mcp_server.sabang.dto.SparrowAnalyzeIssue;
+import com.mcp_server.sabang.dto.SparrowDiffIssue;
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import com.mcp_server.sabang.model.SparrowIssuePage;
+import com.mcp_server.sabang.model.SparrowJobState;
+import com.mcp_server.sabang.model.SparrowStoredReport;
+import com.mcp_server.sabang.sparrow.SparrowJobRegistry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.springframework.stereotype.Service;
+
+/**
+ * SPARROW 이슈를 GitLab MR / Bitbucket PR diff 라인에 대응시키는 서비스
+ * <p>
+ * {@code lineReviewRecommended}는 이슈에 파일과 라인이 있는지만 보므로, diff 밖의 라인에 댓글을 달면 GitLab/Bitbucket이 거절합니다.
+ * 이 서비스는 MR/PR diff를 파일별 라인 색인으로 만들고, 이슈의 절대 경로를 저장소 기준 경로로 바꾼 뒤 그 라인이 diff에 있는지 확인하여
+ * 라인 댓글 툴에 그대로 넘길 {@code path}/{@code line}/{@code lineType}을 붙여 줍니다.
+ * <p>
+ * 첫 페이지에서 읽은 diff 색인은 MR/PR URL과 head 커밋별로 최근 {@value #MAX_CACHED_DIFFS}개까지 보관하고, 다음 페이지 커서에는 head
+ * 커밋 SHA를 담습니다. 그래서 다음 페이지 조회는 diff를 다시 받지 않으며, 그 사이 MR/PR에 커밋이 추가되었으면 캐시에 없을 때 새로 받은
+ * head와 커서의 head가 달라 오류를 냅니다.
+ */
+@Service
+public class SparrowDiffService {
+
+    private static final int DEFAULT_ISSUE_PAGE_SIZE = 100;
+    private static final int MAX_ISSUE_PAGE_SIZE = 1000;
+    private static final int MAX_CACHED_DIFFS = 8;
+    private static final char HEAD_SEPARATOR = '@';
+
+    private final SparrowJobRegistry jobs;
+    private final GitlabMrService gitlabMrService;
+    private final BitbucketPrService bitbucketPrService;
+    private final Object lock = new Object();
+    private final LinkedHashMap<DiffKey, DiffIndex> diffIndexes = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<DiffKey, DiffIndex> eldest) {
+            return size() > MAX_CACHED_DIFFS;
+        }
+    };
+
+    public SparrowDiffService(SparrowJobRegistry jobs, GitlabMrService gitlabMrService,
+        BitbucketPrService bitbucketPrService) {
+        this.jobs = jobs;
+        this.gitlabMrService = gitlabMrService;
+        this.bitbucketPrService = bitbucketPrService;
+    }
+
+    /**
+     * Job 리포트의 이슈를 MR/PR diff에 대응시켜 커서 단위로 반환합니다. 이슈 순서는 리포트 순서와 같습니다.
+     *
+     * @param request Job ID, MR 또는 PR URL, 액세스 토큰
+     * @return diff 위치를 붙인 이슈 한 페이지
+     */
+    public SparrowAnalyzeDiffResponse mapIssues(SparrowAnalyzeDiffRequest request) {
+        String jobId = request.jobId();
+        SparrowJobState state = jobs.find(jobId);
+        if (state == null) {
+            if (jobs.findExpired(jobId) != null) {
+                throw new SparrowExecutionException("Job result expired: " + jobId);
+            }
+            throw new SparrowExecutionException("Job not found: " + jobId);
+        }
+        String reviewUrl = reviewUrl(request.mrUrl(), request.prUrl());
+        DiffIndex diffIndex = pageDiffIndex(jobId, request);
+        String cursorScope = jobId + HEAD_SEPARATOR + diffIndex.revision().headSha();
+        boolean inDiffOnly = Boolean.TRUE.equals(request.inDiffOnly());
+        int fromPosition = SparrowIssuePage.decodeCursor(cursorScope, request.cursor());
+        int pageSize = request.pageSize() == null
+            ? DEFAULT_ISSUE_PAGE_SIZE
+            : Math.max(1, Math.min(request.pageSize(), MAX_ISSUE_PAGE_SIZE));
+
+        SparrowStoredReport report = state.storedReport();
+        List<SparrowDiffIssue> issues = new ArrayList<>(Math.min(pageSize, report.size()));
+        int inDiffCount = 0;
+        int matchedCount = 0;
+        int nextPosition = -1;
+        for (int i = 0; i < report.size(); i++) {
+            SparrowAnalyzeIssue issue = report.issue(i);
+            DiffLocation location = diffIndex.locate(issue.file(), issue.line());
+            if (location != null) {
+                inDiffCount++;
+            } else if (inDiffOnly) {
+                continue;
+            }
+            matchedCount++;
+            if (i < fromPosition) {
+                continue;
+            }
+            if (issues.size() < pageSize) {
+                issues.add(annotate(issue, location));
+            } else if (nextPosition < 0) {
+                nextPosition = i;
+            }
+        }
+        return new SparrowAnalyzeDiffResponse(
+            jobId,
+            reviewUrl,
+            diffIndex.fileCount(),
+            inDiffCount,
+            report.size() - inDiffCount,
+            issues,
+            matchedCount,
+            new SparrowIssuePage(List.of(), matchedCount, nextPosition).nextCursor(cursorScope)
+        );
+    }
+
+    /**
+     * 첫 페이지는 diff를 새로 받아 캐시에 넣고, 다음 페이지는 커서의 head 커밋으로 캐시에서 찾습니다.
+     */
+    private DiffIndex pageDiffIndex(String jobId, SparrowAnalyzeDiffRequest request) {
+        String reviewUrl = reviewUrl(request.mrUrl(), request.prUrl());
+        String cursorHeadSha = null;
+        String scope = SparrowIssuePage.decodeScope(request.cursor());
+        if (scope != null) {
+            int separator = scope.lastIndexOf(HEAD_SEPARATOR);
+            if (separator < 0 || !scope.substring(0, separator).equals(jobId)) {
+                throw new SparrowExecutionException("cursor does not belong to job " + jobId);
+            }
+            cursorHeadSha = scope.substring(separator + 1);
+            synchronized (lock) {
+                DiffIndex cached = diffIndexes.get(new DiffKey(reviewUrl, request.pat(), cursorHeadSha));
+                if (cached != null) {
+                    return cached;
+                }
+            }
+        }
+        DiffIndex loaded = loadRevisionIndex(request.mrUrl(), request.prUrl(), request.pat());
+        String headSha = loaded.revision().headSha();
+        synchronized (lock) {
+            diffIndexes.put(new DiffKey(reviewUrl, request.pat(), headSha), loaded);
+        }
+        if (cursorHeadSha != null && !cursorHeadSha.equals(headSha)) {
+            throw new SparrowExecutionException("Review head moved from " + cursorHeadSha + " to " + headSha
+                + " since the first page; request again without cursor");
+        }
+        return loaded;
+    }
+
+    /**
+     * 리포트 이슈 중 diff 안에 있는 것만 diff 위치를 붙여 리포트 순서대로 {@code action}에 넘깁니다. 목록을 만들지 않으므로 호출자는 첫
+     * 이슈부터 바로 처리를 시작할 수 있습니다.
+     *
+     * @return diff 안에 있는 이슈 수
+     */
+    public int forEachInDiff(SparrowStoredReport report, DiffIndex diffIndex, Consumer<SparrowDiffIssue> action) {
+        int inDiffCount = 0;
+        for (int i = 0; i < report.size(); i++) {
+            SparrowAnalyzeIssue issue = report.issue(i);
+            DiffLocation location = diffIndex.locate(issue.file(), issue.line());
+            if (location != null) {
+                inDiffCount++;
+                action.accept(annotate(issue, location));
+            }
+        }
+        return inDiffCount;
+    }
+
+    /**
+     * GitLab MR({@code mrUrl}) 또는 Bitbucket PR({@code prUrl}) diff를 읽어 라인 색인을 만듭니다.
+     */
+    public DiffIndex loadDiffIndex(String mrUrl, String prUrl, String pat) {
+        reviewUrl(mrUrl, prUrl);
+        List<DiffFile> diffFiles = isBlank(mrUrl)
+            ? bitbucketPrService.getDiffFiles(new BitbucketPrGetRequest(prUrl, pat))
+            : gitlabMrService.getDiffFiles(new GitlabMrGetRequest(mrUrl, pat));
+        return DiffIndex.of(diffFiles);
+    }
+
+    /**
+     * {@link #loadDiffIndex}와 같지만 변경 후 파일을 읽을 저장소와 head 커밋({@link DiffIndex#revision()})도 함께 담습니다.
+     * Bitbucket은 PR 조회 요청이 하나 더 듭니다.
+     */
+    public DiffIndex loadRevisionIndex(String mrUrl, String prUrl, String pat) {
+        reviewUrl(mrUrl, prUrl);
+        DiffRevision revision = isBlank(mrUrl)
+            ? bitbucketPrService.getDiffRevision(new BitbucketPrGetRequest(prUrl, pat))
+            : gitlabMrService.getDiffRevision(new GitlabMrGetRequest(mrUrl, pat));
+        return DiffIndex.of(revision);
+    }
+
+    /**
+     * @return {@code mrUrl}과 {@code prUrl} 중 주어진 것
+     * @throws SparrowExecutionException 둘 다 있거나 둘 다 없는 경우
+     */
+    public static String reviewUrl(String mrUrl, String prUrl) {
+        boolean hasMrUrl = !isBlank(mrUrl);
+        boolean hasPrUrl = !isBlank(prUrl);
+        if (hasMrUrl == hasPrUrl) {
+            throw new SparrowExecutionException("Exactly one of mrUrl or prUrl is required");
+        }
+        return hasMrUrl ? mrUrl : prUrl;
+    }
+
+    private static SparrowDiffIssue annotate(SparrowAnalyzeIssue issue, DiffLocation location) {
+        if (location == null) {
+            return new SparrowDiffIssue(issue, false, null, null, null, null);
+        }
+        return new SparrowDiffIssue(issue, true, location.path(), location.line(), location.lineType().name(),
+            location.oldLine());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * 토큰마다 접근 권한이 다를 수 있으므로 토큰도 키에 넣습니다.
+     */
+    private record DiffKey(String reviewUrl, String pat, String headSha) {
+
+    }
+}
@@ -0,0 +1,232 @@
+package com.mcp_server.sabang.sparrow;
+
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.dto.SparrowAnalyzeSummary;
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import com.mcp_server.sabang.model.SparrowBaseline;
+import com.mcp_server.sabang.model.SparrowIssueFingerprints;
+import com.mcp_server.sabang.model.SparrowIssueIndex;
+import com.mcp_server.sabang.model.SparrowJobState;
+import com.mcp_server.sabang.model.SparrowSpilledReport;
+import com.mcp_server.sabang.model.SparrowStoredReport;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * 프로젝트(projectId)별 SPARROW 기준선(baseline) 저장소
+ * <p>
+ * 기준선은 Job 리포트를 {@link SparrowSpilledReport} 형식으로 쓴 {@code <key>.baseline}과 이슈 지문을 담은
+ * {@code <key>.fingerprints} 두 파일로 {@code sparrow.baseline.directory}에 보관합니다({@code key}는 projectId의 URL-safe
+ * Base64). 지문은 기록 당시의 소스 줄 내용으로 계산한 값이므로 다시 계산하지 않고 파일에서 읽으며, 프로젝트마다 처음 조회할 때 읽어 둡니다.
+ */
+@Component
+public class SparrowBaselineStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SparrowBaselineStore.class);
+    private static final String REPORT_SUFFIX = ".baseline";
+    private static final String FINGERPRINTS_SUFFIX = ".fingerprints";
+    private static final String TEMP_SUFFIX = ".tmp";
+    // 2: 지문이 저장소 기준 경로를 씁니다. 이전 형식의 지문은 새 Job과 맞지 않으므로 읽지 않습니다.
+    private static final int MAGIC = 0x53424C32;
+
+    // 잠근 채로 기준선 파일을 읽고 쓰므로 모니터가 아닌 잠금을 씁니다(가상 스레드 pinning 방지).
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Path directory;
+    private final Map<String, SparrowBaseline> baselines = new ConcurrentHashMap<>();
+
+    public SparrowBaselineStore(SparrowProperties properties) {
+        String configured = properties.baseline().directory();
+        this.directory = configured == null || configured.isBlank()
+            ? Path.of(System.getProperty("java.io.tmpdir"), "sabang-sparrow-baseline")
+            : Path.of(configured);
+    }
+
+    /**
+     * 성공한 Job의 리포트를 그 프로젝트의 기준선으로 기록합니다. 기존 기준선은 바뀝니다.
+     *
+     * @throws SparrowExecutionException Job이 성공하지 않았거나 기준선 파일을 쓸 수 없는 경우
+     */
+    public SparrowBaseline record(SparrowJobState state) {
+        lock.lock();
+        try {
+            if (!"SUCCEEDED".equals(state.status())) {
+                throw new SparrowExecutionException(
+                    "Only a SUCCEEDED job can become a baseline: " + state.jobId() + " is " + state.status());
+            }
+            String projectId = state.projectId();
+            SparrowStoredReport report = state.storedReport();
+            SparrowIssueFingerprints fingerprints = state.fingerprints(report);
+            Instant createdAt = Instant.now();
+            Path reportFile = reportFile(projectId);
+            Path fingerprintsFile = fingerprintsFile(projectId);
+            Path reportTemp = reportFile.resolveSibling(reportFile.getFileName() + TEMP_SUFFIX);
+            Path fingerprintsTemp = fingerprintsFile.resolveSibling(fingerprintsFile.getFileName() + TEMP_SUFFIX);
+            try {
+                SparrowSpilledReport.write(reportTemp, report, "", "");
+                writeFingerprints(fingerprintsTemp, projectId, state.jobId(), createdAt, report.reportPath(),
+                    fingerprints.values());
+                // 지문 파일을 나중에 옮기므로, 읽을 때 지문 수와 리포트 이슈 수가 다르면 기록 중에 멈춘 것입니다.
+                move(reportTemp, reportFile);
+                move(fingerprintsTemp, fingerprintsFile);
+                SparrowSpilledReport stored = open(reportFile, report.reportPath(), report.size());
+                SparrowBaseline baseline = new SparrowBaseline(projectId, state.jobId(), createdAt, stored,
+                    fingerprints, SparrowIssueIndex.build(stored));
+                baselines.put(projectId, baseline);
+                return baseline;
+            } catch (IOException ex) {
+                deleteQuietly(reportTemp);
+                deleteQuietly(fingerprintsTemp);
+                throw new SparrowExecutionException("Failed to record SPARROW baseline for project " + projectId, ex);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 프로젝트의 기준선, 없으면 null
+     */
+    public SparrowBaseline find(String projectId) {
+        SparrowBaseline baseline = baselines.get(projectId);
+        if (baseline != null) {
+            return baseline;
+        }
+        lock.lock();
+        try {
+            baseline = baselines.get(projectId);
+            if (baseline == null) {
+                baseline = load(projectId);
+                if (baseline != null) {
+                    baselines.put(projectId, baseline);
+                }
+            }
+            return baseline;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 기준선 파일을 읽지 않고 기준선이 있는지만 확인합니다.
+     */
+    public boolean exists(String projectId) {
+        return baselines.containsKey(projectId) || Files.isRegularFile(fingerprintsFile(projectId));
+    }
+
+    /**
+     * 프로젝트의 기준선을 지웁니다.
+     *
+     * @return 지운 기준선, 없었으면 null
+     */
+    public SparrowBaseline clear(String projectId) {
+        lock.lock();
+        try {
+            SparrowBaseline baseline = find(projectId);
+            baselines.remove(projectId);
+            deleteQuietly(fingerprintsFile(projectId));
+            deleteQuietly(reportFile(projectId));
+            return baseline;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private SparrowBaseline load(String projectId) {
+        Path reportFile = reportFile(projectId);
+        Path fingerprintsFile = fingerprintsFile(projectId);
+        if (!Files.isRegularFile(reportFile) || !Files.isRegularFile(fingerprintsFile)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(fingerprintsFile)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a SPARROW baseline file: " + fingerprintsFile);
+            }
+            String storedProjectId = in.readUTF();
+            String jobId = in.readUTF();
+            Instant createdAt = Instant.ofEpochMilli(in.readLong());
+            String reportPath = in.readUTF();
+            long[] values = new long[in.readInt()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = in.readLong();
+            }
+            SparrowSpilledReport report = open(reportFile, reportPath, values.length);
+            if (!storedProjectId.equals(projectId) || report.size() != values.length) {
+                throw new IOException("SPARROW baseline files do not match: " + reportFile);
+            }
+            return new SparrowBaseline(projectId, jobId, createdAt, report, SparrowIssueFingerprints.of(values),
+                SparrowIssueIndex.build(report));
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Ignoring unreadable SPARROW baseline of project {}", projectId, ex);
+            return null;
+        }
+    }
+
+    /**
+     * 기준선 리포트의 요약은 쓰지 않으므로 이슈 수만 담습니다.
+     */
+    private static SparrowSpilledReport open(Path file, String reportPath, int size) throws IOException {
+        return SparrowSpilledReport.open(file, reportPath,
+            new SparrowAnalyzeSummary(size, 0, Collections.emptyMap(), Collections.emptyMap(), 0, 0));
+    }
+
+    private static void writeFingerprints(Path file, String projectId, String jobId, Instant createdAt,
+        String reportPath, long[] values) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeUTF(projectId);
+            out.writeUTF(jobId);
+            out.writeLong(createdAt.toEpochMilli());
+            out.writeUTF(reportPath == null ? "" : reportPath);
+            out.writeInt(values.length);
+            for (long value : values) {
+                out.writeLong(value);
+            }
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path reportFile(String projectId) {
+        return directory.resolve(key(projectId) + REPORT_SUFFIX);
+    }
+
+    private Path fingerprintsFile(String projectId) {
+        return directory.resolve(key(projectId) + FINGERPRINTS_SUFFIX);
+    }
+
+    private static String key(String projectId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(projectId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            file.toFile().deleteOnExit();
+        }
+    }
+}
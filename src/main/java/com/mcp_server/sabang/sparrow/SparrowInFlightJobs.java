@@ -0,0 +1,94 @@
+package com.mcp_server.sabang.sparrow;
+
+import com.mcp_server.sabang.dto.SparrowAnalyzeRequest;
+import com.mcp_server.sabang.model.SparrowJobState;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * 대기 중이거나 실행 중인 SPARROW Job을 요청 지문(fingerprint)으로 찾아, 같은 요청이 다시 들어오면 새 프로세스를 띄우지 않고
+ * 기존 Job에 합류시키는(single-flight) 색인
+ * <p>
+ * 지문은 클라이언트가 {@code idempotencyKey}를 주면 프로젝트 ID와 그 키로, 주지 않으면 실행 대상을 결정하는 요청 값
+ * (서버 URL, 클라이언트/비밀번호 경로, 프로젝트 ID, 사용자, 정규화·정렬한 변경 파일 목록)으로 만듭니다.
+ * 우선순위는 지문에 포함하지 않습니다. Job이 종료되면 색인에서 빠지므로 이후 같은 요청은 새 Job으로 실행됩니다.
+ */
+@Component
+public class SparrowInFlightJobs {
+
+    // Job 목록에 등록하기 전에 지문을 먼저 차지하므로, 목록을 다시 찾지 않도록 Job 상태를 그대로 담습니다.
+    private final Map<String, SparrowJobState> jobsByFingerprint = new ConcurrentHashMap<>();
+
+    public String fingerprint(SparrowAnalyzeRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (request.idempotencyKey() != null && !request.idempotencyKey().isBlank()) {
+                update(digest, "idempotency-key");
+                update(digest, request.projectId());
+                update(digest, request.idempotencyKey().trim());
+            } else {
+                update(digest, request.serverUrl());
+                update(digest, request.clientPath());
+                update(digest, request.passwordPath());
+                update(digest, request.projectId());
+                update(digest, request.username());
+                List<String> files = request.changedFiles().stream()
+                    .map(file -> Path.of(file).toAbsolutePath().normalize().toString())
+                    .distinct()
+                    .sorted()
+                    .toList();
+                for (String file : files) {
+                    update(digest, file);
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * 같은 지문의 Job이 아직 끝나지 않았으면 그 Job을 반환하고, 없으면 {@code state}를 지문의 Job으로 등록합니다.
+     * 등록된 Job은 종료될 때 자동으로 색인에서 빠집니다. Job 목록({@link SparrowJobRegistry})에는 이 메서드가 null을 돌려준
+     * 경우에만 등록하면 되므로, 합류하는 제출은 목록과 저널에 흔적을 남기지 않습니다.
+     *
+     * @return 합류할 기존 Job, 새로 등록했으면 null
+     */
+    public SparrowJobState claim(String fingerprint, SparrowJobState state) {
+        SparrowJobState[] existing = new SparrowJobState[1];
+        jobsByFingerprint.compute(fingerprint, (key, current) -> {
+            if (current != null && !current.isTerminal()) {
+                existing[0] = current;
+                return current;
+            }
+            return state;
+        });
+        if (existing[0] == null) {
+            state.addListener(changed -> {
+                if (changed.isTerminal()) {
+                    release(fingerprint, changed.jobId());
+                }
+            });
+        }
+        return existing[0];
+    }
+
+    /**
+     * 제출이 거절된 Job처럼 종료 통지 없이 사라지는 Job을 색인에서 뺍니다.
+     */
+    public void release(String fingerprint, String jobId) {
+        jobsByFingerprint.computeIfPresent(fingerprint, (key, current) -> current.jobId().equals(jobId) ? null : current);
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update((value == null ? "" : value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
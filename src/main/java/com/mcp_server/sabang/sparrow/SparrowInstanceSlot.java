@@ -0,0 +1,97 @@
+package com.mcp_server.sabang.sparrow;
+
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이 서버 프로세스가 차지한 인스턴스 번호
+ * <p>
+ * MCP 클라이언트마다 stdio 서버 프로세스를 따로 띄우므로 한 호스트에서 여러 서버가 같은 로컬 디렉터리를 쓸 수 있습니다. 서버는 시작할 때
+ * {@code <java.io.tmpdir>/sabang-sparrow-instances/instance-<n>.lock} 중 다른 프로세스가 잠그지 않은 가장 작은 번호를 골라
+ * 종료할 때까지 파일 잠금을 쥡니다. 저널, 프로세스 로그, 작업 디렉터리, spill 파일은 각 위치의 {@code instance-<n>} 아래에 둡니다.
+ * <p>
+ * 잠금은 프로세스가 비정상 종료해도 OS가 풀어 주므로, 잠겨 있지 않은 번호의 디렉터리는 살아 있는 서버가 쓰지 않습니다. 그 번호를 차지한
+ * 서버는 남은 파일을 정리하거나 저널을 복원해도 됩니다. 서버 하나만 재시작하면 같은 번호를 다시 차지하므로 이전 실행의 Job을 이어서
+ * 조회할 수 있습니다.
+ */
+@Component
+public class SparrowInstanceSlot {
+
+    private static final int MAX_INSTANCES = 64;
+    private static final String PREFIX = "instance-";
+
+    private final int number;
+    private final FileChannel channel;
+    private final FileLock fileLock;
+
+    public SparrowInstanceSlot() {
+        this(Path.of(System.getProperty("java.io.tmpdir"), "sabang-sparrow-instances"));
+    }
+
+    SparrowInstanceSlot(Path lockDirectory) {
+        try {
+            Files.createDirectories(lockDirectory);
+            for (int candidate = 0; candidate < MAX_INSTANCES; candidate++) {
+                FileChannel candidateChannel = FileChannel.open(lockDirectory.resolve(PREFIX + candidate + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock candidateLock = tryLock(candidateChannel);
+                if (candidateLock == null) {
+                    candidateChannel.close();
+                    continue;
+                }
+                // 어느 프로세스가 쥐고 있는지 볼 수 있도록 PID를 남깁니다.
+                candidateChannel.truncate(0);
+                candidateChannel.write(ByteBuffer.wrap(
+                    (ProcessHandle.current().pid() + System.lineSeparator()).getBytes(StandardCharsets.UTF_8)), 0);
+                this.number = candidate;
+                this.channel = candidateChannel;
+                this.fileLock = candidateLock;
+                return;
+            }
+        } catch (IOException ex) {
+            throw new SparrowExecutionException("Failed to claim a SPARROW instance slot in " + lockDirectory, ex);
+        }
+        throw new SparrowExecutionException("More than " + MAX_INSTANCES
+            + " SPARROW MCP server instances are running on this host");
+    }
+
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException ex) {
+            // 같은 JVM 안에서 이미 차지한 번호
+            return null;
+        }
+    }
+
+    public int number() {
+        return number;
+    }
+
+    /**
+     * @return {@code root} 아래의 이 인스턴스 전용 디렉터리 ({@code root/instance-<n>})
+     */
+    public Path resolve(Path root) {
+        return root.resolve(PREFIX + number);
+    }
+
+    @PreDestroy
+    public void release() {
+        try {
+            fileLock.release();
+            channel.close();
+        } catch (IOException ex) {
+            // 프로세스가 끝나면 OS가 잠금을 풉니다.
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.mcp_server.sabang.sparrow;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.model.SparrowJobListener;
+import com.mcp_server.sabang.model.SparrowJobPriority;
+import com.mcp_server.sabang.model.SparrowJobSnapshot;
+import com.mcp_server.sabang.model.SparrowJobState;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * SPARROW Job 상태 변경을 로컬 파일에 남기는 추가 전용(append-only) 저널
+ * <p>
+ * 상태가 바뀔 때마다 {@code jobs.journal}에 JSON 한 줄을 추가하고, 종료된 Job의 출력과 리포트는
+ * {@code snapshots/<jobId>.json.gz}에 압축 스냅샷으로 저장합니다. 서버 시작 시 저널을 한 번 읽어 Job별 마지막 상태만 남기고
+ * 저널을 다시 씁니다(compaction). 실행 중에도 마지막 압축 이후 추가한 줄이 {@code sparrow.journal.compact-after-entries}와
+ * 압축 후 남은 줄 수 중 큰 값에 이르면 다시 압축하므로, 오래 실행되는 서버에서도 저널 크기는 보관 중인 Job 수에 비례합니다.
+ * 스냅샷은 Job을 처음 조회할 때 읽습니다.
+ * <p>
+ * 저널은 {@link SparrowInstanceSlot} 번호별 디렉터리에 두므로, 서버 시작 시 복원하는 저널은 종료된 이전 서버의 것뿐입니다.
+ * 동시에 실행 중인 다른 서버의 Job을 INTERRUPTED로 바꾸지 않습니다.
+ * <p>
+ * 저널 기록에 실패해도 분석 Job 자체는 실패시키지 않습니다.
+ */
+@Component
+public class SparrowJobJournal implements SparrowJobListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SparrowJobJournal.class);
+    private static final String JOURNAL_FILE_NAME = "jobs.journal";
+    private static final String SNAPSHOT_DIRECTORY_NAME = "snapshots";
+    private static final String SNAPSHOT_SUFFIX = ".json.gz";
+
+    private static final String TYPE_SUBMITTED = "SUBMITTED";
+    private static final String TYPE_STARTED = "STARTED";
+    private static final String TYPE_FINISHED = "FINISHED";
+    private static final String TYPE_REMOVED = "REMOVED";
+
+    // 저널 한 줄을 쓸 때마다 flush하므로, 그동안 가상 스레드가 캐리어 스레드를 붙잡지 않도록 ReentrantLock을 씁니다.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final boolean enabled;
+    private final Path journalPath;
+    private final Path snapshotDirectory;
+    private final ObjectMapper objectMapper;
+    private final int compactAfterEntries;
+    private BufferedWriter writer;
+    private int appendedSinceCompaction;
+    private int compactedEntries;
+
+    public SparrowJobJournal(SparrowProperties properties, ObjectMapper objectMapper, SparrowInstanceSlot instance) {
+        SparrowProperties.Journal journal = properties.journal();
+        Path root = journal.directory() == null || journal.directory().isBlank()
+            ? Path.of(System.getProperty("user.home"), ".sabang", "sparrow", "journal")
+            : Path.of(journal.directory());
+        Path directory = instance.resolve(root);
+        this.enabled = journal.enabled();
+        this.journalPath = directory.resolve(JOURNAL_FILE_NAME);
+        this.snapshotDirectory = directory.resolve(SNAPSHOT_DIRECTORY_NAME);
+        this.objectMapper = objectMapper;
+        this.compactAfterEntries = Math.max(1, journal.compactAfterEntries());
+    }
+
+    @Override
+    public void onStatusChanged(SparrowJobState state) {
+        if (!enabled) {
+            return;
+        }
+        String type = state.isTerminal() ? TYPE_FINISHED
+            : "RUNNING".equals(state.status()) ? TYPE_STARTED : TYPE_SUBMITTED;
+        try {
+            if (TYPE_FINISHED.equals(type)) {
+                writeSnapshot(state.jobId(), state.snapshot());
+            }
+            append(Entry.of(type, state));
+        } catch (IOException ex) {
+            log.warn("Failed to journal SPARROW job {} ({})", state.jobId(), type, ex);
+        }
+    }
+
+    /**
+     * 보관 정책으로 제거되었거나 제출이 거절된 Job을 저널에서 지웁니다.
+     */
+    public void recordRemoved(String jobId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            append(new Entry(TYPE_REMOVED, jobId, "", "", "", 0L, 0L, 0L, -1, "", "", false));
+            Files.deleteIfExists(snapshotPath(jobId));
+        } catch (IOException ex) {
+            log.warn("Failed to journal removal of SPARROW job {}", jobId, ex);
+        }
+    }
+
+    /**
+     * 저널을 읽어 Job별 마지막 상태를 복원하고 저널을 압축합니다.
+     *
+     * @return 제출 순서대로 정렬된 복원 Job 목록. 종료되지 않은 Job도 그대로 포함됩니다.
+     */
+    public List<SparrowJobState> replay() {
+        if (!enabled || !Files.exists(journalPath)) {
+            return List.of();
+        }
+        lock.lock();
+        try {
+            Map<String, Entry> latest = readLatestEntries();
+            compact(latest, true);
+            List<SparrowJobState> states = new ArrayList<>(latest.size());
+            for (Entry entry : latest.values()) {
+                states.add(restore(entry));
+            }
+            return states;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Map<String, Entry> readLatestEntries() {
+        Map<String, Entry> latest = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Entry entry;
+                try {
+                    entry = objectMapper.readValue(line, Entry.class);
+                } catch (IOException ex) {
+                    // 비정상 종료로 마지막 줄이 잘린 경우
+                    log.warn("Skipping unreadable SPARROW job journal line: {}", line);
+                    continue;
+                }
+                fold(latest, entry);
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to read SPARROW job journal {}", journalPath, ex);
+        }
+        return latest;
+    }
+
+    private void fold(Map<String, Entry> latest, Entry entry) {
+        Entry previous = latest.get(entry.jobId());
+        switch (entry.type()) {
+            case TYPE_REMOVED -> latest.remove(entry.jobId());
+            case TYPE_FINISHED -> latest.put(entry.jobId(), entry);
+            case TYPE_STARTED -> {
+                if (previous == null || !TYPE_FINISHED.equals(previous.type())) {
+                    latest.put(entry.jobId(), entry);
+                }
+            }
+            default -> latest.putIfAbsent(entry.jobId(), entry);
+        }
+    }
+
+    /**
+     * Job별 마지막 상태만 남기고 저널을 다시 씁니다. {@code lock}을 쥔 채로 호출합니다.
+     *
+     * @param deleteOrphanSnapshots 저널에 없는 Job의 스냅샷도 지울지 여부. 실행 중에는 스냅샷을 쓴 뒤 저널에 줄을 추가하기 전일 수
+     *                              있으므로 서버 시작 시에만 지웁니다.
+     */
+    private void compact(Map<String, Entry> latest, boolean deleteOrphanSnapshots) {
+        Path temporaryPath = journalPath.resolveSibling(JOURNAL_FILE_NAME + ".tmp");
+        appendedSinceCompaction = 0;
+        try {
+            closeWriter();
+            try (BufferedWriter compacted = Files.newBufferedWriter(temporaryPath, StandardCharsets.UTF_8)) {
+                for (Entry entry : latest.values()) {
+                    compacted.write(objectMapper.writeValueAsString(entry));
+                    compacted.newLine();
+                }
+            }
+            Files.move(temporaryPath, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            compactedEntries = latest.size();
+            if (deleteOrphanSnapshots) {
+                deleteOrphanSnapshots(latest);
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to compact SPARROW job journal {}", journalPath, ex);
+        }
+    }
+
+    private void deleteOrphanSnapshots(Map<String, Entry> latest) throws IOException {
+        if (!Files.isDirectory(snapshotDirectory)) {
+            return;
+        }
+        try (Stream<Path> snapshots = Files.list(snapshotDirectory)) {
+            for (Path snapshot : snapshots.toList()) {
+                String fileName = snapshot.getFileName().toString();
+                String jobId = fileName.endsWith(SNAPSHOT_SUFFIX)
+                    ? fileName.substring(0, fileName.length() - SNAPSHOT_SUFFIX.length())
+                    : fileName;
+                if (!latest.containsKey(jobId)) {
+                    Files.deleteIfExists(snapshot);
+                }
+            }
+        }
+    }
+
+    private SparrowJobState restore(Entry entry) {
+        String jobId = entry.jobId();
+        boolean finished = TYPE_FINISHED.equals(entry.type());
+        return SparrowJobState.restored(
+            jobId,
+            entry.projectId(),
+            SparrowJobPriority.from(entry.priority()),
+            entry.status(),
+            Instant.ofEpochMilli(entry.createdAt()),
+            Instant.ofEpochMilli(entry.startedAt()),
+            Instant.ofEpochMilli(entry.finishedAt()),
+            entry.exitCode(),
+            entry.message(),
+            entry.summaryUrl(),
+            entry.cacheHit(),
+            finished ? () -> loadSnapshot(jobId) : null
+        );
+    }
+
+    private SparrowJobSnapshot loadSnapshot(String jobId) {
+        Path snapshotPath = snapshotPath(jobId);
+        if (!Files.exists(snapshotPath)) {
+            return null;
+        }
+        try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(snapshotPath))) {
+            return objectMapper.readValue(inputStream, SparrowJobSnapshot.class);
+        } catch (IOException ex) {
+            log.warn("Failed to read SPARROW job snapshot {}", snapshotPath, ex);
+            return null;
+        }
+    }
+
+    private void writeSnapshot(String jobId, SparrowJobSnapshot snapshot) throws IOException {
+        Files.createDirectories(snapshotDirectory);
+        Path snapshotPath = snapshotPath(jobId);
+        Path temporaryPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(temporaryPath))) {
+            objectMapper.writeValue(outputStream, snapshot);
+        }
+        Files.move(temporaryPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path snapshotPath(String jobId) {
+        return snapshotDirectory.resolve(jobId + SNAPSHOT_SUFFIX);
+    }
+
+    private void append(Entry entry) throws IOException {
+        String line = objectMapper.writeValueAsString(entry);
+        lock.lock();
+        try {
+            if (writer == null) {
+                Files.createDirectories(journalPath.getParent());
+                writer = Files.newBufferedWriter(journalPath, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+            appendedSinceCompaction++;
+            if (appendedSinceCompaction >= Math.max(compactAfterEntries, compactedEntries)) {
+                compact(readLatestEntries(), false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void closeWriter() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            closeWriter();
+        } catch (IOException ex) {
+            log.warn("Failed to close SPARROW job journal {}", journalPath, ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 저널 한 줄. 시각은 epoch milliseconds로 기록합니다.
+     */
+    record Entry(
+        String type,
+        String jobId,
+        String projectId,
+        String priority,
+        String status,
+        long createdAt,
+        long startedAt,
+        long finishedAt,
+        int exitCode,
+        String message,
+        String summaryUrl,
+        boolean cacheHit
+    ) {
+
+        static Entry of(String type, SparrowJobState state) {
+            return new Entry(
+                type,
+                state.jobId(),
+                state.projectId(),
+                state.priority().name(),
+                state.status(),
+                state.createdAt().toEpochMilli(),
+                state.startedAt().toEpochMilli(),
+                state.finishedAt().toEpochMilli(),
+                state.exitCode(),
+                state.message(),
+                state.summaryUrl(),
+                state.cacheHit()
+            );
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.mcp_server.sabang.sparrow;
+
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * SPARROW Job별 프로세스 로그 파일
+ * <p>
+ * SPARROW 클라이언트의 stdout/stderr는 {@code <directory>/instance-<i>/<jobId>/shard-<n>.stdout.log},
+ * {@code shard-<n>.stderr.log}로 바로 리다이렉트됩니다(샤드로 나누지 않으면 샤드 1, {@code i}는 {@link SparrowInstanceSlot} 번호).
+ * 로그는 바이트 위치 또는 줄 번호부터 잘라 읽으며, Job이 보관 정책으로 제거될 때 함께 지웁니다.
+ */
+@Component
+public class SparrowJobLogs {
+
+    private static final Logger log = LoggerFactory.getLogger(SparrowJobLogs.class);
+    private static final String SHARD_PREFIX = "shard-";
+    private static final String STDOUT_SUFFIX = ".stdout.log";
+    private static final String STDERR_SUFFIX = ".stderr.log";
+    private static final int SCAN_BUFFER_BYTES = 64 * 1024;
+
+    private final Path directory;
+
+    public SparrowJobLogs(SparrowProperties properties, SparrowInstanceSlot instance) {
+        String configured = properties.logs().directory();
+        this.directory = instance.resolve(configured == null || configured.isBlank()
+            ? Path.of(System.getProperty("java.io.tmpdir"), "sabang-sparrow-logs")
+            : Path.of(configured));
+    }
+
+    /**
+     * 샤드 하나의 로그 파일을 빈 파일로 만듭니다.
+     *
+     * @param shard 1부터 시작하는 샤드 번호
+     */
+    public LogFiles create(String jobId, int shard) {
+        Path jobDirectory = directory.resolve(jobId);
+        LogFiles files = new LogFiles(
+            jobDirectory.resolve(SHARD_PREFIX + shard + STDOUT_SUFFIX),
+            jobDirectory.resolve(SHARD_PREFIX + shard + STDERR_SUFFIX)
+        );
+        try {
+            Files.createDirectories(jobDirectory);
+            Files.write(files.stdout(), new byte[0]);
+            Files.write(files.stderr(), new byte[0]);
+        } catch (IOException ex) {
+            throw new SparrowExecutionException("Failed to create SPARROW log files in " + jobDirectory, ex);
+        }
+        return files;
+    }
+
+    /**
+     * @return Job의 샤드 로그 수, 로그가 없으면(캐시 결과, 실행 전 등) 0
+     */
+    public int shardCount(String jobId) {
+        Path jobDirectory = directory.resolve(jobId);
+        if (!Files.isDirectory(jobDirectory)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(jobDirectory)) {
+            return (int) files.filter(file -> file.getFileName().toString().endsWith(STDOUT_SUFFIX)).count();
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+
+    /**
+     * @param stderr true면 stderr 로그, false면 stdout 로그
+     */
+    public Path logFile(String jobId, int shard, boolean stderr) {
+        return directory.resolve(jobId).resolve(SHARD_PREFIX + shard + (stderr ? STDERR_SUFFIX : STDOUT_SUFFIX));
+    }
+
+    /**
+     * {@code offset}부터 최대 {@code maxBytes}바이트를 읽습니다. 음수 {@code offset}은 파일 끝에서부터의 위치입니다.
+     * 여러 줄을 읽은 경우 마지막 줄바꿈 뒤는 다음 조회로 넘기고, UTF-8 문자 중간에서 자르지 않습니다.
+     *
+     * @param complete 더 이상 쓰이지 않는 로그인지 여부. false면 줄바꿈 없는 마지막 줄은 돌려주지 않습니다.
+     */
+    public Slice readBytes(Path file, long offset, int maxBytes, boolean complete) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = offset < 0 ? Math.max(0L, size + offset) : Math.min(offset, size);
+            byte[] bytes = read(channel, start, (int) Math.min(maxBytes, size - start));
+            int from = 0;
+            if (offset < 0 && start > 0) {
+                // 파일 끝에서부터 읽으면 첫 줄은 잘려 있으므로 건너뜁니다.
+                int newline = indexOf(bytes, (byte) '\n', 0);
+                from = newline < 0 ? 0 : newline + 1;
+            }
+            boolean toEnd = start + bytes.length == size;
+            int end = bytes.length;
+            int lastNewline = lastIndexOf(bytes, (byte) '\n', from, end);
+            if (lastNewline >= 0 && (!toEnd || !complete)) {
+                end = lastNewline + 1;
+            } else if (lastNewline < 0 && toEnd && !complete) {
+                end = from;
+            } else if (lastNewline < 0) {
+                end = utf8Boundary(bytes, from, end);
+            }
+            return new Slice(new String(bytes, from, end - from, StandardCharsets.UTF_8),
+                start + from, start + end, -1L, -1L, size);
+        } catch (IOException ex) {
+            throw new SparrowExecutionException("Failed to read SPARROW log " + file, ex);
+        }
+    }
+
+    /**
+     * {@code fromLine}(0부터 시작)번째 줄부터 최대 {@code maxLines}줄, 최대 {@code maxBytes}바이트를 읽습니다.
+     * <p>
+     * 이전 응답의 {@code nextLine}과 {@code nextOffset}을 함께 넘기면 {@code offset}부터 바로 읽으므로, 파일 처음부터 줄을 다시 세지
+     * 않습니다. {@code offset}이 음수면 파일 처음부터 {@code fromLine}번째 줄을 찾습니다. 한 줄이 {@code maxBytes}보다 길면 그 줄의
+     * 앞부분만 돌려주고 {@code nextLine}은 그대로, {@code nextOffset}은 돌려준 부분 뒤로 옮기므로 다음 조회에서 나머지를 이어서 읽습니다.
+     *
+     * @param offset   {@code fromLine}번째 줄 안의 바이트 위치(이전 응답의 {@code nextOffset}), 모르면 음수
+     * @param complete 더 이상 쓰이지 않는 로그인지 여부. false면 줄바꿈 없는 마지막 줄은 돌려주지 않습니다.
+     */
+    public Slice readLines(Path file, long fromLine, long offset, int maxLines, int maxBytes, boolean complete) {
+        long first = Math.max(0L, fromLine);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = offset >= 0 ? Math.min(offset, size) : skipLines(channel, first);
+            if (start < 0) {
+                return new Slice("", size, size, first, first, size);
+            }
+            byte[] bytes = read(channel, start, (int) Math.min(maxBytes, size - start));
+            boolean toEnd = start + bytes.length == size;
+            int end = 0;
+            int lines = 0;
+            while (lines < maxLines) {
+                int newline = indexOf(bytes, (byte) '\n', end);
+                if (newline < 0) {
+                    break;
+                }
+                end = newline + 1;
+                lines++;
+            }
+            if (lines < maxLines && end < bytes.length) {
+                if (complete && toEnd) {
+                    // 완료된 로그의 줄바꿈 없는 마지막 줄
+                    end = bytes.length;
+                    lines++;
+                } else if (lines == 0 && !toEnd) {
+                    // maxBytes보다 긴 줄은 앞부분만 돌려주고 다음 조회에서 이어 읽습니다.
+                    end = utf8Boundary(bytes, 0, bytes.length);
+                    if (end == 0) {
+                        // maxBytes가 문자 하나보다 작아도 진행은 하도록 문자 중간에서 자릅니다.
+                        end = bytes.length;
+                    }
+                }
+            }
+            return new Slice(new String(bytes, 0, end, StandardCharsets.UTF_8),
+                start, start + end, first, first + lines, size);
+        } catch (IOException ex) {
+            throw new SparrowExecutionException("Failed to read SPARROW log " + file, ex);
+        }
+    }
+
+    /**
+     * Job의 로그를 지웁니다.
+     */
+    public void release(String jobId) {
+        deleteTree(directory.resolve(jobId));
+    }
+
+    /**
+     * 서버 시작 시 복원된 Job 외의 로그를 지웁니다. 이 인스턴스 번호의 로그만 보므로 실행 중인 다른 서버의 로그는 그대로 둡니다.
+     */
+    public void retainOnly(Collection<String> jobIds) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> jobDirectories = Files.list(directory)) {
+            for (Path jobDirectory : jobDirectories.toList()) {
+                if (!jobIds.contains(jobDirectory.getFileName().toString())) {
+                    deleteTree(jobDirectory);
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to clean up SPARROW log directory {}", directory, ex);
+        }
+    }
+
+    /**
+     * @return {@code lines}번째 줄의 시작 위치, 파일에 그만큼 줄이 없으면 -1
+     */
+    private static long skipLines(FileChannel channel, long lines) throws IOException {
+        long position = 0L;
+        long remaining = lines;
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_BYTES);
+        while (remaining > 0) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                return -1L;
+            }
+            byte[] chunk = buffer.array();
+            int index = 0;
+            while (remaining > 0) {
+                int newline = indexOf(chunk, (byte) '\n', index, read);
+                if (newline < 0) {
+                    break;
+                }
+                index = newline + 1;
+                remaining--;
+            }
+            position += remaining == 0 ? index : read;
+        }
+        return position;
+    }
+
+    private static byte[] read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.max(0, length));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) <= 0) {
+                break;
+            }
+        }
+        return buffer.position() == buffer.capacity()
+            ? buffer.array()
+            : Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    private static int indexOf(byte[] bytes, byte value, int from) {
+        return indexOf(bytes, value, from, bytes.length);
+    }
+
+    private static int indexOf(byte[] bytes, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(byte[] bytes, byte value, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 마지막 UTF-8 문자가 잘렸으면 그 문자 앞에서 자릅니다.
+     */
+    private static int utf8Boundary(byte[] bytes, int from, int end) {
+        int lead = end - 1;
+        while (lead > from && (bytes[lead] & 0xC0) == 0x80) {
+            lead--;
+        }
+        if (lead < from) {
+            return end;
+        }
+        int value = bytes[lead] & 0xFF;
+        int length = value >= 0xF0 ? 4 : value >= 0xE0 ? 3 : value >= 0xC0 ? 2 : 1;
+        return lead + length <= end ? end : lead;
+    }
+
+    private void deleteTree(Path path) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            List<Path> ordered = paths.sorted(Comparator.reverseOrder()).toList();
+            for (Path entry : ordered) {
+                Files.deleteIfExists(entry);
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to delete SPARROW logs {}", path, ex);
+        }
+    }
+
+    /**
+     * 샤드 하나의 로그 파일
+     */
+    public record LogFiles(Path stdout, Path stderr) {
+
+    }
+
+    /**
+     * 로그 일부
+     *
+     * @param content    읽은 내용
+     * @param offset     내용의 시작 바이트 위치
+     * @param nextOffset 다음 조회를 시작할 바이트 위치
+     * @param fromLine   내용의 첫 줄 번호, 바이트 단위로 읽었으면 -1
+     * @param nextLine   다음 조회를 시작할 줄 번호, 바이트 단위로 읽었으면 -1
+     * @param fileSize   읽은 시점의 파일 크기
+     */
+    public record Slice(String content, long offset, long nextOffset, long fromLine, long nextLine, long fileSize) {
+
+    }
+}
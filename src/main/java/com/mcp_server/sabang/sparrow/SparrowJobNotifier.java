@@ -0,0 +1,162 @@
+package com.mcp_server.sabang.sparrow;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mcp_server.sabang.model.SparrowJobListener;
+import com.mcp_server.sabang.model.SparrowJobState;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * SPARROW Job 상태 변경과 진행률을 MCP 클라이언트에 알림으로 보내는 리스너를 만듭니다.
+ * <ul>
+ *     <li>세션 알림: Job을 제출한 세션에 {@code notifications/message}(logger {@code sparrow-job})로
+ *     QUEUED → RUNNING → PARSING_REPORT → DONE 단계와 진행률, 지금까지 읽은 이슈 수를 보냅니다. 도구 호출이 끝난 뒤에도 세션이 살아 있는 동안 계속 보냅니다.</li>
+ *     <li>진행 알림: 상태 조회 호출에 progress token이 있으면, 그 호출이 기다리는 동안 {@code notifications/progress}를 보냅니다.</li>
+ * </ul>
+ * 알림 전송에 실패하면(세션 종료 등) 해당 리스너는 이후 알림을 보내지 않습니다.
+ */
+@Component
+public class SparrowJobNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(SparrowJobNotifier.class);
+    private static final String LOGGER_NAME = "sparrow-job";
+
+    private final ObjectMapper objectMapper;
+
+    public SparrowJobNotifier(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return 세션 알림 리스너, {@code exchange}가 없으면 null
+     */
+    public SparrowJobListener sessionListener(McpSyncServerExchange exchange) {
+        if (exchange == null) {
+            return null;
+        }
+        return new SessionListener(exchange);
+    }
+
+    /**
+     * @return 진행 알림 리스너, {@code exchange}나 {@code progressToken}이 없으면 null
+     */
+    public SparrowJobListener progressListener(McpSyncServerExchange exchange, String progressToken) {
+        if (exchange == null || progressToken == null || progressToken.isBlank()) {
+            return null;
+        }
+        return new ProgressListener(exchange, progressToken);
+    }
+
+    private String describe(SparrowJobState state) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("jobId", state.jobId());
+        data.put("projectId", state.projectId());
+        data.put("status", state.status());
+        data.put("phase", state.phase());
+        data.put("progressPercent", state.progressPercent());
+        data.put("progressMessage", state.progressMessage());
+        data.put("summaryUrl", state.summaryUrl());
+        data.put("issueCount", state.issueCount());
+        if (state.isTerminal()) {
+            data.put("exitCode", state.exitCode());
+            data.put("message", state.message());
+        }
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException ex) {
+            return state.jobId() + " " + state.phase();
+        }
+    }
+
+    private final class SessionListener implements SparrowJobListener {
+        private final McpSyncServerExchange exchange;
+        private volatile boolean closed;
+
+        private SessionListener(McpSyncServerExchange exchange) {
+            this.exchange = exchange;
+        }
+
+        @Override
+        public void onStatusChanged(SparrowJobState state) {
+            send(state, state.isTerminal() && !"SUCCEEDED".equals(state.status())
+                ? McpSchema.LoggingLevel.WARNING
+                : McpSchema.LoggingLevel.INFO);
+        }
+
+        @Override
+        public void onProgress(SparrowJobState state) {
+            send(state, McpSchema.LoggingLevel.INFO);
+        }
+
+        private void send(SparrowJobState state, McpSchema.LoggingLevel level) {
+            if (closed) {
+                return;
+            }
+            try {
+                exchange.loggingNotification(McpSchema.LoggingMessageNotification.builder()
+                    .level(level)
+                    .logger(LOGGER_NAME)
+                    .data(describe(state))
+                    .build());
+            } catch (RuntimeException ex) {
+                closed = true;
+                log.debug("Stopped SPARROW job notifications for {}", state.jobId(), ex);
+            }
+        }
+    }
+
+    private final class ProgressListener implements SparrowJobListener {
+        private final McpSyncServerExchange exchange;
+        private final String progressToken;
+        // progress 알림은 stdio로 쓰는 동안 잠가 두어야 순서가 유지됩니다. 쓰는 동안 캐리어 스레드를 놓도록 모니터 대신 씁니다.
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile boolean closed;
+        private double lastProgress = -1;
+
+        private ProgressListener(McpSyncServerExchange exchange, String progressToken) {
+            this.exchange = exchange;
+            this.progressToken = progressToken;
+        }
+
+        @Override
+        public void onStatusChanged(SparrowJobState state) {
+            send(state);
+        }
+
+        @Override
+        public void onProgress(SparrowJobState state) {
+            send(state);
+        }
+
+        private void send(SparrowJobState state) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                Integer percent = state.progressPercent();
+                double progress = state.isTerminal() ? 100 : percent == null ? 0 : Math.min(percent, 99);
+                // progress 값은 단조 증가해야 합니다.
+                progress = Math.max(progress, lastProgress);
+                lastProgress = progress;
+                try {
+                    exchange.progressNotification(
+                        new McpSchema.ProgressNotification(progressToken, progress, 100.0, describe(state))
+                    );
+                } catch (RuntimeException ex) {
+                    closed = true;
+                    log.debug("Stopped SPARROW progress notifications for {}", state.jobId(), ex);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
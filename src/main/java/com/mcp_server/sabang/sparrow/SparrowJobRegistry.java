@@ -0,0 +1,233 @@
+package com.mcp_server.sabang.sparrow;
+
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.model.SparrowJobState;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+/**
+ * SPARROW Job 상태 저장소
+ * <p>
+ * 종료된 Job은 보관 정책에 따라 제거합니다.
+ * <ul>
+ *     <li>종료 후 {@code maxAge}가 지난 Job</li>
+ *     <li>Job 수가 {@code maxJobs}를 넘거나 보관 중인 결과가 {@code maxRetainedSize}를 넘으면,
+ *     가장 오래 조회되지 않은 종료 Job부터</li>
+ * </ul>
+ * 대기 중이거나 실행 중인 Job은 제거하지 않습니다. 제거된 Job ID는 일정 개수만큼 기억해 두었다가
+ * 조회 시 "찾을 수 없음" 대신 만료되었음을 알려줍니다.
+ * <p>
+ * 등록된 Job의 상태 변경은 {@link SparrowJobJournal}에 기록되며, 서버 시작 시 저널에서 Job을 복원합니다.
+ * Job이 제거되면 프로세스 로그({@link SparrowJobLogs})도 함께 지웁니다.
+ * 큰 결과는 종료 시 {@link SparrowReportSpiller}가 로컬 파일로 옮기며, 이 경우 {@code maxRetainedSize}에는 힙에 남은 요약만 셉니다.
+ * <p>
+ * 모니터는 Job 목록을 바꿀 때만 쥡니다. 저널 기록과 로그, spill 파일 삭제는 제거할 Job을 모은 뒤 모니터 밖에서 하므로, 가상 스레드가 파일
+ * IO 동안 캐리어 스레드에 고정되지 않습니다. 보관 한도는 Job 등록과 종료 시에만 적용하고, 조회는 찾은 Job 하나의 보관 기간만 확인합니다.
+ */
+@Component
+public class SparrowJobRegistry {
+
+    private final Object lock = new Object();
+    private final Duration maxAge;
+    private final int maxJobs;
+    private final long maxRetainedBytes;
+    private final int expiredHistorySize;
+    private final LinkedHashMap<String, SparrowJobState> jobs = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, ExpiredJob> expiredJobs;
+    private final SparrowJobJournal journal;
+    private final SparrowReportSpiller spiller;
+    private final SparrowJobLogs logs;
+
+    public SparrowJobRegistry(SparrowProperties properties, SparrowJobJournal journal, SparrowReportSpiller spiller,
+        SparrowJobLogs logs) {
+        SparrowProperties.Retention retention = properties.retention();
+        this.maxAge = retention.maxAge();
+        this.maxJobs = Math.max(1, retention.maxJobs());
+        this.maxRetainedBytes = retention.maxRetainedSize().toBytes();
+        this.expiredHistorySize = Math.max(0, retention.expiredHistorySize());
+        this.journal = journal;
+        this.spiller = spiller;
+        this.logs = logs;
+        this.expiredJobs = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ExpiredJob> eldest) {
+                return size() > SparrowJobRegistry.this.expiredHistorySize;
+            }
+        };
+    }
+
+    /**
+     * 서버 시작 시 저널에 남아 있는 Job을 복원합니다. 재시작 전에 끝나지 않은 Job은 INTERRUPTED로 종료 처리합니다.
+     */
+    @PostConstruct
+    public void restore() {
+        List<SparrowJobState> restored = journal.replay();
+        List<String> jobIds = new ArrayList<>(restored.size());
+        for (SparrowJobState state : restored) {
+            state.addListener(journal);
+            state.addListener(spiller);
+            if (!state.isTerminal()) {
+                state.markInterrupted("MCP server restarted before the job finished; resubmit the analysis");
+            }
+            jobIds.add(state.jobId());
+        }
+        // 복원되지 않은 Job의 프로세스 로그는 더 이상 조회할 수 없으므로 지웁니다.
+        logs.retainOnly(jobIds);
+        List<SparrowJobState> expired;
+        synchronized (lock) {
+            for (SparrowJobState state : restored) {
+                jobs.put(state.jobId(), state);
+            }
+            expired = evictLocked();
+        }
+        cleanUp(expired);
+    }
+
+    public void register(SparrowJobState state) {
+        // 저널이 스냅샷을 쓴 뒤에 파일로 옮기도록 저널 다음에 등록합니다.
+        state.addListener(journal);
+        state.addListener(spiller);
+        journal.onStatusChanged(state);
+        List<SparrowJobState> expired;
+        synchronized (lock) {
+            jobs.put(state.jobId(), state);
+            expired = evictLocked();
+        }
+        cleanUp(expired);
+    }
+
+    /**
+     * Job을 조회합니다. 조회된 Job은 가장 최근에 사용한 Job이 됩니다. 보관 기간이 지난 Job이면 제거하고 null을 반환합니다.
+     *
+     * @return Job 상태, 없거나 만료된 경우 null
+     */
+    public SparrowJobState find(String jobId) {
+        SparrowJobState state;
+        synchronized (lock) {
+            state = jobs.get(jobId);
+            if (state == null || !isPastMaxAge(state, Instant.now().minus(maxAge))) {
+                return state;
+            }
+            jobs.remove(jobId);
+            recordExpiredLocked(state, maxAgeReason());
+        }
+        cleanUp(List.of(state));
+        return null;
+    }
+
+    /**
+     * 보관 정책에 의해 제거된 Job 정보를 반환합니다.
+     *
+     * @return 만료 정보, 만료 기록이 없으면 null
+     */
+    public ExpiredJob findExpired(String jobId) {
+        synchronized (lock) {
+            return expiredJobs.get(jobId);
+        }
+    }
+
+    /**
+     * 제출이 거절된 Job처럼 보관할 필요가 없는 Job을 만료 기록 없이 제거합니다.
+     */
+    public void remove(String jobId) {
+        SparrowJobState removed;
+        synchronized (lock) {
+            removed = jobs.remove(jobId);
+        }
+        if (removed != null) {
+            spiller.release(removed);
+        }
+        logs.release(jobId);
+        journal.recordRemoved(jobId);
+    }
+
+    /**
+     * Job이 종료된 뒤 호출하여 보관 한도를 다시 적용합니다.
+     */
+    public void evictExpired() {
+        List<SparrowJobState> expired;
+        synchronized (lock) {
+            expired = evictLocked();
+        }
+        cleanUp(expired);
+    }
+
+    /**
+     * 보관 한도를 넘은 Job을 목록에서 빼고 만료 기록을 남깁니다. 파일 정리는 호출자가 모니터 밖에서 {@link #cleanUp}으로 합니다.
+     *
+     * @return 제거한 Job
+     */
+    private List<SparrowJobState> evictLocked() {
+        List<SparrowJobState> expired = new ArrayList<>();
+        Instant expiresBefore = Instant.now().minus(maxAge);
+        long retainedBytes = 0L;
+        Iterator<SparrowJobState> ageIterator = jobs.values().iterator();
+        while (ageIterator.hasNext()) {
+            SparrowJobState state = ageIterator.next();
+            if (isPastMaxAge(state, expiresBefore)) {
+                ageIterator.remove();
+                recordExpiredLocked(state, maxAgeReason());
+                expired.add(state);
+            } else {
+                retainedBytes += state.retainedBytes();
+            }
+        }
+
+        Iterator<SparrowJobState> lruIterator = jobs.values().iterator();
+        while ((jobs.size() > maxJobs || retainedBytes > maxRetainedBytes) && lruIterator.hasNext()) {
+            SparrowJobState state = lruIterator.next();
+            if (!state.isTerminal()) {
+                continue;
+            }
+            String reason = jobs.size() > maxJobs
+                ? "job count exceeded " + maxJobs
+                : "retained results exceeded " + maxRetainedBytes + " bytes";
+            lruIterator.remove();
+            retainedBytes -= state.retainedBytes();
+            recordExpiredLocked(state, reason);
+            expired.add(state);
+        }
+        return expired;
+    }
+
+    private static boolean isPastMaxAge(SparrowJobState state, Instant expiresBefore) {
+        return state.isTerminal() && state.finishedAt().isBefore(expiresBefore);
+    }
+
+    private String maxAgeReason() {
+        return "finished more than " + maxAge + " ago";
+    }
+
+    private void recordExpiredLocked(SparrowJobState state, String reason) {
+        if (expiredHistorySize > 0) {
+            expiredJobs.put(state.jobId(), new ExpiredJob(state.jobId(), state.projectId(), Instant.now(), reason));
+        }
+    }
+
+    private void cleanUp(List<SparrowJobState> expired) {
+        for (SparrowJobState state : expired) {
+            journal.recordRemoved(state.jobId());
+            spiller.release(state);
+            logs.release(state.jobId());
+        }
+    }
+
+    /**
+     * 보관 정책에 의해 제거된 Job
+     *
+     * @param jobId     Job ID
+     * @param projectId SPARROW 프로젝트 ID
+     * @param expiredAt 제거된 시각
+     * @param reason    제거 사유
+     */
+    public record ExpiredJob(String jobId, String projectId, Instant expiredAt, String reason) {
+
+    }
+}
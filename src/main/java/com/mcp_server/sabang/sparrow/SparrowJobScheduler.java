@@ -0,0 +1,220 @@
+package com.mcp_server.sabang.sparrow;
+
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.config.WorkerThreads;
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import com.mcp_server.sabang.model.SparrowJobPriority;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+/**
+ * SPARROW Job 스케줄러
+ * <p>
+ * 전역 동시 실행 수와 프로젝트별 동시 실행 수를 제한하고, 제한을 넘는 Job은 우선순위별 대기열에 보관합니다.
+ * 대기열이 가득 차면 바로 실행할 수 없는 Job의 제출을 거절합니다. 같은 우선순위 안에서는 실행 중인 Job이 적은 프로젝트를 먼저 꺼내고,
+ * 실행 수가 같으면 먼저 제출된 Job을 꺼냅니다.
+ * <p>
+ * 샤드로 나누어 실행하는 Job은 샤드 수만큼 실행 슬롯을 차지합니다. 다음 Job에 필요한 슬롯이 부족하면 뒤의 작은 Job을 먼저 실행하지 않고
+ * 슬롯이 빌 때까지 기다리므로 큰 Job이 계속 밀리지 않습니다.
+ */
+@Component
+public class SparrowJobScheduler {
+
+    private final Object lock = new Object();
+    private final int maxConcurrentJobs;
+    private final int maxJobsPerProject;
+    private final int queueCapacity;
+    private final ExecutorService workers;
+    private final Map<SparrowJobPriority, Deque<QueuedJob>> queues = new EnumMap<>(SparrowJobPriority.class);
+    private final Map<String, Integer> runningByProject = new HashMap<>();
+    private int runningCount;
+    private int queuedCount;
+    private boolean shutdown;
+
+    public SparrowJobScheduler(SparrowProperties properties, WorkerThreads threads) {
+        SparrowProperties.Scheduler scheduler = properties.scheduler();
+        this.maxConcurrentJobs = Math.max(1, scheduler.maxConcurrentJobs());
+        this.maxJobsPerProject = Math.max(1, scheduler.maxJobsPerProject());
+        this.queueCapacity = Math.max(0, scheduler.queueCapacity());
+        this.workers = threads.fixed("sparrow-job", maxConcurrentJobs);
+        for (SparrowJobPriority priority : SparrowJobPriority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Job을 대기열에 넣고 실행 가능한 슬롯이 있으면 바로 실행합니다.
+     *
+     * @param jobId     Job ID
+     * @param projectId 프로젝트별 제한에 사용할 SPARROW 프로젝트 ID
+     * @param priority  우선순위
+     * @param task      실행할 작업
+     * @throws SparrowExecutionException 빈 슬롯이 없고 대기열도 가득 찬 경우
+     */
+    public void submit(String jobId, String projectId, SparrowJobPriority priority, Runnable task) {
+        submit(jobId, projectId, priority, 1, task);
+    }
+
+    /**
+     * 실행 슬롯을 여러 개 차지하는 Job을 제출합니다.
+     *
+     * @param slots 필요한 실행 슬롯 수 (전체 동시 실행 수를 넘으면 전체 동시 실행 수로 줄입니다)
+     * @throws SparrowExecutionException 빈 슬롯이 없고 대기열도 가득 찬 경우
+     */
+    public void submit(String jobId, String projectId, SparrowJobPriority priority, int slots, Runnable task) {
+        int requiredSlots = Math.max(1, Math.min(slots, maxConcurrentJobs));
+        synchronized (lock) {
+            Deque<QueuedJob> queue = queues.get(priority);
+            QueuedJob job = new QueuedJob(jobId, projectId, requiredSlots, task);
+            queue.addLast(job);
+            queuedCount++;
+            dispatchLocked();
+            // 바로 실행되지 못하고 대기해야 하는 Job만 대기열 한도를 적용합니다. 한도가 0이면 빈 슬롯이 없을 때 바로 거절합니다.
+            if (queuedCount > queueCapacity && removeIdentity(queue, job)) {
+                queuedCount--;
+                throw new SparrowExecutionException("SPARROW job queue is full (" + queuedCount + "/" + queueCapacity
+                    + " waiting, " + runningCount + " running); retry later");
+            }
+        }
+    }
+
+    /**
+     * 대기열에서의 현재 순번을 반환합니다.
+     *
+     * @param jobId Job ID
+     * @return 1부터 시작하는 대기 순번, 대기 중이 아니면 0
+     */
+    public int queuePosition(String jobId) {
+        synchronized (lock) {
+            int position = 0;
+            for (Deque<QueuedJob> queue : queues.values()) {
+                for (QueuedJob job : queue) {
+                    position++;
+                    if (job.jobId().equals(jobId)) {
+                        return position;
+                    }
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * 아직 실행되지 않은 Job을 대기열에서 뺍니다.
+     *
+     * @return 대기열에 있어서 제거했으면 true, 이미 실행 중이거나 대기열에 없으면 false
+     */
+    public boolean cancelQueued(String jobId) {
+        synchronized (lock) {
+            for (Deque<QueuedJob> queue : queues.values()) {
+                Iterator<QueuedJob> iterator = queue.iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().jobId().equals(jobId)) {
+                        iterator.remove();
+                        queuedCount--;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    public int maxConcurrentJobs() {
+        return maxConcurrentJobs;
+    }
+
+    private void dispatchLocked() {
+        // 종료 후에는 실행기가 작업을 거절하므로 꺼내지 않습니다. 남은 Job은 재시작 후 저널에서 복구합니다.
+        if (shutdown) {
+            return;
+        }
+        while (runningCount < maxConcurrentJobs) {
+            QueuedJob next = selectNextLocked();
+            if (next == null || runningCount + next.slots() > maxConcurrentJobs) {
+                return;
+            }
+            removeIdentity(queues.get(priorityOf(next)), next);
+            queuedCount--;
+            runningCount += next.slots();
+            runningByProject.merge(next.projectId(), 1, Integer::sum);
+            workers.execute(() -> run(next));
+        }
+    }
+
+    private SparrowJobPriority priorityOf(QueuedJob job) {
+        for (Map.Entry<SparrowJobPriority, Deque<QueuedJob>> entry : queues.entrySet()) {
+            for (QueuedJob queued : entry.getValue()) {
+                if (queued == job) {
+                    return entry.getKey();
+                }
+            }
+        }
+        throw new IllegalStateException("Job is not queued: " + job.jobId());
+    }
+
+    private QueuedJob selectNextLocked() {
+        for (Deque<QueuedJob> queue : queues.values()) {
+            QueuedJob selected = null;
+            int selectedRunning = Integer.MAX_VALUE;
+            for (QueuedJob job : queue) {
+                int running = runningByProject.getOrDefault(job.projectId(), 0);
+                if (running < maxJobsPerProject && running < selectedRunning) {
+                    selected = job;
+                    selectedRunning = running;
+                    if (running == 0) {
+                        break;
+                    }
+                }
+            }
+            if (selected != null) {
+                return selected;
+            }
+        }
+        return null;
+    }
+
+    private boolean removeIdentity(Deque<QueuedJob> queue, QueuedJob target) {
+        Iterator<QueuedJob> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() == target) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void run(QueuedJob job) {
+        try {
+            job.task().run();
+        } finally {
+            synchronized (lock) {
+                runningCount -= job.slots();
+                runningByProject.computeIfPresent(job.projectId(), (key, count) -> count > 1 ? count - 1 : null);
+                dispatchLocked();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (lock) {
+            shutdown = true;
+            queues.values().forEach(Deque::clear);
+            queuedCount = 0;
+        }
+        workers.shutdownNow();
+    }
+
+    private record QueuedJob(String jobId, String projectId, int slots, Runnable task) {
+
+    }
+}
@@ -0,0 +1,129 @@
+package com.mcp_server.sabang.sparrow;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 프로세스가 직접 쓰고 있는 로그 파일을 전용 스레드에서 따라 읽어 줄 단위로 전달하는 tailer
+ * <p>
+ * stdout/stderr를 파이프 대신 파일로 리다이렉트하므로 프로세스가 파이프 버퍼 때문에 멈추지 않으며,
+ * 출력 전체를 힙에 모으지 않고 요약 URL과 진행률 확인에 필요한 줄만 훑습니다.
+ * {@link #finish()}를 호출하면 파일 끝까지 읽고 마지막 줄(줄바꿈 없음 포함)까지 전달한 뒤 끝납니다.
+ * <p>
+ * 진행률 표시줄은 {@code '\r'}만으로 같은 줄을 다시 그리므로 {@code '\r'}도 줄 끝으로 봅니다({@code "\r\n"}은 한 줄).
+ * 줄 하나는 {@value #MAX_LINE_BYTES}바이트까지만 모으고 나머지는 버립니다.
+ * 스레드는 호출자가 넘긴 팩토리로 만들므로 가상 스레드 설정({@code spring.threads.virtual.enabled})을 따릅니다.
+ */
+public final class SparrowLogTailer {
+
+    private static final long POLL_INTERVAL_MILLIS = 200L;
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    static final int MAX_LINE_BYTES = 16 * 1024;
+
+    private final Thread thread;
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile IOException failure;
+
+    private SparrowLogTailer(ThreadFactory threadFactory, Path file, Consumer<String> lineConsumer) {
+        this.thread = threadFactory.newThread(() -> tail(file, lineConsumer));
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * @param threadFactory tailer 스레드를 만들 팩토리 ({@code WorkerThreads#factory})
+     */
+    public static SparrowLogTailer start(ThreadFactory threadFactory, Path file, Consumer<String> lineConsumer) {
+        SparrowLogTailer tailer = new SparrowLogTailer(threadFactory, file, lineConsumer);
+        tailer.thread.start();
+        return tailer;
+    }
+
+    /**
+     * 프로세스가 끝났음을 알립니다. 이후 파일 끝까지 읽으면 tailer가 끝납니다.
+     */
+    public void finish() {
+        finished.countDown();
+    }
+
+    /**
+     * 남은 줄을 모두 전달할 때까지 기다립니다.
+     *
+     * @throws IOException 로그 파일을 읽는 중 오류가 발생한 경우
+     */
+    public void await() throws InterruptedException, IOException {
+        finish();
+        thread.join();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void tail(Path file, Consumer<String> lineConsumer) {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        boolean truncated = false;
+        boolean afterCarriageReturn = false;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = 0L;
+            while (true) {
+                // 종료 신호를 읽기 전에 확인해야, 신호 이후 파일 끝까지 한 번 더 읽고 끝납니다.
+                boolean last = finished.getCount() == 0;
+                int read;
+                while ((read = channel.read(buffer, position)) > 0) {
+                    position += read;
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        byte value = buffer.get();
+                        if (value == '\n' && afterCarriageReturn) {
+                            // "\r\n"의 '\r'에서 이미 줄을 넘겼습니다.
+                            afterCarriageReturn = false;
+                        } else if (value == '\n' || value == '\r') {
+                            lineConsumer.accept(decode(line, truncated));
+                            line.reset();
+                            truncated = false;
+                            afterCarriageReturn = value == '\r';
+                        } else {
+                            afterCarriageReturn = false;
+                            if (line.size() < MAX_LINE_BYTES) {
+                                line.write(value);
+                            } else {
+                                truncated = true;
+                            }
+                        }
+                    }
+                    buffer.clear();
+                }
+                if (last) {
+                    break;
+                }
+                finished.await(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            if (line.size() > 0) {
+                lineConsumer.accept(decode(line, truncated));
+            }
+        } catch (IOException ex) {
+            failure = ex;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String decode(ByteArrayOutputStream line, boolean truncated) {
+        String value = line.toString(StandardCharsets.UTF_8);
+        // 잘라낸 줄의 끝에 남은 불완전한 UTF-8 문자는 버립니다.
+        int end = value.length();
+        while (truncated && end > 0 && value.charAt(end - 1) == '\uFFFD') {
+            end--;
+        }
+        return value.substring(0, end);
+    }
+}
@@ -0,0 +1,123 @@
+package com.mcp_server.sabang.sparrow;
+
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.config.WorkerThreads;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * 실행 중인 SPARROW 프로세스 목록
+ * <p>
+ * 취소, 시간 초과, 서버 종료 시 SPARROW 클라이언트가 띄운 하위 프로세스까지 프로세스 트리 전체를 종료합니다.
+ * 먼저 정상 종료를 요청하고 {@code killGracePeriod} 안에 끝나지 않은 프로세스는 강제 종료합니다.
+ */
+@Component
+public class SparrowProcessRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(SparrowProcessRegistry.class);
+
+    private final Duration killGracePeriod;
+    private final WorkerThreads threads;
+    /** Job ID별 프로세스. 샤드로 나누어 실행하면 Job 하나에 프로세스가 여러 개입니다. */
+    private final Map<String, Set<Process>> processes = new ConcurrentHashMap<>();
+
+    public SparrowProcessRegistry(SparrowProperties properties, WorkerThreads threads) {
+        this.killGracePeriod = properties.execution().killGracePeriod();
+        this.threads = threads;
+    }
+
+    public void register(String jobId, Process process) {
+        processes.computeIfAbsent(jobId, key -> ConcurrentHashMap.newKeySet()).add(process);
+    }
+
+    public void unregister(String jobId, Process process) {
+        processes.computeIfPresent(jobId, (key, running) -> {
+            running.remove(process);
+            return running.isEmpty() ? null : running;
+        });
+    }
+
+    /**
+     * Job의 프로세스 트리를 모두 종료합니다.
+     *
+     * @return 종료할 프로세스가 있었으면 true
+     */
+    public boolean destroy(String jobId) {
+        Set<Process> running = processes.get(jobId);
+        if (running == null || running.isEmpty()) {
+            return false;
+        }
+        destroyTrees(List.copyOf(running));
+        return true;
+    }
+
+    private void destroyTrees(List<Process> running) {
+        if (running.size() == 1) {
+            destroyTree(running.get(0).toHandle());
+            return;
+        }
+        // 유예 시간을 프로세스마다 따로 기다리지 않도록 동시에 종료합니다. 유예 시간 내내 블로킹하므로 공용 ForkJoin 풀이 아닌
+        // 전용 스레드에서 기다리며, close()가 모든 트리의 종료를 기다립니다.
+        try (ExecutorService killers = threads.fixed("sparrow-kill", running.size())) {
+            for (Process process : running) {
+                killers.execute(() -> destroyTree(process.toHandle()));
+            }
+        }
+    }
+
+    /**
+     * 하위 프로세스를 포함한 프로세스 트리를 종료합니다. 트리가 모두 끝날 때까지(최대 유예 시간만큼) 기다립니다.
+     */
+    public void destroyTree(ProcessHandle root) {
+        // 부모가 먼저 끝나면 자식이 다른 프로세스에 입양되어 찾을 수 없으므로, 종료 요청 전에 트리를 모아 둡니다.
+        Set<ProcessHandle> tree = new LinkedHashSet<>();
+        root.descendants().forEach(tree::add);
+        tree.add(root);
+        tree.forEach(ProcessHandle::destroy);
+
+        List<CompletableFuture<ProcessHandle>> exits = new ArrayList<>(tree.size());
+        for (ProcessHandle handle : tree) {
+            exits.add(handle.onExit());
+        }
+        try {
+            CompletableFuture.allOf(exits.toArray(CompletableFuture[]::new))
+                .get(killGracePeriod.toMillis(), TimeUnit.MILLISECONDS);
+            return;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ex) {
+            // 유예 시간 안에 끝나지 않은 프로세스는 강제 종료
+        }
+
+        root.descendants().forEach(tree::add);
+        for (ProcessHandle handle : tree) {
+            if (handle.isAlive()) {
+                log.warn("Force killing SPARROW process {}", handle.pid());
+                handle.destroyForcibly();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void destroyAll() {
+        for (Map.Entry<String, Set<Process>> entry : processes.entrySet()) {
+            log.info("Stopping SPARROW process tree of job {} on shutdown", entry.getKey());
+            destroyTrees(List.copyOf(entry.getValue()));
+        }
+        processes.clear();
+    }
+}
@@ -0,0 +1,472 @@
+package com.mcp_server.sabang.sparrow;
+
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.dto.SparrowAnalyzeIssue;
+import com.mcp_server.sabang.dto.SparrowAnalyzeReport;
+import com.mcp_server.sabang.dto.SparrowAnalyzeSummary;
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import com.mcp_server.sabang.model.SparrowAlarmCounter;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import jakarta.annotation.PreDestroy;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * SPARROW XML 리포트(FINCH_SYN.*.xml)를 스트리밍 방식(StAX)으로 한 번만 읽어 이슈 목록과 요약을 만드는 파서
+ * <p>
+ * 문서 전체를 DOM으로 올리지 않고 {@code alarm} 단위로 필요한 값만 모으므로, 알람 수와 상관없이 알람 하나를 처리하는 데
+ * 필요한 메모리는 일정합니다. 추출 규칙은 기존 DOM 방식과 같습니다.
+ * <ul>
+ *     <li>{@code rule}: alarm 안 첫 번째 {@code defect}의 첫 번째 {@code rule} 하위 요소</li>
+ *     <li>{@code file/line/func/class}: 그 defect 안 첫 번째 {@code loc}의 첫 번째 하위 요소</li>
+ *     <li>{@code tag}, {@code desc@id}: alarm 안에서 {@code defect="true"}인 첫 번째 {@code event}의 첫 번째 하위 요소</li>
+ * </ul>
+ * DOCTYPE 선언이 있는 문서는 거부하고 외부 엔티티는 해석하지 않습니다.
+ * <p>
+ * 요약의 규칙별/파일별 알람 수는 {@link SparrowAlarmCounter}로 세고, 알람 수가 많은 상위 {@code sparrow.report.summary-top-k}개와
+ * 나머지 합계({@code OTHER})만 담습니다. 전체 알람 수와 서로 다른 규칙/파일 수는 정확한 값입니다.
+ * <p>
+ * Job이 여러 리포트 파일을 만들면 전용 {@link ForkJoinPool}에서 파일마다 동시에 파싱한 뒤 {@link #merge}로 합치므로,
+ * 전체 파싱 시간은 가장 큰 파일 하나를 파싱하는 시간과 비슷합니다. 각 이슈의 {@code source}에는 읽은 파일 이름이 들어갑니다.
+ */
+@Component
+public class SparrowReportParser {
+
+    static final String LINE_REVIEW_RECOMMENDED_REASON = "Potential defect location from SPARROW alarm";
+    static final String LINE_REVIEW_MISSING_REASON = "Line information is missing in SPARROW alarm";
+
+    private static final Logger log = LoggerFactory.getLogger(SparrowReportParser.class);
+
+    private final XMLInputFactory inputFactory;
+    private final int summaryTopK;
+    private final ForkJoinPool parsePool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors()));
+
+    public SparrowReportParser(SparrowProperties properties) {
+        this.summaryTopK = properties.report().summaryTopK();
+        this.inputFactory = XMLInputFactory.newInstance();
+        this.inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        this.inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        this.inputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+    }
+
+    /**
+     * 리포트 파일을 파싱합니다.
+     *
+     * @param reportPath SPARROW XML 리포트 경로
+     * @return 이슈 목록과 요약
+     * @throws SparrowExecutionException 리포트를 읽거나 해석할 수 없는 경우
+     */
+    public SparrowAnalyzeReport parse(Path reportPath) {
+        return parse(reportPath, false);
+    }
+
+    /**
+     * 아직 쓰이는 중인 리포트 파일을 지금까지 쓰인 부분만 파싱합니다. 끝까지 쓰인 {@code alarm}만 이슈로 만들고,
+     * 파일 끝에서 잘린 요소는 버립니다.
+     *
+     * @throws SparrowExecutionException 리포트를 읽을 수 없거나 DOCTYPE이 있는 경우
+     */
+    public SparrowAnalyzeReport parseAvailable(Path reportPath) {
+        return parse(reportPath, true);
+    }
+
+    /**
+     * Job이 만든 리포트 파일을 동시에 파싱하여 하나로 합칩니다. 첫 번째 파일이 대표 리포트이며, 중복 이슈는 앞선 파일의 것을 남깁니다.
+     * 대표 리포트 외의 파일을 읽을 수 없으면 경고를 남기고 건너뜁니다.
+     *
+     * @param reportPaths 대표 리포트가 맨 앞에 오는 리포트 경로 목록
+     * @throws SparrowExecutionException 대표 리포트를 읽거나 해석할 수 없는 경우
+     */
+    public SparrowAnalyzeReport parseAll(List<Path> reportPaths) {
+        return parseAll(reportPaths, false);
+    }
+
+    /**
+     * 아직 쓰이는 중인 리포트 파일들을 {@link #parseAvailable}처럼 지금까지 쓰인 부분만 동시에 파싱하여 하나로 합칩니다.
+     */
+    public SparrowAnalyzeReport parseAllAvailable(List<Path> reportPaths) {
+        return parseAll(reportPaths, true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        parsePool.shutdownNow();
+    }
+
+    private SparrowAnalyzeReport parseAll(List<Path> reportPaths, boolean allowTruncated) {
+        if (reportPaths.isEmpty()) {
+            return summarizeEmpty("");
+        }
+        if (reportPaths.size() == 1) {
+            return parse(reportPaths.get(0), allowTruncated);
+        }
+        List<ForkJoinTask<SparrowAnalyzeReport>> tasks = new ArrayList<>(reportPaths.size());
+        for (Path reportPath : reportPaths) {
+            tasks.add(parsePool.submit(() -> parse(reportPath, allowTruncated)));
+        }
+        List<SparrowAnalyzeReport> reports = new ArrayList<>(reportPaths.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            try {
+                reports.add(tasks.get(i).join());
+            } catch (RuntimeException ex) {
+                if (i == 0) {
+                    tasks.forEach(task -> task.cancel(true));
+                    throw ex;
+                }
+                if (!allowTruncated) {
+                    log.warn("Skipping SPARROW report that could not be parsed: {}", reportPaths.get(i), ex);
+                }
+            }
+        }
+        return merge(reports);
+    }
+
+    private SparrowAnalyzeReport parse(Path reportPath, boolean allowTruncated) {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(reportPath))) {
+            XMLStreamReader reader;
+            try {
+                reader = inputFactory.createXMLStreamReader(inputStream);
+            } catch (XMLStreamException ex) {
+                if (allowTruncated) {
+                    // XML 선언도 아직 쓰이지 않은 파일
+                    return summarizeEmpty(reportPath.toString());
+                }
+                throw ex;
+            }
+            try {
+                return readReport(reader, reportPath, allowTruncated);
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException ex) {
+            throw new SparrowExecutionException("Failed to parse SPARROW XML report: " + reportPath, ex);
+        }
+    }
+
+    /**
+     * 샤드별 또는 파일별 리포트를 하나로 합칩니다. 같은 위치의 같은 결함(규칙, 파일, 라인, 함수, 클래스, 설명 ID가 모두 같은 이슈)은
+     * 처음 나온 것만 남기고, 요약은 합친 이슈로 다시 계산합니다.
+     *
+     * @param reports 샤드(또는 파일) 순서대로 정렬된 리포트
+     */
+    public SparrowAnalyzeReport merge(List<SparrowAnalyzeReport> reports) {
+        if (reports.size() == 1) {
+            return reports.get(0);
+        }
+        List<SparrowAnalyzeIssue> issues = new ArrayList<>();
+        Set<List<Object>> seen = new HashSet<>();
+        SparrowAlarmCounter alarmsByRule = new SparrowAlarmCounter();
+        SparrowAlarmCounter alarmsByFile = new SparrowAlarmCounter();
+        int lineReviewCandidates = 0;
+        List<String> reportPaths = new ArrayList<>(reports.size());
+        for (SparrowAnalyzeReport report : reports) {
+            if (report.reportPath() != null && !report.reportPath().isBlank()) {
+                reportPaths.add(report.reportPath());
+            }
+            for (SparrowAnalyzeIssue issue : report.details()) {
+                List<Object> key = Arrays.asList(issue.rule(), issue.file(), issue.line(), issue.function(),
+                    issue.className(), issue.descriptionId());
+                if (!seen.add(key)) {
+                    continue;
+                }
+                if (Boolean.TRUE.equals(issue.lineReviewRecommended())) {
+                    lineReviewCandidates++;
+                }
+                alarmsByRule.add(issue.rule());
+                alarmsByFile.add(issue.file());
+                issues.add(issue);
+            }
+        }
+        SparrowAnalyzeSummary summary = summarize(issues.size(), lineReviewCandidates, alarmsByRule, alarmsByFile);
+        return new SparrowAnalyzeReport(String.join(File.pathSeparator, reportPaths), summary, issues);
+    }
+
+    private SparrowAnalyzeReport readReport(XMLStreamReader reader, Path reportPath, boolean allowTruncated)
+        throws XMLStreamException {
+        String source = reportPath.getFileName().toString();
+        List<SparrowAnalyzeIssue> issues = new ArrayList<>();
+        SparrowAlarmCounter alarmsByRule = new SparrowAlarmCounter();
+        SparrowAlarmCounter alarmsByFile = new SparrowAlarmCounter();
+        int lineReviewCandidates = 0;
+
+        AlarmBuilder alarm = null;
+        int depth = 0;
+        while (true) {
+            int event;
+            try {
+                if (!reader.hasNext()) {
+                    break;
+                }
+                event = reader.next();
+            } catch (XMLStreamException ex) {
+                if (allowTruncated) {
+                    // 아직 쓰이는 중인 파일의 끝
+                    break;
+                }
+                throw ex;
+            }
+            switch (event) {
+                case XMLStreamConstants.DTD ->
+                    throw new XMLStreamException("DOCTYPE is not allowed in SPARROW XML report");
+                case XMLStreamConstants.START_ELEMENT -> {
+                    depth++;
+                    String name = reader.getLocalName();
+                    if (alarm == null) {
+                        if ("alarm".equals(name)) {
+                            alarm = new AlarmBuilder(depth, attribute(reader, "localId"));
+                        }
+                    } else {
+                        alarm.start(name, depth, reader);
+                    }
+                }
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE -> {
+                    if (alarm != null) {
+                        alarm.text(reader);
+                    }
+                }
+                case XMLStreamConstants.END_ELEMENT -> {
+                    if (alarm != null) {
+                        if (depth == alarm.alarmDepth) {
+                            SparrowAnalyzeIssue issue = alarm.build(source);
+                            if (issue.lineReviewRecommended()) {
+                                lineReviewCandidates++;
+                            }
+                            alarmsByRule.add(issue.rule());
+                            alarmsByFile.add(issue.file());
+                            issues.add(issue);
+                            alarm = null;
+                        } else {
+                            alarm.end(depth);
+                        }
+                    }
+                    depth--;
+                }
+                default -> {
+                }
+            }
+        }
+
+        SparrowAnalyzeSummary summary = summarize(issues.size(), lineReviewCandidates, alarmsByRule, alarmsByFile);
+        return new SparrowAnalyzeReport(reportPath.toString(), summary, issues);
+    }
+
+    private static String attribute(XMLStreamReader reader, String name) {
+        String value = reader.getAttributeValue(null, name);
+        return value == null ? "" : value;
+    }
+
+    private SparrowAnalyzeReport summarizeEmpty(String reportPath) {
+        return new SparrowAnalyzeReport(reportPath,
+            summarize(0, 0, new SparrowAlarmCounter(), new SparrowAlarmCounter()), new ArrayList<>());
+    }
+
+    private SparrowAnalyzeSummary summarize(int totalAlarms, int lineReviewCandidates,
+        SparrowAlarmCounter alarmsByRule, SparrowAlarmCounter alarmsByFile) {
+        return new SparrowAnalyzeSummary(
+            totalAlarms,
+            lineReviewCandidates,
+            alarmsByRule.top(summaryTopK),
+            alarmsByFile.top(summaryTopK),
+            alarmsByRule.distinctCount(),
+            alarmsByFile.distinctCount()
+        );
+    }
+
+    private static Integer parseInteger(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * alarm 요소 하나를 읽는 동안의 상태. 각 필드는 문서 순서상 처음 나온 요소에서만 값을 가져옵니다.
+     */
+    private static final class AlarmBuilder {
+        private static final int INACTIVE = -1;
+
+        private final int alarmDepth;
+        private final String localId;
+        private final List<TextCapture> captures = new ArrayList<>(2);
+        private boolean defectSeen;
+        private int defectDepth = INACTIVE;
+        private boolean locSeen;
+        private int locDepth = INACTIVE;
+        private boolean eventSeen;
+        private int eventDepth = INACTIVE;
+        private boolean descSeen;
+        private String rule;
+        private String file;
+        private String line;
+        private String function;
+        private String className;
+        private String tag;
+        private String descriptionId = "";
+
+        private AlarmBuilder(int alarmDepth, String localId) {
+            this.alarmDepth = alarmDepth;
+            this.localId = localId;
+        }
+
+        private void start(String name, int depth, XMLStreamReader reader) {
+            if ("defect".equals(name) && !defectSeen) {
+                defectSeen = true;
+                defectDepth = depth;
+            }
+            if (defectDepth != INACTIVE) {
+                if ("rule".equals(name)) {
+                    claim(Field.RULE, depth);
+                }
+                if ("loc".equals(name) && !locSeen) {
+                    locSeen = true;
+                    locDepth = depth;
+                }
+            }
+            if (locDepth != INACTIVE) {
+                switch (name) {
+                    case "file" -> claim(Field.FILE, depth);
+                    case "line" -> claim(Field.LINE, depth);
+                    case "func" -> claim(Field.FUNCTION, depth);
+                    case "class" -> claim(Field.CLASS_NAME, depth);
+                    default -> {
+                    }
+                }
+            }
+            if ("event".equals(name) && !eventSeen && "true".equalsIgnoreCase(attribute(reader, "defect"))) {
+                eventSeen = true;
+                eventDepth = depth;
+            }
+            if (eventDepth != INACTIVE) {
+                if ("tag".equals(name)) {
+                    claim(Field.TAG, depth);
+                }
+                if ("desc".equals(name) && !descSeen) {
+                    descSeen = true;
+                    descriptionId = attribute(reader, "id").trim();
+                }
+            }
+        }
+
+        private void text(XMLStreamReader reader) {
+            if (captures.isEmpty()) {
+                return;
+            }
+            for (TextCapture capture : captures) {
+                capture.text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            }
+        }
+
+        private void end(int depth) {
+            for (int i = captures.size() - 1; i >= 0; i--) {
+                TextCapture capture = captures.get(i);
+                if (capture.depth == depth) {
+                    assign(capture.field, capture.text.toString().trim());
+                    captures.remove(i);
+                }
+            }
+            if (depth == locDepth) {
+                locDepth = INACTIVE;
+            }
+            if (depth == defectDepth) {
+                defectDepth = INACTIVE;
+                locDepth = INACTIVE;
+            }
+            if (depth == eventDepth) {
+                eventDepth = INACTIVE;
+            }
+        }
+
+        private void claim(Field field, int depth) {
+            if (value(field) != null) {
+                return;
+            }
+            for (TextCapture capture : captures) {
+                if (capture.field == field) {
+                    return;
+                }
+            }
+            captures.add(new TextCapture(field, depth));
+        }
+
+        private String value(Field field) {
+            return switch (field) {
+                case RULE -> rule;
+                case FILE -> file;
+                case LINE -> line;
+                case FUNCTION -> function;
+                case CLASS_NAME -> className;
+                case TAG -> tag;
+            };
+        }
+
+        private void assign(Field field, String value) {
+            switch (field) {
+                case RULE -> rule = value;
+                case FILE -> file = value;
+                case LINE -> line = value;
+                case FUNCTION -> function = value;
+                case CLASS_NAME -> className = value;
+                case TAG -> tag = value;
+            }
+        }
+
+        private SparrowAnalyzeIssue build(String source) {
+            String resolvedFile = orEmpty(file);
+            Integer resolvedLine = parseInteger(orEmpty(line));
+            boolean lineReviewRecommended = !resolvedFile.isBlank() && resolvedLine != null && resolvedLine > 0;
+            return new SparrowAnalyzeIssue(
+                localId,
+                orEmpty(rule),
+                resolvedFile,
+                resolvedLine,
+                orEmpty(function),
+                orEmpty(className),
+                orEmpty(tag),
+                descriptionId,
+                lineReviewRecommended,
+                lineReviewRecommended ? LINE_REVIEW_RECOMMENDED_REASON : LINE_REVIEW_MISSING_REASON,
+                source
+            );
+        }
+
+        private static String orEmpty(String value) {
+            return value == null ? "" : value;
+        }
+    }
+
+    private enum Field {
+        RULE, FILE, LINE, FUNCTION, CLASS_NAME, TAG
+    }
+
+    private static final class TextCapture {
+        private final Field field;
+        private final int depth;
+        private final StringBuilder text = new StringBuilder();
+
+        private TextCapture(Field field, int depth) {
+            this.field = field;
+            this.depth = depth;
+        }
+    }
+}
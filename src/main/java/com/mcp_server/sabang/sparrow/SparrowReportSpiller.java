@@ -0,0 +1,93 @@
+package com.mcp_server.sabang.sparrow;
+
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.model.SparrowJobListener;
+import com.mcp_server.sabang.model.SparrowJobState;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * 큰 종료 Job 결과를 로컬 파일로 옮기는 리스너
+ * <p>
+ * Job이 종료되었을 때 출력과 리포트의 대략적인 힙 사용량이 {@code sparrow.spill.threshold} 이상이면
+ * {@code <directory>/instance-<n>/<jobId>.spill}에 압축 형식으로 쓰고, Job에는 요약만 남깁니다({@code n}은
+ * {@link SparrowInstanceSlot} 번호). 파일은 Job이 보관 정책으로 제거될 때 지우며, 서버를 재시작하면 이 인스턴스 번호의 남은 파일을
+ * 모두 지웁니다(결과는 저널 스냅샷에서 복원). 다른 서버가 메모리 매핑해 읽고 있는 파일은 다른 번호의 디렉터리에 있으므로 지우지 않습니다.
+ * 파일로 옮기지 못해도 결과는 힙에 그대로 두고 Job은 실패시키지 않습니다.
+ */
+@Component
+public class SparrowReportSpiller implements SparrowJobListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SparrowReportSpiller.class);
+    private static final String SPILL_SUFFIX = ".spill";
+
+    private final boolean enabled;
+    private final long thresholdBytes;
+    private final Path directory;
+
+    public SparrowReportSpiller(SparrowProperties properties, SparrowInstanceSlot instance) {
+        SparrowProperties.Spill spill = properties.spill();
+        this.enabled = spill.enabled();
+        this.thresholdBytes = spill.threshold().toBytes();
+        this.directory = instance.resolve(spill.directory() == null || spill.directory().isBlank()
+            ? Path.of(System.getProperty("java.io.tmpdir"), "sabang-sparrow-spill")
+            : Path.of(spill.directory()));
+    }
+
+    @PostConstruct
+    public void cleanUpStaleFiles() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> stale = Files.list(directory)) {
+            for (Path file : stale.toList()) {
+                if (file.getFileName().toString().endsWith(SPILL_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to clean up SPARROW spill directory {}", directory, ex);
+        }
+    }
+
+    @Override
+    public void onStatusChanged(SparrowJobState state) {
+        if (!enabled || !state.isTerminal() || state.retainedBytes() < thresholdBytes) {
+            return;
+        }
+        Path file = directory.resolve(state.jobId() + SPILL_SUFFIX);
+        try {
+            if (state.spillTo(file)) {
+                log.debug("Spilled SPARROW job {} result to {}", state.jobId(), file);
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Failed to spill SPARROW job {} result to {}, keeping it on heap", state.jobId(), file, ex);
+            deleteQuietly(file);
+        }
+    }
+
+    /**
+     * 제거된 Job의 파일을 지웁니다.
+     */
+    public void release(SparrowJobState state) {
+        Path file = state.spilledFile();
+        if (file != null) {
+            deleteQuietly(file);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            // 매핑이 남아 있어 지울 수 없는 환경(Windows 등)에서는 종료 시 지웁니다.
+            file.toFile().deleteOnExit();
+        }
+    }
+}
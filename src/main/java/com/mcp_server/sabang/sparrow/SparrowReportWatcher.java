@@ -0,0 +1,120 @@
+package com.mcp_server.sabang.sparrow;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * SPARROW 리포트 디렉터리({@code sparrow/xml_files})를 {@link WatchService}로 지켜보다가 XML 리포트가 만들어지거나
+ * 바뀌면 콜백을 호출하는 watcher
+ * <p>
+ * 리포트가 쓰이는 동안 이벤트가 연달아 오므로 콜백은 최대 {@code interval}마다 한 번만, 전용 스레드에서 호출합니다.
+ * 콜백이 실패해도 실행 중인 Job에는 영향을 주지 않습니다.
+ */
+public final class SparrowReportWatcher implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SparrowReportWatcher.class);
+
+    private final WatchService watchService;
+    private final Thread thread;
+    private final long intervalMillis;
+    private final Runnable onReportChanged;
+
+    private SparrowReportWatcher(ThreadFactory threadFactory, WatchService watchService, Duration interval,
+        Runnable onReportChanged) {
+        this.watchService = watchService;
+        this.intervalMillis = Math.max(1L, interval.toMillis());
+        this.onReportChanged = onReportChanged;
+        this.thread = threadFactory.newThread(this::watch);
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * @param threadFactory watcher 스레드를 만들 팩토리 ({@code WorkerThreads#factory})
+     * @return watcher, 디렉터리가 없거나 지켜볼 수 없으면 null
+     */
+    public static SparrowReportWatcher start(ThreadFactory threadFactory, Path directory, Duration interval,
+        Runnable onReportChanged) {
+        if (!Files.isDirectory(directory)) {
+            return null;
+        }
+        try {
+            WatchService watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            SparrowReportWatcher watcher = new SparrowReportWatcher(threadFactory, watchService, interval,
+                onReportChanged);
+            watcher.thread.start();
+            return watcher;
+        } catch (IOException | UnsupportedOperationException ex) {
+            log.warn("Cannot watch SPARROW report directory {}, issues will appear when the run completes",
+                directory, ex);
+            return null;
+        }
+    }
+
+    private void watch() {
+        boolean changed = false;
+        long lastRun = 0L;
+        try {
+            while (true) {
+                long now = System.currentTimeMillis();
+                long wait = changed ? Math.max(1L, lastRun + intervalMillis - now) : intervalMillis;
+                WatchKey key = watchService.poll(wait, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                            || event.context().toString().endsWith(".xml")) {
+                            changed = true;
+                        }
+                    }
+                    key.reset();
+                }
+                now = System.currentTimeMillis();
+                if (changed && now - lastRun >= intervalMillis) {
+                    changed = false;
+                    lastRun = now;
+                    run();
+                }
+            }
+        } catch (ClosedWatchServiceException ex) {
+            // close() 호출
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            onReportChanged.run();
+        } catch (RuntimeException ex) {
+            log.debug("Failed to read partial SPARROW report", ex);
+        }
+    }
+
+    /**
+     * 지켜보기를 멈추고 진행 중인 콜백이 끝날 때까지 기다립니다.
+     */
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException ex) {
+            thread.interrupt();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
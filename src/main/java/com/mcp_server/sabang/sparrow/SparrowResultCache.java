@@ -0,0 +1,272 @@
+package com.mcp_server.sabang.sparrow;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.dto.SparrowAnalyzeRequest;
+import com.mcp_server.sabang.model.SparrowCompactReport;
+import com.mcp_server.sabang.model.SparrowJobSnapshot;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * 입력 파일 내용 기준(content-addressed) SPARROW 분석 결과 캐시
+ * <p>
+ * 키는 {@code projectId}, 서버 URL, 변경 파일별 경로와 내용의 SHA-256으로 만듭니다. 파일 내용이 하나라도 바뀌면 키가 달라지므로
+ * 별도의 무효화 없이 정확히 같은 입력에만 결과를 재사용합니다. 정상 종료(exit code 0)한 결과만 저장합니다.
+ * 결과는 제출 시점이 아니라 Job이 실행을 시작할 때 계산한 키로 저장하고, 실행이 끝났을 때 키가 달라졌으면 저장하지 않습니다.
+ * <p>
+ * 디스크 저장을 켜면 결과는 디스크에만 두고 적중 시 읽어오며, 끄면 메모리에 보관합니다.
+ */
+@Component
+public class SparrowResultCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SparrowResultCache.class);
+    private static final String ENTRY_SUFFIX = ".json.gz";
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    private final Object lock = new Object();
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long maxKeyInputBytes;
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    /** 디스크 저장 모드에서는 값이 항상 null이며, 키 목록과 사용 순서만 유지합니다. */
+    private final LinkedHashMap<String, CachedResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    public SparrowResultCache(SparrowProperties properties, ObjectMapper objectMapper) {
+        SparrowProperties.Cache cache = properties.cache();
+        this.enabled = cache.enabled();
+        this.maxEntries = Math.max(1, cache.maxEntries());
+        this.maxKeyInputBytes = cache.maxKeyInputSize().toBytes();
+        this.directory = !cache.persistent() ? null
+            : cache.directory() == null || cache.directory().isBlank()
+                ? Path.of(System.getProperty("user.home"), ".sabang", "sparrow", "cache")
+                : Path.of(cache.directory());
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 디스크 캐시에 남아 있는 결과 목록을 읽어옵니다. 오래된 파일이 먼저 제거되도록 수정 시각 순으로 등록합니다.
+     */
+    @PostConstruct
+    public void loadIndex() {
+        if (!enabled || directory == null || !Files.isDirectory(directory)) {
+            return;
+        }
+        List<String> evicted;
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> cached = files
+                .filter(path -> path.getFileName().toString().endsWith(ENTRY_SUFFIX))
+                .sorted(Comparator.comparingLong(this::lastModifiedOrZero))
+                .toList();
+            synchronized (lock) {
+                for (Path path : cached) {
+                    String fileName = path.getFileName().toString();
+                    entries.put(fileName.substring(0, fileName.length() - ENTRY_SUFFIX.length()), null);
+                }
+                evicted = evictLocked();
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to read SPARROW result cache directory {}", directory, ex);
+            return;
+        }
+        deleteEntries(evicted);
+    }
+
+    /**
+     * 요청의 캐시 키를 계산합니다. 변경 파일을 모두 읽어 해시하므로 호출한 스레드에서 파일 크기에 비례하는 시간이 걸립니다.
+     * 제출 응답이 늦어지지 않도록 파일 크기 합계가 {@code maxKeyInputSize}를 넘으면 읽지 않고 null을 반환합니다.
+     *
+     * @return 캐시 키, 캐시를 사용하지 않거나 변경 파일을 읽을 수 없거나 너무 크면 null
+     */
+    public String key(SparrowAnalyzeRequest request) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, request.projectId());
+            update(digest, request.serverUrl());
+            List<Path> files = request.changedFiles().stream()
+                .map(file -> Path.of(file).toAbsolutePath().normalize())
+                .distinct()
+                .sorted()
+                .toList();
+            long inputBytes = 0L;
+            for (Path file : files) {
+                inputBytes += Files.size(file);
+                if (inputBytes > maxKeyInputBytes) {
+                    return null;
+                }
+            }
+            for (Path file : files) {
+                update(digest, file.toString());
+                digest.update(contentHash(file));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException ex) {
+            return null;
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * @return 캐시된 결과, 없으면 null
+     */
+    public SparrowJobSnapshot get(String key) {
+        if (key == null) {
+            return null;
+        }
+        synchronized (lock) {
+            if (!entries.containsKey(key)) {
+                return null;
+            }
+            CachedResult cached = entries.get(key);
+            if (cached != null || directory == null) {
+                return cached == null ? null : cached.toSnapshot();
+            }
+        }
+        SparrowJobSnapshot snapshot = read(key);
+        if (snapshot == null) {
+            synchronized (lock) {
+                entries.remove(key);
+            }
+        }
+        return snapshot;
+    }
+
+    public void put(String key, SparrowJobSnapshot snapshot) {
+        if (key == null) {
+            return;
+        }
+        if (directory != null && !write(key, snapshot)) {
+            return;
+        }
+        List<String> evicted;
+        synchronized (lock) {
+            entries.put(key, directory == null ? CachedResult.of(snapshot) : null);
+            evicted = evictLocked();
+        }
+        deleteEntries(evicted);
+    }
+
+    /**
+     * 한도를 넘은 키를 목록에서 뺍니다. 파일은 모니터를 놓은 뒤 {@link #deleteEntries}로 지웁니다.
+     *
+     * @return 뺀 키
+     */
+    private List<String> evictLocked() {
+        List<String> evicted = new ArrayList<>();
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            evicted.add(iterator.next());
+            iterator.remove();
+        }
+        return evicted;
+    }
+
+    private void deleteEntries(List<String> keys) {
+        if (directory == null) {
+            return;
+        }
+        for (String key : keys) {
+            try {
+                Files.deleteIfExists(entryPath(key));
+            } catch (IOException ex) {
+                log.warn("Failed to delete SPARROW result cache entry {}", key, ex);
+            }
+        }
+    }
+
+    private SparrowJobSnapshot read(String key) {
+        Path path = entryPath(key);
+        try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(path))) {
+            return objectMapper.readValue(inputStream, SparrowJobSnapshot.class);
+        } catch (IOException ex) {
+            log.warn("Failed to read SPARROW result cache entry {}", path, ex);
+            return null;
+        }
+    }
+
+    private boolean write(String key, SparrowJobSnapshot snapshot) {
+        Path path = entryPath(key);
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(temporaryPath))) {
+                objectMapper.writeValue(outputStream, snapshot);
+            }
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException ex) {
+            log.warn("Failed to write SPARROW result cache entry {}", path, ex);
+            return false;
+        }
+    }
+
+    private Path entryPath(String key) {
+        return directory.resolve(key + ENTRY_SUFFIX);
+    }
+
+    private long lastModifiedOrZero(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException ex) {
+            return 0L;
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update((value == null ? "" : value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static byte[] contentHash(Path file) throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] buffer = new byte[HASH_BUFFER_SIZE];
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * 메모리 캐시 값. 리포트는 압축 표현으로 보관합니다.
+     */
+    private record CachedResult(String output, String error, SparrowCompactReport report, long[] fingerprints) {
+
+        static CachedResult of(SparrowJobSnapshot snapshot) {
+            return new CachedResult(snapshot.output(), snapshot.error(),
+                snapshot.report() == null ? SparrowCompactReport.empty() : SparrowCompactReport.of(snapshot.report()),
+                snapshot.fingerprints());
+        }
+
+        SparrowJobSnapshot toSnapshot() {
+            return new SparrowJobSnapshot(output, error, report.toReport(), fingerprints);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.mcp_server.sabang.sparrow;
+
+import com.mcp_server.sabang.model.SparrowShardBalance;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import org.springframework.stereotype.Component;
+
+/**
+ * 변경 파일 목록을 샤드로 나눕니다.
+ * <p>
+ * 무거운 파일부터 현재 부하가 가장 작은 샤드에 배정하는 LPT(Longest Processing Time) 방식으로, 샤드 간 부하 차이를 작게 유지합니다.
+ * 부하는 {@link SparrowShardBalance#SIZE}면 파일 크기, {@link SparrowShardBalance#COUNT}면 파일 수입니다.
+ * 각 샤드 안에서는 요청의 파일 순서를 유지합니다.
+ */
+@Component
+public class SparrowShardPlanner {
+
+    /**
+     * @param shardCount 샤드 수. 파일 수보다 크면 파일 수로 줄입니다.
+     * @return 비어 있지 않은 샤드 목록
+     */
+    public List<List<String>> plan(List<String> changedFiles, int shardCount, SparrowShardBalance balance) {
+        int shards = Math.max(1, Math.min(shardCount, changedFiles.size()));
+        if (shards == 1) {
+            return List.of(changedFiles);
+        }
+
+        Integer[] order = new Integer[changedFiles.size()];
+        long[] weights = new long[changedFiles.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+            weights[i] = balance == SparrowShardBalance.SIZE ? sizeOrOne(changedFiles.get(i)) : 1L;
+        }
+        // 무게가 같으면 요청 순서대로
+        Arrays.sort(order, Comparator.comparingLong((Integer index) -> weights[index]).reversed()
+            .thenComparingInt(index -> index));
+
+        long[] loads = new long[shards];
+        List<List<Integer>> assigned = new ArrayList<>(shards);
+        PriorityQueue<Integer> lightest = new PriorityQueue<>(
+            Comparator.comparingLong((Integer shard) -> loads[shard]).thenComparingInt(shard -> shard)
+        );
+        for (int shard = 0; shard < shards; shard++) {
+            assigned.add(new ArrayList<>());
+            lightest.add(shard);
+        }
+        for (int index : order) {
+            int shard = lightest.poll();
+            assigned.get(shard).add(index);
+            loads[shard] += weights[index];
+            lightest.add(shard);
+        }
+
+        List<List<String>> plan = new ArrayList<>(shards);
+        for (List<Integer> indexes : assigned) {
+            indexes.sort(null);
+            List<String> files = new ArrayList<>(indexes.size());
+            for (int index : indexes) {
+                files.add(changedFiles.get(index));
+            }
+            plan.add(files);
+        }
+        return plan;
+    }
+
+    private static long sizeOrOne(String file) {
+        try {
+            return Math.max(1L, Files.size(Path.of(file)));
+        } catch (IOException | RuntimeException ex) {
+            return 1L;
+        }
+    }
+}
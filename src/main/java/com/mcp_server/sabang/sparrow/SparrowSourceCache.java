@@ -0,0 +1,255 @@
+package com.mcp_server.sabang.sparrow;
+
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.config.WorkerThreads;
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import com.mcp_server.sabang.model.SparrowIssueFingerprints;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * MR/PR head 커밋의 변경 파일 캐시
+ * <p>
+ * 파일은 {@code sparrow.sources.directory/<저장소 키>/<커밋 SHA>/<저장소 기준 경로>}에 둡니다({@code 저장소 키}는 저장소의 URL-safe
+ * Base64). 커밋 SHA가 같으면 파일 내용도 같으므로 한 번 받은 파일은 바꾸지 않고, 같은 커밋을 다시 분석할 때는 파일을 받지 않습니다.
+ * 저장소 경로를 그대로 두므로 이 파일을 SPARROW에 넘기면 리포트의 이슈 경로를 diff 경로로 찾을 수 있습니다. 커밋 디렉터리에는
+ * {@link SparrowIssueFingerprints#REPOSITORY_ROOT_MARKER} 파일을 두어 다른 커밋을 분석해도 이슈 지문이 같은 경로를 쓰게 합니다.
+ * <p>
+ * 없는 파일은 서버 전체에서 {@code downloadConcurrency}개씩 동시에 받습니다. 임시 파일에 받은 뒤 옮기므로 받다가 실패하거나 여러 요청이
+ * 같은 파일을 동시에 받아도 캐시에는 완전한 파일만 남습니다.
+ * <p>
+ * 커밋 디렉터리는 저장소 루트 표시 파일의 수정 시각을 마지막 사용 시각으로 씁니다. 준비할 때마다 파일을 받기 전에 이 시각을 갱신하고,
+ * 끝나면 {@code maxCommits}를 넘는 가장 오래 사용되지 않은 커밋과 {@code maxAge}보다 오래 사용되지 않은 커밋을 지웁니다.
+ * 방금 준비한 커밋은 지우지 않으며, 분석 중인 커밋도 최근에 사용한 것이므로 {@code maxCommits}개보다 많은 커밋을 동시에 분석하지 않는 한
+ * 남아 있습니다.
+ */
+@Component
+public class SparrowSourceCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SparrowSourceCache.class);
+    private static final Pattern COMMIT_SHA = Pattern.compile("[0-9A-Za-z]+");
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final int maxCommits;
+    private final Duration maxAge;
+    private final ExecutorService downloaders;
+
+    public SparrowSourceCache(SparrowProperties properties, WorkerThreads threads) {
+        SparrowProperties.Sources sources = properties.sources();
+        String configured = sources.directory();
+        this.directory = configured == null || configured.isBlank()
+            ? Path.of(System.getProperty("java.io.tmpdir"), "sabang-sparrow-sources")
+            : Path.of(configured);
+        this.maxCommits = Math.max(1, sources.maxCommits());
+        this.maxAge = sources.maxAge();
+        this.downloaders = threads.fixed("sparrow-source", Math.max(1, sources.downloadConcurrency()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        downloaders.shutdownNow();
+    }
+
+    /**
+     * 저장소 파일 하나를 여는 함수. 반환한 스트림은 캐시가 닫습니다.
+     */
+    @FunctionalInterface
+    public interface Fetcher {
+        InputStream open(String path);
+    }
+
+    /**
+     * 캐시에 준비된 파일
+     *
+     * @param root            커밋 디렉터리
+     * @param files           요청한 파일의 절대 경로 (요청 순서)
+     * @param cachedCount     이미 캐시에 있던 파일 수
+     * @param downloadedCount 새로 받은 파일 수
+     */
+    public record Materialized(Path root, List<String> files, int cachedCount, int downloadedCount) {
+
+    }
+
+    /**
+     * 커밋의 파일을 캐시에 준비합니다. 캐시에 없는 파일만 {@code fetcher}로 받습니다.
+     *
+     * @param repository 저장소 (GitLab/Bitbucket 인스턴스를 포함하여 저장소를 구분하는 값)
+     * @param commitSha  커밋 SHA
+     * @param paths      저장소 기준 파일 경로
+     * @throws SparrowExecutionException 파일을 받거나 쓸 수 없는 경우. 나머지 파일은 모두 받은 뒤에 던집니다.
+     */
+    public Materialized materialize(String repository, String commitSha, List<String> paths, Fetcher fetcher) {
+        if (commitSha == null || !COMMIT_SHA.matcher(commitSha).matches()) {
+            throw new SparrowExecutionException("Invalid commit SHA: " + commitSha);
+        }
+        Path root = directory.resolve(key(repository)).resolve(commitSha).toAbsolutePath().normalize();
+        List<Path> targets = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            Path target = root.resolve(path).normalize();
+            if (!target.startsWith(root) || target.equals(root)) {
+                throw new SparrowExecutionException("Changed file path is outside the repository: " + path);
+            }
+            targets.add(target);
+        }
+        // 받는 동안 다른 요청이 이 커밋을 오래된 것으로 보고 지우지 않도록 먼저 사용 시각을 갱신합니다.
+        markUsed(root);
+
+        List<String> files = new ArrayList<>(paths.size());
+        List<CompletableFuture<Void>> downloads = new ArrayList<>();
+        int cachedCount = 0;
+        for (int i = 0; i < paths.size(); i++) {
+            String path = paths.get(i);
+            Path target = targets.get(i);
+            files.add(target.toString());
+            if (Files.isRegularFile(target)) {
+                cachedCount++;
+            } else {
+                downloads.add(CompletableFuture.runAsync(() -> download(fetcher, path, target), downloaders));
+            }
+        }
+
+        RuntimeException failure = null;
+        for (CompletableFuture<Void> download : downloads) {
+            try {
+                download.join();
+            } catch (CompletionException ex) {
+                if (failure == null) {
+                    failure = ex.getCause() instanceof RuntimeException cause ? cause : ex;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure instanceof SparrowExecutionException sparrowFailure
+                ? sparrowFailure
+                : new SparrowExecutionException("Failed to fetch changed files of commit " + commitSha, failure);
+        }
+        evictCommits(root);
+        return new Materialized(root, files, cachedCount, downloads.size());
+    }
+
+    /**
+     * 저장소 루트 표시 파일을 두고 그 수정 시각을 지금으로 바꿉니다. 표시 파일이 있어야 이슈 지문이 커밋 디렉터리 기준 경로를 씁니다.
+     */
+    private static void markUsed(Path root) {
+        Path marker = root.resolve(SparrowIssueFingerprints.REPOSITORY_ROOT_MARKER);
+        try {
+            Files.createDirectories(root);
+            if (!Files.exists(marker)) {
+                Files.write(marker, new byte[0]);
+            }
+            Files.setLastModifiedTime(marker, FileTime.from(Instant.now()));
+        } catch (IOException ex) {
+            throw new SparrowExecutionException("Failed to mark source cache directory " + root, ex);
+        }
+    }
+
+    /**
+     * 보관 한도를 넘은 커밋 디렉터리를 지웁니다. {@code current}는 지우지 않습니다.
+     */
+    private void evictCommits(Path current) {
+        List<CommitDirectory> commits = new ArrayList<>();
+        try (Stream<Path> repositories = Files.list(directory)) {
+            for (Path repository : repositories.filter(Files::isDirectory).toList()) {
+                try (Stream<Path> shas = Files.list(repository)) {
+                    for (Path commit : shas.filter(Files::isDirectory).toList()) {
+                        commits.add(new CommitDirectory(commit.toAbsolutePath().normalize(), lastUsed(commit)));
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to list SPARROW source cache {}", directory, ex);
+            return;
+        }
+        commits.sort(Comparator.comparing(CommitDirectory::lastUsed).reversed());
+        Instant expiresBefore = maxAge.isZero() || maxAge.isNegative() ? Instant.MIN : Instant.now().minus(maxAge);
+        for (int i = 0; i < commits.size(); i++) {
+            CommitDirectory commit = commits.get(i);
+            if (!commit.path().equals(current) && (i >= maxCommits || commit.lastUsed().isBefore(expiresBefore))) {
+                deleteTree(commit.path());
+            }
+        }
+    }
+
+    private static Instant lastUsed(Path commit) {
+        Path marker = commit.resolve(SparrowIssueFingerprints.REPOSITORY_ROOT_MARKER);
+        try {
+            return Files.getLastModifiedTime(Files.exists(marker) ? marker : commit).toInstant();
+        } catch (IOException ex) {
+            return Instant.EPOCH;
+        }
+    }
+
+    private static void deleteTree(Path root) {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to delete SPARROW source cache directory {}", root, ex);
+        }
+    }
+
+    private static void download(Fetcher fetcher, String path, Path target) {
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), TEMP_SUFFIX);
+            try (InputStream in = fetcher.open(path)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            move(temp, target);
+        } catch (IOException ex) {
+            throw new SparrowExecutionException("Failed to write changed file to source cache: " + path, ex);
+        } finally {
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String key(String repository) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(repository.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    private record CommitDirectory(Path path, Instant lastUsed) {
+
+    }
+}
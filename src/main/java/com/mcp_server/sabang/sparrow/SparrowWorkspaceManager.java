@@ -0,0 +1,208 @@
+package com.mcp_server.sabang.sparrow;
+
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * SPARROW Job별 작업 디렉터리(sandbox) 관리
+ * <p>
+ * 클라이언트 설치 디렉터리를 복사하지 않고 심볼릭 링크 묶음(symlink farm)으로 Job마다 새 작업 디렉터리를 만듭니다.
+ * 리포트가 쓰이는 {@code sparrow/xml_files}만 Job 전용 빈 디렉터리로 두므로, 동시에 실행되는 Job이 서로의 리포트를 덮어쓰거나
+ * 잘못 읽지 않습니다. 클라이언트 스크립트도 작업 디렉터리 안의 링크로 실행하므로 스크립트 위치 기준 경로도 작업 디렉터리를 가리킵니다.
+ * <p>
+ * 작업 디렉터리는 {@code <root>/instance-<n>/<jobId>}이며 {@code n}은 {@link SparrowInstanceSlot} 번호입니다.
+ * <p>
+ * 심볼릭 링크를 만들 수 없는 환경에서는 설치 디렉터리에서 그대로 실행하고, Job 시작 이후에 만들어진 리포트만 사용합니다.
+ */
+@Component
+public class SparrowWorkspaceManager {
+
+    private static final Logger log = LoggerFactory.getLogger(SparrowWorkspaceManager.class);
+    private static final String REPORT_DIRECTORY = "sparrow";
+    private static final String XML_DIRECTORY = "xml_files";
+    private static final String DEFAULT_REPORT_FILE_NAME = "FINCH_SYN.1.0.xml";
+
+    private final boolean isolated;
+    private final Path root;
+
+    public SparrowWorkspaceManager(SparrowProperties properties, SparrowInstanceSlot instance) {
+        SparrowProperties.Workspace workspace = properties.workspace();
+        this.isolated = workspace.isolated();
+        this.root = instance.resolve(workspace.root() == null || workspace.root().isBlank()
+            ? Path.of(System.getProperty("java.io.tmpdir"), "sabang-sparrow-work")
+            : Path.of(workspace.root()));
+    }
+
+    /**
+     * 이전 실행에서 정리되지 못한 작업 디렉터리를 지웁니다. 재시작 전에 실행 중이던 Job은 이어서 실행되지 않습니다.
+     * 이 서버 인스턴스 번호의 디렉터리만 비우므로, 같은 호스트에서 실행 중인 다른 서버의 작업 디렉터리는 건드리지 않습니다.
+     */
+    @PostConstruct
+    public void cleanUpStaleWorkspaces() {
+        if (!isolated || !Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> stale = Files.list(root)) {
+            stale.forEach(this::deleteTree);
+        } catch (IOException ex) {
+            log.warn("Failed to clean up SPARROW workspace root {}", root, ex);
+        }
+    }
+
+    /**
+     * Job 작업 디렉터리를 만듭니다.
+     *
+     * @param jobId      Job ID (디렉터리 이름)
+     * @param clientPath 요청의 SPARROW 클라이언트 경로
+     */
+    public Workspace create(String jobId, String clientPath) {
+        Path client = Path.of(clientPath).toAbsolutePath().normalize();
+        Path installDirectory = client.getParent();
+        if (installDirectory == null) {
+            throw new SparrowExecutionException("Client path must include a parent directory");
+        }
+        Instant createdAt = Instant.now();
+        if (!isolated) {
+            return new Workspace(installDirectory, client, false, createdAt);
+        }
+
+        Path directory = root.resolve(jobId);
+        try {
+            Files.createDirectories(directory);
+            linkInstallation(installDirectory, directory);
+            return new Workspace(directory, directory.resolve(client.getFileName()), true, createdAt);
+        } catch (IOException | UnsupportedOperationException ex) {
+            log.warn("Cannot create SPARROW workspace {}, running in {} instead", directory, installDirectory, ex);
+            deleteTree(directory);
+            return new Workspace(installDirectory, client, false, createdAt);
+        }
+    }
+
+    private void linkInstallation(Path installDirectory, Path directory) throws IOException {
+        try (Stream<Path> entries = Files.list(installDirectory)) {
+            for (Path entry : entries.toList()) {
+                String name = entry.getFileName().toString();
+                if (REPORT_DIRECTORY.equals(name) && Files.isDirectory(entry)) {
+                    linkReportDirectory(entry, directory.resolve(name));
+                } else {
+                    Files.createSymbolicLink(directory.resolve(name), entry);
+                }
+            }
+        }
+        Files.createDirectories(directory.resolve(REPORT_DIRECTORY).resolve(XML_DIRECTORY));
+    }
+
+    private void linkReportDirectory(Path source, Path target) throws IOException {
+        Files.createDirectories(target);
+        try (Stream<Path> entries = Files.list(source)) {
+            for (Path entry : entries.toList()) {
+                String name = entry.getFileName().toString();
+                if (!XML_DIRECTORY.equals(name)) {
+                    Files.createSymbolicLink(target.resolve(name), entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * SPARROW 클라이언트가 리포트를 쓰는 디렉터리 ({@code sparrow/xml_files})
+     */
+    public Path reportDirectory(Workspace workspace) {
+        return workspace.directory().resolve(REPORT_DIRECTORY).resolve(XML_DIRECTORY);
+    }
+
+    /**
+     * Job이 만든 리포트 파일을 모두 찾습니다. 대표 리포트(기본 리포트 파일 {@code FINCH_SYN.1.0.xml}, 없으면 가장 최근 XML)가
+     * 맨 앞에 오고 나머지는 파일 이름 순입니다.
+     *
+     * @return 리포트 경로 목록, 리포트가 없으면 빈 목록
+     */
+    public List<Path> reportPaths(Workspace workspace) {
+        Path xmlDirectory = reportDirectory(workspace);
+        if (!Files.isDirectory(xmlDirectory)) {
+            return List.of();
+        }
+        // 공유 디렉터리에서는 다른 Job이 남긴 리포트를 읽지 않도록 이 Job이 시작된 뒤 수정된 파일만 봅니다.
+        long notBefore = workspace.isolated() ? Long.MIN_VALUE : workspace.createdAt().toEpochMilli() - 1_000L;
+        List<Path> reports;
+        try (Stream<Path> candidates = Files.list(xmlDirectory)) {
+            reports = candidates
+                .filter(path -> Files.isRegularFile(path) && path.getFileName().toString().endsWith(".xml"))
+                .filter(path -> lastModifiedOrZero(path) >= notBefore)
+                .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+                .collect(Collectors.toCollection(ArrayList::new));
+        } catch (IOException ex) {
+            return List.of();
+        }
+        if (reports.isEmpty()) {
+            return reports;
+        }
+        Path primary = reports.stream()
+            .filter(path -> DEFAULT_REPORT_FILE_NAME.equals(path.getFileName().toString()))
+            .findFirst()
+            .orElseGet(() -> reports.stream()
+                .max(Comparator.comparing(this::lastModifiedOrZero)
+                    .thenComparing(path -> path.getFileName().toString()))
+                .orElseThrow());
+        reports.remove(primary);
+        reports.add(0, primary);
+        return reports;
+    }
+
+    /**
+     * 리포트를 읽은 뒤 작업 디렉터리를 지웁니다. 링크만 지우고 링크가 가리키는 설치 디렉터리는 건드리지 않습니다.
+     */
+    public void release(Workspace workspace) {
+        if (workspace.isolated()) {
+            deleteTree(workspace.directory());
+        }
+    }
+
+    private void deleteTree(Path directory) {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        // Files.walk는 심볼릭 링크를 따라가지 않습니다.
+        try (Stream<Path> paths = Files.walk(directory)) {
+            List<Path> ordered = paths.sorted(Comparator.reverseOrder()).toList();
+            for (Path path : ordered) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to delete SPARROW workspace {}", directory, ex);
+        }
+    }
+
+    private long lastModifiedOrZero(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException ex) {
+            return 0L;
+        }
+    }
+
+    /**
+     * Job 작업 디렉터리
+     *
+     * @param directory  SPARROW 클라이언트를 실행할 디렉터리
+     * @param clientPath 실행할 클라이언트 경로 (작업 디렉터리 안의 링크)
+     * @param isolated   Job 전용 디렉터리 여부. false면 클라이언트 설치 디렉터리를 그대로 사용
+     * @param createdAt  작업 디렉터리를 만든 시각
+     */
+    public record Workspace(Path directory, Path clientPath, boolean isolated, Instant createdAt) {
+
+    }
+}
@@ -0,0 +1,37 @@
+package com.mcp_server.sabang.tool;
+
+import com.mcp_server.sabang.dto.ReviewPipelineRequest;
+import com.mcp_server.sabang.dto.ReviewPipelineResponse;
+import com.mcp_server.sabang.dto.ReviewPipelineStatusRequest;
+import com.mcp_server.sabang.dto.ReviewSourcesRequest;
+import com.mcp_server.sabang.dto.ReviewSourcesResponse;
+import com.mcp_server.sabang.service.ReviewPipelineService;
+import com.mcp_server.sabang.service.ReviewSourceService;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReviewPipelineTools {
+    private final ReviewPipelineService reviewPipelineService;
+    private final ReviewSourceService reviewSourceService;
+
+    public ReviewPipelineTools(ReviewPipelineService reviewPipelineService, ReviewSourceService reviewSourceService) {
+        this.reviewPipelineService = reviewPipelineService;
+        this.reviewSourceService = reviewSourceService;
+    }
+
+    @McpTool(name="review-pipeline", description="Review a GitLab MR or Bitbucket PR in one call: fetch its diff, resolve changed Java files under repositoryRoot (or fetch them at the head commit when omitted), run SPARROW, map issues to diff lines and optionally post line comments. Returns a pipelineId immediately; poll review-pipeline-status for per-stage timings", generateOutputSchema=true)
+    public ReviewPipelineResponse startPipeline(ReviewPipelineRequest request) {
+        return this.reviewPipelineService.start(request);
+    }
+
+    @McpTool(name="review-pipeline-status", description="Get a review pipeline's status, counts and per-stage timings by pipelineId", generateOutputSchema=true)
+    public ReviewPipelineResponse getPipelineStatus(ReviewPipelineStatusRequest request) {
+        return this.reviewPipelineService.getStatus(request);
+    }
+
+    @McpTool(name="review-sources-fetch", description="Fetch a GitLab MR or Bitbucket PR's changed files at its head commit into the server's source cache, without a local checkout. The returned absolute paths can be passed as sparrow-analyze changedFiles; files already cached for that commit are not downloaded again", generateOutputSchema=true)
+    public ReviewSourcesResponse fetchSources(ReviewSourcesRequest request) {
+        return this.reviewSourceService.fetch(request);
+    }
+}
@@ -1,28 +1,68 @@
 package com.mcp_server.sabang.tool;
 
+import com.mcp_server.sabang.dto.SparrowAnalyzeBaselineRequest;
+import com.mcp_server.sabang.dto.SparrowAnalyzeBaselineResponse;
+import com.mcp_server.sabang.dto.SparrowAnalyzeDiffRequest;
+import com.mcp_server.sabang.dto.SparrowAnalyzeDiffResponse;
+import com.mcp_server.sabang.dto.SparrowAnalyzeJobCancelRequest;
+import com.mcp_server.sabang.dto.SparrowAnalyzeJobCancelResponse;
+import com.mcp_server.sabang.dto.SparrowAnalyzeLogRequest;
+import com.mcp_server.sabang.dto.SparrowAnalyzeLogResponse;
 import com.mcp_server.sabang.dto.SparrowAnalyzeRequest;
 import com.mcp_server.sabang.dto.SparrowAnalyzeJobStatusRequest;
 import com.mcp_server.sabang.dto.SparrowAnalyzeJobStatusResponse;
 import com.mcp_server.sabang.dto.SparrowAnalyzeJobSubmitResponse;
 import com.mcp_server.sabang.service.SparrowAnalyzeService;
+import com.mcp_server.sabang.service.SparrowDiffService;
+import com.mcp_server.sabang.sparrow.SparrowJobNotifier;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import org.springaicommunity.mcp.annotation.McpProgressToken;
 import org.springaicommunity.mcp.annotation.McpTool;
 import org.springframework.stereotype.Component;
 
 @Component
 public class SparrowTools {
     private final SparrowAnalyzeService sparrowAnalyzeService;
+    private final SparrowJobNotifier sparrowJobNotifier;
+    private final SparrowDiffService sparrowDiffService;
 
-    public SparrowTools(SparrowAnalyzeService sparrowAnalyzeService) {
+    public SparrowTools(SparrowAnalyzeService sparrowAnalyzeService, SparrowJobNotifier sparrowJobNotifier,
+        SparrowDiffService sparrowDiffService) {
         this.sparrowAnalyzeService = sparrowAnalyzeService;
+        this.sparrowJobNotifier = sparrowJobNotifier;
+        this.sparrowDiffService = sparrowDiffService;
     }
 
-    @McpTool(name="sparrow-analyze", description="Submit SPARROW static analysis job", generateOutputSchema=true)
-    public SparrowAnalyzeJobSubmitResponse submitAnalyze(SparrowAnalyzeRequest request) {
-        return this.sparrowAnalyzeService.submitAnalyze(request);
+    @McpTool(name="sparrow-analyze", description="Submit SPARROW static analysis job. Job state changes and progress are pushed as 'sparrow-job' logging notifications", generateOutputSchema=true)
+    public SparrowAnalyzeJobSubmitResponse submitAnalyze(McpSyncServerExchange exchange, SparrowAnalyzeRequest request) {
+        return this.sparrowAnalyzeService.submitAnalyze(request, sparrowJobNotifier.sessionListener(exchange));
     }
 
     @McpTool(name="sparrow-analyze-status", description="Get SPARROW analysis job status by jobId", generateOutputSchema=true)
-    public SparrowAnalyzeJobStatusResponse getAnalyzeStatus(SparrowAnalyzeJobStatusRequest request) {
-        return this.sparrowAnalyzeService.getJobStatus(request.jobId(), request.waitSeconds());
+    public SparrowAnalyzeJobStatusResponse getAnalyzeStatus(McpSyncServerExchange exchange,
+        @McpProgressToken String progressToken, SparrowAnalyzeJobStatusRequest request) {
+        return this.sparrowAnalyzeService.getJobStatus(
+            request, sparrowJobNotifier.progressListener(exchange, progressToken)
+        );
+    }
+
+    @McpTool(name="sparrow-analyze-cancel", description="Cancel a queued or running SPARROW analysis job and stop its process tree", generateOutputSchema=true)
+    public SparrowAnalyzeJobCancelResponse cancelAnalyze(SparrowAnalyzeJobCancelRequest request) {
+        return this.sparrowAnalyzeService.cancelJob(request.jobId());
+    }
+
+    @McpTool(name="sparrow-analyze-log", description="Read a slice of a SPARROW analysis job's stdout/stderr log from a byte offset or line number; pass the returned nextOffset or nextLine to fetch only new lines", generateOutputSchema=true)
+    public SparrowAnalyzeLogResponse readAnalyzeLog(SparrowAnalyzeLogRequest request) {
+        return this.sparrowAnalyzeService.readLog(request);
+    }
+
+    @McpTool(name="sparrow-analyze-baseline", description="Record a finished SPARROW job as its project's baseline, or look up or clear a project's baseline. sparrow-analyze-status with baseline=NEW or RESOLVED then returns only issues that differ from it", generateOutputSchema=true)
+    public SparrowAnalyzeBaselineResponse analyzeBaseline(SparrowAnalyzeBaselineRequest request) {
+        return this.sparrowAnalyzeService.baseline(request);
+    }
+
+    @McpTool(name="sparrow-analyze-diff", description="Map a SPARROW job's issues onto a GitLab MR or Bitbucket PR diff. Each issue comes back with the path, line and lineType to pass to the line comment tool, or inDiff=false when its line is outside the diff", generateOutputSchema=true)
+    public SparrowAnalyzeDiffResponse mapAnalyzeDiff(SparrowAnalyzeDiffRequest request) {
+        return this.sparrowDiffService.mapIssues(request);
     }
 }
@@ -0,0 +1,51 @@
+package com.mcp_server.sabang.diff;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DiffPathTrieTest {
+
+    @Test
+    void separatesSameFileNameInDifferentDirectories() {
+        DiffPathTrie trie = new DiffPathTrie();
+        trie.add("src/main/java/Foo.java");
+        trie.add("src/test/java/Foo.java");
+
+        assertEquals("src/main/java/Foo.java", trie.resolve("/work/repo/src/main/java/Foo.java"));
+        assertEquals("src/test/java/Foo.java", trie.resolve("/work/repo/src/test/java/Foo.java"));
+        assertEquals("src/test/java/Foo.java", trie.resolve("C:\\work\\repo\\src\\test\\java\\Foo.java"));
+        // 파일 이름만 같으면 어느 쪽인지 알 수 없습니다.
+        assertNull(trie.resolve("/work/repo/Foo.java"));
+        assertNull(trie.resolve("/work/repo/src/other/java/Foo.java"));
+    }
+
+    @Test
+    void prefersLongestMatchingSuffix() {
+        DiffPathTrie trie = new DiffPathTrie();
+        trie.add("Foo.java");
+        trie.add("module/Foo.java");
+
+        assertEquals("module/Foo.java", trie.resolve("/checkout/module/Foo.java"));
+        assertEquals("Foo.java", trie.resolve("/checkout/Foo.java"));
+        assertEquals("Foo.java", trie.resolve("Foo.java"));
+        assertNull(trie.resolve(null));
+        assertNull(trie.resolve("/"));
+    }
+
+    @Test
+    void indexLocatesLinesThroughResolvedPath() {
+        DiffFile main = DiffFile.builder("src/main/java/Foo.java").add(DiffLineType.ADDED, 5, 0).build();
+        DiffFile test = DiffFile.builder("src/test/java/Foo.java").add(DiffLineType.CONTEXT, 5, 4).build();
+        DiffIndex index = DiffIndex.of(List.of(main, test));
+
+        assertEquals(new DiffLocation("src/main/java/Foo.java", 5, DiffLineType.ADDED, null),
+            index.locate("/tmp/sources/repo/abc/src/main/java/Foo.java", 5));
+        assertEquals(new DiffLocation("src/test/java/Foo.java", 5, DiffLineType.CONTEXT, 4),
+            index.locate("/tmp/sources/repo/abc/src/test/java/Foo.java", 5));
+        assertNull(index.locate("/tmp/sources/repo/abc/src/test/java/Foo.java", 6));
+        assertNull(index.locate("/tmp/sources/repo/abc/src/test/java/Foo.java", null));
+    }
+}
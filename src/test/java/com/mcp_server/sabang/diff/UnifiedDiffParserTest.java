@@ -0,0 +1,93 @@
+package com.mcp_server.sabang.diff;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+class UnifiedDiffParserTest {
+
+    private final UnifiedDiffParser parser = new UnifiedDiffParser();
+
+    @Test
+    void hunkHeaderWithoutCountsMeansOneLine() {
+        DiffFile file = parser.parse("A.java", """
+            @@ -3 +3 @@
+            -old
+            +new
+            @@ -10,0 +11 @@
+            +appended
+            """);
+
+        assertEquals(new DiffLocation("A.java", 3, DiffLineType.ADDED, null), file.locate(3));
+        assertNull(file.locate(4));
+        assertEquals(new DiffLocation("A.java", 11, DiffLineType.ADDED, null), file.locate(11));
+        assertEquals(2, file.intervalCount());
+    }
+
+    @Test
+    void removedLinesStartingWithDashesStayInsideHunk() {
+        DiffFile file = parser.parse("A.java", """
+            @@ -1,3 +1,3 @@
+             keep
+            --- looks like a file header
+            -- also removed
+            +++ looks like a file header
+            +added
+            @@ -10 +10 @@
+             later
+            """);
+
+        assertEquals(new DiffLocation("A.java", 1, DiffLineType.CONTEXT, 1), file.locate(1));
+        assertEquals(new DiffLocation("A.java", 2, DiffLineType.ADDED, null), file.locate(2));
+        assertEquals(new DiffLocation("A.java", 3, DiffLineType.ADDED, null), file.locate(3));
+        assertNull(file.locate(4));
+        assertEquals(new DiffLocation("A.java", 10, DiffLineType.CONTEXT, 10), file.locate(10));
+    }
+
+    @Test
+    void noNewlineMarkerIsNotALine() {
+        DiffFile file = parser.parse("A.java", """
+            @@ -1,2 +1,2 @@
+             a
+            -b
+            \\ No newline at end of file
+            +b
+            \\ No newline at end of file
+            """);
+
+        assertEquals(new DiffLocation("A.java", 1, DiffLineType.CONTEXT, 1), file.locate(1));
+        assertEquals(new DiffLocation("A.java", 2, DiffLineType.ADDED, null), file.locate(2));
+        assertNull(file.locate(3));
+        assertEquals(2, file.intervalCount());
+    }
+
+    @Test
+    void contextIntervalsFollowOldLineDrift() {
+        DiffFile file = parser.parse("A.java", """
+            @@ -1,5 +1,5 @@
+             a
+             b
+            +x
+             c
+            -removed
+             d
+            """);
+
+        assertEquals(Integer.valueOf(2), file.locate(2).oldLine());
+        assertEquals(DiffLineType.ADDED, file.locate(3).lineType());
+        assertEquals(Integer.valueOf(3), file.locate(4).oldLine());
+        // 새 파일에서는 이어지지만 사이에 삭제된 줄이 있으므로 구간을 나눕니다.
+        assertEquals(Integer.valueOf(5), file.locate(5).oldLine());
+        assertEquals(4, file.intervalCount());
+    }
+
+    @Test
+    void handlesCrLfAndEmptyDiff() {
+        DiffFile file = parser.parse("A.java", "@@ -1,2 +1,2 @@\r\n a\r\n-b\r\n+c\r\n");
+
+        assertEquals(new DiffLocation("A.java", 2, DiffLineType.ADDED, null), file.locate(2));
+        assertEquals(0, parser.parse("B.java", "").intervalCount());
+        assertNull(parser.parse("B.java", null).locate(1));
+    }
+}
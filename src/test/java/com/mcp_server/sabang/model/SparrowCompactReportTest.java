@@ -0,0 +1,63 @@
+package com.mcp_server.sabang.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mcp_server.sabang.dto.SparrowAnalyzeIssue;
+import com.mcp_server.sabang.dto.SparrowAnalyzeReport;
+import com.mcp_server.sabang.dto.SparrowAnalyzeSummary;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 열 단위로 압축한 리포트가 원래 이슈를 그대로 되돌리는지 확인합니다. 숫자로 저장할 수 없는 localId와 값이 없는 필드를 함께 넣습니다.
+ */
+class SparrowCompactReportTest {
+
+    static final List<SparrowAnalyzeIssue> ISSUES = List.of(
+        issue("1", "NULL_DEREFERENCE", "/src/A.java", 12, true),
+        issue("007", "NULL_DEREFERENCE", "/src/A.java", 30, true),
+        issue("-3", "RESOURCE_LEAK", "/src/한글/B.java", null, false),
+        issue("1234567890", "RESOURCE_LEAK", "", 0, false),
+        issue("A-1", "", "/src/A.java", 7, null),
+        issue(null, null, null, null, null),
+        new SparrowAnalyzeIssue("", "RULE", "/src/C.java", Integer.MAX_VALUE, "f(int)", "C", "TAG", "d.1", true,
+            "reason", "FINCH_SYN.2.0.xml")
+    );
+
+    @Test
+    void issuesRoundTrip() {
+        SparrowCompactReport compact = SparrowCompactReport.of(new SparrowAnalyzeReport("/work/FINCH_SYN.1.0.xml",
+            summary(), ISSUES));
+
+        assertEquals(ISSUES.size(), compact.size());
+        for (int i = 0; i < ISSUES.size(); i++) {
+            SparrowAnalyzeIssue expected = ISSUES.get(i);
+            assertEquals(expected, compact.issue(i), "issue " + i);
+            assertEquals(expected.rule(), compact.rule(i));
+            assertEquals(expected.file(), compact.file(i));
+            assertEquals(Boolean.TRUE.equals(expected.lineReviewRecommended()), compact.lineReviewRecommended(i));
+        }
+        assertEquals("/work/FINCH_SYN.1.0.xml", compact.reportPath());
+        assertEquals(summary(), compact.summary());
+    }
+
+    @Test
+    void emptyReportHasNoIssues() {
+        SparrowCompactReport empty = SparrowCompactReport.empty();
+
+        assertEquals(0, empty.size());
+        assertEquals(0, empty.summary().totalAlarms());
+    }
+
+    static SparrowAnalyzeSummary summary() {
+        return new SparrowAnalyzeSummary(ISSUES.size(), 3, Map.of("NULL_DEREFERENCE", 2, "RESOURCE_LEAK", 2),
+            Map.of("/src/A.java", 3), 4, 4);
+    }
+
+    private static SparrowAnalyzeIssue issue(String localId, String rule, String file, Integer line,
+        Boolean lineReviewRecommended) {
+        return new SparrowAnalyzeIssue(localId, rule, file, line, null, "", "DEFECT", "d." + localId,
+            lineReviewRecommended, lineReviewRecommended == null ? null : "reason", "FINCH_SYN.1.0.xml");
+    }
+}
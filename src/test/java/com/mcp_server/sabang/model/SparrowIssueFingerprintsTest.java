@@ -0,0 +1,128 @@
+package com.mcp_server.sabang.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mcp_server.sabang.dto.SparrowAnalyzeIssue;
+import com.mcp_server.sabang.dto.SparrowAnalyzeReport;
+import com.mcp_server.sabang.dto.SparrowAnalyzeResponse;
+import com.mcp_server.sabang.dto.SparrowAnalyzeSummary;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SparrowIssueFingerprintsTest {
+
+    private static final String SOURCE = "class A {\n    void run() {\n        value.toString();\n    }\n}\n";
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void checkoutsInDifferentLocationsMatch() throws IOException {
+        Path first = checkout(temp.resolve("home/dev/project"));
+        Files.createDirectories(first.resolve(".git"));
+        Path second = checkout(temp.resolve("ci/build-17/project"));
+        Files.createDirectories(second.resolve(".git"));
+
+        long[] firstValues = fingerprints(first.resolve("src/A.java"), 3).values();
+        long[] secondValues = fingerprints(second.resolve("src/A.java"), 3).values();
+
+        assertTrue(Arrays.equals(firstValues, secondValues));
+    }
+
+    @Test
+    void sourceCacheCommitsMatchWhenLinesMove() throws IOException {
+        Path oldCommit = temp.resolve("sources/repo/1111");
+        Path newCommit = temp.resolve("sources/repo/2222");
+        checkout(oldCommit);
+        Files.createFile(oldCommit.resolve(SparrowIssueFingerprints.REPOSITORY_ROOT_MARKER));
+        Files.createDirectories(newCommit.resolve("src"));
+        Files.createFile(newCommit.resolve(SparrowIssueFingerprints.REPOSITORY_ROOT_MARKER));
+        Files.writeString(newCommit.resolve("src/A.java"), "// header\n" + SOURCE);
+
+        SparrowIssueFingerprints oldFingerprints = fingerprints(oldCommit.resolve("src/A.java"), 3);
+        SparrowIssueFingerprints newFingerprints = fingerprints(newCommit.resolve("src/A.java"), 4);
+
+        assertTrue(newFingerprints.missingFrom(oldFingerprints).isEmpty());
+        // 다른 줄을 가리키면 다른 이슈입니다.
+        assertNotEquals(oldFingerprints.values()[0], fingerprints(newCommit.resolve("src/A.java"), 3).values()[0]);
+    }
+
+    @Test
+    void fingerprintsAreCapturedWhenJobFinishes() throws IOException {
+        Path repository = temp.resolve("project");
+        checkout(repository);
+        Files.createDirectories(repository.resolve(".git"));
+        Path file = repository.resolve("src/A.java");
+        long[] expected = fingerprints(file, 3).values();
+
+        SparrowJobState state = SparrowJobState.pending("job-1", "project-1", SparrowJobPriority.INTERACTIVE);
+        state.markRunning();
+        state.markSucceeded(new SparrowAnalyzeResponse("project-1", 0, "", "", report(file, 3)), true);
+        // 작업 디렉터리나 소스 캐시가 지워진 뒤 상태를 조회하는 경우
+        Files.delete(file);
+
+        assertTrue(Arrays.equals(expected, state.fingerprints(state.storedReport()).values()));
+        SparrowJobSnapshot snapshot = state.snapshot();
+        assertNotNull(snapshot.fingerprints());
+        assertTrue(Arrays.equals(expected, snapshot.fingerprints()));
+
+        SparrowJobState restored = SparrowJobState.restored("job-1", "project-1", SparrowJobPriority.INTERACTIVE,
+            "SUCCEEDED", state.createdAt(), state.startedAt(), state.finishedAt(), 0, "", "", false, () -> snapshot);
+        assertTrue(Arrays.equals(expected, restored.fingerprints(restored.storedReport()).values()));
+    }
+
+    @Test
+    void fingerprintsWaitForFirstUseWhenNotCaptured() throws IOException {
+        Path repository = temp.resolve("project");
+        checkout(repository);
+        Files.createDirectories(repository.resolve(".git"));
+        Path file = repository.resolve("src/A.java");
+
+        SparrowJobState state = SparrowJobState.pending("job-1", "project-1", SparrowJobPriority.INTERACTIVE);
+        state.markRunning();
+        state.markSucceeded(new SparrowAnalyzeResponse("project-1", 0, "", "", report(file, 3)));
+
+        assertNull(state.snapshot().fingerprints());
+        long[] computed = state.fingerprints(state.storedReport()).values();
+        assertTrue(Arrays.equals(fingerprints(file, 3).values(), computed));
+        assertTrue(Arrays.equals(computed, state.snapshot().fingerprints()));
+    }
+
+    @Test
+    void pathWithoutRepositoryRootIsUsedAsIs() throws IOException {
+        Path loose = checkout(temp.resolve("loose"));
+        Path copy = checkout(temp.resolve("copy"));
+
+        assertEquals(1, fingerprints(loose.resolve("src/A.java"), 3).size());
+        assertNotEquals(fingerprints(loose.resolve("src/A.java"), 3).values()[0],
+            fingerprints(copy.resolve("src/A.java"), 3).values()[0]);
+    }
+
+    private static Path checkout(Path root) throws IOException {
+        Files.createDirectories(root.resolve("src"));
+        Files.writeString(root.resolve("src/A.java"), SOURCE);
+        return root;
+    }
+
+    private static SparrowIssueFingerprints fingerprints(Path file, int line) {
+        return SparrowIssueFingerprints.of(SparrowCompactReport.of(report(file, line)));
+    }
+
+    private static SparrowAnalyzeReport report(Path file, int line) {
+        SparrowAnalyzeIssue issue = new SparrowAnalyzeIssue("1", "NULL_DEREFERENCE", file.toString(), line, "run()",
+            "A", "DEFECT", "d.1", true, "Potential defect location from SPARROW alarm", "FINCH_SYN.1.0.xml");
+        SparrowAnalyzeSummary summary = new SparrowAnalyzeSummary(1, 1, Map.of("NULL_DEREFERENCE", 1),
+            Map.of(file.toString(), 1), 1, 1);
+        return new SparrowAnalyzeReport("FINCH_SYN.1.0.xml", summary, List.of(issue));
+    }
+}
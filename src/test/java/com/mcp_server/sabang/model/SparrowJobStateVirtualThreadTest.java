@@ -0,0 +1,80 @@
+package com.mcp_server.sabang.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@code sparrow-analyze-status}의 {@code waitSeconds}는 Job마다 여러 클라이언트가 동시에 기다리는 경로입니다. 가상 스레드에서
+ * 기다리는 동안 캐리어 스레드를 붙잡으면(pinning) 캐리어 수만큼만 기다릴 수 있으므로, 캐리어 수보다 훨씬 많은 가상 스레드로 기다려 봅니다.
+ */
+class SparrowJobStateVirtualThreadTest {
+
+    private static final int WAITERS = 1000;
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void waitersDoNotPinCarrierThreads() throws Exception {
+        SparrowJobState state = SparrowJobState.pending("job-1", "project-1", SparrowJobPriority.INTERACTIVE);
+        Path dump = temp.resolve("pinned.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            CountDownLatch waiting = new CountDownLatch(WAITERS);
+            List<Thread> waiters = new ArrayList<>(WAITERS);
+            for (int i = 0; i < WAITERS; i++) {
+                waiters.add(Thread.ofVirtual().start(() -> {
+                    waiting.countDown();
+                    try {
+                        state.awaitTerminal(TimeUnit.MINUTES.toMillis(1));
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+            }
+            // 캐리어가 붙잡혀 있으면 나머지 가상 스레드는 시작하지도 못합니다.
+            assertTrue(waiting.await(10, TimeUnit.SECONDS), "virtual waiters could not all start");
+            Thread probe = Thread.ofVirtual().start(() -> { });
+            assertTrue(probe.join(Duration.ofSeconds(10)), "carrier threads are blocked by waiters");
+
+            state.markRunning();
+            state.markCancelled("done");
+            for (Thread waiter : waiters) {
+                assertTrue(waiter.join(Duration.ofSeconds(10)), "waiter was not woken up");
+            }
+            assertEquals("CANCELLED", state.status());
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<String> pinnedFrames = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+            if (event.getStackTrace() == null) {
+                continue;
+            }
+            for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+                String type = frame.getMethod().getType().getName();
+                if (type.startsWith("com.mcp_server.")) {
+                    pinnedFrames.add(type + "." + frame.getMethod().getName());
+                }
+            }
+        }
+        assertTrue(pinnedFrames.isEmpty(), "virtual threads pinned in " + pinnedFrames);
+    }
+}
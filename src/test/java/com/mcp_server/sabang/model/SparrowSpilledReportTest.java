@@ -0,0 +1,65 @@
+package com.mcp_server.sabang.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.mcp_server.sabang.dto.SparrowAnalyzeIssue;
+import com.mcp_server.sabang.dto.SparrowAnalyzeReport;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 압축 리포트를 파일로 옮긴 뒤 메모리 매핑으로 다시 열었을 때 이슈와 출력이 그대로인지 확인합니다.
+ */
+class SparrowSpilledReportTest {
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void writeThenOpenReturnsSameIssuesAndOutput() throws IOException {
+        SparrowCompactReport compact = SparrowCompactReport.of(new SparrowAnalyzeReport("/work/FINCH_SYN.1.0.xml",
+            SparrowCompactReportTest.summary(), SparrowCompactReportTest.ISSUES));
+        Path file = temp.resolve("spill/job-1.bin");
+
+        SparrowSpilledReport written = SparrowSpilledReport.write(file, compact, "분석 완료\n", "warning: x");
+        SparrowSpilledReport reopened = SparrowSpilledReport.open(file, compact.reportPath(), compact.summary());
+
+        for (SparrowSpilledReport spilled : new SparrowSpilledReport[] {written, reopened}) {
+            assertEquals(compact.size(), spilled.size());
+            for (int i = 0; i < compact.size(); i++) {
+                SparrowAnalyzeIssue expected = SparrowCompactReportTest.ISSUES.get(i);
+                assertEquals(expected, spilled.issue(i), "issue " + i);
+                assertEquals(compact.rule(i), spilled.rule(i));
+                assertEquals(compact.file(i), spilled.file(i));
+                assertEquals(compact.lineReviewRecommended(i), spilled.lineReviewRecommended(i));
+            }
+            assertEquals("분석 완료\n", spilled.output());
+            assertEquals("warning: x", spilled.error());
+            assertEquals(compact.reportPath(), spilled.reportPath());
+            assertEquals(compact.summary(), spilled.summary());
+        }
+    }
+
+    @Test
+    void emptyReportWithoutOutputRoundTrips() throws IOException {
+        Path file = temp.resolve("empty.bin");
+
+        SparrowSpilledReport spilled = SparrowSpilledReport.write(file, SparrowCompactReport.empty(), null, null);
+
+        assertEquals(0, spilled.size());
+        assertEquals("", spilled.output());
+        assertEquals("", spilled.error());
+    }
+
+    @Test
+    void openRejectsForeignFile() throws IOException {
+        Path file = Files.write(temp.resolve("other.bin"), new byte[64]);
+
+        assertThrows(IllegalStateException.class,
+            () -> SparrowSpilledReport.open(file, "", SparrowCompactReport.empty().summary()));
+    }
+}
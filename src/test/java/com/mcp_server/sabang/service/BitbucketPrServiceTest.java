@@ -0,0 +1,80 @@
+package com.mcp_server.sabang.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mcp_server.sabang.bitbucket.BitbucketApiClient;
+import com.mcp_server.sabang.bitbucket.BitbucketPrUrlParser;
+import com.mcp_server.sabang.bitbucket.BitbucketResponseValidator;
+import com.mcp_server.sabang.config.JacksonConfig;
+import com.mcp_server.sabang.config.WorkerThreads;
+import com.mcp_server.sabang.dto.BitbucketPrGetRequest;
+import com.mcp_server.sabang.dto.ReviewLineComment;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BitbucketPrServiceTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    @Test
+    void readsAnchoredCommentsFromAllActivityPages() {
+        List<String> requestedPaths = new ArrayList<>();
+        ObjectNode firstPage = page(false, 2);
+        ArrayNode firstValues = (ArrayNode) firstPage.get("values");
+        firstValues.add(activity("COMMENTED", "**SPARROW: NULL_DEREFERENCE**", "src/A.java", 12, "TO"));
+        firstValues.add(activity("APPROVED", null, null, 0, null));
+        ObjectNode secondPage = page(true, -1);
+        ArrayNode secondValues = (ArrayNode) secondPage.get("values");
+        secondValues.add(activity("COMMENTED", "on the old file", "src/A.java", 3, "FROM"));
+        secondValues.add(activity("COMMENTED", "general comment", null, 0, null));
+        secondValues.add(activity("COMMENTED", "**SPARROW: LEAK**", "src/B.java", 5, "TO"));
+        BitbucketApiClient apiClient = new BitbucketApiClient(objectMapper, new WorkerThreads(false)) {
+            @Override
+            public JsonNode get(String baseUrl, String path, String personalAccessToken) {
+                requestedPaths.add(path);
+                return path.contains("start=0") ? firstPage : secondPage;
+            }
+        };
+        BitbucketPrService service = new BitbucketPrService(new BitbucketPrUrlParser(), apiClient,
+            new BitbucketResponseValidator(), objectMapper);
+
+        List<ReviewLineComment> comments = service.getLineComments(new BitbucketPrGetRequest(
+            "https://bitbucket.example.com/projects/PRJ/repos/repo/pull-requests/7", "token"));
+
+        assertEquals(2, requestedPaths.size());
+        assertEquals(List.of(
+            new ReviewLineComment("src/A.java", 12, "**SPARROW: NULL_DEREFERENCE**"),
+            new ReviewLineComment("src/B.java", 5, "**SPARROW: LEAK**")
+        ), comments);
+    }
+
+    private ObjectNode page(boolean lastPage, int nextPageStart) {
+        ObjectNode page = objectMapper.createObjectNode();
+        page.putArray("values");
+        page.put("isLastPage", lastPage);
+        if (nextPageStart >= 0) {
+            page.put("nextPageStart", nextPageStart);
+        }
+        return page;
+    }
+
+    private ObjectNode activity(String action, String text, String path, int line, String fileType) {
+        ObjectNode activity = objectMapper.createObjectNode();
+        activity.put("action", action);
+        if (text != null) {
+            activity.putObject("comment").put("text", text);
+        }
+        if (path != null) {
+            ObjectNode anchor = activity.putObject("commentAnchor");
+            anchor.put("path", path);
+            anchor.put("line", line);
+            anchor.put("fileType", fileType);
+        }
+        return activity;
+    }
+}
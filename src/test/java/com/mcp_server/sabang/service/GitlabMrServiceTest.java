@@ -0,0 +1,65 @@
+package com.mcp_server.sabang.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mcp_server.sabang.config.JacksonConfig;
+import com.mcp_server.sabang.config.WorkerThreads;
+import com.mcp_server.sabang.diff.UnifiedDiffParser;
+import com.mcp_server.sabang.dto.GitlabMrGetRequest;
+import com.mcp_server.sabang.dto.ReviewLineComment;
+import com.mcp_server.sabang.gitlab.GitlabApiClient;
+import com.mcp_server.sabang.gitlab.GitlabMrUrlParser;
+import com.mcp_server.sabang.gitlab.GitlabResponseValidator;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class GitlabMrServiceTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    @Test
+    void readsLineCommentsFromAllDiscussionPages() {
+        List<String> requestedPaths = new ArrayList<>();
+        ArrayNode firstPage = objectMapper.createArrayNode();
+        for (int i = 1; i <= 100; i++) {
+            firstPage.add(discussion("**SPARROW: RULE_" + i + "**", "src/A.java", i));
+        }
+        ArrayNode secondPage = objectMapper.createArrayNode();
+        secondPage.add(discussion("general comment", null, 0));
+        secondPage.add(discussion("**SPARROW: LAST**", "src/B.java", 7));
+        GitlabApiClient apiClient = new GitlabApiClient(objectMapper, new WorkerThreads(false)) {
+            @Override
+            public JsonNode get(String baseUrl, String path, String personalAccessToken) {
+                requestedPaths.add(path);
+                return path.endsWith("page=1") ? firstPage : secondPage;
+            }
+        };
+        GitlabMrService service = new GitlabMrService(new GitlabMrUrlParser(), apiClient,
+            new GitlabResponseValidator(), objectMapper, new UnifiedDiffParser());
+
+        List<ReviewLineComment> comments = service.getLineComments(
+            new GitlabMrGetRequest("https://gitlab.example.com/group/project/-/merge_requests/3", "token"));
+
+        assertEquals(2, requestedPaths.size());
+        assertEquals(101, comments.size());
+        assertEquals(new ReviewLineComment("src/A.java", 1, "**SPARROW: RULE_1**"), comments.get(0));
+        assertEquals(new ReviewLineComment("src/B.java", 7, "**SPARROW: LAST**"), comments.get(100));
+    }
+
+    private ObjectNode discussion(String body, String path, int line) {
+        ObjectNode discussion = objectMapper.createObjectNode();
+        ObjectNode note = discussion.putArray("notes").addObject();
+        note.put("body", body);
+        if (path != null) {
+            ObjectNode position = note.putObject("position");
+            position.put("new_path", path);
+            position.put("new_line", line);
+        }
+        return discussion;
+    }
+}
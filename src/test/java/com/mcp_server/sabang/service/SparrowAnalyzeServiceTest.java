@@ -0,0 +1,245 @@
+package com.mcp_server.sabang.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mcp_server.sabang.config.JacksonConfig;
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.config.WorkerThreads;
+import com.mcp_server.sabang.dto.SparrowAnalyzeJobStatusRequest;
+import com.mcp_server.sabang.dto.SparrowAnalyzeJobStatusResponse;
+import com.mcp_server.sabang.dto.SparrowAnalyzeJobSubmitResponse;
+import com.mcp_server.sabang.dto.SparrowAnalyzeRequest;
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import com.mcp_server.sabang.model.SparrowJobPriority;
+import com.mcp_server.sabang.sparrow.SparrowBaselineStore;
+import com.mcp_server.sabang.sparrow.SparrowInFlightJobs;
+import com.mcp_server.sabang.sparrow.SparrowInstanceSlot;
+import com.mcp_server.sabang.sparrow.SparrowJobJournal;
+import com.mcp_server.sabang.sparrow.SparrowJobLogs;
+import com.mcp_server.sabang.sparrow.SparrowJobRegistry;
+import com.mcp_server.sabang.sparrow.SparrowJobScheduler;
+import com.mcp_server.sabang.sparrow.SparrowProcessRegistry;
+import com.mcp_server.sabang.sparrow.SparrowReportParser;
+import com.mcp_server.sabang.sparrow.SparrowReportSpiller;
+import com.mcp_server.sabang.sparrow.SparrowResultCache;
+import com.mcp_server.sabang.sparrow.SparrowShardPlanner;
+import com.mcp_server.sabang.sparrow.SparrowWorkspaceManager;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 셸 스크립트로 만든 가짜 SPARROW 클라이언트를 실제로 실행하여 Job 결과를 확인합니다. 스케줄러는 제출된 Job ID를 기록하며,
+ * {@link #holdJobs}가 켜져 있으면 Job을 실행하지 않습니다.
+ */
+class SparrowAnalyzeServiceTest {
+
+    private static final String REPORT = """
+        <?xml version="1.0" encoding="UTF-8"?>
+        <sparrow><alarms><alarm localId="1">
+          <defect><rule>NULL_DEREFERENCE</rule><loc><file>/src/A.java</file><line>3</line></loc></defect>
+          <events><event defect="true"><tag>DEFECT</tag><desc id="d.1"/></event></events>
+        </alarm></alarms></sparrow>
+        """;
+
+    @TempDir
+    Path temp;
+
+    private final Queue<String> submitted = new ConcurrentLinkedQueue<>();
+    private volatile boolean holdJobs;
+    private SparrowInstanceSlot slot;
+    private SparrowJobScheduler scheduler;
+    private SparrowReportParser reportParser;
+    private SparrowAnalyzeService service;
+
+    @BeforeEach
+    void setUp() {
+        SparrowProperties properties = properties();
+        WorkerThreads threads = new WorkerThreads(false);
+        slot = new SparrowInstanceSlot();
+        scheduler = new SparrowJobScheduler(properties, threads) {
+            @Override
+            public void submit(String jobId, String projectId, SparrowJobPriority priority, int slots, Runnable task) {
+                submitted.add(jobId);
+                // 실행하지 않으면 Job이 계속 PENDING으로 남습니다.
+                if (!holdJobs) {
+                    super.submit(jobId, projectId, priority, slots, task);
+                }
+            }
+        };
+        reportParser = new SparrowReportParser(properties);
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        SparrowJobLogs logs = new SparrowJobLogs(properties, slot);
+        SparrowJobRegistry jobs = new SparrowJobRegistry(properties, new SparrowJobJournal(properties, objectMapper, slot),
+            new SparrowReportSpiller(properties, slot), logs);
+        service = new SparrowAnalyzeService(scheduler, reportParser, jobs,
+            new SparrowResultCache(properties, objectMapper), new SparrowInFlightJobs(),
+            new SparrowProcessRegistry(properties, threads), new SparrowWorkspaceManager(properties, slot),
+            new SparrowShardPlanner(), logs, new SparrowBaselineStore(properties), properties, threads);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+        reportParser.shutdown();
+        slot.release();
+    }
+
+    @Test
+    void reportWrittenOutsideWorkspaceFailsJob() throws IOException {
+        // 자기 실제 경로를 기준으로 리포트를 쓰므로 작업 디렉터리가 아니라 설치 디렉터리에 리포트가 생깁니다.
+        Path client = client("""
+            #!/bin/sh
+            home=$(dirname "$(readlink -f "$0")")
+            cat > "$home/sparrow/xml_files/FINCH_SYN.1.0.xml" <<'XML'
+            %sXML
+            echo done
+            """.formatted(REPORT));
+
+        SparrowAnalyzeJobStatusResponse status = await(service.submitAnalyze(request(client), null));
+
+        assertEquals("FAILED", status.status());
+        assertTrue(status.message().contains("wrote no report"), status.message());
+    }
+
+    @Test
+    void reportWrittenInWorkspaceSucceeds() throws IOException {
+        Path client = client("""
+            #!/bin/sh
+            cat > "$(dirname "$0")/sparrow/xml_files/FINCH_SYN.1.0.xml" <<'XML'
+            %sXML
+            """.formatted(REPORT));
+
+        SparrowAnalyzeJobStatusResponse status = await(service.submitAnalyze(request(client), null));
+
+        assertEquals("SUCCEEDED", status.status(), status.message());
+        assertEquals(1, status.report().summary().totalAlarms());
+    }
+
+    @Test
+    void cursorIsRejectedWhenFiltersChange() throws IOException {
+        String report = REPORT.replace("</alarm></alarms>", """
+            </alarm><alarm localId="2">
+              <defect><rule>NULL_DEREFERENCE</rule><loc><file>/src/B.java</file><line>5</line></loc></defect>
+              <events><event defect="true"><tag>DEFECT</tag><desc id="d.2"/></event></events>
+            </alarm></alarms>""");
+        Path client = client("""
+            #!/bin/sh
+            cat > "$(dirname "$0")/sparrow/xml_files/FINCH_SYN.1.0.xml" <<'XML'
+            %sXML
+            """.formatted(report));
+        String jobId = await(service.submitAnalyze(request(client), null)).jobId();
+
+        SparrowAnalyzeJobStatusResponse first = page(jobId, null, null);
+        assertEquals(2, first.matchedIssueCount());
+
+        SparrowExecutionException changed = assertThrows(SparrowExecutionException.class,
+            () -> page(jobId, first.nextCursor(), "/src/B"));
+        assertTrue(changed.getMessage().contains("changed since the first page"), changed.getMessage());
+
+        SparrowAnalyzeJobStatusResponse second = page(jobId, first.nextCursor(), null);
+        assertEquals("/src/B.java", second.report().details().getFirst().file());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void concurrentIdenticalSubmissionsShareOneJob() throws Exception {
+        holdJobs = true;
+        SparrowAnalyzeRequest request = request(client("#!/bin/sh\n"));
+        int clients = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<SparrowAnalyzeJobSubmitResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return service.submitAnalyze(request, null);
+                }));
+            }
+            start.countDown();
+            Set<String> jobIds = new HashSet<>();
+            int coalesced = 0;
+            for (Future<SparrowAnalyzeJobSubmitResponse> future : futures) {
+                SparrowAnalyzeJobSubmitResponse response = future.get(10, TimeUnit.SECONDS);
+                jobIds.add(response.jobId());
+                coalesced += response.coalesced() ? 1 : 0;
+            }
+
+            assertEquals(1, jobIds.size());
+            assertEquals(clients - 1, coalesced);
+            assertEquals(List.copyOf(jobIds), List.copyOf(submitted));
+            assertEquals("PENDING", service.getJobStatus(new SparrowAnalyzeJobStatusRequest(jobIds.iterator().next(),
+                0, true, null, null, null, null, null, null, null, null), null).status());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Path client(String script) throws IOException {
+        Path installation = temp.resolve("client");
+        Files.createDirectories(installation.resolve("sparrow/xml_files"));
+        Path client = installation.resolve("sparrow-client.sh");
+        Files.writeString(client, script);
+        Files.setPosixFilePermissions(client, PosixFilePermissions.fromString("rwxr-xr-x"));
+        return client;
+    }
+
+    private SparrowAnalyzeRequest request(Path client) throws IOException {
+        Path changed = temp.resolve("src/A.java");
+        Files.createDirectories(changed.getParent());
+        Files.writeString(changed, "class A {}\n");
+        Path password = temp.resolve("password");
+        Files.writeString(password, "secret");
+        return new SparrowAnalyzeRequest("https://sparrow.example", client.toString(), password.toString(),
+            "project-1", "reviewer", List.of(changed.toString()), null, null, null, null);
+    }
+
+    private SparrowAnalyzeJobStatusResponse await(SparrowAnalyzeJobSubmitResponse submitted) {
+        return service.getJobStatus(new SparrowAnalyzeJobStatusRequest(submitted.jobId(), 30, false, null, null, null,
+            null, null, null, null, null), null);
+    }
+
+    private SparrowAnalyzeJobStatusResponse page(String jobId, String cursor, String filePrefix) {
+        return service.getJobStatus(new SparrowAnalyzeJobStatusRequest(jobId, 0, false, cursor, 1, null, filePrefix,
+            null, null, null, null), null);
+    }
+
+    private SparrowProperties properties() {
+        return new SparrowProperties(
+            new SparrowProperties.Scheduler(4, 4, 32),
+            new SparrowProperties.Retention(Duration.ofHours(1), 100, DataSize.ofMegabytes(64), 100),
+            new SparrowProperties.Journal(false, temp.resolve("journal").toString(), 10_000),
+            new SparrowProperties.Cache(true, 10, false, "", DataSize.ofMegabytes(1)),
+            new SparrowProperties.Execution(Duration.ofMinutes(1), Duration.ofSeconds(1), 4, Duration.ZERO),
+            new SparrowProperties.Workspace(true, temp.resolve("work").toString()),
+            new SparrowProperties.Report(20),
+            new SparrowProperties.Spill(false, DataSize.ofMegabytes(4), temp.resolve("spill").toString()),
+            new SparrowProperties.Logs(temp.resolve("logs").toString(), DataSize.ofKilobytes(16)),
+            new SparrowProperties.Baseline(temp.resolve("baseline").toString()),
+            new SparrowProperties.Sources(temp.resolve("sources").toString(), 2, 10, Duration.ZERO)
+        );
+    }
+}
@@ -0,0 +1,126 @@
+package com.mcp_server.sabang.sparrow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mcp_server.sabang.config.JacksonConfig;
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.dto.SparrowAnalyzeIssue;
+import com.mcp_server.sabang.dto.SparrowAnalyzeReport;
+import com.mcp_server.sabang.dto.SparrowAnalyzeResponse;
+import com.mcp_server.sabang.dto.SparrowAnalyzeSummary;
+import com.mcp_server.sabang.model.SparrowJobPriority;
+import com.mcp_server.sabang.model.SparrowJobSnapshot;
+import com.mcp_server.sabang.model.SparrowJobState;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SparrowJobJournalTest {
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void replaysLatestStateAndSnapshotAfterRestart() {
+        SparrowInstanceSlot slot = new SparrowInstanceSlot(temp.resolve("locks"));
+        SparrowJobJournal journal = journal(slot, 10_000);
+
+        SparrowJobState finished = register(journal, "job-finished");
+        finished.markRunning();
+        finished.markSucceeded(new SparrowAnalyzeResponse("project-1", 0, "stdout", "stderr", report()));
+        SparrowJobState running = register(journal, "job-running");
+        running.markRunning();
+        register(journal, "job-removed");
+        journal.recordRemoved("job-removed");
+        journal.close();
+        slot.release();
+
+        SparrowInstanceSlot restarted = new SparrowInstanceSlot(temp.resolve("locks"));
+        assertEquals(slot.number(), restarted.number());
+        List<SparrowJobState> states = journal(restarted, 10_000).replay();
+
+        assertEquals(List.of("job-finished", "job-running"), states.stream().map(SparrowJobState::jobId).toList());
+        SparrowJobState restoredFinished = states.get(0);
+        assertEquals("SUCCEEDED", restoredFinished.status());
+        assertEquals(finished.finishedAt().toEpochMilli(), restoredFinished.finishedAt().toEpochMilli());
+        SparrowJobSnapshot snapshot = restoredFinished.snapshot();
+        assertEquals("stdout", snapshot.output());
+        assertEquals("stderr", snapshot.error());
+        assertEquals(report().details(), snapshot.report().details());
+        assertEquals(report().summary().totalAlarms(), snapshot.report().summary().totalAlarms());
+        assertEquals("RUNNING", states.get(1).status());
+        restarted.release();
+    }
+
+    @Test
+    void concurrentInstanceDoesNotReplayAnotherInstancesJournal() {
+        SparrowInstanceSlot first = new SparrowInstanceSlot(temp.resolve("locks"));
+        SparrowJobJournal firstJournal = journal(first, 10_000);
+        register(firstJournal, "job-1").markRunning();
+
+        SparrowInstanceSlot second = new SparrowInstanceSlot(temp.resolve("locks"));
+        assertNotEquals(first.number(), second.number());
+        assertEquals(List.of(), journal(second, 10_000).replay());
+
+        firstJournal.close();
+        first.release();
+        second.release();
+    }
+
+    @Test
+    void compactsWhileRunning() throws IOException {
+        SparrowInstanceSlot slot = new SparrowInstanceSlot(temp.resolve("locks"));
+        SparrowJobJournal journal = journal(slot, 20);
+
+        SparrowJobState kept = register(journal, "job-kept");
+        kept.markRunning();
+        // 묶인 제출처럼 등록 후 바로 제거되는 Job을 많이 쌓습니다.
+        for (int i = 0; i < 200; i++) {
+            register(journal, "job-" + i);
+            journal.recordRemoved("job-" + i);
+        }
+        Path journalFile = slot.resolve(temp.resolve("journal")).resolve("jobs.journal");
+        long lines;
+        try (Stream<String> stream = Files.lines(journalFile)) {
+            lines = stream.count();
+        }
+        assertTrue(lines <= 21, "journal was not compacted: " + lines + " lines");
+
+        journal.close();
+        slot.release();
+        SparrowInstanceSlot restarted = new SparrowInstanceSlot(temp.resolve("locks"));
+        List<SparrowJobState> states = journal(restarted, 20).replay();
+        assertEquals(List.of("job-kept"), states.stream().map(SparrowJobState::jobId).toList());
+        assertEquals("RUNNING", states.get(0).status());
+        restarted.release();
+    }
+
+    private SparrowJobJournal journal(SparrowInstanceSlot slot, int compactAfterEntries) {
+        SparrowProperties properties = new SparrowProperties(null, null,
+            new SparrowProperties.Journal(true, temp.resolve("journal").toString(), compactAfterEntries),
+            null, null, null, null, null, null, null, null);
+        return new SparrowJobJournal(properties, new JacksonConfig().objectMapper(), slot);
+    }
+
+    private static SparrowJobState register(SparrowJobJournal journal, String jobId) {
+        SparrowJobState state = SparrowJobState.pending(jobId, "project-1", SparrowJobPriority.INTERACTIVE);
+        state.addListener(journal);
+        journal.onStatusChanged(state);
+        return state;
+    }
+
+    private static SparrowAnalyzeReport report() {
+        SparrowAnalyzeIssue issue = new SparrowAnalyzeIssue("1", "NULL_DEREFERENCE", "/src/A.java", 12, "run()", "A",
+            "DEFECT", "d.1", true, "Potential defect location from SPARROW alarm", "FINCH_SYN.1.0.xml");
+        SparrowAnalyzeSummary summary = new SparrowAnalyzeSummary(1, 1, Map.of("NULL_DEREFERENCE", 1),
+            Map.of("/src/A.java", 1), 1, 1);
+        return new SparrowAnalyzeReport("FINCH_SYN.1.0.xml", summary, List.of(issue));
+    }
+}
@@ -0,0 +1,144 @@
+package com.mcp_server.sabang.sparrow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mcp_server.sabang.config.SparrowProperties;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class SparrowJobLogsTest {
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void runningByteSliceHoldsBackUnfinishedLine() throws IOException {
+        SparrowInstanceSlot slot = new SparrowInstanceSlot(temp.resolve("locks"));
+        SparrowJobLogs logs = logs(slot);
+        Path file = write(logs, "job-1", "first\nsecond\nthi");
+
+        SparrowJobLogs.Slice running = logs.readBytes(file, 0, 1024, false);
+        assertEquals("first\nsecond\n", running.content());
+        assertEquals(13, running.nextOffset());
+
+        SparrowJobLogs.Slice finished = logs.readBytes(file, running.nextOffset(), 1024, true);
+        assertEquals("thi", finished.content());
+        assertEquals(finished.fileSize(), finished.nextOffset());
+        slot.release();
+    }
+
+    @Test
+    void tailSkipsCutFirstLineAndNeverSplitsCharacters() throws IOException {
+        SparrowInstanceSlot slot = new SparrowInstanceSlot(temp.resolve("locks"));
+        SparrowJobLogs logs = logs(slot);
+        Path file = write(logs, "job-1", "aaaa\nbbbb\ncccc\n");
+
+        assertEquals("cccc\n", logs.readBytes(file, -7, 1024, true).content());
+
+        // 3바이트 문자 두 개를 4바이트로 자르면 첫 문자까지만 돌려줍니다.
+        Path korean = write(logs, "job-2", "가나");
+        SparrowJobLogs.Slice slice = logs.readBytes(korean, 0, 4, false);
+        assertEquals("가", slice.content());
+        assertEquals(3, slice.nextOffset());
+        slot.release();
+    }
+
+    @Test
+    void pagesLinesWithOffsetCursor() throws IOException {
+        SparrowInstanceSlot slot = new SparrowInstanceSlot(temp.resolve("locks"));
+        SparrowJobLogs logs = logs(slot);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            text.append("line ").append(i).append('\n');
+        }
+        Path file = write(logs, "job-1", text.toString());
+
+        StringBuilder paged = new StringBuilder();
+        long line = 0;
+        long offset = -1;
+        int calls = 0;
+        while (line < 1000) {
+            SparrowJobLogs.Slice slice = logs.readLines(file, line, offset, 37, 1024, true);
+            assertEquals(line, slice.fromLine());
+            assertTrue(slice.nextLine() > line);
+            paged.append(slice.content());
+            line = slice.nextLine();
+            offset = slice.nextOffset();
+            calls++;
+        }
+        assertEquals(text.toString(), paged.toString());
+        assertEquals(28, calls);
+
+        // 커서 없이 줄 번호만 주면 처음부터 세어 같은 위치를 찾습니다.
+        SparrowJobLogs.Slice rescanned = logs.readLines(file, 500, -1, 2, 1024, true);
+        assertEquals("line 500\nline 501\n", rescanned.content());
+        SparrowJobLogs.Slice cursor = logs.readLines(file, 500, rescanned.offset(), 2, 1024, true);
+        assertEquals(rescanned.content(), cursor.content());
+        assertEquals(rescanned.nextOffset(), cursor.nextOffset());
+        slot.release();
+    }
+
+    @Test
+    void lineLongerThanMaxBytesAdvancesWhileRunning() throws IOException {
+        SparrowInstanceSlot slot = new SparrowInstanceSlot(temp.resolve("locks"));
+        SparrowJobLogs logs = logs(slot);
+        String longLine = "x".repeat(100);
+        Path file = write(logs, "job-1", "short\n" + longLine + "\nnext\n");
+
+        SparrowJobLogs.Slice first = logs.readLines(file, 1, -1, 10, 40, false);
+        assertEquals("x".repeat(40), first.content());
+        assertEquals(1, first.nextLine());
+        assertTrue(first.nextOffset() > first.offset());
+
+        StringBuilder rest = new StringBuilder(first.content());
+        long line = first.nextLine();
+        long offset = first.nextOffset();
+        while (line == 1) {
+            SparrowJobLogs.Slice slice = logs.readLines(file, line, offset, 10, 40, false);
+            assertTrue(slice.nextOffset() > offset, "stalled at offset " + offset);
+            rest.append(slice.content());
+            line = slice.nextLine();
+            offset = slice.nextOffset();
+        }
+        assertEquals(longLine + "\nnext\n", rest.toString());
+        assertEquals(3, line);
+        slot.release();
+    }
+
+    @Test
+    void retainOnlyLeavesOtherInstancesLogs() throws IOException {
+        SparrowInstanceSlot first = new SparrowInstanceSlot(temp.resolve("locks"));
+        SparrowInstanceSlot second = new SparrowInstanceSlot(temp.resolve("locks"));
+        SparrowJobLogs firstLogs = logs(first);
+        SparrowJobLogs secondLogs = logs(second);
+        Path kept = write(firstLogs, "job-1", "running\n");
+        Path removed = write(secondLogs, "job-2", "stale\n");
+
+        secondLogs.retainOnly(List.of());
+
+        assertTrue(Files.exists(kept));
+        assertFalse(Files.exists(removed));
+        first.release();
+        second.release();
+    }
+
+    private SparrowJobLogs logs(SparrowInstanceSlot slot) {
+        SparrowProperties properties = new SparrowProperties(null, null, null, null, null, null, null, null,
+            new SparrowProperties.Logs(temp.resolve("logs").toString(), DataSize.ofKilobytes(64)), null, null);
+        return new SparrowJobLogs(properties, slot);
+    }
+
+    private static Path write(SparrowJobLogs logs, String jobId, String content) throws IOException {
+        Path file = logs.create(jobId, 1).stdout();
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
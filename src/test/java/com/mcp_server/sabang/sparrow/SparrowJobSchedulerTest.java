@@ -0,0 +1,239 @@
+package com.mcp_server.sabang.sparrow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.config.WorkerThreads;
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import com.mcp_server.sabang.model.SparrowJobPriority;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 대기열 순서(우선순위, 프로젝트 간 공정성)와 실행 슬롯 계산을 확인합니다. 작업은 {@link #release}로 풀어 줄 때까지 끝나지 않으므로
+ * 실행 여부는 시작 순서와 {@link SparrowJobScheduler#queuePosition}으로 봅니다.
+ */
+class SparrowJobSchedulerTest {
+
+    private final BlockingQueue<String> started = new LinkedBlockingQueue<>();
+    private final Map<String, CountDownLatch> gates = new ConcurrentHashMap<>();
+    private SparrowJobScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        gates.values().forEach(CountDownLatch::countDown);
+        scheduler.shutdown();
+    }
+
+    @Test
+    void interactiveJobsRunBeforeBulkJobs() throws InterruptedException {
+        scheduler = scheduler(1, 1, 10);
+        submit("running", "p0", SparrowJobPriority.INTERACTIVE, 1);
+        assertEquals("running", nextStarted());
+
+        submit("bulk", "p1", SparrowJobPriority.BULK, 1);
+        submit("interactive", "p2", SparrowJobPriority.INTERACTIVE, 1);
+        assertEquals(1, scheduler.queuePosition("interactive"));
+        assertEquals(2, scheduler.queuePosition("bulk"));
+
+        release("running");
+        assertEquals("interactive", nextStarted());
+        release("interactive");
+        assertEquals("bulk", nextStarted());
+    }
+
+    @Test
+    void projectWithFewerRunningJobsGoesFirst() throws InterruptedException {
+        scheduler = scheduler(2, 2, 10);
+        submit("a1", "A", SparrowJobPriority.INTERACTIVE, 1);
+        submit("a2", "A", SparrowJobPriority.INTERACTIVE, 1);
+        assertEquals(Map.of("a1", 1, "a2", 1), startedSet(2));
+        submit("a3", "A", SparrowJobPriority.INTERACTIVE, 1);
+        submit("b1", "B", SparrowJobPriority.INTERACTIVE, 1);
+
+        // A는 1개, B는 0개 실행 중이므로 먼저 제출된 a3보다 b1이 먼저입니다.
+        release("a1");
+        assertEquals("b1", nextStarted());
+        assertEquals(1, scheduler.queuePosition("a3"));
+        release("a2");
+        assertEquals("a3", nextStarted());
+    }
+
+    @Test
+    void projectLimitHoldsJobsEvenWithFreeSlots() throws InterruptedException {
+        scheduler = scheduler(3, 1, 10);
+        submit("a1", "A", SparrowJobPriority.INTERACTIVE, 1);
+        submit("a2", "A", SparrowJobPriority.INTERACTIVE, 1);
+        submit("b1", "B", SparrowJobPriority.INTERACTIVE, 1);
+        assertEquals(Map.of("a1", 1, "b1", 1), startedSet(2));
+        assertEquals(1, scheduler.queuePosition("a2"));
+
+        release("a1");
+        assertEquals("a2", nextStarted());
+    }
+
+    @Test
+    void shardedJobWaitsForAllSlotsWithoutBeingOvertaken() throws InterruptedException {
+        scheduler = scheduler(3, 3, 10);
+        submit("small-1", "A", SparrowJobPriority.INTERACTIVE, 1);
+        assertEquals("small-1", nextStarted());
+
+        submit("sharded", "B", SparrowJobPriority.INTERACTIVE, 3);
+        submit("small-2", "C", SparrowJobPriority.INTERACTIVE, 1);
+        // 빈 슬롯이 2개 있지만 앞의 샤드 Job이 3개를 기다리므로 small-2도 기다립니다.
+        assertEquals(1, scheduler.queuePosition("sharded"));
+        assertEquals(2, scheduler.queuePosition("small-2"));
+
+        release("small-1");
+        assertEquals("sharded", nextStarted());
+        assertEquals(1, scheduler.queuePosition("small-2"));
+
+        release("sharded");
+        assertEquals("small-2", nextStarted());
+    }
+
+    @Test
+    void slotsLargerThanConcurrencyAreCapped() throws InterruptedException {
+        scheduler = scheduler(2, 1, 10);
+        submit("sharded", "A", SparrowJobPriority.INTERACTIVE, 8);
+        assertEquals("sharded", nextStarted());
+        submit("next", "B", SparrowJobPriority.INTERACTIVE, 1);
+        assertEquals(1, scheduler.queuePosition("next"));
+
+        release("sharded");
+        assertEquals("next", nextStarted());
+    }
+
+    @Test
+    void fullQueueRejectsOnlyJobsThatWouldWait() throws InterruptedException {
+        scheduler = scheduler(2, 2, 1);
+        submit("running-1", "A", SparrowJobPriority.INTERACTIVE, 1);
+        submit("running-2", "A", SparrowJobPriority.INTERACTIVE, 1);
+        submit("queued", "A", SparrowJobPriority.INTERACTIVE, 1);
+        assertThrows(SparrowExecutionException.class,
+            () -> submit("rejected", "A", SparrowJobPriority.INTERACTIVE, 1));
+        assertEquals(0, scheduler.queuePosition("rejected"));
+        assertEquals(1, scheduler.queuePosition("queued"));
+        startedSet(2);
+
+        release("running-1");
+        assertEquals("queued", nextStarted());
+    }
+
+    @Test
+    void zeroQueueCapacityStillRunsJobsWhenSlotsAreFree() throws InterruptedException {
+        scheduler = scheduler(1, 1, 0);
+        submit("first", "A", SparrowJobPriority.INTERACTIVE, 1);
+        assertEquals("first", nextStarted());
+        assertThrows(SparrowExecutionException.class,
+            () -> submit("second", "B", SparrowJobPriority.INTERACTIVE, 1));
+
+        release("first");
+        awaitIdle("third", "C");
+        assertEquals("third", nextStarted());
+    }
+
+    @Test
+    void cancelledQueuedJobFreesItsPlace() throws InterruptedException {
+        scheduler = scheduler(1, 1, 1);
+        submit("running", "A", SparrowJobPriority.INTERACTIVE, 1);
+        submit("cancelled", "B", SparrowJobPriority.INTERACTIVE, 1);
+        assertEquals(true, scheduler.cancelQueued("cancelled"));
+        assertEquals(false, scheduler.cancelQueued("running"));
+        submit("queued", "C", SparrowJobPriority.INTERACTIVE, 1);
+
+        release("running");
+        assertEquals("running", nextStarted());
+        assertEquals("queued", nextStarted());
+    }
+
+    @Test
+    void finishingJobsAfterShutdownDispatchNothing() throws InterruptedException {
+        scheduler = scheduler(1, 1, 10);
+        CountDownLatch finished = new CountDownLatch(1);
+        scheduler.submit("running", "A", SparrowJobPriority.INTERACTIVE, 1, () -> {
+            started.add("running");
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException ex) {
+                // 종료되는 사이에 제출된 Job을 흉내 냅니다.
+                scheduler.submit("late", "B", SparrowJobPriority.INTERACTIVE, 1, () -> started.add("late"));
+            } finally {
+                finished.countDown();
+            }
+        });
+        assertEquals("running", nextStarted());
+
+        scheduler.shutdown();
+
+        assertEquals(true, finished.await(10, TimeUnit.SECONDS));
+        submit("afterShutdown", "C", SparrowJobPriority.INTERACTIVE, 1);
+        assertEquals(1, scheduler.queuePosition("late"));
+        assertEquals(2, scheduler.queuePosition("afterShutdown"));
+        assertEquals(null, started.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    private SparrowJobScheduler scheduler(int maxConcurrentJobs, int maxJobsPerProject, int queueCapacity) {
+        SparrowProperties properties = new SparrowProperties(
+            new SparrowProperties.Scheduler(maxConcurrentJobs, maxJobsPerProject, queueCapacity),
+            null, null, null, null, null, null, null, null, null, null);
+        return new SparrowJobScheduler(properties, new WorkerThreads(false));
+    }
+
+    private void submit(String jobId, String projectId, SparrowJobPriority priority, int slots) {
+        CountDownLatch gate = gates.computeIfAbsent(jobId, key -> new CountDownLatch(1));
+        scheduler.submit(jobId, projectId, priority, slots, () -> {
+            started.add(jobId);
+            try {
+                gate.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private void release(String jobId) {
+        gates.get(jobId).countDown();
+    }
+
+    /**
+     * 작업이 끝난 뒤 슬롯을 돌려주는 것은 작업 스레드에서 일어나므로, 슬롯이 빌 때까지 제출을 다시 시도합니다.
+     */
+    private void awaitIdle(String jobId, String projectId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            try {
+                submit(jobId, projectId, SparrowJobPriority.INTERACTIVE, 1);
+                return;
+            } catch (SparrowExecutionException ex) {
+                if (System.nanoTime() > deadline) {
+                    throw ex;
+                }
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private String nextStarted() throws InterruptedException {
+        String jobId = started.poll(10, TimeUnit.SECONDS);
+        if (jobId == null) {
+            throw new AssertionError("no job started");
+        }
+        return jobId;
+    }
+
+    private Map<String, Integer> startedSet(int count) throws InterruptedException {
+        Map<String, Integer> jobs = new ConcurrentHashMap<>();
+        for (int i = 0; i < count; i++) {
+            jobs.merge(nextStarted(), 1, Integer::sum);
+        }
+        return jobs;
+    }
+}
@@ -0,0 +1,43 @@
+package com.mcp_server.sabang.sparrow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mcp_server.sabang.config.WorkerThreads;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SparrowLogTailerTest {
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void carriageReturnEndsProgressLines() throws Exception {
+        List<String> lines = tail("start\r\n 10%\r 55%\r100%\ndone");
+
+        assertEquals(List.of("start", " 10%", " 55%", "100%", "done"), lines);
+    }
+
+    @Test
+    void longLineIsTruncatedWithoutSplittingCharacters() throws Exception {
+        String longLine = "x".repeat(SparrowLogTailer.MAX_LINE_BYTES - 1) + "가나다" + "y".repeat(100);
+
+        List<String> lines = tail(longLine + "\nnext\n");
+
+        assertEquals(List.of("x".repeat(SparrowLogTailer.MAX_LINE_BYTES - 1), "next"), lines);
+    }
+
+    private List<String> tail(String content) throws IOException, InterruptedException {
+        Path file = Files.writeString(temp.resolve("stdout.log"), content, StandardCharsets.UTF_8);
+        List<String> lines = new CopyOnWriteArrayList<>();
+        SparrowLogTailer tailer = SparrowLogTailer.start(new WorkerThreads(false).factory("tailer"), file, lines::add);
+        tailer.await();
+        return lines;
+    }
+}
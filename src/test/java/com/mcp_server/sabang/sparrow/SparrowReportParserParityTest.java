@@ -0,0 +1,308 @@
+package com.mcp_server.sabang.sparrow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.dto.SparrowAnalyzeIssue;
+import com.mcp_server.sabang.dto.SparrowAnalyzeReport;
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * StAX 파서가 이전 DOM 파서와 같은 이슈와 요약을 만드는지 확인합니다. {@link DomReportParser}는 StAX로 바꾸기 전
+ * {@code SparrowAnalyzeService}의 DOM 파싱 코드를 그대로 옮긴 것입니다.
+ */
+class SparrowReportParserParityTest {
+
+    private static final int UNBOUNDED_TOP_K = 100_000;
+
+    @TempDir
+    Path temp;
+
+    private final SparrowReportParser parser = new SparrowReportParser(properties());
+
+    @AfterEach
+    void tearDown() {
+        parser.shutdown();
+    }
+
+    @Test
+    void matchesDomParserOnHandWrittenEdgeCases() throws Exception {
+        Path report = write("FINCH_SYN.1.0.xml", """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <sparrow>
+              <alarms>
+                <alarm localId="1">
+                  <defect>
+                    <rule> NULL_DEREFERENCE </rule>
+                    <loc><file>/src/A.java</file><line>12</line><func>run()</func><class>A</class></loc>
+                    <loc><file>/src/Second.java</file><line>99</line></loc>
+                  </defect>
+                  <defect><rule>SECOND_DEFECT</rule><loc><file>/src/B.java</file><line>1</line></loc></defect>
+                  <events>
+                    <event><tag>FLOW</tag><desc id="flow"><![CDATA[not the defect]]></desc></event>
+                    <event defect="TRUE"><tag>DEFECT</tag><desc id=" d.1 "><![CDATA[x < y && z]]></desc></event>
+                    <event defect="true"><tag>LATER</tag><desc id="d.2"/></event>
+                  </events>
+                </alarm>
+                <alarm localId="2">
+                  <defect><rule>NO_LINE</rule><loc><file>/src/C&amp;D.java</file><line>abc</line></loc></defect>
+                  <events><event defect="false"><tag>FLOW</tag></event></events>
+                </alarm>
+                <alarm localId="3">
+                  <defect><rule><![CDATA[CDATA_RULE]]></rule><loc><file><![CDATA[/src/E.java]]></file><line> 7 </line></loc></defect>
+                  <events><event defect="true"><tag>T<b>nested</b></tag><desc>no id</desc></event></events>
+                </alarm>
+                <alarm localId="4">
+                  <defect><loc><line>0</line></loc></defect>
+                </alarm>
+                <alarm localId="5">
+                  <events><event defect="true"><tag>EVENT_ONLY</tag><desc id="e"/></event></events>
+                  <defect><rule>AFTER_EVENTS</rule><event defect="true"><tag>INSIDE_DEFECT</tag></event></defect>
+                </alarm>
+                <alarm localId="6"/>
+                <alarm>
+                  <defect><rule>NO_LOCAL_ID</rule><loc><file>/src/A.java</file><line>-3</line></loc></defect>
+                </alarm>
+              </alarms>
+            </sparrow>
+            """);
+
+        assertSameAsDom(report);
+    }
+
+    @Test
+    void matchesDomParserOnGeneratedReports() throws Exception {
+        for (long seed = 1; seed <= 5; seed++) {
+            Path report = temp.resolve("FINCH_SYN." + seed + ".xml");
+            Files.writeString(report, generate(new SplittableRandom(seed), 400), StandardCharsets.UTF_8);
+            assertSameAsDom(report);
+        }
+    }
+
+    @Test
+    void rejectsDoctypeAndExternalEntities() throws Exception {
+        Path secret = write("secret.txt", "TOP-SECRET");
+        Path internal = write("internal-entity.xml", """
+            <?xml version="1.0"?>
+            <!DOCTYPE sparrow [<!ENTITY xxe SYSTEM "%s">]>
+            <sparrow><alarms><alarm localId="1"><defect><rule>&xxe;</rule></defect></alarm></alarms></sparrow>
+            """.formatted(secret.toUri()));
+        Path external = write("external-dtd.xml", """
+            <?xml version="1.0"?>
+            <!DOCTYPE sparrow SYSTEM "%s">
+            <sparrow><alarms/></sparrow>
+            """.formatted(secret.toUri()));
+
+        for (Path report : List.of(internal, external)) {
+            SparrowExecutionException ex = assertThrows(SparrowExecutionException.class, () -> parser.parse(report));
+            assertFalse(String.valueOf(ex.getMessage()).contains("TOP-SECRET"));
+            assertThrows(SparrowExecutionException.class, () -> parser.parseAvailable(report));
+            assertThrows(Exception.class, () -> DomReportParser.parse(report));
+        }
+    }
+
+    private void assertSameAsDom(Path report) throws Exception {
+        DomReport expected = DomReportParser.parse(report);
+        SparrowAnalyzeReport actual = parser.parse(report);
+
+        assertEquals(expected.issues().size(), actual.details().size(), "issue count of " + report);
+        for (int i = 0; i < expected.issues().size(); i++) {
+            assertEquals(expected.issues().get(i), actual.details().get(i), "issue " + i + " of " + report);
+        }
+        assertEquals(expected.issues().size(), actual.summary().totalAlarms());
+        assertEquals(expected.lineReviewCandidates(), actual.summary().lineReviewCandidateCount());
+        assertEquals(expected.alarmsByRule(), new HashMap<>(actual.summary().alarmsByRule()));
+        assertEquals(expected.alarmsByFile(), new HashMap<>(actual.summary().alarmsByFile()));
+        assertEquals(expected.alarmsByRule().size(), actual.summary().distinctRuleCount());
+        assertEquals(expected.alarmsByFile().size(), actual.summary().distinctFileCount());
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path path = temp.resolve(name);
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+        return path;
+    }
+
+    /**
+     * 요소가 빠지거나 여러 번 나오거나 순서가 바뀐 알람을 섞어 만듭니다.
+     */
+    private static String generate(SplittableRandom random, int alarms) {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<sparrow><alarms>\n");
+        for (int id = 0; id < alarms; id++) {
+            xml.append("<alarm localId=\"").append(id).append("\">");
+            StringBuilder events = new StringBuilder("<events>");
+            int eventCount = random.nextInt(4);
+            for (int i = 0; i < eventCount; i++) {
+                String defect = switch (random.nextInt(4)) {
+                    case 0 -> "";
+                    case 1 -> " defect=\"false\"";
+                    case 2 -> " defect=\"TRUE\"";
+                    default -> " defect=\"true\"";
+                };
+                events.append("<event").append(defect).append(">")
+                    .append(optional(random, "tag", "TAG_" + random.nextInt(5)))
+                    .append("<desc id=\"").append(random.nextBoolean() ? " desc." + i + " " : "").append("\">")
+                    .append("<![CDATA[value < ").append(i).append(" && flag]]></desc></event>");
+            }
+            events.append("</events>");
+            boolean eventsFirst = random.nextInt(5) == 0;
+            if (eventsFirst) {
+                xml.append(events);
+            }
+            int defects = random.nextInt(3);
+            for (int d = 0; d < defects; d++) {
+                xml.append("<defect>").append(optional(random, "rule", " RULE_" + random.nextInt(8) + " "));
+                int locs = random.nextInt(3);
+                for (int l = 0; l < locs; l++) {
+                    String line = switch (random.nextInt(6)) {
+                        case 0 -> "";
+                        case 1 -> "n/a";
+                        case 2 -> "-1";
+                        default -> Integer.toString(random.nextInt(500));
+                    };
+                    String file = random.nextInt(6) == 0
+                        ? "<![CDATA[/src/a&b/File" + random.nextInt(20) + ".java]]>"
+                        : "/src/pkg" + random.nextInt(3) + "/File" + random.nextInt(20) + ".java";
+                    xml.append("<loc>")
+                        .append(optional(random, "file", file))
+                        .append(optional(random, "line", line))
+                        .append(optional(random, "func", "f" + random.nextInt(9) + "(int)"))
+                        .append(optional(random, "class", "C" + random.nextInt(9)))
+                        .append("</loc>");
+                }
+                if (random.nextInt(8) == 0) {
+                    xml.append("<event defect=\"true\"><tag>IN_DEFECT</tag><desc id=\"inner\"/></event>");
+                }
+                xml.append("</defect>");
+            }
+            if (!eventsFirst) {
+                xml.append(events);
+            }
+            xml.append("</alarm>\n");
+        }
+        return xml.append("</alarms></sparrow>\n").toString();
+    }
+
+    private static String optional(SplittableRandom random, String element, String value) {
+        return random.nextInt(6) == 0 ? "" : "<" + element + ">" + value + "</" + element + ">";
+    }
+
+    private static SparrowProperties properties() {
+        return new SparrowProperties(null, null, null, null, null, null, new SparrowProperties.Report(UNBOUNDED_TOP_K),
+            null, null, null, null);
+    }
+
+    private record DomReport(List<SparrowAnalyzeIssue> issues, int lineReviewCandidates,
+        Map<String, Integer> alarmsByRule, Map<String, Integer> alarmsByFile) {
+
+    }
+
+    /**
+     * StAX 파서로 바꾸기 전의 DOM 파싱 코드. 이슈의 {@code source}(리포트 파일 이름)만 새로 채웁니다.
+     */
+    private static final class DomReportParser {
+
+        static DomReport parse(Path reportPath) throws Exception {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setExpandEntityReferences(false);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            Document document = builder.parse(reportPath.toFile());
+            NodeList alarms = document.getElementsByTagName("alarm");
+
+            List<SparrowAnalyzeIssue> issues = new ArrayList<>();
+            Map<String, Integer> alarmsByRule = new HashMap<>();
+            Map<String, Integer> alarmsByFile = new HashMap<>();
+            int lineReviewCandidates = 0;
+            String source = reportPath.getFileName().toString();
+
+            for (int i = 0; i < alarms.getLength(); i++) {
+                Element alarm = (Element) alarms.item(i);
+                Element defect = getFirstChildElement(alarm, "defect");
+                Element loc = defect == null ? null : getFirstChildElement(defect, "loc");
+                Element event = getDefectEvent(alarm);
+                Element desc = event == null ? null : getFirstChildElement(event, "desc");
+
+                String file = getChildText(loc, "file");
+                Integer line = parseInteger(getChildText(loc, "line"));
+                String rule = getChildText(defect, "rule");
+                boolean lineReviewRecommended = !file.isBlank() && line != null && line > 0;
+                if (lineReviewRecommended) {
+                    lineReviewCandidates++;
+                }
+                alarmsByRule.merge(rule.isBlank() ? "UNKNOWN" : rule, 1, Integer::sum);
+                alarmsByFile.merge(file.isBlank() ? "UNKNOWN" : file, 1, Integer::sum);
+                issues.add(new SparrowAnalyzeIssue(
+                    alarm.getAttribute("localId"),
+                    rule,
+                    file,
+                    line,
+                    getChildText(loc, "func"),
+                    getChildText(loc, "class"),
+                    getChildText(event, "tag"),
+                    desc == null ? "" : desc.getAttribute("id").trim(),
+                    lineReviewRecommended,
+                    lineReviewRecommended
+                        ? SparrowReportParser.LINE_REVIEW_RECOMMENDED_REASON
+                        : SparrowReportParser.LINE_REVIEW_MISSING_REASON,
+                    source
+                ));
+            }
+            return new DomReport(issues, lineReviewCandidates, alarmsByRule, alarmsByFile);
+        }
+
+        private static Element getDefectEvent(Element alarm) {
+            NodeList events = alarm.getElementsByTagName("event");
+            for (int i = 0; i < events.getLength(); i++) {
+                Element event = (Element) events.item(i);
+                if ("true".equalsIgnoreCase(event.getAttribute("defect"))) {
+                    return event;
+                }
+            }
+            return null;
+        }
+
+        private static Element getFirstChildElement(Element parent, String tagName) {
+            if (parent == null) {
+                return null;
+            }
+            NodeList children = parent.getElementsByTagName(tagName);
+            return children.getLength() == 0 ? null : (Element) children.item(0);
+        }
+
+        private static String getChildText(Element parent, String tagName) {
+            Element child = getFirstChildElement(parent, tagName);
+            return child == null ? "" : child.getTextContent().trim();
+        }
+
+        private static Integer parseInteger(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.mcp_server.sabang.sparrow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.dto.SparrowAnalyzeIssue;
+import com.mcp_server.sabang.dto.SparrowAnalyzeReport;
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 쓰이는 중인(끝이 잘린) 리포트의 부분 파싱과 여러 리포트 파일의 병합을 확인합니다.
+ */
+class SparrowReportParserTest {
+
+    private static final String HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<sparrow><alarms>\n";
+
+    @TempDir
+    Path temp;
+
+    private final SparrowReportParser parser = new SparrowReportParser(
+        new SparrowProperties(null, null, null, null, null, null, new SparrowProperties.Report(20), null, null, null, null)
+    );
+
+    @AfterEach
+    void tearDown() {
+        parser.shutdown();
+    }
+
+    @Test
+    void truncatedReportKeepsOnlyCompleteAlarms() throws IOException {
+        String complete = HEADER + alarm(1, "/src/A.java", 3) + alarm(2, "/src/B.java", 5) + "</alarms></sparrow>\n";
+        // 두 번째 알람의 파일 이름 중간에서 잘린 상태
+        Path truncated = write("FINCH_SYN.1.0.xml", complete.substring(0, complete.indexOf("/src/B") + 4));
+
+        SparrowAnalyzeReport report = parser.parseAllAvailable(List.of(truncated));
+
+        assertEquals(List.of("1"), report.details().stream().map(SparrowAnalyzeIssue::localId).toList());
+        assertEquals(1, report.summary().totalAlarms());
+        assertThrows(SparrowExecutionException.class, () -> parser.parseAll(List.of(truncated)));
+    }
+
+    @Test
+    void truncatedSecondaryReportIsMergedWithCompleteAlarms() throws IOException {
+        Path first = write("FINCH_SYN.1.0.xml", HEADER + alarm(1, "/src/A.java", 3) + "</alarms></sparrow>\n");
+        Path second = write("FINCH_SYN.2.0.xml", HEADER + alarm(7, "/src/C.java", 9) + "<alarm localId=\"8\"><def");
+        Path unwritten = write("FINCH_SYN.3.0.xml", "<?xm");
+
+        SparrowAnalyzeReport report = parser.parseAllAvailable(List.of(first, second, unwritten));
+
+        assertEquals(List.of("1", "7"), report.details().stream().map(SparrowAnalyzeIssue::localId).toList());
+        assertEquals(List.of("FINCH_SYN.1.0.xml", "FINCH_SYN.2.0.xml"),
+            report.details().stream().map(SparrowAnalyzeIssue::source).toList());
+    }
+
+    @Test
+    void parseAllDropsDuplicateDefectsAcrossFiles() throws IOException {
+        Path first = write("FINCH_SYN.1.0.xml", HEADER + alarm(1, "/src/A.java", 3) + alarm(2, "/src/B.java", 5)
+            + "</alarms></sparrow>\n");
+        // localId만 다른 같은 결함(1과 같음)과 라인이 다른 결함
+        Path second = write("FINCH_SYN.2.0.xml", HEADER + alarm(10, "/src/A.java", 3).replace("d.10", "d.1")
+            + alarm(11, "/src/A.java", 4) + "</alarms></sparrow>\n");
+        Path broken = write("FINCH_SYN.3.0.xml", "<sparrow><alarms>");
+
+        SparrowAnalyzeReport report = parser.parseAll(List.of(first, second, broken));
+
+        assertEquals(List.of("1", "2", "11"), report.details().stream().map(SparrowAnalyzeIssue::localId).toList());
+        assertEquals("FINCH_SYN.1.0.xml", report.details().getFirst().source());
+        assertEquals(3, report.summary().totalAlarms());
+        assertEquals(3, report.summary().lineReviewCandidateCount());
+        assertEquals(Integer.valueOf(2), report.summary().alarmsByFile().get("/src/A.java"));
+        assertEquals(Integer.valueOf(3), report.summary().alarmsByRule().get("NULL_DEREFERENCE"));
+        assertThrows(SparrowExecutionException.class, () -> parser.parseAll(List.of(broken, first)));
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(temp.resolve(name), content, StandardCharsets.UTF_8);
+    }
+
+    private static String alarm(int localId, String file, int line) {
+        return """
+            <alarm localId="%d">
+              <defect><rule>NULL_DEREFERENCE</rule><loc><file>%s</file><line>%d</line></loc></defect>
+              <events><event defect="true"><tag>DEFECT</tag><desc id="d.%d"/></event></events>
+            </alarm>
+            """.formatted(localId, file, line, localId);
+    }
+}
@@ -0,0 +1,127 @@
+package com.mcp_server.sabang.sparrow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mcp_server.sabang.config.JacksonConfig;
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.dto.SparrowAnalyzeIssue;
+import com.mcp_server.sabang.dto.SparrowAnalyzeReport;
+import com.mcp_server.sabang.dto.SparrowAnalyzeRequest;
+import com.mcp_server.sabang.dto.SparrowAnalyzeSummary;
+import com.mcp_server.sabang.model.SparrowJobSnapshot;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class SparrowResultCacheTest {
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void keyFollowsFileContentNotListOrder() throws IOException {
+        SparrowResultCache cache = cache(10, false);
+        Path first = write("A.java", "class A {}");
+        Path second = write("B.java", "class B {}");
+
+        String key = cache.key(request("project-1", first, second));
+        assertNotNull(key);
+        assertEquals(key, cache.key(request("project-1", second, first, second)));
+        assertNotEquals(key, cache.key(request("project-2", first, second)));
+
+        Files.writeString(second, "class B { int changed; }");
+        assertNotEquals(key, cache.key(request("project-1", first, second)));
+        Files.writeString(second, "class B {}");
+        assertEquals(key, cache.key(request("project-1", first, second)));
+    }
+
+    @Test
+    void keyIsNullWhenFileIsMissingOrCacheDisabled() throws IOException {
+        Path file = write("A.java", "class A {}");
+        assertNull(cache(10, false).key(request("project-1", file, temp.resolve("Missing.java"))));
+
+        SparrowProperties disabled = new SparrowProperties(null, null, null,
+            new SparrowProperties.Cache(false, 10, false, "", DataSize.ofMegabytes(1)), null, null, null, null, null, null, null);
+        assertNull(new SparrowResultCache(disabled, new JacksonConfig().objectMapper())
+            .key(request("project-1", file)));
+    }
+
+    @Test
+    void keyIsNullWhenInputsExceedLimit() throws IOException {
+        Path first = write("A.java", "a".repeat(600));
+        Path second = write("B.java", "b".repeat(600));
+        SparrowResultCache cache = cache(10, false, DataSize.ofKilobytes(1));
+
+        assertNotNull(cache.key(request("project-1", first)));
+        assertNull(cache.key(request("project-1", first, second)));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        SparrowResultCache cache = cache(2, false);
+        cache.put("a", snapshot("a"));
+        cache.put("b", snapshot("b"));
+        assertEquals("a", cache.get("a").output());
+        cache.put("c", snapshot("c"));
+
+        assertNull(cache.get("b"));
+        assertEquals("a", cache.get("a").output());
+        assertEquals("c", cache.get("c").output());
+        assertEquals(snapshot("c").report().details(), cache.get("c").report().details());
+    }
+
+    @Test
+    void persistentEntriesSurviveRestartAndEvictionDeletesFiles() {
+        SparrowResultCache cache = cache(2, true);
+        cache.put("a", snapshot("a"));
+        cache.put("b", snapshot("b"));
+        cache.put("c", snapshot("c"));
+        assertFalse(Files.exists(temp.resolve("cache").resolve("a.json.gz")));
+
+        SparrowResultCache restarted = cache(2, true);
+        restarted.loadIndex();
+        assertNull(restarted.get("a"));
+        assertEquals("b", restarted.get("b").output());
+        assertEquals("c", restarted.get("c").output());
+        assertTrue(Files.exists(temp.resolve("cache").resolve("c.json.gz")));
+    }
+
+    private SparrowResultCache cache(int maxEntries, boolean persistent) {
+        return cache(maxEntries, persistent, DataSize.ofMegabytes(1));
+    }
+
+    private SparrowResultCache cache(int maxEntries, boolean persistent, DataSize maxKeyInputSize) {
+        SparrowProperties properties = new SparrowProperties(null, null, null,
+            new SparrowProperties.Cache(true, maxEntries, persistent, temp.resolve("cache").toString(), maxKeyInputSize),
+            null, null, null, null, null, null, null);
+        return new SparrowResultCache(properties, new JacksonConfig().objectMapper());
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(temp.resolve(name), content);
+    }
+
+    private static SparrowAnalyzeRequest request(String projectId, Path... files) {
+        return new SparrowAnalyzeRequest("https://sparrow.example.com", "/opt/sparrow/sparrow-client.sh",
+            "/secure/password", projectId, "reviewer", List.of(files).stream().map(Path::toString).toList(),
+            null, null, null, null);
+    }
+
+    private static SparrowJobSnapshot snapshot(String output) {
+        SparrowAnalyzeIssue issue = new SparrowAnalyzeIssue(output, "RULE", "/src/" + output + ".java", 1, "", "", "",
+            "", true, "", "FINCH_SYN.1.0.xml");
+        SparrowAnalyzeSummary summary = new SparrowAnalyzeSummary(1, 1, Map.of("RULE", 1),
+            Map.of(issue.file(), 1), 1, 1);
+        return new SparrowJobSnapshot(output, "", new SparrowAnalyzeReport("report", summary, List.of(issue)), null);
+    }
+}
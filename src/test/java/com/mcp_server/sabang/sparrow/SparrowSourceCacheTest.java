@@ -0,0 +1,150 @@
+package com.mcp_server.sabang.sparrow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mcp_server.sabang.config.SparrowProperties;
+import com.mcp_server.sabang.config.WorkerThreads;
+import com.mcp_server.sabang.exception.SparrowExecutionException;
+import com.mcp_server.sabang.model.SparrowIssueFingerprints;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SparrowSourceCacheTest {
+
+    private static final String REPOSITORY = "https://gitlab.example/group/project";
+
+    @TempDir
+    Path temp;
+
+    private final List<SparrowSourceCache> caches = new ArrayList<>();
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        caches.forEach(SparrowSourceCache::shutdown);
+    }
+
+    @Test
+    void downloadsOnlyMissingFilesAndLeavesNoTemporaryFiles() throws IOException {
+        SparrowSourceCache cache = cache(10, Duration.ZERO);
+
+        SparrowSourceCache.Materialized first = cache.materialize(REPOSITORY, "abc1", List.of("src/A.java"),
+            this::fetch);
+        SparrowSourceCache.Materialized second = cache.materialize(REPOSITORY, "abc1",
+            List.of("src/A.java", "src/B.java"), this::fetch);
+
+        assertEquals(1, first.downloadedCount());
+        assertEquals(1, second.cachedCount());
+        assertEquals(1, second.downloadedCount());
+        assertEquals(2, fetches.get());
+        assertEquals("src/B.java", Files.readString(Path.of(second.files().get(1))));
+        assertTrue(Files.exists(second.root().resolve(SparrowIssueFingerprints.REPOSITORY_ROOT_MARKER)));
+        try (Stream<Path> files = Files.walk(second.root())) {
+            assertFalse(files.anyMatch(path -> path.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void failedDownloadLeavesNoPartialFile() throws IOException {
+        SparrowSourceCache cache = cache(10, Duration.ZERO);
+
+        assertThrows(SparrowExecutionException.class, () -> cache.materialize(REPOSITORY, "abc1",
+            List.of("src/A.java"), path -> new InputStream() {
+                private int remaining = 10;
+
+                @Override
+                public int read() throws IOException {
+                    if (remaining == 0) {
+                        throw new IOException("connection reset");
+                    }
+                    remaining--;
+                    return 'x';
+                }
+            }));
+
+        Path directory = temp.resolve("sources");
+        try (Stream<Path> files = Files.walk(directory)) {
+            assertFalse(files.anyMatch(path -> path.getFileName().toString().endsWith(".java")
+                || path.getFileName().toString().endsWith(".tmp")));
+        }
+        // 다음 요청은 다시 받습니다.
+        assertEquals(1, cache.materialize(REPOSITORY, "abc1", List.of("src/A.java"), this::fetch).downloadedCount());
+    }
+
+    @Test
+    void rejectsPathsOutsideCommitDirectory() {
+        SparrowSourceCache cache = cache(10, Duration.ZERO);
+
+        for (String path : List.of("../other/A.java", "src/../../A.java", "/etc/passwd", ".")) {
+            assertThrows(SparrowExecutionException.class,
+                () -> cache.materialize(REPOSITORY, "abc1", List.of(path), this::fetch), path);
+        }
+        assertThrows(SparrowExecutionException.class,
+            () -> cache.materialize(REPOSITORY, "../abc1", List.of("src/A.java"), this::fetch));
+        assertEquals(0, fetches.get());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedCommits() throws IOException {
+        SparrowSourceCache cache = cache(2, Duration.ZERO);
+        Path oldest = cache.materialize(REPOSITORY, "old1", List.of("A.java"), this::fetch).root();
+        Path older = cache.materialize(REPOSITORY, "old2", List.of("A.java"), this::fetch).root();
+        lastUsed(oldest, Duration.ofHours(3));
+        lastUsed(older, Duration.ofHours(2));
+
+        Path newest = cache.materialize(REPOSITORY, "new1", List.of("A.java"), this::fetch).root();
+
+        assertFalse(Files.exists(oldest));
+        assertTrue(Files.exists(older));
+        assertTrue(Files.exists(newest));
+    }
+
+    @Test
+    void evictsCommitsUnusedForMaxAge() throws IOException {
+        SparrowSourceCache cache = cache(10, Duration.ofHours(1));
+        Path stale = cache.materialize(REPOSITORY, "old1", List.of("A.java"), this::fetch).root();
+        Path recent = cache.materialize("https://bitbucket.example/scm/p/r", "old2", List.of("A.java"),
+            this::fetch).root();
+        lastUsed(stale, Duration.ofHours(2));
+
+        cache.materialize(REPOSITORY, "new1", List.of("A.java"), this::fetch);
+
+        assertFalse(Files.exists(stale));
+        assertTrue(Files.exists(recent));
+    }
+
+    private SparrowSourceCache cache(int maxCommits, Duration maxAge) {
+        SparrowProperties properties = new SparrowProperties(null, null, null, null, null, null, null, null, null, null,
+            new SparrowProperties.Sources(temp.resolve("sources").toString(), 2, maxCommits, maxAge));
+        SparrowSourceCache cache = new SparrowSourceCache(properties, new WorkerThreads(false));
+        caches.add(cache);
+        return cache;
+    }
+
+    private InputStream fetch(String path) {
+        fetches.incrementAndGet();
+        return new ByteArrayInputStream(path.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void lastUsed(Path root, Duration ago) throws IOException {
+        Files.setLastModifiedTime(root.resolve(SparrowIssueFingerprints.REPOSITORY_ROOT_MARKER),
+            FileTime.from(Instant.now().minus(ago)));
+    }
+}
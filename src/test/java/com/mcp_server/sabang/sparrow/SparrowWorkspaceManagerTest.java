@@ -0,0 +1,50 @@
+package com.mcp_server.sabang.sparrow;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mcp_server.sabang.config.SparrowProperties;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SparrowWorkspaceManagerTest {
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void startupCleanupKeepsWorkspacesOfOtherRunningInstances() throws IOException {
+        Path client = Files.createDirectories(temp.resolve("client")).resolve("sparrow-client.sh");
+        Files.writeString(client, "#!/bin/sh\n");
+        SparrowInstanceSlot first = new SparrowInstanceSlot(temp.resolve("locks"));
+        SparrowWorkspaceManager firstManager = manager(first);
+        SparrowWorkspaceManager.Workspace running = firstManager.create("job-1", client.toString());
+        assertTrue(running.isolated());
+
+        SparrowInstanceSlot second = new SparrowInstanceSlot(temp.resolve("locks"));
+        assertNotEquals(first.number(), second.number());
+        SparrowWorkspaceManager secondManager = manager(second);
+        secondManager.cleanUpStaleWorkspaces();
+        assertTrue(Files.isDirectory(running.directory()));
+
+        // 첫 번째 서버가 종료된 뒤 같은 번호를 차지한 서버는 남은 작업 디렉터리를 지웁니다.
+        first.release();
+        SparrowInstanceSlot restarted = new SparrowInstanceSlot(temp.resolve("locks"));
+        manager(restarted).cleanUpStaleWorkspaces();
+        assertFalse(Files.exists(running.directory()));
+        assertTrue(Files.exists(client));
+
+        second.release();
+        restarted.release();
+    }
+
+    private SparrowWorkspaceManager manager(SparrowInstanceSlot instance) {
+        SparrowProperties properties = new SparrowProperties(null, null, null, null, null,
+            new SparrowProperties.Workspace(true, temp.resolve("work").toString()), null, null, null, null, null);
+        return new SparrowWorkspaceManager(properties, instance);
+    }
+}